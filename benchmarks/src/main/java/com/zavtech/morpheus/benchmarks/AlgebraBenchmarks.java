@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.frame.DataFrameAlgebra;
+import com.zavtech.morpheus.range.Range;
+
+/**
+ * Benchmarks for matrix multiplication and inversion of DataFrames with each supported linear algebra library
+ *
+ * The algebra library is selected per thread, so this state is scoped to the benchmark thread.
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class AlgebraBenchmarks {
+
+    @Param({"100", "500"})
+    private int size;
+
+    @Param({"APACHE", "JAMA"})
+    private DataFrameAlgebra.Lib lib;
+
+    private DataFrame<Integer,Integer> left;
+    private DataFrame<Integer,Integer> right;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1234);
+        DataFrameAlgebra.LIBRARY.set(lib);
+        this.left = DataFrame.ofDoubles(Range.of(0, size), Range.of(0, size), v -> random.nextDouble());
+        this.right = DataFrame.ofDoubles(Range.of(0, size), Range.of(0, size), v -> random.nextDouble());
+    }
+
+    @Benchmark
+    public DataFrame<Integer,Integer> dot() {
+        return left.dot(right);
+    }
+
+    @Benchmark
+    public DataFrame<Integer,Integer> inverse() {
+        return left.inverse();
+    }
+
+}
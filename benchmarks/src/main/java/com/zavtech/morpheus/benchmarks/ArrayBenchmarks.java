@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zavtech.morpheus.array.Array;
+
+/**
+ * Benchmarks for element access and sorting of dense, sparse and memory mapped arrays of doubles
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ArrayBenchmarks {
+
+    @Param({"DENSE", "SPARSE", "MAPPED"})
+    private String style;
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private Array<Double> source;
+    private Array<Double> target;
+    private List<File> files = new ArrayList<>();
+
+    /**
+     * Returns a newly created array of doubles in the style being benchmarked
+     * @return  the newly created array
+     */
+    private Array<Double> create() throws IOException {
+        switch (style) {
+            case "DENSE":   return Array.of(Double.class, size, Double.NaN);
+            case "SPARSE":  return Array.of(Double.class, size, Double.NaN, 0.5f);
+            case "MAPPED":  return Array.map(Double.class, size, Double.NaN, createFile().getAbsolutePath());
+            default:        throw new IllegalArgumentException("Unsupported array style: " + style);
+        }
+    }
+
+    /**
+     * Returns a newly created temp file to back a memory mapped array, which is deleted on tear down
+     * @return  the newly created temp file
+     */
+    private File createFile() throws IOException {
+        final File file = File.createTempFile("morpheus-array", ".dat");
+        this.files.add(file);
+        return file;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final Random random = new Random(1234);
+        this.source = create().applyDoubles(v -> random.nextDouble());
+        this.target = create();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.files.forEach(File::delete);
+        this.files.clear();
+    }
+
+    @Benchmark
+    public double getDouble() {
+        double sum = 0d;
+        for (int i=0; i<size; ++i) {
+            sum += source.getDouble(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Array<Double> setDouble() {
+        for (int i=0; i<size; ++i) {
+            target.setDouble(i, i);
+        }
+        return target;
+    }
+
+    @Benchmark
+    public Array<Double> sort(SortState state) {
+        return state.array.sort(true);
+    }
+
+
+    /**
+     * The state for the sort benchmark, which restores the unsorted values before every invocation
+     */
+    @State(Scope.Benchmark)
+    public static class SortState {
+
+        private Array<Double> array;
+
+        @Setup(Level.Trial)
+        public void setup(ArrayBenchmarks benchmarks) throws IOException {
+            this.array = benchmarks.create();
+        }
+
+        @Setup(Level.Invocation)
+        public void reset(ArrayBenchmarks benchmarks) {
+            this.array.applyDoubles(v -> benchmarks.source.getDouble(v.index()));
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.benchmarks;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.range.Range;
+
+/**
+ * Benchmarks for the throughput of writing a DataFrame to CSV and parsing it back, both sequentially and in parallel chunks
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvBenchmarks {
+
+    @Param({"100000", "1000000"})
+    private int rowCount;
+
+    private File input;
+    private File output;
+    private DataFrame<LocalDate,String> frame;
+
+    @Setup
+    public void setup() throws Exception {
+        final Random random = new Random(1234);
+        final LocalDate start = LocalDate.of(1900, 1, 1);
+        this.input = File.createTempFile("morpheus-input", ".csv");
+        this.output = File.createTempFile("morpheus-output", ".csv");
+        this.frame = DataFrame.of(Range.of(0, rowCount).map(start::plusDays), String.class, columns -> {
+            columns.add("Integer", Integer.class).applyInts(v -> random.nextInt());
+            columns.add("Long", Long.class).applyLongs(v -> random.nextLong());
+            columns.add("Double", Double.class).applyDoubles(v -> random.nextDouble());
+            columns.add("String", String.class).applyValues(v -> "Value-" + v.rowOrdinal());
+        });
+        this.frame.write().csv(options -> options.setFile(input));
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.input.delete();
+        this.output.delete();
+    }
+
+    @Benchmark
+    public File write() {
+        this.frame.write().csv(options -> options.setFile(output));
+        return output;
+    }
+
+    @Benchmark
+    public DataFrame<LocalDate,String> read() {
+        return DataFrame.read().csv(options -> {
+            options.setFile(input);
+            options.setRowKeyParser(LocalDate.class, values -> LocalDate.parse(values[0]));
+        });
+    }
+
+    @Benchmark
+    public DataFrame<LocalDate,String> readChunked() {
+        return DataFrame.read().csv(options -> {
+            options.setFile(input);
+            options.setChunkSize(1 << 20);
+            options.setRowKeyParser(LocalDate.class, values -> LocalDate.parse(values[0]));
+        });
+    }
+
+}
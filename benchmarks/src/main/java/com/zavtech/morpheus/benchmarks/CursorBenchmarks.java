@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.frame.DataFrameCursor;
+import com.zavtech.morpheus.range.Range;
+
+/**
+ * Benchmarks for iterating over the rows and columns of a DataFrame via vectors, cursors and direct data access
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CursorBenchmarks {
+
+    @Param({"100000", "1000000"})
+    private int rowCount;
+
+    @Param({"10"})
+    private int colCount;
+
+    private DataFrame<Integer,String> frame;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1234);
+        final Array<String> colKeys = Range.of(0, colCount).map(i -> "C" + i).toArray();
+        this.frame = DataFrame.ofDoubles(Range.of(0, rowCount), colKeys, v -> random.nextDouble());
+    }
+
+    @Benchmark
+    public double rowIteration() {
+        final double[] sum = new double[1];
+        this.frame.rows().forEach(row -> {
+            for (int j=0; j<colCount; ++j) {
+                sum[0] += row.getDouble(j);
+            }
+        });
+        return sum[0];
+    }
+
+    @Benchmark
+    public double colIteration() {
+        final double[] sum = new double[1];
+        this.frame.cols().forEach(column -> {
+            for (int i=0; i<rowCount; ++i) {
+                sum[0] += column.getDouble(i);
+            }
+        });
+        return sum[0];
+    }
+
+    @Benchmark
+    public double cursorIteration() {
+        double sum = 0d;
+        final DataFrameCursor<Integer,String> cursor = frame.cursor();
+        for (int j=0; j<colCount; ++j) {
+            cursor.atColOrdinal(j);
+            for (int i=0; i<rowCount; ++i) {
+                sum += cursor.atRowOrdinal(i).getDouble();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double dataAccess() {
+        double sum = 0d;
+        for (int j=0; j<colCount; ++j) {
+            for (int i=0; i<rowCount; ++i) {
+                sum += frame.data().getDouble(i, j);
+            }
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.benchmarks;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.index.Index;
+import com.zavtech.morpheus.range.Range;
+
+/**
+ * Benchmarks for key to ordinal lookups on an Index of integer, string and date keys
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class IndexBenchmarks {
+
+    @Param({"Integer", "String", "LocalDate"})
+    private String type;
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private Array<Object> keys;
+    private Index<Object> index;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        final LocalDate start = LocalDate.of(1900, 1, 1);
+        switch (type) {
+            case "Integer":     this.keys = (Array<Object>)(Array<?>)Range.of(0, size).toArray();                                   break;
+            case "String":      this.keys = (Array<Object>)(Array<?>)Range.of(0, size).map(i -> "Key-" + i).toArray();              break;
+            case "LocalDate":   this.keys = (Array<Object>)(Array<?>)Range.of(0, size).map(i -> start.plusDays(i)).toArray();       break;
+            default:            throw new IllegalArgumentException("Unsupported key type: " + type);
+        }
+        this.keys = keys.shuffle(1);
+        this.index = Index.of(keys);
+    }
+
+    @Benchmark
+    public long getOrdinalForKey() {
+        long sum = 0L;
+        for (int i=0; i<size; ++i) {
+            sum += index.getOrdinalForKey(keys.getValue(i));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long contains() {
+        long count = 0L;
+        for (int i=0; i<size; ++i) {
+            count += index.contains(keys.getValue(i)) ? 1 : 0;
+        }
+        return count;
+    }
+
+}
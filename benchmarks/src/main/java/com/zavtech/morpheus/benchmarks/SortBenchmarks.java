@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.range.Range;
+import com.zavtech.morpheus.util.SortAlgorithm;
+
+/**
+ * Benchmarks comparing the sequential and parallel versions of the default SortAlgorithm, both directly and via a DataFrame row sort
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SortBenchmarks {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private double[] source;
+    private double[] values;
+    private DataFrame<Integer,String> frame;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random random = new Random(1234);
+        this.source = new double[size];
+        this.values = new double[size];
+        for (int i=0; i<size; ++i) {
+            this.source[i] = random.nextDouble();
+        }
+        this.frame = DataFrame.ofDoubles(Range.of(0, size), Array.of("A", "B"), v -> random.nextDouble());
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(source, 0, values, 0, size);
+        this.frame.rows().sort(true, "B");
+    }
+
+    @Benchmark
+    public double[] sortAlgorithm() {
+        final SortAlgorithm algorithm = SortAlgorithm.getDefault(parallel);
+        algorithm.sort(0, size, (i, j) -> Double.compare(values[i], values[j]), (i, j) -> {
+            final double value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        });
+        return values;
+    }
+
+    @Benchmark
+    public DataFrame<Integer,String> sortRows() {
+        return parallel ? frame.rows().parallel().sort(true, "A") : frame.rows().sequential().sort(true, "A");
+    }
+
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.range.Range;
+import com.zavtech.morpheus.util.Tuple;
+
+/**
+ * Benchmarks for rolling, expanding and grouped statistics over the columns of a DataFrame
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatsBenchmarks {
+
+    @Param({"100000"})
+    private int rowCount;
+
+    @Param({"20", "250"})
+    private int windowSize;
+
+    @Param({"100"})
+    private int groupCount;
+
+    private DataFrame<Integer,String> frame;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1234);
+        final Array<String> colKeys = Array.of("A", "B", "C", "D", "E");
+        this.frame = DataFrame.ofDoubles(Range.of(0, rowCount), colKeys, v -> random.nextDouble());
+        this.frame.cols().add("Group", Double.class).applyDoubles(v -> random.nextInt(groupCount));
+    }
+
+    @Benchmark
+    public DataFrame<Integer,String> rollingMean() {
+        return frame.cols().stats().rolling(windowSize).mean();
+    }
+
+    @Benchmark
+    public DataFrame<Integer,String> rollingMedian() {
+        return frame.cols().stats().rolling(windowSize).median();
+    }
+
+    @Benchmark
+    public DataFrame<Integer,String> expandingMean() {
+        return frame.cols().stats().expanding(windowSize).mean();
+    }
+
+    @Benchmark
+    public DataFrame<Integer,String> expandingMedian() {
+        return frame.cols().stats().expanding(windowSize).median();
+    }
+
+    @Benchmark
+    public DataFrame<Tuple,String> groupedMean() {
+        return frame.rows().groupBy(row -> Tuple.of(row.getDouble("Group"))).stats(0).mean();
+    }
+
+    @Benchmark
+    public DataFrame<Tuple,String> aggregatedMean() {
+        return frame.rows().aggregate("Group").mean();
+    }
+
+}
@@ -23,10 +23,16 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
 import java.util.function.DoubleConsumer;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
 import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
 import java.util.function.LongConsumer;
+import java.util.function.LongUnaryOperator;
 import java.util.function.Predicate;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
@@ -35,6 +41,7 @@ import java.util.function.ToLongFunction;
 import org.apache.commons.math3.distribution.NormalDistribution;
 import org.apache.commons.math3.distribution.RealDistribution;
 
+import com.zavtech.morpheus.array.coding.IntCoding;
 import com.zavtech.morpheus.stats.Stats;
 import com.zavtech.morpheus.util.functions.BooleanConsumer;
 import com.zavtech.morpheus.util.Bounds;
@@ -447,6 +454,123 @@ public interface Array<T> extends Iterable<T>, Serializable, Cloneable {
      */
     Array<T> applyValues(Function<ArrayValue<T>,T> func);
 
+    /**
+     * Applies the int operator to all elements of this array, without going through an ArrayValue cursor
+     * Dense int arrays override this to run tight loops over their backing array in cache sized chunks.
+     * @param operator  the operator applied to each value
+     * @return          this array reference
+     */
+    default Array<T> applyAsInts(IntUnaryOperator operator) {
+        return applyAsInts(0, length(), operator);
+    }
+
+    /**
+     * Applies the int operator to a range of elements in this array, without going through an ArrayValue cursor
+     * @param start     the start index in this array, inclusive
+     * @param end       the end index in this array, exclusive
+     * @param operator  the operator applied to each value
+     * @return          this array reference
+     */
+    Array<T> applyAsInts(int start, int end, IntUnaryOperator operator);
+
+    /**
+     * Combines each element of this array with the element at the same index in the other array using the int operator
+     * @param other     the array of right hand operands, which must be at least as long as this array
+     * @param operator  the operator which takes the value in this array and the value in other
+     * @return          this array reference
+     */
+    default Array<T> applyAsInts(Array<?> other, IntBinaryOperator operator) {
+        return applyAsInts(0, length(), other, operator);
+    }
+
+    /**
+     * Combines a range of elements in this array with the elements at the same indexes in the other array using the int operator
+     * @param start     the start index in this array, inclusive
+     * @param end       the end index in this array, exclusive
+     * @param other     the array of right hand operands, which must have at least end elements
+     * @param operator  the operator which takes the value in this array and the value in other
+     * @return          this array reference
+     */
+    Array<T> applyAsInts(int start, int end, Array<?> other, IntBinaryOperator operator);
+
+    /**
+     * Applies the long operator to all elements of this array, without going through an ArrayValue cursor
+     * Dense long arrays override this to run tight loops over their backing array in cache sized chunks.
+     * @param operator  the operator applied to each value
+     * @return          this array reference
+     */
+    default Array<T> applyAsLongs(LongUnaryOperator operator) {
+        return applyAsLongs(0, length(), operator);
+    }
+
+    /**
+     * Applies the long operator to a range of elements in this array, without going through an ArrayValue cursor
+     * @param start     the start index in this array, inclusive
+     * @param end       the end index in this array, exclusive
+     * @param operator  the operator applied to each value
+     * @return          this array reference
+     */
+    Array<T> applyAsLongs(int start, int end, LongUnaryOperator operator);
+
+    /**
+     * Combines each element of this array with the element at the same index in the other array using the long operator
+     * @param other     the array of right hand operands, which must be at least as long as this array
+     * @param operator  the operator which takes the value in this array and the value in other
+     * @return          this array reference
+     */
+    default Array<T> applyAsLongs(Array<?> other, LongBinaryOperator operator) {
+        return applyAsLongs(0, length(), other, operator);
+    }
+
+    /**
+     * Combines a range of elements in this array with the elements at the same indexes in the other array using the long operator
+     * @param start     the start index in this array, inclusive
+     * @param end       the end index in this array, exclusive
+     * @param other     the array of right hand operands, which must have at least end elements
+     * @param operator  the operator which takes the value in this array and the value in other
+     * @return          this array reference
+     */
+    Array<T> applyAsLongs(int start, int end, Array<?> other, LongBinaryOperator operator);
+
+    /**
+     * Applies the double operator to all elements of this array, without going through an ArrayValue cursor
+     * Dense double arrays override this to run tight loops over their backing array in cache sized chunks.
+     * @param operator  the operator applied to each value
+     * @return          this array reference
+     */
+    default Array<T> applyAsDoubles(DoubleUnaryOperator operator) {
+        return applyAsDoubles(0, length(), operator);
+    }
+
+    /**
+     * Applies the double operator to a range of elements in this array, without going through an ArrayValue cursor
+     * @param start     the start index in this array, inclusive
+     * @param end       the end index in this array, exclusive
+     * @param operator  the operator applied to each value
+     * @return          this array reference
+     */
+    Array<T> applyAsDoubles(int start, int end, DoubleUnaryOperator operator);
+
+    /**
+     * Combines each element of this array with the element at the same index in the other array using the double operator
+     * @param other     the array of right hand operands, which must be at least as long as this array
+     * @param operator  the operator which takes the value in this array and the value in other
+     * @return          this array reference
+     */
+    default Array<T> applyAsDoubles(Array<?> other, DoubleBinaryOperator operator) {
+        return applyAsDoubles(0, length(), other, operator);
+    }
+
+    /**
+     * Combines a range of elements in this array with the elements at the same indexes in the other array using the double operator
+     * @param start     the start index in this array, inclusive
+     * @param end       the end index in this array, exclusive
+     * @param other     the array of right hand operands, which must have at least end elements
+     * @param operator  the operator which takes the value in this array and the value in other
+     * @return          this array reference
+     */
+    Array<T> applyAsDoubles(int start, int end, Array<?> other, DoubleBinaryOperator operator);
+
     /**
      * Iterates over all elements in this array calling the consumer with each value
      * @param consumer  the array consumer for booleans
@@ -525,6 +649,22 @@ public interface Array<T> extends Iterable<T>, Serializable, Cloneable {
      */
     double getDouble(int index);
 
+    /**
+     * Copies a range of values from this array into the target array as doubles
+     * Dense primitive arrays override this to copy directly from their backing array without per element dispatch.
+     * @param start     the start index in this array, inclusive
+     * @param end       the end index in this array, exclusive
+     * @param target    the array to copy values into
+     * @param offset    the index in target for the value at start
+     * @return          the target array
+     */
+    default double[] copyDoubles(int start, int end, double[] target, int offset) {
+        for (int i=start; i<end; ++i) {
+            target[offset + i - start] = getDouble(i);
+        }
+        return target;
+    }
+
     /**
      * Returns the value located at the index specified
      * @param index the index in this array
@@ -718,6 +858,33 @@ public interface Array<T> extends Iterable<T>, Serializable, Cloneable {
         }
     }
 
+    /**
+     * Returns a newly created dense Array that stores int codes for values resolved through the coding specified
+     * With a dictionary coding such as IntCoding.ofString(), repeated values are stored once in the dictionary,
+     * and equality, hashing and sorting operate on codes.
+     * @param coding        the coding for array, which may be shared with other arrays
+     * @param length        the initial length for array
+     * @return              the newly created array
+     */
+    static <V> Array<V> of(IntCoding<V> coding, int length) {
+        return ArrayFactory.dense().apply(coding, length, null);
+    }
+
+    /**
+     * Returns a newly created Array that stores int codes for values resolved through the coding specified
+     * @param coding        the coding for array, which may be shared with other arrays
+     * @param length        the initial length for array
+     * @param loadFactor    the load factor between 0..1 (1 for dense array, < 1 for sparse array)
+     * @return              the newly created array
+     */
+    static <V> Array<V> of(IntCoding<V> coding, int length, float loadFactor) {
+        if (loadFactor < 1f) {
+            return ArrayFactory.sparse().apply(coding, length, null);
+        } else {
+            return ArrayFactory.dense().apply(coding, length, null);
+        }
+    }
+
     /**
      * Returns a newly created Array based on the arguments specified
      * @param type          the data type for Array
@@ -27,14 +27,19 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
 import java.util.function.DoubleConsumer;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
 import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
 import java.util.function.LongConsumer;
+import java.util.function.LongUnaryOperator;
 import java.util.function.Predicate;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
@@ -53,6 +58,7 @@ import com.zavtech.morpheus.stats.Stats;
 import com.zavtech.morpheus.util.functions.BooleanConsumer;
 import com.zavtech.morpheus.util.Bounds;
 import com.zavtech.morpheus.util.Comparators;
+import com.zavtech.morpheus.util.ComputeContext;
 import com.zavtech.morpheus.util.IntComparator;
 import com.zavtech.morpheus.util.SortAlgorithm;
 import com.zavtech.morpheus.util.functions.ToBooleanFunction;
@@ -68,6 +74,9 @@ public abstract class ArrayBase<T> implements Array<T> {
 
     private static final long serialVersionUID = 1L;
 
+    /** The number of elements processed at a time by primitive kernels, sized so a chunk of doubles fits in L1 cache */
+    protected static final int CHUNK_SIZE = 4096;
+
     private Class<T> type;
     private boolean parallel;
     private ArrayStyle style;
@@ -95,6 +104,29 @@ public abstract class ArrayBase<T> implements Array<T> {
         }
     }
 
+    /**
+     * Calls the consumer with consecutive chunks of at most CHUNK_SIZE elements covering the range specified
+     * Chunks are processed in the current ComputeContext if this array is parallel, and sequentially otherwise.
+     * @param start     the start index, inclusive
+     * @param end       the end index, exclusive
+     * @param other     the array of right hand operands for a binary kernel, null for a unary kernel
+     * @param consumer  the consumer to receive the from and to index of each chunk
+     */
+    protected final void forEachChunk(int start, int end, Array<?> other, ChunkConsumer consumer) {
+        if (start < 0 || end > length() || start > end) {
+            throw new ArrayIndexOutOfBoundsException("Array range out of bounds: " + start + " to " + end + ", length " + length());
+        } else if (other != null && other.length() < end) {
+            throw new ArrayException("The operand array is too short, expected length >= " + end + ", found " + other.length());
+        } else if (isParallel() && end - start > CHUNK_SIZE) {
+            final int threshold = ComputeContext.current().getSplitThreshold(end - start, CHUNK_SIZE);
+            ComputeContext.current().invoke(new ForEachChunk(start, end, threshold, consumer));
+        } else {
+            for (int from=start; from<end; from += CHUNK_SIZE) {
+                consumer.accept(from, Math.min(end, from + CHUNK_SIZE));
+            }
+        }
+    }
+
     @Override
     public final Class<T> type() {
         return type;
@@ -225,7 +257,7 @@ public abstract class ArrayBase<T> implements Array<T> {
         final Array<Boolean> result = Array.of(Boolean.class, length());
         final MapValues<Boolean> action = new MapValues<>(0, length() - 1, mapper, result);
         if (isParallel()) {
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
             return result;
         } else {
             action.compute();
@@ -239,7 +271,7 @@ public abstract class ArrayBase<T> implements Array<T> {
         final Array<Integer> result = Array.of(Integer.class, length());
         final MapValues<Integer> action = new MapValues<>(0, length() - 1, mapper, result);
         if (isParallel()) {
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
             return result;
         } else {
             action.compute();
@@ -253,7 +285,7 @@ public abstract class ArrayBase<T> implements Array<T> {
         final Array<Long> result = Array.of(Long.class, length());
         final MapValues<Long> action = new MapValues<>(0, length() - 1, mapper, result);
         if (isParallel()) {
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
             return result;
         } else {
             action.compute();
@@ -267,7 +299,7 @@ public abstract class ArrayBase<T> implements Array<T> {
         final Array<Double> result = Array.of(Double.class, length());
         final MapValues<Double> action = new MapValues<>(0, length() - 1, mapper, result);
         if (isParallel()) {
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
             return result;
         } else {
             action.compute();
@@ -290,7 +322,7 @@ public abstract class ArrayBase<T> implements Array<T> {
         if (length > 0) {
             final ApplyValues action = new ApplyValues(0, length - 1, function);
             if (isParallel()) {
-                ForkJoinPool.commonPool().invoke(action);
+                ComputeContext.current().invoke(action);
             } else {
                 action.compute();
             }
@@ -305,7 +337,7 @@ public abstract class ArrayBase<T> implements Array<T> {
         if (length > 0) {
             final ApplyValues action = new ApplyValues(0, length - 1, function);
             if (isParallel()) {
-                ForkJoinPool.commonPool().invoke(action);
+                ComputeContext.current().invoke(action);
             } else {
                 action.compute();
             }
@@ -320,7 +352,7 @@ public abstract class ArrayBase<T> implements Array<T> {
         if (length > 0) {
             final ApplyValues action = new ApplyValues(0, length - 1, function);
             if (isParallel()) {
-                ForkJoinPool.commonPool().invoke(action);
+                ComputeContext.current().invoke(action);
             } else {
                 action.compute();
             }
@@ -335,7 +367,7 @@ public abstract class ArrayBase<T> implements Array<T> {
         if (length > 0) {
             final ApplyValues action = new ApplyValues(0, length - 1, function);
             if (isParallel()) {
-                ForkJoinPool.commonPool().invoke(action);
+                ComputeContext.current().invoke(action);
             } else {
                 action.compute();
             }
@@ -350,7 +382,7 @@ public abstract class ArrayBase<T> implements Array<T> {
         if (length > 0) {
             final ApplyValues action = new ApplyValues(0, length - 1, function);
             if (isParallel()) {
-                ForkJoinPool.commonPool().invoke(action);
+                ComputeContext.current().invoke(action);
             } else {
                 action.compute();
             }
@@ -359,14 +391,79 @@ public abstract class ArrayBase<T> implements Array<T> {
     }
 
 
+    @Override
+    public Array<T> applyAsInts(int start, int end, IntUnaryOperator operator) {
+        this.forEachChunk(start, end, null, (from, to) -> {
+            for (int i=from; i<to; ++i) {
+                this.setInt(i, operator.applyAsInt(getInt(i)));
+            }
+        });
+        return this;
+    }
+
+
+    @Override
+    public Array<T> applyAsInts(int start, int end, Array<?> other, IntBinaryOperator operator) {
+        this.forEachChunk(start, end, other, (from, to) -> {
+            for (int i=from; i<to; ++i) {
+                this.setInt(i, operator.applyAsInt(getInt(i), other.getInt(i)));
+            }
+        });
+        return this;
+    }
+
+
+    @Override
+    public Array<T> applyAsLongs(int start, int end, LongUnaryOperator operator) {
+        this.forEachChunk(start, end, null, (from, to) -> {
+            for (int i=from; i<to; ++i) {
+                this.setLong(i, operator.applyAsLong(getLong(i)));
+            }
+        });
+        return this;
+    }
+
+
+    @Override
+    public Array<T> applyAsLongs(int start, int end, Array<?> other, LongBinaryOperator operator) {
+        this.forEachChunk(start, end, other, (from, to) -> {
+            for (int i=from; i<to; ++i) {
+                this.setLong(i, operator.applyAsLong(getLong(i), other.getLong(i)));
+            }
+        });
+        return this;
+    }
+
+
+    @Override
+    public Array<T> applyAsDoubles(int start, int end, DoubleUnaryOperator operator) {
+        this.forEachChunk(start, end, null, (from, to) -> {
+            for (int i=from; i<to; ++i) {
+                this.setDouble(i, operator.applyAsDouble(getDouble(i)));
+            }
+        });
+        return this;
+    }
+
+
+    @Override
+    public Array<T> applyAsDoubles(int start, int end, Array<?> other, DoubleBinaryOperator operator) {
+        this.forEachChunk(start, end, other, (from, to) -> {
+            for (int i=from; i<to; ++i) {
+                this.setDouble(i, operator.applyAsDouble(getDouble(i), other.getDouble(i)));
+            }
+        });
+        return this;
+    }
+
+
     @Override
     public final void forEach(Consumer<? super T> consumer) {
         final int length = length();
         if (isParallel() && length > 0) {
-            final int processors = Runtime.getRuntime().availableProcessors();
-            final int splitThreshold = parallel ? Math.max(length() / processors, 10000) : Integer.MAX_VALUE;
+            final int splitThreshold = parallel ? ComputeContext.current().getSplitThreshold(length(), 10000) : Integer.MAX_VALUE;
             final ForEach action = new ForEach(0, length - 1, splitThreshold, consumer);
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
         } else {
             for (int i=0; i<length; ++i) {
                 final T value = getValue(i);
@@ -379,10 +476,9 @@ public abstract class ArrayBase<T> implements Array<T> {
     public Array<T> forEachBoolean(BooleanConsumer consumer) {
         final int length = length();
         if (isParallel() && length > 0) {
-            final int processors = Runtime.getRuntime().availableProcessors();
-            final int splitThreshold = parallel ? Math.max(length() / processors, 10000) : Integer.MAX_VALUE;
+            final int splitThreshold = parallel ? ComputeContext.current().getSplitThreshold(length(), 10000) : Integer.MAX_VALUE;
             final ForEach action = new ForEach(0, length - 1, splitThreshold, consumer);
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
         } else {
             for (int i=0; i<length; ++i) {
                 final boolean value = getBoolean(i);
@@ -396,10 +492,9 @@ public abstract class ArrayBase<T> implements Array<T> {
     public Array<T> forEachInt(IntConsumer consumer) {
         final int length = length();
         if (isParallel() && length > 0) {
-            final int processors = Runtime.getRuntime().availableProcessors();
-            final int splitThreshold = parallel ? Math.max(length() / processors, 10000) : Integer.MAX_VALUE;
+            final int splitThreshold = parallel ? ComputeContext.current().getSplitThreshold(length(), 10000) : Integer.MAX_VALUE;
             final ForEach action = new ForEach(0, length - 1, splitThreshold, consumer);
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
         } else {
             for (int i=0; i<length; ++i) {
                 final int value = getInt(i);
@@ -413,10 +508,9 @@ public abstract class ArrayBase<T> implements Array<T> {
     public Array<T> forEachLong(LongConsumer consumer) {
         final int length = length();
         if (isParallel() && length > 0) {
-            final int processors = Runtime.getRuntime().availableProcessors();
-            final int splitThreshold = parallel ? Math.max(length() / processors, 10000) : Integer.MAX_VALUE;
+            final int splitThreshold = parallel ? ComputeContext.current().getSplitThreshold(length(), 10000) : Integer.MAX_VALUE;
             final ForEach action = new ForEach(0, length - 1, splitThreshold, consumer);
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
         } else {
             for (int i=0; i<length; ++i) {
                 final long value = getLong(i);
@@ -430,10 +524,9 @@ public abstract class ArrayBase<T> implements Array<T> {
     public final Array<T> forEachDouble(DoubleConsumer consumer) {
         final int length = length();
         if (isParallel() && length > 0) {
-            final int processors = Runtime.getRuntime().availableProcessors();
-            final int splitThreshold = parallel ? Math.max(length() / processors, 10000) : Integer.MAX_VALUE;
+            final int splitThreshold = parallel ? ComputeContext.current().getSplitThreshold(length(), 10000) : Integer.MAX_VALUE;
             final ForEach action = new ForEach(0, length - 1, splitThreshold, consumer);
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
         } else {
             for (int i=0; i<length; ++i) {
                 final double value = getDouble(i);
@@ -447,10 +540,9 @@ public abstract class ArrayBase<T> implements Array<T> {
     public final Array<T> forEachValue(Consumer<ArrayValue<T>> consumer) {
         final int length = length();
         if (isParallel() && length > 0) {
-            final int processors = Runtime.getRuntime().availableProcessors();
-            final int splitThreshold = parallel ? Math.max(length() / processors, 10000) : Integer.MAX_VALUE;
+            final int splitThreshold = parallel ? ComputeContext.current().getSplitThreshold(length(), 10000) : Integer.MAX_VALUE;
             final ForEachArrayValue action = new ForEachArrayValue(0, length - 1, splitThreshold, consumer);
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
         } else {
             final ForEachArrayValue action = new ForEachArrayValue(0, length - 1, Integer.MAX_VALUE, consumer);
             action.compute();
@@ -552,10 +644,9 @@ public abstract class ArrayBase<T> implements Array<T> {
     @Override
     public final Optional<T> min() {
         if (isParallel() && length() > 0) {
-            final int processors = Runtime.getRuntime().availableProcessors();
-            final int splitThreshold = Math.max(length() / processors, 10000);
+            final int splitThreshold = ComputeContext.current().getSplitThreshold(length(), 10000);
             final MinTask<T> task = new MinTask<>(this, 0, length()-1, splitThreshold);
-            final T minValue = ForkJoinPool.commonPool().invoke(task);
+            final T minValue = ComputeContext.current().invoke(task);
             return Optional.ofNullable(minValue);
         } else {
             final MinTask<T> task = new MinTask<>(this, 0, length()-1, Integer.MAX_VALUE);
@@ -568,10 +659,9 @@ public abstract class ArrayBase<T> implements Array<T> {
     @Override
     public final Optional<T> max() {
         if (isParallel() && length() > 0) {
-            final int processors = Runtime.getRuntime().availableProcessors();
-            final int splitThreshold = Math.max(length() / processors, 10000);
+            final int splitThreshold = ComputeContext.current().getSplitThreshold(length(), 10000);
             final MaxTask<T> task = new MaxTask<>(this, 0, length()-1, splitThreshold);
-            final T maxValue = ForkJoinPool.commonPool().invoke(task);
+            final T maxValue = ComputeContext.current().invoke(task);
             return Optional.ofNullable(maxValue);
         } else {
             final MaxTask<T> task = new MaxTask<>(this, 0, length()-1, Integer.MAX_VALUE);
@@ -584,10 +674,9 @@ public abstract class ArrayBase<T> implements Array<T> {
     @Override()
     public final Optional<Bounds<T>> bounds() {
         if (isParallel() && length() > 0) {
-            final int processors = Runtime.getRuntime().availableProcessors();
-            final int splitThreshold = Math.max(length() / processors, 10000);
+            final int splitThreshold = ComputeContext.current().getSplitThreshold(length(), 10000);
             final BoundsTask<T> task = new BoundsTask<>(this, 0, length()-1, splitThreshold);
-            final Bounds<T> bounds = ForkJoinPool.commonPool().invoke(task);
+            final Bounds<T> bounds = ComputeContext.current().invoke(task);
             return Optional.ofNullable(bounds);
         } else {
             final BoundsTask<T> task = new BoundsTask<>(this, 0, length()-1, Integer.MAX_VALUE);
@@ -690,9 +779,8 @@ public abstract class ArrayBase<T> implements Array<T> {
     @Override
     public int count(Predicate<ArrayValue<T>> predicate) {
         if (isParallel() && length() > 0) {
-            final int processors = Runtime.getRuntime().availableProcessors();
-            final int splitThreshold = Math.max(length() / processors, 10000);
-            return ForkJoinPool.commonPool().invoke(new CountTask<>(this, 0, length()-1, splitThreshold, predicate));
+            final int splitThreshold = ComputeContext.current().getSplitThreshold(length(), 10000);
+            return ComputeContext.current().invoke(new CountTask<>(this, 0, length()-1, splitThreshold, predicate));
         } else {
             final CountTask task = new CountTask<>(this, 0, length()-1, Integer.MAX_VALUE, predicate);
             return task.compute();
@@ -916,6 +1004,62 @@ public abstract class ArrayBase<T> implements Array<T> {
 
 
 
+    /**
+     * A consumer of the from and to index of a chunk of elements processed by a primitive kernel
+     */
+    protected interface ChunkConsumer {
+
+        /**
+         * Processes the elements in the chunk specified
+         * @param from  the from index, inclusive
+         * @param to    the to index, exclusive
+         */
+        void accept(int from, int to);
+    }
+
+
+    /**
+     * A RecursiveAction that splits a range of elements into tasks, each of which processes its elements in chunks
+     */
+    private static class ForEachChunk extends RecursiveAction {
+
+        private int from, to;
+        private int threshold;
+        private ChunkConsumer consumer;
+
+        /**
+         * Constructor
+         * @param from      the from index, inclusive
+         * @param to        the to index, exclusive
+         * @param threshold the length below which the range is not split further
+         * @param consumer  the consumer of each chunk
+         */
+        ForEachChunk(int from, int to, int threshold, ChunkConsumer consumer) {
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void compute() {
+            final int count = to - from;
+            if (count > threshold) {
+                final int midPoint = from + Math.max(1, count / 2 / CHUNK_SIZE) * CHUNK_SIZE;
+                invokeAll(
+                    new ForEachChunk(from, midPoint, threshold, consumer),
+                    new ForEachChunk(midPoint, to, threshold, consumer)
+                );
+            } else {
+                for (int start=from; start<to; start += CHUNK_SIZE) {
+                    consumer.accept(start, Math.min(to, start + CHUNK_SIZE));
+                }
+            }
+        }
+    }
+
+
+
     /**
      * A RecursiveAction to apply values to each element in this Array
      */
@@ -945,8 +1089,7 @@ public abstract class ArrayBase<T> implements Array<T> {
         protected void compute() {
             try {
                 final int count = to - from + 1;
-                final int processors = Runtime.getRuntime().availableProcessors();
-                final int threshold = parallel ? Math.max(length() / processors, 10000) : Integer.MAX_VALUE;
+                final int threshold = parallel ? ComputeContext.current().getSplitThreshold(length(), 10000) : Integer.MAX_VALUE;
                 if (count > threshold) {
                     final int splitCount = (to - from) / 2;
                     final int midPoint = from + splitCount;
@@ -1035,8 +1178,7 @@ public abstract class ArrayBase<T> implements Array<T> {
         protected void compute() {
             try {
                 final int count = to - from + 1;
-                final int processors = Runtime.getRuntime().availableProcessors();
-                final int threshold = parallel ? Math.max(length() / processors, 10000) : Integer.MAX_VALUE;
+                final int threshold = parallel ? ComputeContext.current().getSplitThreshold(length(), 10000) : Integer.MAX_VALUE;
                 if (count > threshold) {
                     final int splitCount = (to - from) / 2;
                     final int midPoint = from + splitCount;
@@ -15,6 +15,7 @@
  */
 package com.zavtech.morpheus.array;
 
+import com.zavtech.morpheus.array.coding.IntCoding;
 import com.zavtech.morpheus.array.dense.DenseArrayConstructor;
 import com.zavtech.morpheus.array.mapped.MappedArrayConstructor;
 import com.zavtech.morpheus.array.sparse.SparseArrayConstructor;
@@ -185,5 +186,18 @@ public abstract class ArrayFactory {
          */
         <T> Array<T> apply(Class<T> type, int length, T defaultValue, String path);
 
+        /**
+         * Returns a newly created array that stores int codes for values resolved through the coding specified
+         * This is supported by dense and sparse constructors, but not by the memory mapped constructor, as the
+         * codes in a file are only meaningful with the dictionary of a coding, which would not be persisted.
+         * @param coding        the coding for array, which may be shared with other arrays
+         * @param length        the initial length
+         * @param defaultValue  the default value for array
+         * @return              the newly created array
+         */
+        default <T> Array<T> apply(IntCoding<T> coding, int length, T defaultValue) {
+            throw new UnsupportedOperationException("Arrays with a user supplied coding are not supported by " + getClass().getSimpleName());
+        }
+
     }
 }
@@ -23,6 +23,7 @@ import com.zavtech.morpheus.stats.Max;
 import com.zavtech.morpheus.stats.Mean;
 import com.zavtech.morpheus.stats.MeanAbsDev;
 import com.zavtech.morpheus.stats.Median;
+import com.zavtech.morpheus.stats.MergeableStatistic;
 import com.zavtech.morpheus.stats.Min;
 import com.zavtech.morpheus.stats.Percentile;
 import com.zavtech.morpheus.stats.Product;
@@ -65,18 +66,22 @@ class ArrayStats<T extends Number> implements Stats<Number> {
     }
 
     /**
-     * Computes the univarite statistic for the array
+     * Computes the univarite statistic for the array, reducing partitions in parallel if the array is parallel and the stat is mergeable
      * @param stat  the statistic to compute
      * @return      the resulting value
      */
     private Number compute(Statistic1 stat) {
-        for (int i=0; i<length; ++i) {
-            final double value = array.getDouble(offset + i);
-            if (!Double.isNaN(value)) {
-                stat.add(value);
+        if (array.isParallel() && stat instanceof MergeableStatistic) {
+            return MergeableStatistic.reduce((MergeableStatistic)stat, array::getDouble, offset, length);
+        } else {
+            for (int i=0; i<length; ++i) {
+                final double value = array.getDouble(offset + i);
+                if (!Double.isNaN(value)) {
+                    stat.add(value);
+                }
             }
+            return stat.getValue();
         }
-        return stat.getValue();
     }
 
     @Override
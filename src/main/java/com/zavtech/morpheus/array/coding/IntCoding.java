@@ -19,7 +19,11 @@ import java.time.Year;
 import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Currency;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
 
 import gnu.trove.map.TObjectIntMap;
@@ -84,6 +88,40 @@ public interface IntCoding<T> extends Coding<T> {
         return new OfCurrency();
     }
 
+    /**
+     * Returns a new dictionary coding for String values, which assigns codes in order of first appearance
+     * @return  the newly created coding
+     */
+    static OfString ofString() {
+        return new OfString();
+    }
+
+    /**
+     * Returns a new dictionary coding for String values seeded with the values specified in sorted order
+     * The dictionary remains sorted, and therefore sortable by code, as long as values added later sort after the seed.
+     * @param values    the values to seed the dictionary with
+     * @return          the newly created coding
+     */
+    static OfString ofString(Iterable<String> values) {
+        final OfString coding = new OfString();
+        final TreeSet<String> sorted = new TreeSet<>();
+        values.forEach(value -> { if (value != null) sorted.add(value); });
+        sorted.forEach(coding::getCode);
+        return coding;
+    }
+
+    /**
+     * Returns a new dictionary coding seeded with the codes and values specified, such as a table persisted with coded data
+     * Values not in the table are assigned codes after the highest code in the table, so the seeded codes never change.
+     * @param type  the value type
+     * @param table the values keyed by code, all of which must be zero or positive
+     * @param <T>   the type
+     * @return      the newly created coding
+     */
+    static <T> OfTable<T> ofTable(Class<T> type, Map<Integer,? extends T> table) {
+        return new OfTable<>(type, table);
+    }
+
     /**
      * Returns a new coding for the enum specified
      * @param type  the enum type
@@ -266,4 +304,205 @@ public interface IntCoding<T> extends Coding<T> {
     }
 
 
+    /**
+     * A dictionary IntCoding for String values that assigns codes in order of first appearance.
+     *
+     * Lookups of existing values are lock free, while new values are added under a lock, so a single instance can be
+     * shared by several arrays and populated from several threads. Codes follow the natural order of the values only
+     * while values are added in ascending order, which is reported by isSorted(), otherwise ranks are available to
+     * compare codes in value order.
+     */
+    class OfString extends BaseCoding<String> implements IntCoding<String> {
+
+        private static final long serialVersionUID = 1L;
+
+        private volatile int size;
+        private volatile String[] values;
+        private volatile boolean sorted;
+        private transient volatile int[] ranks;
+        private final ConcurrentHashMap<String,Integer> codeMap;
+
+        /**
+         * Constructor
+         */
+        public OfString() {
+            super(String.class);
+            this.sorted = true;
+            this.values = new String[16];
+            this.codeMap = new ConcurrentHashMap<>(16);
+        }
+
+        /**
+         * Returns the number of distinct values in this dictionary
+         * @return  the number of distinct values
+         */
+        public final int size() {
+            return size;
+        }
+
+        /**
+         * Returns true if the codes in this dictionary follow the natural order of the values
+         * @return  true if codes can be compared in place of values
+         */
+        public final boolean isSorted() {
+            return sorted;
+        }
+
+        /**
+         * Returns the rank of each code in the natural order of the values, indexed by code
+         * @return  the ranks indexed by code, which must not be modified
+         */
+        public final int[] getRanks() {
+            final int[] ranks = this.ranks;
+            return ranks != null && ranks.length == size ? ranks : computeRanks();
+        }
+
+        @Override
+        public final int getCode(String value) {
+            if (value == null) {
+                return -1;
+            } else {
+                final Integer code = codeMap.get(value);
+                return code != null ? code : add(value);
+            }
+        }
+
+        @Override
+        public final String getValue(int code) {
+            return code < 0 ? null : values[code];
+        }
+
+        /**
+         * Adds a value to this dictionary if it is not already present
+         * @param value     the value to add
+         * @return          the code for value
+         */
+        private synchronized int add(String value) {
+            final Integer existing = codeMap.get(value);
+            if (existing != null) {
+                return existing;
+            } else {
+                final int code = size;
+                if (code == values.length) {
+                    this.values = Arrays.copyOf(values, code + (code >> 1));
+                }
+                this.values[code] = value;
+                if (sorted && code > 0 && values[code - 1].compareTo(value) > 0) {
+                    this.sorted = false;
+                }
+                this.size = code + 1;
+                this.codeMap.put(value, code);
+                return code;
+            }
+        }
+
+        /**
+         * Computes the rank of each code in the natural order of the values
+         * @return  the ranks indexed by code
+         */
+        private synchronized int[] computeRanks() {
+            final int count = size;
+            final String[] values = this.values;
+            final int[] ranks = new int[count];
+            final int[] order = IntStream.range(0, count).toArray();
+            if (sorted) {
+                System.arraycopy(order, 0, ranks, 0, count);
+            } else {
+                final IntComparator comparator = (i, j) -> values[order[i]].compareTo(values[order[j]]);
+                SortAlgorithm.getDefault(false).sort(0, count, comparator, (i, j) -> {
+                    final int code = order[i]; order[i] = order[j]; order[j] = code;
+                });
+                for (int i=0; i<count; ++i) {
+                    ranks[order[i]] = i;
+                }
+            }
+            this.ranks = ranks;
+            return ranks;
+        }
+    }
+
+
+    /**
+     * A dictionary IntCoding seeded with a fixed table of codes and values, which assigns new codes to values not in the table.
+     *
+     * Codings such as OfZoneId derive their codes from tables in the running JVM, which can change between releases, so
+     * codes that are persisted are stored alongside the values they represent, and decoded through this coding later.
+     */
+    class OfTable<T> extends BaseCoding<T> implements IntCoding<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private volatile int size;
+        private volatile Object[] values;
+        private final ConcurrentHashMap<T,Integer> codeMap;
+
+        /**
+         * Constructor
+         * @param type  the value type
+         * @param table the values keyed by code
+         */
+        OfTable(Class<T> type, Map<Integer,? extends T> table) {
+            super(type);
+            this.codeMap = new ConcurrentHashMap<>(Math.max(16, table.size() * 2));
+            this.size = table.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+            this.values = new Object[Math.max(16, size)];
+            table.forEach((code, value) -> {
+                if (code < 0) {
+                    throw new IllegalArgumentException("The codes in a coding table must be >= 0, found " + code);
+                } else if (value != null) {
+                    this.values[code] = value;
+                    this.codeMap.put(value, code);
+                }
+            });
+        }
+
+        /**
+         * Returns the values in this coding keyed by code
+         * @return  the values keyed by code
+         */
+        public final Map<Integer,T> getTable() {
+            final Map<Integer,T> table = new TreeMap<>();
+            this.codeMap.forEach((value, code) -> table.put(code, value));
+            return table;
+        }
+
+        @Override
+        public final int getCode(T value) {
+            if (value == null) {
+                return -1;
+            } else {
+                final Integer code = codeMap.get(value);
+                return code != null ? code : add(value);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public final T getValue(int code) {
+            final Object[] values = this.values;
+            return code < 0 || code >= values.length ? null : (T)values[code];
+        }
+
+        /**
+         * Adds a value to this coding if it is not already present
+         * @param value     the value to add
+         * @return          the code for value
+         */
+        private synchronized int add(T value) {
+            final Integer existing = codeMap.get(value);
+            if (existing != null) {
+                return existing;
+            } else {
+                final int code = size;
+                if (code == values.length) {
+                    this.values = Arrays.copyOf(values, code + (code >> 1));
+                }
+                this.values[code] = value;
+                this.size = code + 1;
+                this.codeMap.put(value, code);
+                return code;
+            }
+        }
+    }
+
 }
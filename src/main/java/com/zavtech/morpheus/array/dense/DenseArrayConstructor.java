@@ -94,4 +94,10 @@ public class DenseArrayConstructor implements ArrayFactory.Constructor {
             }
         }
     }
+
+
+    @Override
+    public final <T> Array<T> apply(IntCoding<T> coding, int length, T defaultValue) {
+        return new DenseArrayWithIntCoding<>(length, defaultValue, coding);
+    }
 }
@@ -19,6 +19,8 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Arrays;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Predicate;
 
 import gnu.trove.set.TDoubleSet;
@@ -231,6 +233,47 @@ class DenseArrayOfDoubles extends ArrayBase<Double> {
     }
 
 
+    @Override
+    public final double[] copyDoubles(int start, int end, double[] target, int offset) {
+        System.arraycopy(values, start, target, offset, end - start);
+        return target;
+    }
+
+
+    @Override
+    public final Array<Double> applyAsDoubles(int start, int end, DoubleUnaryOperator operator) {
+        final double[] values = this.values;
+        this.forEachChunk(start, end, null, (from, to) -> {
+            for (int i=from; i<to; ++i) {
+                values[i] = operator.applyAsDouble(values[i]);
+            }
+        });
+        return this;
+    }
+
+
+    @Override
+    public final Array<Double> applyAsDoubles(int start, int end, Array<?> other, DoubleBinaryOperator operator) {
+        final double[] values = this.values;
+        if (other instanceof DenseArrayOfDoubles) {
+            final double[] right = ((DenseArrayOfDoubles)other).values;
+            this.forEachChunk(start, end, other, (from, to) -> {
+                for (int i=from; i<to; ++i) {
+                    values[i] = operator.applyAsDouble(values[i], right[i]);
+                }
+            });
+        } else {
+            this.forEachChunk(start, end, other, (from, to) -> {
+                final double[] right = other.copyDoubles(from, to, new double[to - from], 0);
+                for (int i=from; i<to; ++i) {
+                    values[i] = operator.applyAsDouble(values[i], right[i - from]);
+                }
+            });
+        }
+        return this;
+    }
+
+
     @Override
     public final Double getValue(int index) {
         return values[index];
@@ -19,6 +19,8 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
 import java.util.function.Predicate;
 
 import gnu.trove.set.TIntSet;
@@ -237,6 +239,48 @@ class DenseArrayOfInts extends ArrayBase<Integer> {
     }
 
 
+    @Override
+    public final double[] copyDoubles(int start, int end, double[] target, int offset) {
+        for (int i=start; i<end; ++i) {
+            target[offset + i - start] = values[i];
+        }
+        return target;
+    }
+
+
+    @Override
+    public final Array<Integer> applyAsInts(int start, int end, IntUnaryOperator operator) {
+        final int[] values = this.values;
+        this.forEachChunk(start, end, null, (from, to) -> {
+            for (int i=from; i<to; ++i) {
+                values[i] = operator.applyAsInt(values[i]);
+            }
+        });
+        return this;
+    }
+
+
+    @Override
+    public final Array<Integer> applyAsInts(int start, int end, Array<?> other, IntBinaryOperator operator) {
+        final int[] values = this.values;
+        if (other instanceof DenseArrayOfInts) {
+            final int[] right = ((DenseArrayOfInts)other).values;
+            this.forEachChunk(start, end, other, (from, to) -> {
+                for (int i=from; i<to; ++i) {
+                    values[i] = operator.applyAsInt(values[i], right[i]);
+                }
+            });
+        } else {
+            this.forEachChunk(start, end, other, (from, to) -> {
+                for (int i=from; i<to; ++i) {
+                    values[i] = operator.applyAsInt(values[i], other.getInt(i));
+                }
+            });
+        }
+        return this;
+    }
+
+
     @Override
     public final Integer getValue(int index) {
         return values[index];
@@ -19,6 +19,8 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Arrays;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
 import java.util.function.Predicate;
 
 import gnu.trove.set.TLongSet;
@@ -238,6 +240,48 @@ class DenseArrayOfLongs extends ArrayBase<Long> {
     }
 
 
+    @Override
+    public final double[] copyDoubles(int start, int end, double[] target, int offset) {
+        for (int i=start; i<end; ++i) {
+            target[offset + i - start] = values[i];
+        }
+        return target;
+    }
+
+
+    @Override
+    public final Array<Long> applyAsLongs(int start, int end, LongUnaryOperator operator) {
+        final long[] values = this.values;
+        this.forEachChunk(start, end, null, (from, to) -> {
+            for (int i=from; i<to; ++i) {
+                values[i] = operator.applyAsLong(values[i]);
+            }
+        });
+        return this;
+    }
+
+
+    @Override
+    public final Array<Long> applyAsLongs(int start, int end, Array<?> other, LongBinaryOperator operator) {
+        final long[] values = this.values;
+        if (other instanceof DenseArrayOfLongs) {
+            final long[] right = ((DenseArrayOfLongs)other).values;
+            this.forEachChunk(start, end, other, (from, to) -> {
+                for (int i=from; i<to; ++i) {
+                    values[i] = operator.applyAsLong(values[i], right[i]);
+                }
+            });
+        } else {
+            this.forEachChunk(start, end, other, (from, to) -> {
+                for (int i=from; i<to; ++i) {
+                    values[i] = operator.applyAsLong(values[i], other.getLong(i));
+                }
+            });
+        }
+        return this;
+    }
+
+
     @Override
     public final Long getValue(int index) {
         return values[index];
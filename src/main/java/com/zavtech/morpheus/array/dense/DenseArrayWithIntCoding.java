@@ -153,13 +153,48 @@ class DenseArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<T
 
     @Override
     protected final Array<T> sort(int start, int end, int multiplier) {
-        return doSort(start, end, (i, j) -> multiplier * Integer.compare(codes[i], codes[j]));
+        final int[] ranks = ranks();
+        if (ranks == null) {
+            return doSort(start, end, (i, j) -> multiplier * Integer.compare(codes[i], codes[j]));
+        } else {
+            return doSort(start, end, (i, j) -> multiplier * Integer.compare(rank(ranks, codes[i]), rank(ranks, codes[j])));
+        }
     }
 
 
     @Override
     public final int compare(int i, int j) {
-        return Integer.compare(codes[i], codes[j]);
+        final int[] ranks = ranks();
+        if (ranks == null) {
+            return Integer.compare(codes[i], codes[j]);
+        } else {
+            return Integer.compare(rank(ranks, codes[i]), rank(ranks, codes[j]));
+        }
+    }
+
+
+    /**
+     * Returns the ranks of codes in value order if codes do not already follow value order, as with an unsorted dictionary
+     * @return  the ranks indexed by code, null if codes can be compared directly
+     */
+    private int[] ranks() {
+        if (coding instanceof IntCoding.OfString) {
+            final IntCoding.OfString dictionary = (IntCoding.OfString)coding;
+            return dictionary.isSorted() ? null : dictionary.getRanks();
+        } else {
+            return null;
+        }
+    }
+
+
+    /**
+     * Returns the rank for the code specified, where the null code ranks first
+     * @param ranks the ranks indexed by code
+     * @param code  the code
+     * @return      the rank of code
+     */
+    private static int rank(int[] ranks, int code) {
+        return code < 0 ? code : ranks[code];
     }
 
 
@@ -175,16 +210,17 @@ class DenseArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<T
 
     @Override
     public final Array<T> filter(Predicate<ArrayValue<T>> predicate) {
+        int count = 0;
+        final int[] indexes = new int[length()];
         final ArrayCursor<T> cursor = cursor();
-        final ArrayBuilder<T> builder = ArrayBuilder.of(length(), type());
         for (int i = 0; i< length(); ++i) {
             cursor.moveTo(i);
             final boolean match = predicate.test(cursor);
             if (match) {
-                builder.add(cursor.getValue());
+                indexes[count++] = i;
             }
         }
-        return builder.toArray();
+        return copy(count < indexes.length ? Arrays.copyOf(indexes, count) : indexes);
     }
 
 
@@ -205,8 +241,9 @@ class DenseArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<T
 
 
     @Override
+    @SuppressWarnings("unchecked")
     public final Array<T> update(int toIndex, Array<T> from, int fromIndex, int length) {
-        if (from instanceof DenseArrayWithIntCoding) {
+        if (from instanceof DenseArrayWithIntCoding && isSameCoding(((DenseArrayWithIntCoding<T>)from).coding)) {
             final DenseArrayWithIntCoding other = (DenseArrayWithIntCoding) from;
             for (int i = 0; i < length; ++i) {
                 this.codes[toIndex + i] = other.codes[fromIndex + i];
@@ -225,6 +262,23 @@ class DenseArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<T
     }
 
 
+    /**
+     * Returns true if the coding specified produces the same codes as the coding of this array
+     * Dictionary codings assign codes in order of appearance, so only the same dictionary instance is compatible.
+     * @param other the other coding
+     * @return      true if codes from the other coding can be copied directly
+     */
+    private boolean isSameCoding(IntCoding<T> other) {
+        if (other == coding) {
+            return true;
+        } else if (coding instanceof IntCoding.OfString || other instanceof IntCoding.OfString) {
+            return false;
+        } else {
+            return other.getClass() == coding.getClass() && other.getType() == coding.getType();
+        }
+    }
+
+
     @Override
     public final Array<T> expand(int newLength) {
         if (newLength > codes.length) {
@@ -268,6 +322,14 @@ class DenseArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<T
     }
 
 
+    @Override
+    public int setInt(int index, int value) {
+        final int oldValue = codes[index];
+        this.codes[index] = value;
+        return oldValue;
+    }
+
+
     @Override
     public final T getValue(int index) {
         return coding.getValue(codes[index]);
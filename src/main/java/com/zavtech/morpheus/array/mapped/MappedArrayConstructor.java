@@ -15,6 +15,7 @@
  */
 package com.zavtech.morpheus.array.mapped;
 
+import java.io.Closeable;
 import java.io.File;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -25,6 +26,7 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Currency;
 import java.util.Date;
+import java.util.Map;
 import java.util.TimeZone;
 import java.util.UUID;
 
@@ -45,6 +47,8 @@ import com.zavtech.morpheus.array.coding.LongCoding;
 public class MappedArrayConstructor implements ArrayFactory.Constructor {
 
     private static File memoryMappedBasePath = new File(System.getProperty("morpheus.array.path", System.getProperty("user.home") + "/.morpheus/temp"));
+    private static int segmentBytes = Integer.highestOneBit(Integer.getInteger("morpheus.array.segmentBytes", 1 << 28));
+    private static int maxSegments = Integer.getInteger("morpheus.array.maxSegments", 16);
 
     private static final IntCoding<Year> yearCoding = new IntCoding.OfYear();
     private static final IntCoding<Currency> currencyCoding = new IntCoding.OfCurrency();
@@ -72,33 +76,200 @@ public class MappedArrayConstructor implements ArrayFactory.Constructor {
 
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> Array<T> apply(Class<T> type, int length, T defaultValue, String path) {
         final File file = path == null ? randomFile(true) : createDir(new File(path));
+        return create(type, length, defaultValue, file, true, null);
+    }
+
+
+    /**
+     * Returns a memory mapped array over an existing file previously written by an array of the same type and length
+     * The file contents are retained as is, so no data is copied or re-initialised when the array is opened.
+     * @param type          the array element type
+     * @param length        the array length, which must match the length the file was written with
+     * @param defaultValue  the default value for array
+     * @param path          the path of the existing memory mapped file
+     * @param <T>           the array element type
+     * @return              the memory mapped array over the existing file
+     */
+    public <T> Array<T> open(Class<T> type, int length, T defaultValue, String path) {
+        return open(type, length, defaultValue, path, null);
+    }
+
+
+    /**
+     * Returns a memory mapped array over an existing file, decoding its values with the code table recorded when it was written
+     * @param type          the array element type
+     * @param length        the array length, which must match the length the file was written with
+     * @param defaultValue  the default value for array
+     * @param path          the path of the existing memory mapped file
+     * @param codeTable     the code table returned by getCodeTable() when the file was written, null to use the codes of this JVM
+     * @param <T>           the array element type
+     * @return              the memory mapped array over the existing file
+     * @see #getCodeTable(Array)
+     */
+    public <T> Array<T> open(Class<T> type, int length, T defaultValue, String path, Map<Integer,Object> codeTable) {
+        final File file = new File(path);
+        if (!file.exists()) {
+            throw new ArrayException("No memory mapped file exists at: " + file.getAbsolutePath());
+        } else {
+            return create(type, length, defaultValue, file, false, codeTable);
+        }
+    }
+
+
+    /**
+     * Returns the values for the codes stored in a memory mapped array whose codes are assigned from tables in this JVM
+     * The codes for zone ids, time zones, currencies and the zones of ZonedDateTimes follow tables that can change between
+     * Java releases, so a persisted array records this table and passes it to open() to decode the file in a later JVM.
+     * @param array     the memory mapped array
+     * @return          the values keyed by code, or null if the codes of the array do not depend on the JVM
+     */
+    public static Map<Integer,Object> getCodeTable(Array<?> array) {
+        if (array instanceof MappedArrayOfZonedDateTimes) {
+            return ((MappedArrayOfZonedDateTimes)array).getCodeTable();
+        } else if (array instanceof MappedArrayWithIntCoding) {
+            switch (array.typeCode()) {
+                case CURRENCY:  return ((MappedArrayWithIntCoding<?>)array).getCodeTable();
+                case ZONE_ID:   return ((MappedArrayWithIntCoding<?>)array).getCodeTable();
+                case TIME_ZONE: return ((MappedArrayWithIntCoding<?>)array).getCodeTable();
+                default:        return null;
+            }
+        } else {
+            return null;
+        }
+    }
+
+
+    /**
+     * Unmaps and closes the file behind a memory mapped array, so the file can be moved or deleted straight away
+     * The array, and any shallow copy of it, must not be used once it has been closed.
+     * @param array     the array to close, which is ignored if it is not memory mapped
+     */
+    public static void close(Array<?> array) {
+        if (array instanceof Closeable) {
+            try {
+                ((Closeable)array).close();
+            } catch (Exception ex) {
+                throw new ArrayException("Failed to close memory mapped array", ex);
+            }
+        }
+    }
+
+
+    /**
+     * Returns a newly created memory mapped array of the type specified on the file specified
+     * @param type          the array element type
+     * @param length        the array length
+     * @param defaultValue  the default value for array
+     * @param file          the memory mapped file reference
+     * @param fill          true to fill the array with the default value, false to retain the existing file contents
+     * @param codeTable     the code table the file was written with, null to use the codes of this JVM
+     * @param <T>           the array element type
+     * @return              the memory mapped array
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Array<T> create(Class<T> type, int length, T defaultValue, File file, boolean fill, Map<Integer,Object> codeTable) {
         if (type.isEnum()) {
             final IntCoding<T> enumCoding = (IntCoding<T>)IntCoding.ofEnum((Class<Enum>) type);
-            return new MappedArrayWithIntCoding<>(length, defaultValue, enumCoding, file);
+            return new MappedArrayWithIntCoding<>(length, defaultValue, enumCoding, file, fill);
         } else {
             switch (ArrayType.of(type)) {
-                case BOOLEAN:           return (Array<T>)new MappedArrayOfBooleans(length, (Boolean)defaultValue, file);
-                case INTEGER:           return (Array<T>)new MappedArrayOfInts(length, (Integer)defaultValue, file);
-                case LONG:              return (Array<T>)new MappedArrayOfLongs(length, (Long)defaultValue, file);
-                case DOUBLE:            return (Array<T>)new MappedArrayOfDoubles(length, (Double)defaultValue, file);
-                case CURRENCY:          return (Array<T>)new MappedArrayWithIntCoding<>(length, (Currency)defaultValue, currencyCoding, file);
-                case YEAR:              return (Array<T>)new MappedArrayWithIntCoding<>(length, (Year)defaultValue, yearCoding, file);
-                case ZONE_ID:           return (Array<T>)new MappedArrayWithIntCoding<>(length, (ZoneId)defaultValue, zoneIdCoding, file);
-                case TIME_ZONE:         return (Array<T>)new MappedArrayWithIntCoding<>(length, (TimeZone)defaultValue, timeZoneCoding, file);
-                case DATE:              return (Array<T>)new MappedArrayWithLongCoding<>(length, (Date)defaultValue, dateCoding, file);
-                case INSTANT:           return (Array<T>)new MappedArrayWithLongCoding<>(length, (Instant)defaultValue, instantCoding, file);
-                case LOCAL_DATE:        return (Array<T>)new MappedArrayWithLongCoding<>(length, (LocalDate)defaultValue, localDateCoding, file);
-                case LOCAL_TIME:        return (Array<T>)new MappedArrayWithLongCoding<>(length, (LocalTime)defaultValue, localTimeCoding, file);
-                case LOCAL_DATETIME:    return (Array<T>)new MappedArrayWithLongCoding<>(length, (LocalDateTime)defaultValue, localDateTimeCoding, file);
-                case ZONED_DATETIME:    return (Array<T>)new MappedArrayOfZonedDateTimes(length, (ZonedDateTime)defaultValue, file);
+                case BOOLEAN:           return (Array<T>)new MappedArrayOfBooleans(length, (Boolean)defaultValue, file, fill);
+                case INTEGER:           return (Array<T>)new MappedArrayOfInts(length, (Integer)defaultValue, file, fill);
+                case LONG:              return (Array<T>)new MappedArrayOfLongs(length, (Long)defaultValue, file, fill);
+                case DOUBLE:            return (Array<T>)new MappedArrayOfDoubles(length, (Double)defaultValue, file, fill);
+                case CURRENCY:          return (Array<T>)new MappedArrayWithIntCoding<>(length, (Currency)defaultValue, coding(Currency.class, currencyCoding, codeTable), file, fill);
+                case YEAR:              return (Array<T>)new MappedArrayWithIntCoding<>(length, (Year)defaultValue, yearCoding, file, fill);
+                case ZONE_ID:           return (Array<T>)new MappedArrayWithIntCoding<>(length, (ZoneId)defaultValue, coding(ZoneId.class, zoneIdCoding, codeTable), file, fill);
+                case TIME_ZONE:         return (Array<T>)new MappedArrayWithIntCoding<>(length, (TimeZone)defaultValue, coding(TimeZone.class, timeZoneCoding, codeTable), file, fill);
+                case DATE:              return (Array<T>)new MappedArrayWithLongCoding<>(length, (Date)defaultValue, dateCoding, file, fill);
+                case INSTANT:           return (Array<T>)new MappedArrayWithLongCoding<>(length, (Instant)defaultValue, instantCoding, file, fill);
+                case LOCAL_DATE:        return (Array<T>)new MappedArrayWithLongCoding<>(length, (LocalDate)defaultValue, localDateCoding, file, fill);
+                case LOCAL_TIME:        return (Array<T>)new MappedArrayWithLongCoding<>(length, (LocalTime)defaultValue, localTimeCoding, file, fill);
+                case LOCAL_DATETIME:    return (Array<T>)new MappedArrayWithLongCoding<>(length, (LocalDateTime)defaultValue, localDateTimeCoding, file, fill);
+                case ZONED_DATETIME:
+                    if (codeTable == null) {
+                        return (Array<T>)new MappedArrayOfZonedDateTimes(length, (ZonedDateTime)defaultValue, file, fill);
+                    } else {
+                        final IntCoding<ZoneId> zoneCoding = IntCoding.ofTable(ZoneId.class, cast(codeTable));
+                        return (Array<T>)new MappedArrayOfZonedDateTimes(length, (ZonedDateTime)defaultValue, zoneCoding, file, fill);
+                    }
                 default:                throw new UnsupportedOperationException("Data type currently not supported for memory mapped arrays: " + type);
             }
         }
     }
 
+    /**
+     * Returns the coding rebuilt from a persisted code table, or the coding for this JVM if there is no table
+     * @param type          the coded type
+     * @param jvmCoding     the coding derived from the tables of this JVM
+     * @param codeTable     the persisted code table, which may be null
+     * @param <T>           the coded type
+     * @return              the coding to decode the array with
+     */
+    private static <T> IntCoding<T> coding(Class<T> type, IntCoding<T> jvmCoding, Map<Integer,Object> codeTable) {
+        return codeTable == null ? jvmCoding : IntCoding.ofTable(type, cast(codeTable));
+    }
+
+
+    /**
+     * Returns a code table cast to the value type of the coding it seeds
+     * @param codeTable     the code table
+     * @param <T>           the value type
+     * @return              the same table
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Map<Integer,T> cast(Map<Integer,Object> codeTable) {
+        return (Map<Integer,T>)(Map<Integer,?>)codeTable;
+    }
+
+
+    /**
+     * Returns the size in bytes of each segment of a memory mapped file
+     * @return  the segment size in bytes, always a power of two
+     */
+    public static int getSegmentBytes() {
+        return segmentBytes;
+    }
+
+
+    /**
+     * Sets the size in bytes of each segment of memory mapped files created after this call
+     * Large files are mapped in segments of this size on demand rather than in a single mapping limited to 2GB.
+     * @param bytes     the segment size in bytes, which is rounded down to a power of two
+     */
+    public static void setSegmentBytes(int bytes) {
+        if (bytes <= 0) {
+            throw new ArrayException("The memory mapped segment size must be > 0, not " + bytes);
+        } else {
+            MappedArrayConstructor.segmentBytes = Integer.highestOneBit(bytes);
+        }
+    }
+
+
+    /**
+     * Returns the maximum number of segments of a memory mapped array that remain mapped at any one time
+     * @return  the maximum number of live segments per array
+     */
+    public static int getMaxSegments() {
+        return maxSegments;
+    }
+
+
+    /**
+     * Sets the maximum number of segments of memory mapped arrays created after this call that remain mapped at any one time
+     * @param count     the maximum number of live segments per array
+     */
+    public static void setMaxSegments(int count) {
+        if (count <= 0) {
+            throw new ArrayException("The max number of live memory mapped segments must be > 0, not " + count);
+        } else {
+            MappedArrayConstructor.maxSegments = count;
+        }
+    }
+
+
     /**
      * Returns a newly created random file to store an array
      * @return      newly created random file
@@ -15,11 +15,13 @@
  */
 package com.zavtech.morpheus.array.mapped;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.nio.ShortBuffer;
 import java.nio.channels.FileChannel;
 import java.util.function.Predicate;
@@ -42,7 +44,7 @@ import com.zavtech.morpheus.array.ArrayValue;
  *
  * @author  Xavier Witdouck
  */
-class MappedArrayOfBooleans extends ArrayBase<Boolean> {
+class MappedArrayOfBooleans extends ArrayBase<Boolean> implements Closeable {
 
     private static final long serialVersionUID = 1L;
 
@@ -52,6 +54,7 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
     private int length;
     private boolean defaultValue;
     private FileChannel channel;
+    private ByteBuffer mapping;
     private ShortBuffer buffer;
 
     /**
@@ -61,14 +64,28 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
      * @param file          the memory mapped file reference
      */
     MappedArrayOfBooleans(int length, Boolean defaultValue , File file) {
+        this(length, defaultValue, file, true);
+    }
+
+    /**
+     * Constructor
+     * @param length        the length for this array
+     * @param defaultValue  the default value for array
+     * @param file          the memory mapped file reference
+     * @param fill          true to fill the array with the default value, false to retain the existing file contents
+     */
+    MappedArrayOfBooleans(int length, Boolean defaultValue , File file, boolean fill) {
         super(Boolean.class, ArrayStyle.MAPPED, false);
         try {
             this.file = file;
             this.length = length;
             this.defaultValue = defaultValue == null ? false : defaultValue;
             this.channel = new RandomAccessFile(file, "rw").getChannel();
-            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asShortBuffer();
-            this.fill(defaultValue);
+            this.mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length);
+            this.buffer = mapping.asShortBuffer();
+            if (fill) {
+                this.fill(defaultValue);
+            }
         } catch (Exception ex) {
             throw new ArrayException("Failed to initialise memory mapped array on file: " + file.getAbsolutePath(), ex);
         }
@@ -85,6 +102,7 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
         this.length = source.length;
         this.defaultValue = source.defaultValue;
         this.channel = source.channel;
+        this.mapping = source.mapping;
         this.buffer = source.buffer;
     }
 
@@ -95,6 +113,19 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
     }
 
 
+    /**
+     * Unmaps the file and closes its channel, after which neither this array nor any shallow copy of it may be used
+     * @throws IOException  if the channel fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        MappedSegments.unmap(mapping);
+        this.mapping = null;
+        this.buffer = null;
+        this.channel.close();
+    }
+
+
     @Override
     public float loadFactor() {
         return 1F;
@@ -250,7 +281,8 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
     public final Array<Boolean> expand(int newLength) {
         try {
             if (newLength > length) {
-                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * newLength).asShortBuffer();
+                this.mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * newLength);
+                this.buffer = mapping.asShortBuffer();
                 this.fill(defaultValue, length, newLength);
                 this.length = newLength;
             }
@@ -391,7 +423,8 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
         this.length = is.readInt();
         this.defaultValue = is.readBoolean();
         this.channel = new RandomAccessFile(file, "rw").getChannel();
-        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asShortBuffer();
+        this.mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length);
+        this.buffer = mapping.asShortBuffer();
         for (int i=0; i<length; ++i) {
             final boolean value = is.readBoolean();
             this.setBoolean(i, value);
@@ -15,12 +15,12 @@
  */
 package com.zavtech.morpheus.array.mapped;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.RandomAccessFile;
-import java.nio.DoubleBuffer;
 import java.nio.channels.FileChannel;
 import java.util.function.Predicate;
 
@@ -42,15 +42,15 @@ import com.zavtech.morpheus.array.ArrayValue;
  *
  * @author  Xavier Witdouck
  */
-class MappedArrayOfDoubles extends ArrayBase<Double> {
+class MappedArrayOfDoubles extends ArrayBase<Double> implements Closeable {
 
-    private static final long BYTE_COUNT = 8L;
+    private static final int BYTE_COUNT = 8;
 
     private File file;
     private int length;
     private double defaultValue;
     private FileChannel channel;
-    private DoubleBuffer buffer;
+    private MappedSegments buffer;
 
     /**
      * Constructor
@@ -59,14 +59,27 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
      * @param file          the memory mapped file reference
      */
     MappedArrayOfDoubles(int length, Double defaultValue, File file) {
+        this(length, defaultValue, file, true);
+    }
+
+    /**
+     * Constructor
+     * @param length        the length of the array
+     * @param defaultValue  the default value for array
+     * @param file          the memory mapped file reference
+     * @param fill          true to fill the array with the default value, false to retain the existing file contents
+     */
+    MappedArrayOfDoubles(int length, Double defaultValue, File file, boolean fill) {
         super(Double.class, ArrayStyle.MAPPED, false);
         try {
             this.file = file;
             this.length = length;
             this.defaultValue = defaultValue == null ? Double.NaN : defaultValue;
             this.channel = new RandomAccessFile(file, "rw").getChannel();
-            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asDoubleBuffer();
-            this.fill(defaultValue);
+            this.buffer = new MappedSegments(channel, length, BYTE_COUNT);
+            if (fill) {
+                this.fill(defaultValue);
+            }
         } catch (Exception ex) {
             throw new ArrayException("Failed to initialise memory mapped array on file: " + file.getAbsolutePath(), ex);
         }
@@ -102,6 +115,17 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
     }
 
 
+    /**
+     * Unmaps the file and closes its channel, after which neither this array nor any shallow copy of it may be used
+     * @throws IOException  if the channel fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        this.buffer.close();
+        this.channel.close();
+    }
+
+
     @Override
     public float loadFactor() {
         return 1F;
@@ -132,8 +156,8 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
             final File newFile = MappedArrayConstructor.randomFile(true);
             final MappedArrayOfDoubles copy = new MappedArrayOfDoubles(length, defaultValue, newFile);
             for (int i=0; i<length; ++i) {
-                final double v = buffer.get(i);
-                copy.buffer.put(i, v);
+                final double v = buffer.getDouble(i);
+                copy.buffer.putDouble(i, v);
             }
             return copy;
         } catch (Exception ex) {
@@ -150,7 +174,7 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
             for (int i=0; i<indexes.length; ++i) {
                 final double value = getDouble(indexes[i]);
                 if (Double.compare(value, defaultValue) != 0) {
-                    copy.buffer.put(i, value);
+                    copy.buffer.putDouble(i, value);
                 }
             }
             return copy;
@@ -167,9 +191,9 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
             final File newFile = MappedArrayConstructor.randomFile(true);
             final MappedArrayOfDoubles copy = new MappedArrayOfDoubles(newLength, defaultValue, newFile);
             for (int i=0; i<newLength; ++i) {
-                final double value = buffer.get(start + i);
+                final double value = buffer.getDouble(start + i);
                 if (Double.compare(value, defaultValue) != 0) {
-                    copy.buffer.put(i, value);
+                    copy.buffer.putDouble(i, value);
                 }
             }
             return copy;
@@ -252,7 +276,7 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
     public final Array<Double> expand(int newLength) {
         try {
             if (newLength > length) {
-                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * newLength).asDoubleBuffer();
+                this.buffer = new MappedSegments(channel, newLength, BYTE_COUNT);
                 this.fill(defaultValue, length, newLength);
                 this.length = newLength;
             }
@@ -267,7 +291,7 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
     public final Array<Double> fill(Double value, int start, int end) {
         final double fillValue = value == null ? defaultValue : value;
         for (int i=start; i<end; ++i) {
-            this.buffer.put(i, fillValue);
+            this.buffer.putDouble(i, fillValue);
         }
         return this;
     }
@@ -288,22 +312,22 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
     @Override
     public final double getDouble(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return buffer.getDouble(index);
     }
 
 
     @Override
     public final Double getValue(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return buffer.getDouble(index);
     }
 
 
     @Override
     public final double setDouble(int index, double value) {
         this.checkBounds(index, length);
-        final double oldValue = buffer.get(index);
-        this.buffer.put(index, value);
+        final double oldValue = buffer.getDouble(index);
+        this.buffer.putDouble(index, value);
         return oldValue;
     }
 
@@ -312,7 +336,7 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
     public final Double setValue(int index, Double value) {
         this.checkBounds(index, length);
         final Double oldValue = getValue(index);
-        this.buffer.put(index, value != null ? value : defaultValue);
+        this.buffer.putDouble(index, value != null ? value : defaultValue);
         return oldValue;
     }
 
@@ -324,7 +348,7 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
             int high = end - 1;
             while (low <= high) {
                 final int midIndex = (low + high) >>> 1;
-                final double midValue = buffer.get(midIndex);
+                final double midValue = buffer.getDouble(midIndex);
                 final int result = Double.compare(midValue, value);
                 if (result < 0) {
                     low = midIndex + 1;
@@ -366,7 +390,7 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
         result.setDouble(0, getDouble(0));
         for (int i=1; i<length; ++i) {
             final double prior = result.getDouble(i-1);
-            final double current = buffer.get(i);
+            final double current = buffer.getDouble(i);
             if (Double.isNaN(prior)) {
                 result.setDouble(i, current);
             } else if (Double.isNaN(current)) {
@@ -414,7 +438,7 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
         this.length = is.readInt();
         this.defaultValue = is.readDouble();
         this.channel = new RandomAccessFile(file, "rw").getChannel();
-        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asDoubleBuffer();
+        this.buffer = new MappedSegments(channel, length, BYTE_COUNT);
         for (int i=0; i<length; ++i) {
             final double value = is.readDouble();
             this.setDouble(i, value);
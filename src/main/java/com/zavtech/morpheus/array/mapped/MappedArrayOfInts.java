@@ -15,12 +15,12 @@
  */
 package com.zavtech.morpheus.array.mapped;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.RandomAccessFile;
-import java.nio.IntBuffer;
 import java.nio.channels.FileChannel;
 import java.util.function.Predicate;
 
@@ -42,15 +42,15 @@ import com.zavtech.morpheus.array.ArrayValue;
  *
  * @author  Xavier Witdouck
  */
-class MappedArrayOfInts extends ArrayBase<Integer> {
+class MappedArrayOfInts extends ArrayBase<Integer> implements Closeable {
 
-    private static final long BYTE_COUNT = 4L;
+    private static final int BYTE_COUNT = 4;
 
     private File file;
     private int length;
     private int defaultValue;
     private FileChannel channel;
-    private IntBuffer buffer;
+    private MappedSegments buffer;
 
     /**
      * Constructor
@@ -59,14 +59,27 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
      * @param file          the memory mapped file reference
      */
     MappedArrayOfInts(int length, Integer defaultValue, File file) {
+        this(length, defaultValue, file, true);
+    }
+
+    /**
+     * Constructor
+     * @param length        the length of the array
+     * @param defaultValue  the default value for array
+     * @param file          the memory mapped file reference
+     * @param fill          true to fill the array with the default value, false to retain the existing file contents
+     */
+    MappedArrayOfInts(int length, Integer defaultValue, File file, boolean fill) {
         super(Integer.class, ArrayStyle.MAPPED, false);
         try {
             this.file = file;
             this.length = length;
             this.defaultValue = defaultValue == null ? 0 : defaultValue;
             this.channel = new RandomAccessFile(file, "rw").getChannel();
-            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asIntBuffer();
-            this.fill(defaultValue);
+            this.buffer = new MappedSegments(channel, length, BYTE_COUNT);
+            if (fill) {
+                this.fill(defaultValue);
+            }
         } catch (Exception ex) {
             throw new ArrayException("Failed to initialise memory mapped array on file: " + file.getAbsolutePath(), ex);
         }
@@ -101,6 +114,17 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
     }
 
 
+    /**
+     * Unmaps the file and closes its channel, after which neither this array nor any shallow copy of it may be used
+     * @throws IOException  if the channel fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        this.buffer.close();
+        this.channel.close();
+    }
+
+
     @Override
     public float loadFactor() {
         return 1F;
@@ -132,7 +156,7 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
             final MappedArrayOfInts copy = new MappedArrayOfInts(length, defaultValue, newFile);
             for (int i=0; i<length; ++i) {
                 final int v = getInt(i);
-                copy.buffer.put(i, v);
+                copy.buffer.putInt(i, v);
             }
             return copy;
         } catch (Exception ex) {
@@ -149,7 +173,7 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
             for (int i=0; i<indexes.length; ++i) {
                 final int value = getInt(indexes[i]);
                 if (Integer.compare(value, defaultValue) != 0) {
-                    copy.buffer.put(i, value);
+                    copy.buffer.putInt(i, value);
                 }
             }
             return copy;
@@ -166,9 +190,9 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
             final File newFile = MappedArrayConstructor.randomFile(true);
             final MappedArrayOfInts copy = new MappedArrayOfInts(newLength, defaultValue, newFile);
             for (int i=0; i<newLength; ++i) {
-                final int value = buffer.get(start + i);
+                final int value = buffer.getInt(start + i);
                 if (Integer.compare(value, defaultValue) != 0) {
-                    copy.buffer.put(i, value);
+                    copy.buffer.putInt(i, value);
                 }
             }
             return copy;
@@ -251,7 +275,7 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
     public final Array<Integer> expand(int newLength) {
         try {
             if (newLength > length) {
-                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * newLength).asIntBuffer();
+                this.buffer = new MappedSegments(channel, newLength, BYTE_COUNT);
                 this.fill(defaultValue, length, newLength);
                 this.length = newLength;
             }
@@ -266,7 +290,7 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
     public final Array<Integer> fill(Integer value, int start, int end) {
         final int fillValue = value == null ? defaultValue : value;
         for (int i=start; i<end; ++i) {
-            this.buffer.put(i, fillValue);
+            this.buffer.putInt(i, fillValue);
         }
         return this;
     }
@@ -280,43 +304,43 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
 
     @Override
     public final boolean isEqualTo(int index, Integer value) {
-        return value != null && value == buffer.get(index);
+        return value != null && value == buffer.getInt(index);
     }
 
 
     @Override
     public final int getInt(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return buffer.getInt(index);
     }
 
 
     @Override
     public final long getLong(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return buffer.getInt(index);
     }
 
 
     @Override
     public final double getDouble(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return buffer.getInt(index);
     }
 
 
     @Override
     public final Integer getValue(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return buffer.getInt(index);
     }
 
 
     @Override
     public final int setInt(int index, int value) {
         this.checkBounds(index, length);
-        final int oldValue = buffer.get(index);
-        this.buffer.put(index, value);
+        final int oldValue = buffer.getInt(index);
+        this.buffer.putInt(index, value);
         return oldValue;
     }
 
@@ -324,7 +348,7 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
     @Override
     public final Integer setValue(int index, Integer value) {
         final Integer oldValue = getValue(index);
-        this.buffer.put(index, value != null ? value : defaultValue);
+        this.buffer.putInt(index, value != null ? value : defaultValue);
         return oldValue;
     }
 
@@ -336,7 +360,7 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
             int high = end - 1;
             while (low <= high) {
                 final int midIndex = (low + high) >>> 1;
-                final int midValue = buffer.get(midIndex);
+                final int midValue = buffer.getInt(midIndex);
                 final int result = Integer.compare(midValue, value);
                 if (result < 0) {
                     low = midIndex + 1;
@@ -375,10 +399,10 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
     public final Array<Integer> cumSum() {
         final int length = length();
         final Array<Integer> result = Array.of(Integer.class, length);
-        result.setInt(0, buffer.get(0));
+        result.setInt(0, buffer.getInt(0));
         for (int i=1; i<length; ++i) {
             final int prior = result.getInt(i-1);
-            final int current = buffer.get(i);
+            final int current = buffer.getInt(i);
             result.setInt(i, prior + current);
         }
         return result;
@@ -420,7 +444,7 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
         this.defaultValue = is.readInt();
         this.file = MappedArrayConstructor.randomFile(true);
         this.channel = new RandomAccessFile(file, "rw").getChannel();
-        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asIntBuffer();
+        this.buffer = new MappedSegments(channel, length, BYTE_COUNT);
         for (int i=0; i<length; ++i) {
             final int value = is.readInt();
             this.setInt(i, value);
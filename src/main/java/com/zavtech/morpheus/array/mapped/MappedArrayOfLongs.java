@@ -15,12 +15,12 @@
  */
 package com.zavtech.morpheus.array.mapped;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.RandomAccessFile;
-import java.nio.LongBuffer;
 import java.nio.channels.FileChannel;
 import java.util.function.Predicate;
 
@@ -42,15 +42,15 @@ import com.zavtech.morpheus.array.ArrayValue;
  *
  * @author  Xavier Witdouck
  */
-class MappedArrayOfLongs extends ArrayBase<Long> {
+class MappedArrayOfLongs extends ArrayBase<Long> implements Closeable {
 
-    private static final long BYTE_COUNT = 8L;
+    private static final int BYTE_COUNT = 8;
 
     private File file;
     private int length;
     private long defaultValue;
     private FileChannel channel;
-    private LongBuffer buffer;
+    private MappedSegments buffer;
 
     /**
      * Constructor
@@ -59,14 +59,27 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
      * @param file          the memory mapped file reference
      */
     MappedArrayOfLongs(int length, Long defaultValue, File file) {
+        this(length, defaultValue, file, true);
+    }
+
+    /**
+     * Constructor
+     * @param length        the length of the array
+     * @param defaultValue  the default value for array
+     * @param file          the memory mapped file reference
+     * @param fill          true to fill the array with the default value, false to retain the existing file contents
+     */
+    MappedArrayOfLongs(int length, Long defaultValue, File file, boolean fill) {
         super(Long.class, ArrayStyle.MAPPED, false);
         try {
             this.file = file;
             this.length = length;
             this.defaultValue = defaultValue == null ? 0 : defaultValue;
             this.channel = new RandomAccessFile(file, "rw").getChannel();
-            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asLongBuffer();
-            this.fill(defaultValue);
+            this.buffer = new MappedSegments(channel, length, BYTE_COUNT);
+            if (fill) {
+                this.fill(defaultValue);
+            }
         } catch (Exception ex) {
             throw new ArrayException("Failed to initialise memory mapped array on file: " + file.getAbsolutePath(), ex);
         }
@@ -101,6 +114,17 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
     }
 
 
+    /**
+     * Unmaps the file and closes its channel, after which neither this array nor any shallow copy of it may be used
+     * @throws IOException  if the channel fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        this.buffer.close();
+        this.channel.close();
+    }
+
+
     @Override
     public float loadFactor() {
         return 1F;
@@ -132,7 +156,7 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
             final MappedArrayOfLongs copy = new MappedArrayOfLongs(length, defaultValue, newFile);
             for (int i=0; i<length; ++i) {
                 final long v = getLong(i);
-                copy.buffer.put(i, v);
+                copy.buffer.putLong(i, v);
             }
             return copy;
         } catch (Exception ex) {
@@ -149,7 +173,7 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
             for (int i=0; i<indexes.length; ++i) {
                 final long value = getLong(indexes[i]);
                 if (Long.compare(value, defaultValue) != 0) {
-                    copy.buffer.put(i, value);
+                    copy.buffer.putLong(i, value);
                 }
             }
             return copy;
@@ -166,9 +190,9 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
             final File newFile = MappedArrayConstructor.randomFile(true);
             final MappedArrayOfLongs copy = new MappedArrayOfLongs(newLength, defaultValue, newFile);
             for (int i=0; i<newLength; ++i) {
-                final long value = buffer.get(start + i);
+                final long value = buffer.getLong(start + i);
                 if (Long.compare(value, defaultValue) != 0) {
-                    copy.buffer.put(i, value);
+                    copy.buffer.putLong(i, value);
                 }
             }
             return copy;
@@ -251,7 +275,7 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
     public final Array<Long> expand(int newLength) {
         try {
             if (newLength > length) {
-                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * newLength).asLongBuffer();
+                this.buffer = new MappedSegments(channel, newLength, BYTE_COUNT);
                 this.fill(defaultValue, length, newLength);
                 this.length = newLength;
             }
@@ -266,7 +290,7 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
     public final Array<Long> fill(Long value, int start, int end) {
         final long fillValue = value == null ? defaultValue : value;
         for (int i=start; i<end; ++i) {
-            this.buffer.put(i, fillValue);
+            this.buffer.putLong(i, fillValue);
         }
         return this;
     }
@@ -280,36 +304,36 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
 
     @Override
     public final boolean isEqualTo(int index, Long value) {
-        return value != null && value == buffer.get(index);
+        return value != null && value == buffer.getLong(index);
     }
 
 
     @Override
     public final long getLong(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return buffer.getLong(index);
     }
 
 
     @Override
     public final double getDouble(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return buffer.getLong(index);
     }
 
 
     @Override
     public final Long getValue(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return buffer.getLong(index);
     }
 
 
     @Override
     public final long setLong(int index, long value) {
         this.checkBounds(index, length);
-        final long oldValue = buffer.get(index);
-        this.buffer.put(index, value);
+        final long oldValue = buffer.getLong(index);
+        this.buffer.putLong(index, value);
         return oldValue;
     }
 
@@ -318,7 +342,7 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
     public final Long setValue(int index, Long value) {
         this.checkBounds(index, length);
         final Long oldValue = getValue(index);
-        this.buffer.put(index, value != null ? value : defaultValue);
+        this.buffer.putLong(index, value != null ? value : defaultValue);
         return oldValue;
     }
 
@@ -330,7 +354,7 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
             int high = end - 1;
             while (low <= high) {
                 final int midIndex = (low + high) >>> 1;
-                final long midValue = buffer.get(midIndex);
+                final long midValue = buffer.getLong(midIndex);
                 final int result = Long.compare(midValue, value);
                 if (result < 0) {
                     low = midIndex + 1;
@@ -369,10 +393,10 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
     public final Array<Long> cumSum() {
         final int length = length();
         final Array<Long> result = Array.of(Long.class, length);
-        result.setLong(0, buffer.get(0));
+        result.setLong(0, buffer.getLong(0));
         for (int i=1; i<length; ++i) {
             final long prior = result.getLong(i-1);
-            final long current = buffer.get(i);
+            final long current = buffer.getLong(i);
             result.setLong(i, prior + current);
         }
         return result;
@@ -414,7 +438,7 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
         this.length = is.readInt();
         this.defaultValue = is.readLong();
         this.channel = new RandomAccessFile(file, "rw").getChannel();
-        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asLongBuffer();
+        this.buffer = new MappedSegments(channel, length, BYTE_COUNT);
         for (int i=0; i<length; ++i) {
             final long value = is.readLong();
             this.setLong(i, value);
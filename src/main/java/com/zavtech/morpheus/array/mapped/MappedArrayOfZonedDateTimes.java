@@ -15,6 +15,7 @@
  */
 package com.zavtech.morpheus.array.mapped;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -26,9 +27,12 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.function.Predicate;
 
 import com.zavtech.morpheus.array.ArrayBuilder;
@@ -38,42 +42,45 @@ import com.zavtech.morpheus.array.Array;
 import com.zavtech.morpheus.array.ArrayBase;
 import com.zavtech.morpheus.array.ArrayStyle;
 import com.zavtech.morpheus.array.ArrayValue;
+import com.zavtech.morpheus.array.coding.IntCoding;
 
 /**
  * An Array implementation containing mapped ZonedDateTime values stored as a longs of Epoch Millis.
  *
+ * The zone of each value is stored as a short code assigned by a zone coding. New arrays share a default coding derived
+ * from the zone ids of the running JVM, while an array reopened from a persisted file is given a coding rebuilt from the
+ * code table that was recorded when the file was written, so the codes decode correctly in a JVM with different zones.
+ *
  * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
  *
  * @author  Xavier Witdouck
  */
-class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> {
+class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> implements Closeable {
 
     private static final long serialVersionUID = 1L;
 
     private static final int BYTE_COUNT = 10;
 
-    private static final Map<ZoneId,Short> zoneIdMap1 = new HashMap<>();
-    private static final Map<Short,ZoneId> zoneIdMap2 = new HashMap<>();
+    private static final IntCoding<ZoneId> defaultZoneCoding;
 
     /**
      * Static initializer
      */
     static {
-        short counter = 0;
+        int counter = 0;
         final List<String> keys = new ArrayList<>();
+        final Map<Integer,ZoneId> table = new HashMap<>();
         keys.add("Z");
-        keys.addAll(ZoneId.getAvailableZoneIds());
+        keys.addAll(new TreeSet<>(ZoneId.getAvailableZoneIds()));
         for (String key: keys) {
-            final short index = ++counter;
-            final ZoneId zoneId = ZoneId.of(key);
-            zoneIdMap1.put(zoneId, index);
-            zoneIdMap2.put(index, zoneId);
+            table.put(++counter, ZoneId.of(key));
         }
+        defaultZoneCoding = IntCoding.ofTable(ZoneId.class, table);
     }
 
     private static final long nullValue = Long.MIN_VALUE;
     private static final short NULL_ZONE = -1;
-    private static final short UTC_ZONE = zoneIdMap1.get(ZoneId.of("UTC"));
+    private static final ZoneId UTC = ZoneId.of("UTC");
 
     private File file;
     private int length;
@@ -82,6 +89,7 @@ class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> {
     private long defaultValueAsLong;
     private short defaultZoneId;
     private ZonedDateTime defaultValue;
+    private IntCoding<ZoneId> zoneCoding;
 
 
     /**
@@ -91,16 +99,42 @@ class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> {
      * @param file          the memory mapped file reference
      */
     MappedArrayOfZonedDateTimes(int length, ZonedDateTime defaultValue, File file) {
+        this(length, defaultValue, defaultZoneCoding, file, true);
+    }
+
+    /**
+     * Constructor
+     * @param length        the length for this array
+     * @param defaultValue  the default value for array
+     * @param file          the memory mapped file reference
+     * @param fill          true to fill the array with the default value, false to retain the existing file contents
+     */
+    MappedArrayOfZonedDateTimes(int length, ZonedDateTime defaultValue, File file, boolean fill) {
+        this(length, defaultValue, defaultZoneCoding, file, fill);
+    }
+
+    /**
+     * Constructor
+     * @param length        the length for this array
+     * @param defaultValue  the default value for array
+     * @param zoneCoding    the coding for the zone of each value
+     * @param file          the memory mapped file reference
+     * @param fill          true to fill the array with the default value, false to retain the existing file contents
+     */
+    MappedArrayOfZonedDateTimes(int length, ZonedDateTime defaultValue, IntCoding<ZoneId> zoneCoding, File file, boolean fill) {
         super(ZonedDateTime.class, ArrayStyle.MAPPED, false);
         try {
             this.file = file;
             this.length = length;
+            this.zoneCoding = zoneCoding;
             this.defaultValue = defaultValue;
             this.defaultValueAsLong = defaultValue != null ? defaultValue.toInstant().toEpochMilli() : nullValue;
-            this.defaultZoneId = defaultValue != null ? zoneIdMap1.get(defaultValue.getZone()) : NULL_ZONE;
+            this.defaultZoneId = defaultValue != null ? zoneCode(defaultValue.getZone()) : NULL_ZONE;
             this.channel = new RandomAccessFile(file, "rw").getChannel();
             this.byteBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length);
-            this.fill(defaultValue);
+            if (fill) {
+                this.fill(defaultValue);
+            }
         } catch (Exception ex) {
             throw new ArrayException("Failed to initialise memory mapped array on file: " + file.getAbsolutePath(), ex);
         }
@@ -118,17 +152,63 @@ class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> {
         this.defaultValue = source.defaultValue;
         this.defaultValueAsLong = source.defaultValueAsLong;
         this.defaultZoneId = source.defaultZoneId;
+        this.zoneCoding = source.zoneCoding;
         this.channel = source.channel;
         this.byteBuffer = source.byteBuffer;
     }
 
 
+    /**
+     * Returns the code for the zone specified
+     * @param zoneId    the zone id
+     * @return          the code for zone
+     */
+    private short zoneCode(ZoneId zoneId) {
+        final int code = zoneCoding.getCode(zoneId);
+        if (code > Short.MAX_VALUE) {
+            throw new ArrayException("Too many distinct zones for memory mapped array, failed to code " + zoneId);
+        } else {
+            return (short)code;
+        }
+    }
+
+
+    /**
+     * Returns the zones for the codes stored in this array, which are recorded when the array is persisted
+     * @return  the zones keyed by code
+     */
+    final Map<Integer,Object> getCodeTable() {
+        final BitSet codes = new BitSet();
+        final Map<Integer,Object> table = new TreeMap<>();
+        for (int i=0; i<length; ++i) {
+            final short code = byteBuffer.getShort(i * BYTE_COUNT + 8);
+            if (code >= 0 && !codes.get(code)) {
+                codes.set(code);
+                table.put((int)code, zoneCoding.getValue(code));
+            }
+        }
+        return table;
+    }
+
+
     @Override
     public final int length() {
         return length;
     }
 
 
+    /**
+     * Unmaps the file and closes its channel, after which neither this array nor any shallow copy of it may be used
+     * @throws IOException  if the channel fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        MappedSegments.unmap(byteBuffer);
+        this.byteBuffer = null;
+        this.channel.close();
+    }
+
+
     @Override
     public float loadFactor() {
         return 1F;
@@ -157,7 +237,7 @@ class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> {
     public final Array<ZonedDateTime> copy() {
         try {
             final File newFile = MappedArrayConstructor.randomFile(true);
-            final MappedArrayOfZonedDateTimes copy = new MappedArrayOfZonedDateTimes(length, defaultValue, newFile);
+            final MappedArrayOfZonedDateTimes copy = new MappedArrayOfZonedDateTimes(length, defaultValue, zoneCoding, newFile, true);
             for (int i=0; i<length; ++i) {
                 final int longIndex = i * BYTE_COUNT;
                 final int shortIndex = i * BYTE_COUNT + 8;
@@ -177,7 +257,7 @@ class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> {
     public final Array<ZonedDateTime> copy(int[] indexes) {
         try {
             final File newFile = MappedArrayConstructor.randomFile(true);
-            final MappedArrayOfZonedDateTimes copy = new MappedArrayOfZonedDateTimes(indexes.length, defaultValue, newFile);
+            final MappedArrayOfZonedDateTimes copy = new MappedArrayOfZonedDateTimes(indexes.length, defaultValue, zoneCoding, newFile, true);
             for (int i=0; i<indexes.length; ++i) {
                 final int toIndex = i * BYTE_COUNT;
                 final int fromIndex = indexes[i] * BYTE_COUNT;
@@ -198,7 +278,7 @@ class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> {
         try {
             final int newLength = end - start;
             final File newFile = MappedArrayConstructor.randomFile(true);
-            final MappedArrayOfZonedDateTimes copy = new MappedArrayOfZonedDateTimes(newLength, defaultValue, newFile);
+            final MappedArrayOfZonedDateTimes copy = new MappedArrayOfZonedDateTimes(newLength, defaultValue, zoneCoding, newFile, true);
             for (int i=0; i<newLength; ++i) {
                 final int toIndex = i * BYTE_COUNT;
                 final int fromIndex = (start + i) * BYTE_COUNT;
@@ -268,13 +348,13 @@ class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> {
         if (fromIndexes.length != toIndexes.length) {
             throw new ArrayException("The from index array must have the same length as the to index array");
         } else {
-            if (from instanceof MappedArrayOfZonedDateTimes) {
+            if (from instanceof MappedArrayOfZonedDateTimes && ((MappedArrayOfZonedDateTimes)from).zoneCoding == zoneCoding) {
                 final MappedArrayOfZonedDateTimes other = (MappedArrayOfZonedDateTimes)from;
                 for (int i=0; i<fromIndexes.length; ++i) {
                     final int toIndex = toIndexes[i] * BYTE_COUNT;
                     final int fromIndex = fromIndexes[i] * BYTE_COUNT;
                     this.byteBuffer.putLong(toIndex, other.byteBuffer.getLong(fromIndex));
-                    this.byteBuffer.putShort(toIndex + 8, byteBuffer.getShort(fromIndex + 8));
+                    this.byteBuffer.putShort(toIndex + 8, other.byteBuffer.getShort(fromIndex + 8));
                 }
             } else {
                 for (int i=0; i<fromIndexes.length; ++i) {
@@ -291,13 +371,13 @@ class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> {
 
     @Override
     public final Array<ZonedDateTime> update(int toIndex, Array<ZonedDateTime> from, int fromIndex, int length) {
-        if (from instanceof MappedArrayOfZonedDateTimes) {
+        if (from instanceof MappedArrayOfZonedDateTimes && ((MappedArrayOfZonedDateTimes)from).zoneCoding == zoneCoding) {
             final MappedArrayOfZonedDateTimes other = (MappedArrayOfZonedDateTimes)from;
             for (int i=0; i<length; ++i) {
-                final int x = toIndex * BYTE_COUNT;
-                final int y = fromIndex * BYTE_COUNT;
+                final int x = (toIndex + i) * BYTE_COUNT;
+                final int y = (fromIndex + i) * BYTE_COUNT;
                 this.byteBuffer.putLong(x, other.byteBuffer.getLong(y));
-                this.byteBuffer.putShort(x + 8, byteBuffer.getShort(y + 8));
+                this.byteBuffer.putShort(x + 8, other.byteBuffer.getShort(y + 8));
             }
         } else {
             for (int i=0; i<length; ++i) {
@@ -327,7 +407,7 @@ class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> {
     @Override
     public Array<ZonedDateTime> fill(ZonedDateTime value, int start, int end) {
         final long fillEpochMillis = value == null ? nullValue : value.toInstant().toEpochMilli();
-        final short fillZoneId = value == null ? NULL_ZONE : zoneIdMap1.get(value.getZone());
+        final short fillZoneId = value == null ? NULL_ZONE : zoneCode(value.getZone());
         for (int i=start; i<end; ++i) {
             final int index = i * BYTE_COUNT;
             this.byteBuffer.putLong(index, fillEpochMillis);
@@ -350,11 +430,11 @@ class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> {
             return epochMillis == nullValue;
         } else {
             final long valueAsEpochMills = value.toInstant().toEpochMilli();
-            if (epochMillis == valueAsEpochMills) {
+            if (epochMillis != valueAsEpochMills) {
                 return false;
             } else {
                 final ZoneId zoneId = value.getZone();
-                final short code1 = zoneIdMap1.get(zoneId);
+                final short code1 = zoneCode(zoneId);
                 final short code2 = byteBuffer.getShort(index * BYTE_COUNT + 8);
                 return code1 == code2;
             }
@@ -379,7 +459,7 @@ class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> {
             return null;
         } else {
             final short zoneId = byteBuffer.getShort(byteIndex + 8);
-            final ZoneId zone = zoneIdMap2.get(zoneId);
+            final ZoneId zone = zoneCoding.getValue(zoneId);
             final Instant instant = Instant.ofEpochMilli(value);
             return ZonedDateTime.ofInstant(instant, zone);
         }
@@ -394,7 +474,7 @@ class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> {
         final short oldZone = byteBuffer.getShort(byteIndex + 8);
         this.byteBuffer.putLong(byteIndex, value);
         if (oldZone < 0) {
-            this.byteBuffer.putShort(byteIndex + 8, UTC_ZONE);
+            this.byteBuffer.putShort(byteIndex + 8, zoneCode(UTC));
         }
         return oldMillis;
     }
@@ -411,7 +491,7 @@ class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> {
             return oldValue;
         } else  {
             this.byteBuffer.putLong(byteIndex, value.toInstant().toEpochMilli());
-            this.byteBuffer.putShort(byteIndex + 8, zoneIdMap1.get(value.getZone()));
+            this.byteBuffer.putShort(byteIndex + 8, zoneCode(value.getZone()));
             return oldValue;
         }
     }
@@ -471,6 +551,7 @@ class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> {
         os.writeLong(defaultValueAsLong);
         os.writeShort(defaultZoneId);
         os.writeObject(defaultValue);
+        os.writeObject(zoneCoding);
         for (int i=0; i<length; ++i) {
             final int byteIndex = i * BYTE_COUNT;
             final long epochMillis = byteBuffer.getLong(byteIndex);
@@ -489,6 +570,7 @@ class MappedArrayOfZonedDateTimes extends ArrayBase<ZonedDateTime> {
         this.defaultValueAsLong = is.readLong();
         this.defaultZoneId = is.readShort();
         this.defaultValue = (ZonedDateTime)is.readObject();
+        this.zoneCoding = (IntCoding<ZoneId>)is.readObject();
         this.channel = new RandomAccessFile(file, "rw").getChannel();
         this.byteBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length);
         for (int i=0; i<length; ++i) {
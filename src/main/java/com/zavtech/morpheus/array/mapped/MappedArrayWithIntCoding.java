@@ -15,13 +15,16 @@
  */
 package com.zavtech.morpheus.array.mapped;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.RandomAccessFile;
-import java.nio.IntBuffer;
 import java.nio.channels.FileChannel;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.function.Predicate;
 
 import gnu.trove.set.TIntSet;
@@ -44,11 +47,11 @@ import com.zavtech.morpheus.array.coding.WithIntCoding;
  *
  * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
  */
-class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<T> {
+class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<T>, Closeable {
 
     private static final long serialVersionUID = 1L;
 
-    private static final long BYTE_COUNT = 4L;
+    private static final int BYTE_COUNT = 4;
 
     private File file;
     private int length;
@@ -56,7 +59,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     private int defaultCode;
     private IntCoding<T> coding;
     private FileChannel channel;
-    private IntBuffer buffer;
+    private MappedSegments buffer;
 
     /**
      * Constructor
@@ -66,6 +69,18 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
      * @param file          the memory mapped file reference
      */
     MappedArrayWithIntCoding(int length, T defaultValue, IntCoding<T> coding, File file) {
+        this(length, defaultValue, coding, file, true);
+    }
+
+    /**
+     * Constructor
+     * @param length        the length for this array
+     * @param defaultValue  the default value for array
+     * @param coding        the coding for this array
+     * @param file          the memory mapped file reference
+     * @param fill          true to fill the array with the default value, false to retain the existing file contents
+     */
+    MappedArrayWithIntCoding(int length, T defaultValue, IntCoding<T> coding, File file, boolean fill) {
         super(coding.getType(), ArrayStyle.MAPPED, false);
         try {
             this.file = file;
@@ -74,8 +89,10 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
             this.defaultValue = defaultValue;
             this.defaultCode = coding.getCode(defaultValue);
             this.channel = new RandomAccessFile(file, "rw").getChannel();
-            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asIntBuffer();
-            this.fill(defaultValue);
+            this.buffer = new MappedSegments(channel, length, BYTE_COUNT);
+            if (fill) {
+                this.fill(defaultValue);
+            }
         } catch (Exception ex) {
             throw new ArrayException("Failed to initialise memory mapped array on file: " + file.getAbsolutePath(), ex);
         }
@@ -105,12 +122,41 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     }
 
 
+    /**
+     * Returns the values for the codes stored in this array, which are recorded when the array is persisted
+     * @return  the values keyed by code
+     */
+    final Map<Integer,Object> getCodeTable() {
+        final BitSet codes = new BitSet();
+        final Map<Integer,Object> table = new TreeMap<>();
+        for (int i=0; i<length; ++i) {
+            final int code = buffer.getInt(i);
+            if (code >= 0 && !codes.get(code)) {
+                codes.set(code);
+                table.put(code, coding.getValue(code));
+            }
+        }
+        return table;
+    }
+
+
     @Override
     public final int length() {
         return length;
     }
 
 
+    /**
+     * Unmaps the file and closes its channel, after which neither this array nor any shallow copy of it may be used
+     * @throws IOException  if the channel fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        this.buffer.close();
+        this.channel.close();
+    }
+
+
     @Override
     public float loadFactor() {
         return 1F;
@@ -142,8 +188,8 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
             final File newFile = MappedArrayConstructor.randomFile(true);
             final MappedArrayWithIntCoding<T> copy = new MappedArrayWithIntCoding<>(length, defaultValue, coding, newFile);
             for (int i=0; i<length; ++i) {
-                final int v = buffer.get(i);
-                copy.buffer.put(i, v);
+                final int v = buffer.getInt(i);
+                copy.buffer.putInt(i, v);
             }
             return copy;
         } catch (Exception ex) {
@@ -158,9 +204,9 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
             final File newFile = MappedArrayConstructor.randomFile(true);
             final MappedArrayWithIntCoding<T> copy = new MappedArrayWithIntCoding<>(indexes.length, defaultValue, coding, newFile);
             for (int i=0; i<indexes.length; ++i) {
-                final int value = buffer.get(indexes[i]);
+                final int value = buffer.getInt(indexes[i]);
                 if (Integer.compare(value, defaultCode) != 0) {
-                    copy.buffer.put(i, value);
+                    copy.buffer.putInt(i, value);
                 }
             }
             return copy;
@@ -177,9 +223,9 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
             final File newFile = MappedArrayConstructor.randomFile(true);
             final MappedArrayWithIntCoding<T> copy = new MappedArrayWithIntCoding<>(newLength, defaultValue, coding, newFile);
             for (int i=0; i<newLength; ++i) {
-                final int value = buffer.get(start + i);
+                final int value = buffer.getInt(start + i);
                 if (Integer.compare(value, defaultCode) != 0) {
-                    copy.buffer.put(i, value);
+                    copy.buffer.putInt(i, value);
                 }
             }
             return copy;
@@ -192,8 +238,8 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     @Override
     protected final Array<T> sort(int start, int end, int multiplier) {
         return doSort(start, end, (i, j) -> {
-            final int v1 = buffer.get(i);
-            final int v2 = buffer.get(j);
+            final int v1 = buffer.getInt(i);
+            final int v2 = buffer.getInt(j);
             return multiplier * Integer.compare(v1, v2);
         });
     }
@@ -201,18 +247,18 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
 
     @Override
     public final int compare(int i, int j) {
-        final int v1 = buffer.get(i);
-        final int v2 = buffer.get(j);
+        final int v1 = buffer.getInt(i);
+        final int v2 = buffer.getInt(j);
         return Integer.compare(v1, v2);
     }
 
 
     @Override
     public final Array<T> swap(int i, int j) {
-        final int v1 = buffer.get(i);
-        final int v2 = buffer.get(j);
-        this.buffer.put(j, v1);
-        this.buffer.put(i, v2);
+        final int v1 = buffer.getInt(i);
+        final int v2 = buffer.getInt(j);
+        this.buffer.putInt(j, v1);
+        this.buffer.putInt(i, v2);
         return this;
     }
 
@@ -250,10 +296,10 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
 
     @Override
     public final Array<T> update(int toIndex, Array<T> from, int fromIndex, int length) {
-        if (from instanceof MappedArrayWithIntCoding) {
+        if (from instanceof MappedArrayWithIntCoding && ((MappedArrayWithIntCoding)from).coding == coding) {
             final MappedArrayWithIntCoding other = (MappedArrayWithIntCoding) from;
             for (int i = 0; i < length; ++i) {
-                this.buffer.put(toIndex + i, other.buffer.get(fromIndex + i));
+                this.buffer.putInt(toIndex + i, other.buffer.getInt(fromIndex + i));
             }
         } else {
             for (int i=0; i<length; ++i) {
@@ -269,7 +315,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     public final Array<T> expand(int newLength) {
         try {
             if (newLength > length) {
-                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * newLength).asIntBuffer();
+                this.buffer = new MappedSegments(channel, newLength, BYTE_COUNT);
                 this.fill(defaultValue, length, newLength);
                 this.length = newLength;
             }
@@ -285,7 +331,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     public Array<T> fill(T value, int start, int end) {
         final int code = coding.getCode(value);
         for (int i=start; i<end; ++i) {
-            this.buffer.put(i, code);
+            this.buffer.putInt(i, code);
         }
         return this;
     }
@@ -293,7 +339,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
 
     @Override
     public final boolean isNull(int index) {
-        return buffer.get(index) == coding.getCode(null);
+        return buffer.getInt(index) == coding.getCode(null);
     }
 
 
@@ -303,7 +349,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
             return isNull(index);
         } else {
             final int code = coding.getCode(value);
-            return code == buffer.get(index);
+            return code == buffer.getInt(index);
         }
     }
 
@@ -311,14 +357,23 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     @Override
     public int getInt(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return buffer.getInt(index);
+    }
+
+
+    @Override
+    public int setInt(int index, int value) {
+        this.checkBounds(index, length);
+        final int oldValue = buffer.getInt(index);
+        this.buffer.putInt(index, value);
+        return oldValue;
     }
 
 
     @Override
     public final T getValue(int index) {
         this.checkBounds(index, length);
-        final int code = buffer.get(index);
+        final int code = buffer.getInt(index);
         return coding.getValue(code);
     }
 
@@ -327,7 +382,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     public final T setValue(int index, T value) {
         this.checkBounds(index, length);
         final T oldValue = getValue(index);
-        this.buffer.put(index, coding.getCode(value));
+        this.buffer.putInt(index, coding.getCode(value));
         return oldValue;
     }
 
@@ -355,7 +410,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     public final void read(ObjectInputStream is, int count) throws IOException {
         for (int i=0; i<count; ++i) {
             final int code = is.readInt();
-            this.buffer.put(i, code);
+            this.buffer.putInt(i, code);
         }
     }
 
@@ -363,7 +418,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     @Override
     public final void write(ObjectOutputStream os, int[] indexes) throws IOException {
         for (int index : indexes) {
-            final int code = buffer.get(index);
+            final int code = buffer.getInt(index);
             os.writeInt(code);
         }
     }
@@ -375,7 +430,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
         os.writeObject(defaultValue);
         os.writeObject(coding);
         for (int i=0; i<length; ++i) {
-            final int value = buffer.get(i);
+            final int value = buffer.getInt(i);
             os.writeInt(value);
         }
     }
@@ -390,10 +445,10 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
         this.defaultValue = (T)is.readObject();
         this.coding = (IntCoding<T>)is.readObject();
         this.channel = new RandomAccessFile(file, "rw").getChannel();
-        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asIntBuffer();
+        this.buffer = new MappedSegments(channel, length, BYTE_COUNT);
         for (int i=0; i<length; ++i) {
             final int value = is.readInt();
-            this.buffer.put(i, value);
+            this.buffer.putInt(i, value);
         }
     }
 
@@ -15,12 +15,12 @@
  */
 package com.zavtech.morpheus.array.mapped;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.RandomAccessFile;
-import java.nio.LongBuffer;
 import java.nio.channels.FileChannel;
 import java.util.function.Predicate;
 
@@ -43,11 +43,11 @@ import com.zavtech.morpheus.array.coding.LongCoding;
  *
  * @author  Xavier Witdouck
  */
-class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
+class MappedArrayWithLongCoding<T> extends ArrayBase<T> implements Closeable {
 
     private static final long serialVersionUID = 1L;
 
-    private static final long BYTE_COUNT = 8L;
+    private static final int BYTE_COUNT = 8;
 
     private File file;
     private int length;
@@ -55,7 +55,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
     private long defaultCode;
     private LongCoding<T> coding;
     private FileChannel channel;
-    private LongBuffer buffer;
+    private MappedSegments buffer;
 
 
     /**
@@ -66,6 +66,18 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
      * @param file          the memory mapped file reference
      */
     MappedArrayWithLongCoding(int length, T defaultValue, LongCoding<T> coding, File file) {
+        this(length, defaultValue, coding, file, true);
+    }
+
+    /**
+     * Constructor
+     * @param length        the length for this array
+     * @param defaultValue  the default value for array
+     * @param coding        the coding for this array
+     * @param file          the memory mapped file reference
+     * @param fill          true to fill the array with the default value, false to retain the existing file contents
+     */
+    MappedArrayWithLongCoding(int length, T defaultValue, LongCoding<T> coding, File file, boolean fill) {
         super(coding.getType(), ArrayStyle.MAPPED, false);
         try {
             this.file = file;
@@ -74,8 +86,10 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
             this.defaultValue = defaultValue;
             this.defaultCode = coding.getCode(defaultValue);
             this.channel = new RandomAccessFile(file, "rw").getChannel();
-            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asLongBuffer();
-            this.fill(defaultValue);
+            this.buffer = new MappedSegments(channel, length, BYTE_COUNT);
+            if (fill) {
+                this.fill(defaultValue);
+            }
         } catch (Exception ex) {
             throw new ArrayException("Failed to initialise memory mapped array on file: " + file.getAbsolutePath(), ex);
         }
@@ -104,6 +118,17 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
     }
 
 
+    /**
+     * Unmaps the file and closes its channel, after which neither this array nor any shallow copy of it may be used
+     * @throws IOException  if the channel fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        this.buffer.close();
+        this.channel.close();
+    }
+
+
     @Override()
     public final float loadFactor() {
         return 1F;
@@ -135,8 +160,8 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
             final File newFile = MappedArrayConstructor.randomFile(true);
             final MappedArrayWithLongCoding<T> copy = new MappedArrayWithLongCoding<>(length, defaultValue, coding, newFile);
             for (int i=0; i<length; ++i) {
-                final long v = buffer.get(i);
-                copy.buffer.put(i, v);
+                final long v = buffer.getLong(i);
+                copy.buffer.putLong(i, v);
             }
             return copy;
         } catch (Exception ex) {
@@ -151,9 +176,9 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
             final File newFile = MappedArrayConstructor.randomFile(true);
             final MappedArrayWithLongCoding<T> copy = new MappedArrayWithLongCoding<>(indexes.length, defaultValue, coding, newFile);
             for (int i=0; i<indexes.length; ++i) {
-                final long value = buffer.get(indexes[i]);
+                final long value = buffer.getLong(indexes[i]);
                 if (Long.compare(value, defaultCode) != 0) {
-                    copy.buffer.put(i, value);
+                    copy.buffer.putLong(i, value);
                 }
             }
             return copy;
@@ -170,9 +195,9 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
             final File newFile = MappedArrayConstructor.randomFile(true);
             final MappedArrayWithLongCoding<T> copy = new MappedArrayWithLongCoding<>(newLength, defaultValue, coding, newFile);
             for (int i=0; i<newLength; ++i) {
-                final long value = buffer.get(start + i);
+                final long value = buffer.getLong(start + i);
                 if (Long.compare(value, defaultCode) != 0) {
-                    copy.buffer.put(i, value);
+                    copy.buffer.putLong(i, value);
                 }
             }
             return copy;
@@ -184,18 +209,18 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
 
     @Override
     public final int compare(int i, int j) {
-        final long v1 = buffer.get(i);
-        final long v2 = buffer.get(j);
+        final long v1 = buffer.getLong(i);
+        final long v2 = buffer.getLong(j);
         return Long.compare(v1, v2);
     }
 
 
     @Override
     public final Array<T> swap(int i, int j) {
-        final long v1 = buffer.get(i);
-        final long v2 = buffer.get(j);
-        this.buffer.put(i, v2);
-        this.buffer.put(j, v1);
+        final long v1 = buffer.getLong(i);
+        final long v2 = buffer.getLong(j);
+        this.buffer.putLong(i, v2);
+        this.buffer.putLong(j, v1);
         return this;
     }
 
@@ -236,7 +261,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
         if (from instanceof MappedArrayWithLongCoding) {
             final MappedArrayWithLongCoding other = (MappedArrayWithLongCoding) from;
             for (int i = 0; i < length; ++i) {
-                this.buffer.put(toIndex + i, other.buffer.get(fromIndex + i));
+                this.buffer.putLong(toIndex + i, other.buffer.getLong(fromIndex + i));
             }
         } else {
             for (int i=0; i<length; ++i) {
@@ -252,7 +277,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
     public final Array<T> expand(int newLength) {
         try {
             if (newLength > length) {
-                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * newLength).asLongBuffer();
+                this.buffer = new MappedSegments(channel, newLength, BYTE_COUNT);
                 this.fill(defaultValue, length, newLength);
                 this.length = newLength;
             }
@@ -267,7 +292,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
     public Array<T> fill(T value, int start, int end) {
         final long code = coding.getCode(value);
         for (int i=start; i<end; ++i) {
-            this.buffer.put(i, code);
+            this.buffer.putLong(i, code);
         }
         return this;
     }
@@ -275,7 +300,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
 
     @Override
     public final boolean isNull(int index) {
-        return buffer.get(index) == coding.getCode(null);
+        return buffer.getLong(index) == coding.getCode(null);
     }
 
 
@@ -285,7 +310,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
             return isNull(index);
         } else {
             final long code = coding.getCode(value);
-            return code == buffer.get(index);
+            return code == buffer.getLong(index);
         }
     }
 
@@ -293,14 +318,14 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
     @Override
     public final long getLong(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return buffer.getLong(index);
     }
 
 
     @Override
     public final T getValue(int index) {
         this.checkBounds(index, length);
-        final long code = buffer.get(index);
+        final long code = buffer.getLong(index);
         return coding.getValue(code);
     }
 
@@ -308,8 +333,8 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
     @Override
     public final long setLong(int index, long value) {
         this.checkBounds(index, length);
-        final long oldCode = buffer.get(index);
-        this.buffer.put(index, value);
+        final long oldCode = buffer.getLong(index);
+        this.buffer.putLong(index, value);
         return oldCode;
     }
 
@@ -319,7 +344,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
         this.checkBounds(index, length);
         final T oldValue = getValue(index);
         final long code = coding.getCode(value);
-        this.buffer.put(index, code);
+        this.buffer.putLong(index, code);
         return oldValue;
     }
 
@@ -347,7 +372,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
     public final void read(ObjectInputStream is, int count) throws IOException {
         for (int i=0; i<count; ++i) {
             final long value = is.readLong();
-            this.buffer.put(i, value);
+            this.buffer.putLong(i, value);
         }
     }
 
@@ -368,7 +393,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
         os.writeObject(defaultValue);
         os.writeObject(coding);
         for (int i=0; i<length; ++i) {
-            final long value = buffer.get(i);
+            final long value = buffer.getLong(i);
             os.writeLong(value);
         }
     }
@@ -383,10 +408,10 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
         this.defaultValue = (T)is.readObject();
         this.coding = (LongCoding<T>)is.readObject();
         this.channel = new RandomAccessFile(file, "rw").getChannel();
-        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asLongBuffer();
+        this.buffer = new MappedSegments(channel, length, BYTE_COUNT);
         for (int i=0; i<length; ++i) {
             final long value = is.readLong();
-            this.buffer.put(i, value);
+            this.buffer.putLong(i, value);
         }
     }
 
@@ -0,0 +1,223 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.array.mapped;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.zavtech.morpheus.array.ArrayException;
+
+/**
+ * A view of fixed width primitive values in a file that maps fixed size segments of the file on demand.
+ *
+ * A single FileChannel.map() call is limited to 2GB, so rather than mapping an entire file up front, this class maps
+ * power of two sized segments as they are first accessed, and retains at most a bounded number of live mappings per
+ * file, releasing the oldest when the limit is reached. Element access resolves the segment with a shift and mask,
+ * so the only branch on the hot path is the check for an unmapped segment. Segments are published through an
+ * AtomicReferenceArray, so a buffer mapped by one thread is safely visible to readers on other threads.
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class MappedSegments {
+
+    private int length;
+    private int shift;
+    private int mask;
+    private int byteShift;
+    private int liveCount;
+    private int liveNext;
+    private int[] live;
+    private FileChannel channel;
+    private AtomicReferenceArray<ByteBuffer> segments;
+
+    /**
+     * Constructor
+     * @param channel       the file channel to map
+     * @param length        the number of elements
+     * @param elementBytes  the number of bytes per element, which must be a power of two
+     */
+    MappedSegments(FileChannel channel, int length, int elementBytes) {
+        final int segmentBytes = Math.max(MappedArrayConstructor.getSegmentBytes(), elementBytes);
+        final int elementsPerSegment = segmentBytes / elementBytes;
+        final int segmentCount = length == 0 ? 0 : ((length - 1) / elementsPerSegment) + 1;
+        this.channel = channel;
+        this.length = length;
+        this.shift = Integer.numberOfTrailingZeros(elementsPerSegment);
+        this.mask = elementsPerSegment - 1;
+        this.byteShift = Integer.numberOfTrailingZeros(elementBytes);
+        this.segments = new AtomicReferenceArray<>(segmentCount);
+        this.live = new int[Math.max(1, Math.min(segmentCount, MappedArrayConstructor.getMaxSegments()))];
+    }
+
+
+    /**
+     * Returns the number of elements in this view
+     * @return  the number of elements
+     */
+    final int length() {
+        return length;
+    }
+
+
+    /**
+     * Returns the double value at the index specified
+     * @param index     the element index
+     * @return          the double value
+     */
+    final double getDouble(int index) {
+        return segment(index).getDouble((index & mask) << byteShift);
+    }
+
+
+    /**
+     * Sets the double value at the index specified
+     * @param index     the element index
+     * @param value     the double value
+     */
+    final void putDouble(int index, double value) {
+        this.segment(index).putDouble((index & mask) << byteShift, value);
+    }
+
+
+    /**
+     * Returns the long value at the index specified
+     * @param index     the element index
+     * @return          the long value
+     */
+    final long getLong(int index) {
+        return segment(index).getLong((index & mask) << byteShift);
+    }
+
+
+    /**
+     * Sets the long value at the index specified
+     * @param index     the element index
+     * @param value     the long value
+     */
+    final void putLong(int index, long value) {
+        this.segment(index).putLong((index & mask) << byteShift, value);
+    }
+
+
+    /**
+     * Returns the int value at the index specified
+     * @param index     the element index
+     * @return          the int value
+     */
+    final int getInt(int index) {
+        return segment(index).getInt((index & mask) << byteShift);
+    }
+
+
+    /**
+     * Sets the int value at the index specified
+     * @param index     the element index
+     * @param value     the int value
+     */
+    final void putInt(int index, int value) {
+        this.segment(index).putInt((index & mask) << byteShift, value);
+    }
+
+
+    /**
+     * Unmaps all live segments, after which any access maps a fresh segment or fails if the channel has been closed
+     */
+    final synchronized void close() {
+        for (int i=0; i<segments.length(); ++i) {
+            unmap(segments.getAndSet(i, null));
+        }
+        this.liveCount = 0;
+        this.liveNext = 0;
+    }
+
+
+    /**
+     * Returns the mapped segment that contains the element index specified
+     * @param index     the element index
+     * @return          the mapped segment
+     */
+    private ByteBuffer segment(int index) {
+        final ByteBuffer segment = segments.get(index >>> shift);
+        return segment != null ? segment : map(index >>> shift);
+    }
+
+
+    /**
+     * Maps the segment specified, releasing the oldest live segment if the live mapping limit has been reached
+     * @param segment   the segment number
+     * @return          the mapped segment
+     */
+    private synchronized ByteBuffer map(int segment) {
+        final ByteBuffer existing = segments.get(segment);
+        if (existing != null) {
+            return existing;
+        } else {
+            try {
+                final long start = ((long)segment << shift) << byteShift;
+                final long end = Math.min(((long)(segment + 1) << shift) << byteShift, (long)length << byteShift);
+                final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, start, end - start);
+                if (liveCount == live.length) {
+                    this.segments.set(live[liveNext], null);
+                } else {
+                    this.liveCount++;
+                }
+                this.live[liveNext] = segment;
+                this.liveNext = (liveNext + 1) % live.length;
+                this.segments.set(segment, buffer);
+                return buffer;
+            } catch (Exception ex) {
+                throw new ArrayException("Failed to map segment " + segment + " of memory mapped array", ex);
+            }
+        }
+    }
+
+
+    /**
+     * Releases a mapped buffer immediately rather than waiting for it to be garbage collected, which is required
+     * before the underlying file can be moved or deleted on some platforms. The buffer must not be accessed afterwards.
+     * @param buffer    the mapped buffer to release, may be null
+     */
+    static void unmap(ByteBuffer buffer) {
+        if (buffer != null && buffer.isDirect()) {
+            try {
+                final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                final Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                invokeCleaner.invoke(field.get(null), buffer);
+            } catch (NoSuchMethodException ex) {
+                try {
+                    final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                    cleanerMethod.setAccessible(true);
+                    final Object cleaner = cleanerMethod.invoke(buffer);
+                    if (cleaner != null) {
+                        cleaner.getClass().getMethod("clean").invoke(cleaner);
+                    }
+                } catch (Exception ignore) {
+                    // the mapping is released when the buffer is garbage collected
+                }
+            } catch (Exception ignore) {
+                // the mapping is released when the buffer is garbage collected
+            }
+        }
+    }
+
+}
@@ -93,4 +93,10 @@ public class SparseArrayConstructor implements ArrayFactory.Constructor {
             }
         }
     }
+
+
+    @Override
+    public final <T> Array<T> apply(IntCoding<T> coding, int length, T defaultValue) {
+        return new SparseArrayWithIntCoding<>(length, defaultValue, coding);
+    }
 }
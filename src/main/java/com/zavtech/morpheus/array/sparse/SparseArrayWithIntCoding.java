@@ -18,6 +18,7 @@ package com.zavtech.morpheus.array.sparse;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.Arrays;
 import java.util.function.Predicate;
 
 import gnu.trove.map.TIntIntMap;
@@ -154,7 +155,37 @@ class SparseArrayWithIntCoding<T> extends ArrayBase<T> {
 
     @Override
     public final int compare(int i, int j) {
-        return Integer.compare(codes.get(i), codes.get(j));
+        final int[] ranks = ranks();
+        if (ranks == null) {
+            return Integer.compare(codes.get(i), codes.get(j));
+        } else {
+            return Integer.compare(rank(ranks, codes.get(i)), rank(ranks, codes.get(j)));
+        }
+    }
+
+
+    /**
+     * Returns the ranks of codes in value order if codes do not already follow value order, as with an unsorted dictionary
+     * @return  the ranks indexed by code, null if codes can be compared directly
+     */
+    private int[] ranks() {
+        if (coding instanceof IntCoding.OfString) {
+            final IntCoding.OfString dictionary = (IntCoding.OfString)coding;
+            return dictionary.isSorted() ? null : dictionary.getRanks();
+        } else {
+            return null;
+        }
+    }
+
+
+    /**
+     * Returns the rank for the code specified, where the null code ranks first
+     * @param ranks the ranks indexed by code
+     * @param code  the code
+     * @return      the rank of code
+     */
+    private static int rank(int[] ranks, int code) {
+        return code < 0 ? code : ranks[code];
     }
 
 
@@ -172,14 +203,14 @@ class SparseArrayWithIntCoding<T> extends ArrayBase<T> {
     public final Array<T> filter(Predicate<ArrayValue<T>> predicate) {
         int count = 0;
         final int length = this.length();
+        final int[] indexes = new int[length];
         final ArrayCursor<T> cursor = cursor();
-        final Array<T> matches = Array.of(type(), length, loadFactor());
         for (int i=0; i<length; ++i) {
             cursor.moveTo(i);
             final boolean match = predicate.test(cursor);
-            if (match) matches.setValue(count++, cursor.getValue());
+            if (match) indexes[count++] = i;
         }
-        return count == length ? matches : matches.copy(0, count);
+        return copy(count < length ? Arrays.copyOf(indexes, count) : indexes);
     }
 
 
@@ -200,11 +231,17 @@ class SparseArrayWithIntCoding<T> extends ArrayBase<T> {
 
 
     @Override
+    @SuppressWarnings("unchecked")
     public final Array<T> update(int toIndex, Array<T> from, int fromIndex, int length) {
-        if (from instanceof SparseArrayWithIntCoding) {
+        if (from instanceof SparseArrayWithIntCoding && isSameCoding(((SparseArrayWithIntCoding<T>)from).coding)) {
             final SparseArrayWithIntCoding other = (SparseArrayWithIntCoding)from;
             for (int i = 0; i < length; ++i) {
-                this.codes.put(toIndex + i, other.codes.get(fromIndex + i));
+                final int code = other.codes.get(fromIndex + i);
+                if (code == defaultCode) {
+                    this.codes.remove(toIndex + i);
+                } else {
+                    this.codes.put(toIndex + i, code);
+                }
             }
         } else {
             for (int i=0; i<length; ++i) {
@@ -216,6 +253,23 @@ class SparseArrayWithIntCoding<T> extends ArrayBase<T> {
     }
 
 
+    /**
+     * Returns true if the coding specified produces the same codes as the coding of this array
+     * Dictionary codings assign codes in order of appearance, so only the same dictionary instance is compatible.
+     * @param other the other coding
+     * @return      true if codes from the other coding can be copied directly
+     */
+    private boolean isSameCoding(IntCoding<T> other) {
+        if (other == coding) {
+            return true;
+        } else if (coding instanceof IntCoding.OfString || other instanceof IntCoding.OfString) {
+            return false;
+        } else {
+            return other.getClass() == coding.getClass() && other.getType() == coding.getType();
+        }
+    }
+
+
     @Override
     public final Array<T> expand(int newLength) {
         this.length = newLength > length ? newLength : length;
@@ -21,7 +21,13 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
 import java.util.function.Predicate;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
@@ -180,6 +186,12 @@ public interface DataFrame<R,C> extends DataFrameOperations<R,C,DataFrame<R,C>>,
      */
     DataFrameRank<R,C> rank();
 
+    /**
+     * Returns the join interface to combine this DataFrame with another on row keys or column values
+     * @return  the join interface for this <code>DataFrame</code>
+     */
+    DataFrameJoin<R,C> join();
+
     /**
      * Returns the event notification interface for this DataFrame
      * @return  the event notification interface
@@ -372,6 +384,51 @@ public interface DataFrame<R,C> extends DataFrameOperations<R,C,DataFrame<R,C>>,
      */
     <T> DataFrame<R,C> mapToObjects(C colKey, Class<T> type, Function<DataFrameValue<R,C>,T> mapper);
 
+    /**
+     * Applies a primitive operator to all values in this frame, which is much faster than applyInts() for dense int columns
+     * @param operator  the operator applied to each value
+     * @return          this frame
+     */
+    DataFrame<R,C> applyAsInts(IntUnaryOperator operator);
+
+    /**
+     * Combines all values in this frame with the values at the same coordinates in a frame of the same shape
+     * @param other     the frame of right hand operands, with the same row and column counts as this frame
+     * @param operator  the operator which takes the value in this frame and the value in other
+     * @return          this frame
+     */
+    DataFrame<R,C> applyAsInts(DataFrame<?,?> other, IntBinaryOperator operator);
+
+    /**
+     * Applies a primitive operator to all values in this frame, which is much faster than applyLongs() for dense long columns
+     * @param operator  the operator applied to each value
+     * @return          this frame
+     */
+    DataFrame<R,C> applyAsLongs(LongUnaryOperator operator);
+
+    /**
+     * Combines all values in this frame with the values at the same coordinates in a frame of the same shape
+     * @param other     the frame of right hand operands, with the same row and column counts as this frame
+     * @param operator  the operator which takes the value in this frame and the value in other
+     * @return          this frame
+     */
+    DataFrame<R,C> applyAsLongs(DataFrame<?,?> other, LongBinaryOperator operator);
+
+    /**
+     * Applies a primitive operator to all values in this frame, which is much faster than applyDoubles() for dense double columns
+     * @param operator  the operator applied to each value
+     * @return          this frame
+     */
+    DataFrame<R,C> applyAsDoubles(DoubleUnaryOperator operator);
+
+    /**
+     * Combines all values in this frame with the values at the same coordinates in a frame of the same shape
+     * @param other     the frame of right hand operands, with the same row and column counts as this frame
+     * @param operator  the operator which takes the value in this frame and the value in other
+     * @return          this frame
+     */
+    DataFrame<R,C> applyAsDoubles(DataFrame<?,?> other, DoubleBinaryOperator operator);
+
     /**
      * Returns a reference to the factory that creates new DataFrames
      * @return      the DataFrame factory
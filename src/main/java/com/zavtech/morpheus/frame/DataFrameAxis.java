@@ -261,6 +261,22 @@ public interface DataFrameAxis<X,Y,R,C,V extends DataFrameVector,T extends DataF
      */
     Optional<X> higherKey(X key);
 
+    /**
+     * Returns an <code>Optional</code> on the greatest key less than or equal to the given key, which is an as-of lookup
+     * This operation only works if the index is sorted, otherwise result is undefined
+     * @param key   the key to find the floor key for
+     * @return      the <code>Optional</code> on the greatest key less than or equal to the given key
+     */
+    Optional<X> floorKey(X key);
+
+    /**
+     * Returns an <code>Optional</code> on the least key greater than or equal to the given key
+     * This operation only works if the index is sorted, otherwise result is undefined
+     * @param key   the key to find the ceiling key for
+     * @return      the <code>Optional</code> on the least key greater than or equal to the given key
+     */
+    Optional<X> ceilingKey(X key);
+
     /**
      * Replaces an existing key with the new key in place
      * @param key       the existing key to replace
@@ -290,6 +306,15 @@ public interface DataFrameAxis<X,Y,R,C,V extends DataFrameVector,T extends DataF
      */
     DataFrame<R,C> select(Predicate<V> predicate);
 
+    /**
+     * Returns a DataFrame view containing only the row or column keys between start and end inclusive
+     * If the axis has a sorted index, created via Index.ofSorted(), the range is resolved in O(log n)
+     * @param start     the start key, inclusive
+     * @param end       the end key, inclusive
+     * @return          the <code>DataFrame</code> view
+     */
+    DataFrame<R,C> between(X start, X end);
+
     /**
      * Sorts the DataFrame along this axis based on the keys in ascending/descending order
      * @param ascending     true for ascending order, false for descending
@@ -320,6 +345,35 @@ public interface DataFrameAxis<X,Y,R,C,V extends DataFrameVector,T extends DataF
      */
     DataFrame<R,C> sort(Comparator<V> comparator);
 
+    /**
+     * Returns a DataFrame view of the first count rows or columns that sort(ascending, key) would produce, in that order
+     * This selects with bounded heaps rather than sorting the whole axis, and leaves the order of this axis unchanged
+     * @param count         the max number of rows or columns to select
+     * @param ascending     true to select the smallest values, false to select the largest
+     * @param key           the row or column key to order by
+     * @return              the <code>DataFrame</code> view
+     */
+    DataFrame<R,C> top(int count, boolean ascending, Y key);
+
+    /**
+     * Returns a DataFrame view of the first count rows or columns that sort(ascending, keys) would produce, in that order
+     * This selects with bounded heaps rather than sorting the whole axis, and leaves the order of this axis unchanged
+     * @param count         the max number of rows or columns to select
+     * @param ascending     true to select the smallest values, false to select the largest
+     * @param keys          the list of row or column keys to order by
+     * @return              the <code>DataFrame</code> view
+     */
+    DataFrame<R,C> top(int count, boolean ascending, List<Y> keys);
+
+    /**
+     * Returns a DataFrame view of the first count rows or columns in the order defined by the comparator
+     * This selects with bounded heaps rather than sorting the whole axis, and leaves the order of this axis unchanged
+     * @param count         the max number of rows or columns to select
+     * @param comparator    the comparator to order rows or columns
+     * @return              the <code>DataFrame</code> view
+     */
+    DataFrame<R,C> top(int count, Comparator<V> comparator);
+
     /**
      * Applies the consumer on every vector of the DataFrame
      * @param consumer  the consumer to receive each vector
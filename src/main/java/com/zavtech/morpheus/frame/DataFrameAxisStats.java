@@ -41,6 +41,36 @@ public interface DataFrameAxisStats<K,R,C,X,Y> extends Stats<DataFrame<X,Y>> {
      */
     DataFrame<K,K> correlation();
 
+    /**
+     * Returns the covariance matrix for all vectors in this axis
+     * @param pairwise  if true, each pair uses only the observations where both values are not NaN, otherwise NaN values propagate
+     * @return          the covariance matrix between all vectors in this axis
+     */
+    DataFrame<K,K> covariance(boolean pairwise);
+
+    /**
+     * Returns the correlation matrix for all vectors in this axis
+     * @param pairwise  if true, each pair uses only the observations where both values are not NaN, otherwise NaN values propagate
+     * @return          the correlation matrix between all vectors in this axis
+     */
+    DataFrame<K,K> correlation(boolean pairwise);
+
+    /**
+     * Returns the Exponential-Weighted covariance matrix for all vectors in this axis, as of the last observation
+     * @param halfLife  the half-life such that the EWM weight, alpha = 1 - exp(log(0.5)/halfLife)
+     * @param pairwise  if true, each pair uses only the observations where both values are not NaN, otherwise NaN values propagate
+     * @return          the exponentially weighted covariance matrix between all vectors in this axis
+     */
+    DataFrame<K,K> ewmcov(int halfLife, boolean pairwise);
+
+    /**
+     * Returns the Exponential-Weighted correlation matrix for all vectors in this axis, as of the last observation
+     * @param halfLife  the half-life such that the EWM weight, alpha = 1 - exp(log(0.5)/halfLife)
+     * @param pairwise  if true, each pair uses only the observations where both values are not NaN, otherwise NaN values propagate
+     * @return          the exponentially weighted correlation matrix between all vectors in this axis
+     */
+    DataFrame<K,K> ewmcorr(int halfLife, boolean pairwise);
+
     /**
      * Returns the covariance between two vectors on this axis
      * @param key1  the key to first vector
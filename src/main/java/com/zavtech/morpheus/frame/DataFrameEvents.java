@@ -15,6 +15,9 @@
  */
 package com.zavtech.morpheus.frame;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
 /**
  * The interface to manage event notifications for a DataFrame
  *
@@ -54,4 +57,21 @@ public interface DataFrameEvents {
      */
     void fireDataFrameEvent(DataFrameEvent event);
 
+    /**
+     * Starts a change feed that publishes cell updates to registered listeners as coalesced UPDATE events
+     * While the feed is active, every cell set through the <code>DataFrame</code> content, cursors or vectors marks
+     * its row and column as dirty. At each interval the dirty rows and columns are drained into a single event which
+     * is delivered on the executor. Only one event is in flight at a time, so updates made while listeners are busy
+     * are coalesced into the next event rather than queued. The feed is independent of the enabled flag.
+     * @param interval  the interval between publications
+     * @param unit      the time unit for interval
+     * @param executor  the executor on which to deliver events to listeners
+     */
+    void startChangeFeed(long interval, TimeUnit unit, Executor executor);
+
+    /**
+     * Stops the change feed if active, discarding any changes that have not yet been published
+     */
+    void stopChangeFeed();
+
 }
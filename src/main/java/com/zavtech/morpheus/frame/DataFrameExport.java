@@ -40,6 +40,26 @@ public interface DataFrameExport {
      */
     RealMatrix asApacheMatrix();
 
+    /**
+     * Returns the values of this <code>DataFrame</code> as doubles in a single array in column major order
+     * The values are copied once with bulk reads of each stored array, so the result does not reflect later changes.
+     * @return      the newly created column major array of values
+     */
+    double[] toColumnMajor();
+
+    /**
+     * Returns the values of this <code>DataFrame</code> as doubles in a single array in row major order
+     * @return      the newly created row major array of values
+     */
+    double[] toRowMajor();
+
+    /**
+     * Returns the values of this <code>DataFrame</code> as doubles in an array per row
+     * This is the layout used by Jama and Apache dense matrices, which can adopt the result without copying it again.
+     * @return      the newly created arrays of values, one per row
+     */
+    double[][] toRowArrays();
+
 
 
 }
@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.frame;
+
+/**
+ * An interface to join a DataFrame with another DataFrame, either on row keys or on the values in one or more columns
+ *
+ * Joins produce a new column store frame with the columns of the left frame followed by those of the right frame,
+ * where values missing on one side take the default value for the column type. Apart from join columns, the column
+ * keys of the two frames must be distinct.
+ *
+ * @param <R>   the frame row key type
+ * @param <C>   the frame column key type
+ *
+ * <p>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public interface DataFrameJoin<R,C> {
+
+    /**
+     * The join types, where INNER includes keys in both frames, LEFT all keys in this frame, and OUTER keys in either frame
+     */
+    enum Type { INNER, LEFT, OUTER }
+
+    /**
+     * Returns the join of this frame with the right frame on row keys
+     * Rows appear in the order of the left frame followed by any rows only in the right frame, unless both frames
+     * are sorted in ascending row key order, in which case the frames are merge joined and the result is also sorted.
+     * @param right     the right frame to join with
+     * @param type      the join type
+     * @return          the newly created joined frame
+     * @throws DataFrameException   if the frames have any column keys in common
+     */
+    DataFrame<R,C> onRowKeys(DataFrame<R,C> right, Type type);
+
+    /**
+     * Returns the join of this frame with the right frame on the values in the columns specified
+     * Each left row is matched with every right row with equal values in the join columns, so rows appear in the order
+     * of the left frame, with matches in right frame order, followed by any rows only in the right frame. The join
+     * columns appear once in the result, and take their values from the right frame for rows only in the right frame.
+     * @param right     the right frame to join with
+     * @param type      the join type
+     * @param colKeys   the keys of the columns to join on, which must exist with the same type in both frames
+     * @return          the newly created joined frame, with integer row keys
+     * @throws DataFrameException   if the frames have any non join column keys in common
+     */
+    DataFrame<Integer,C> onColumns(DataFrame<?,C> right, Type type, C... colKeys);
+
+}
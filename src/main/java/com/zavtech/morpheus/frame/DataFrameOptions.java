@@ -18,6 +18,8 @@ package com.zavtech.morpheus.frame;
 import java.util.concurrent.Callable;
 import java.util.function.ToIntFunction;
 
+import com.zavtech.morpheus.util.ComputeContext;
+
 /**
  * An enum which exposes various options for controlling the behaviour of certain matrix functions.
  *
@@ -57,8 +59,6 @@ public enum DataFrameOptions {
     MAXIMUM,
     AVERAGE;
 
-    private static final int processorCount = Runtime.getRuntime().availableProcessors();
-
     private static ToIntFunction<DataFrame<?,?>> defaultRowSplitThreshold;
     private static ToIntFunction<DataFrame<?,?>> defaultColSplitThreshold;
     private static final ThreadLocal<DataFrameOptions> nanStrategy = new ThreadLocal<>();
@@ -79,14 +79,12 @@ public enum DataFrameOptions {
     static {
         DataFrameOptions.setDefaultRowSplitThreshold(frame -> {
             final int rowCount = frame.rows().count();
-            final int groupCount = rowCount / processorCount;
-            return Math.max(groupCount, 1);
+            return ComputeContext.current().getSplitThreshold(rowCount, 1);
         });
 
         DataFrameOptions.setDefaultColSplitThreshold(frame -> {
             final int colCount = frame.cols().count();
-            final int groupCount = colCount / processorCount;
-            return Math.max(groupCount, 1);
+            return ComputeContext.current().getSplitThreshold(colCount, 1);
         });
     }
 
@@ -20,10 +20,12 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.function.Consumer;
 
+import com.zavtech.morpheus.source.BinarySourceOptions;
 import com.zavtech.morpheus.source.CsvSourceOptions;
 import com.zavtech.morpheus.source.DbSourceOptions;
 import com.zavtech.morpheus.source.ExcelSourceOptions;
 import com.zavtech.morpheus.source.JsonSourceOptions;
+import com.zavtech.morpheus.source.MappedSourceOptions;
 
 /**
  * An interface used to read a DataFrame stored in various formats from some underlying storage devices.
@@ -159,4 +161,40 @@ public interface DataFrameRead {
      */
     <R> DataFrame<R,String> db(Consumer<DbSourceOptions<R>> configurator);
 
+    /**
+     * Reopens a DataFrame from a directory of memory mapped files previously written via DataFrameWrite.mapped()
+     * @param directory     the directory containing the memory mapped files
+     * @param <R>           the row key type
+     * @param <C>           the column key type
+     * @return              the resulting DataFrame, backed by the existing files
+     */
+    <R,C> DataFrame<R,C> mapped(File directory);
+
+    /**
+     * Reopens a DataFrame from a directory of memory mapped files based on the options configurator
+     * @param configurator  the configurator for memory mapped options
+     * @param <R>           the row key type
+     * @param <C>           the column key type
+     * @return              the resulting DataFrame, backed by the existing files
+     */
+    <R,C> DataFrame<R,C> mapped(Consumer<MappedSourceOptions<R,C>> configurator);
+
+    /**
+     * Reads a DataFrame from a file in the Morpheus columnar binary format previously written via DataFrameWrite.binary()
+     * @param file          the input file
+     * @param <R>           the row key type
+     * @param <C>           the column key type
+     * @return              the resulting DataFrame
+     */
+    <R,C> DataFrame<R,C> binary(File file);
+
+    /**
+     * Reads a DataFrame from a file in the Morpheus columnar binary format based on the options configurator
+     * @param configurator  the configurator for binary options
+     * @param <R>           the row key type
+     * @param <C>           the column key type
+     * @return              the resulting DataFrame
+     */
+    <R,C> DataFrame<R,C> binary(Consumer<BinarySourceOptions<R,C>> configurator);
+
 }
@@ -19,6 +19,8 @@ import java.util.function.Function;
 
 import com.zavtech.morpheus.array.Array;
 import com.zavtech.morpheus.stats.StatType;
+import com.zavtech.morpheus.stats.Stats;
+import com.zavtech.morpheus.util.Tuple;
 
 /**
  * An interface that provides functions to operate on the row dimension of a DataFrame
@@ -85,6 +87,15 @@ public interface DataFrameRows<R,C> extends DataFrameAxis<R,C,R,C,DataFrameRow<R
      */
     DataFrame<R,StatType> describe(StatType... stats);
 
+    /**
+     * Returns the stats API to aggregate rows grouped by the values in the columns specified
+     * Unlike groupBy(), this computes each statistic in a single pass over the data without creating a frame per group,
+     * and the resulting frame has one row per distinct combination of values, in order of first appearance.
+     * @param colKeys   the keys of the columns to group by
+     * @return          the stats API over the numeric columns for each group
+     */
+    Stats<DataFrame<Tuple,C>> aggregate(C... colKeys);
+
     /**
      * Maps row keys in place according to the mapper function
      * @param mapper    the mapper function to apply row keys
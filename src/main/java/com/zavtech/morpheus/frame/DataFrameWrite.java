@@ -17,9 +17,11 @@ package com.zavtech.morpheus.frame;
 
 import java.util.function.Consumer;
 
+import com.zavtech.morpheus.sink.BinarySinkOptions;
 import com.zavtech.morpheus.sink.CsvSinkOptions;
 import com.zavtech.morpheus.sink.DbSinkOptions;
 import com.zavtech.morpheus.sink.JsonSinkOptions;
+import com.zavtech.morpheus.sink.MappedSinkOptions;
 
 /**
  * An interface that can be used to write a DataFrame to an output device for storage or network transfer.
@@ -48,6 +50,20 @@ public interface DataFrameWrite<R,C> {
      */
     void json(Consumer<JsonSinkOptions> configurator);
 
+    /**
+     * Writes the DataFrame associated with this function to a named directory of memory mapped files
+     * The directory can be reopened later via DataFrameRead.mapped() without copying or re-initialising any data.
+     * @param configurator  the configurator to apply memory mapped options
+     */
+    void mapped(Consumer<MappedSinkOptions> configurator);
+
+    /**
+     * Writes the DataFrame associated with this function to a file in the Morpheus columnar binary format
+     * The file can be read back via DataFrameRead.binary(), optionally loading only a subset of the columns.
+     * @param configurator  the configurator to apply binary options
+     */
+    void binary(Consumer<BinarySinkOptions<C>> configurator);
+
     /**
      * Writes the DataFrame associated with this function to an output device
      * @param sink          the sink instance to write to
@@ -186,6 +186,37 @@ public interface Index<K> extends Iterable<K>, Cloneable, Serializable {
      */
     Optional<K> nextKey(K key);
 
+    /**
+     * Returns the largest key less than or equal to the given key, which serves as an as-of lookup
+     * This operation only works if the index is sorted, otherwise result is undefined
+     * @param key   the key from which to find the floor key
+     * @return      the largest key less than or equal to the given key
+     */
+    Optional<K> floorKey(K key);
+
+    /**
+     * Returns the smallest key greater than or equal to the given key
+     * This operation only works if the index is sorted, otherwise result is undefined
+     * @param key   the key from which to find the ceiling key
+     * @return      the smallest key greater than or equal to the given key
+     */
+    Optional<K> ceilingKey(K key);
+
+    /**
+     * Returns a filter over this index that includes the keys between start and end inclusive
+     * For a sorted index this is resolved with two binary searches, otherwise all keys are compared
+     * @param start     the start key, inclusive
+     * @param end       the end key, inclusive
+     * @return          the filtered index
+     */
+    Index<K> between(K start, K end);
+
+    /**
+     * Returns true if this is a sorted index, where keys are held in ascending order and resolved by binary search
+     * @return  true if this is a sorted index
+     */
+    boolean isSorted();
+
     /**
      * Resets the order of this index to insertion order
      * @return  this index
@@ -289,6 +320,13 @@ public interface Index<K> extends Iterable<K>, Cloneable, Serializable {
      */
     Index<K> sort(boolean parallel, IntComparator comparator);
 
+    /**
+     * Re-orders the keys in this index according to a permutation of the current ordinals
+     * @param ordinals  the permutation, where the key at ordinals[i] moves to ordinal i
+     * @return          this index
+     */
+    Index<K> reorder(int[] ordinals);
+
     /**
      * Returns a filter over this index including only the keys specified
      * @param keys  the iterable set of keys to include in the filter
@@ -359,6 +397,28 @@ public interface Index<K> extends Iterable<K>, Cloneable, Serializable {
         }
     }
 
+    /**
+     * Returns a newly created sorted index based on the keys provided, which must be in strictly ascending order
+     * A sorted index holds keys in a primitive array without a hash map, and only accepts keys appended in ascending order
+     * @param keys      the keys for index, which must be of a type that supports primitive coding such as LocalDate
+     * @param <K>       the element type
+     * @return          the newly created sorted Index
+     */
+    static <K> Index<K> ofSorted(Iterable<K> keys) {
+        return new IndexSorted<>(keys);
+    }
+
+    /**
+     * Returns a newly created empty sorted index based on the type and initial size provided
+     * @param type          the type for index, which must support primitive coding such as LocalDate
+     * @param initialSize   the initial size of Index
+     * @param <K>           the element type
+     * @return              the newly created sorted Index
+     */
+    static <K> Index<K> ofSorted(Class<K> type, int initialSize) {
+        return new IndexSorted<>(type, initialSize);
+    }
+
     /**
      * Retruns an empty Index that is immutable
      * @param <K>   the index element type
@@ -190,15 +190,42 @@ abstract class IndexBase<K> implements Index<K> {
     }
 
     @Override()
-    public final Optional<K> previousKey(K key) {
+    public Optional<K> previousKey(K key) {
         return keys.previous(key).map(ArrayValue::getValue);
     }
 
     @Override()
-    public final Optional<K> nextKey(K key) {
+    public Optional<K> nextKey(K key) {
         return keys.next(key).map(ArrayValue::getValue);
     }
 
+    @Override()
+    public Optional<K> floorKey(K key) {
+        return contains(key) ? Optional.of(key) : previousKey(key);
+    }
+
+    @Override()
+    public Optional<K> ceilingKey(K key) {
+        return contains(key) ? Optional.of(key) : nextKey(key);
+    }
+
+    @Override()
+    @SuppressWarnings("unchecked")
+    public Index<K> between(K start, K end) {
+        if (!Comparable.class.isAssignableFrom(type())) {
+            throw new IndexException("Cannot select a range of keys that are not Comparable: " + type().getSimpleName());
+        } else {
+            final Comparable<K> lower = (Comparable<K>)start;
+            final Comparable<K> upper = (Comparable<K>)end;
+            return filter(key -> lower.compareTo(key) <= 0 && upper.compareTo(key) >= 0);
+        }
+    }
+
+    @Override()
+    public boolean isSorted() {
+        return false;
+    }
+
     @Override
     public final K getKey(int ordinal) {
         return keys.getValue(ordinal);
@@ -282,11 +309,7 @@ abstract class IndexBase<K> implements Index<K> {
                 this.indexes = indexes != null ? indexes : Range.of(0, size()).toArray();
                 final Swapper swapper = (i, j) ->  { keys.swap(i, j); indexes.swap(i, j); };
                 SortAlgorithm.getDefault(parallel).sort(0, size(), comparator, swapper);
-                this.ordinals = ordinals != null ? ordinals : Array.of(Integer.class, indexes.length());
-                for (int i = 0; i < indexes.length(); ++i) {
-                    final int index = indexes.getInt(i);
-                    this.ordinals.setInt(index, i);
-                }
+                this.updateOrdinals();
             }
             return this;
         } catch (Exception ex) {
@@ -295,6 +318,50 @@ abstract class IndexBase<K> implements Index<K> {
     }
 
 
+    @Override
+    public Index<K> reorder(int[] ordinals) {
+        if (ordinals.length != size()) {
+            throw new IndexException("The permutation length does not match index size: " + ordinals.length + " != " + size());
+        } else {
+            final int[] source = ordinals.clone();
+            final boolean[] seen = new boolean[source.length];
+            for (int ordinal : source) {
+                if (ordinal < 0 || ordinal >= seen.length || seen[ordinal]) {
+                    throw new IndexException("The ordinals do not define a permutation of this index at " + ordinal);
+                } else {
+                    seen[ordinal] = true;
+                }
+            }
+            this.indexes = indexes != null ? indexes : Range.of(0, size()).toArray();
+            for (int i = 0; i < source.length; ++i) {
+                int j = i;
+                while (source[j] != i) {
+                    final int k = source[j];
+                    this.keys.swap(j, k);
+                    this.indexes.swap(j, k);
+                    source[j] = j;
+                    j = k;
+                }
+                source[j] = j;
+            }
+            this.updateOrdinals();
+            return this;
+        }
+    }
+
+
+    /**
+     * Updates the ordinal for each index after the keys in this index have been re-ordered
+     */
+    private void updateOrdinals() {
+        this.ordinals = ordinals != null ? ordinals : Array.of(Integer.class, indexes.length());
+        for (int i = 0; i < indexes.length(); ++i) {
+            final int index = indexes.getInt(i);
+            this.ordinals.setInt(index, i);
+        }
+    }
+
+
     @Override
     @SuppressWarnings("unchecked")
     public Index<K> copy() {
@@ -153,6 +153,26 @@ class IndexReadOnly<K> implements Index<K> {
         return underlying.nextKey(key);
     }
 
+    @Override
+    public final Optional<K> floorKey(K key) {
+        return underlying.floorKey(key);
+    }
+
+    @Override
+    public final Optional<K> ceilingKey(K key) {
+        return underlying.ceilingKey(key);
+    }
+
+    @Override
+    public final Index<K> between(K start, K end) {
+        return underlying.between(start, end);
+    }
+
+    @Override
+    public final boolean isSorted() {
+        return underlying.isSorted();
+    }
+
     @Override
     public final Index<K> resetOrder() {
         return underlying.resetOrder();
@@ -223,6 +243,11 @@ class IndexReadOnly<K> implements Index<K> {
         return underlying.sort(parallel, comparator);
     }
 
+    @Override
+    public final Index<K> reorder(int[] ordinals) {
+        return underlying.reorder(ordinals);
+    }
+
     @Override
     public final Index<K> filter(Iterable<K> keys) {
         return underlying.filter(keys);
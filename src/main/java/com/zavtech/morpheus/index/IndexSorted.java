@@ -0,0 +1,451 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.index;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+import java.util.Date;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.array.ArrayBuilder;
+import com.zavtech.morpheus.array.ArrayType;
+import com.zavtech.morpheus.array.coding.LongCoding;
+import com.zavtech.morpheus.util.IntComparator;
+
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+
+/**
+ * An Index implementation that holds keys in ascending order and resolves them by binary search rather than a hash map
+ *
+ * <p>Keys are stored in the primitive array that backs the key array of the index, which for types such as
+ * LocalDate or LocalDateTime is an array of long codes, so the index requires roughly half the memory of its
+ * hash based equivalent. Keys may only be appended in ascending order, which makes this well suited to time
+ * series data, and in return it supports floor, ceiling and range lookups in O(log n). If the index is
+ * subsequently re-ordered, or a filter is created with keys out of order, a hash map is built as a fallback.</p>
+ *
+ * @param <K>   the index element type
+ *
+ * <p>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class IndexSorted<K> extends IndexBase<K> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final LongCoding<Date> dateCoding = LongCoding.ofDate();
+    private static final LongCoding<Instant> instantCoding = LongCoding.ofInstant();
+    private static final LongCoding<LocalDate> localDateCoding = LongCoding.ofLocalDate();
+    private static final LongCoding<LocalTime> localTimeCoding = LongCoding.ofLocalTime();
+    private static final LongCoding<LocalDateTime> localDateTimeCoding = LongCoding.ofLocalDateTime();
+
+    private int size;
+    private boolean ordered;
+    private ArrayType keyType;
+    private TLongIntMap ordinalMap;
+
+    /**
+     * Constructor for empty index with initial capacity
+     * @param type      the key type
+     * @param capacity  the initial capacity for this index
+     */
+    IndexSorted(Class<K> type, int capacity) {
+        super(Array.of(type, capacity));
+        this.keyType = keyType(type);
+        this.ordered = true;
+        this.size = 0;
+    }
+
+    /**
+     * Constructor
+     * @param iterable  the keys for this index, which must be in strictly ascending order
+     */
+    IndexSorted(Iterable<K> iterable) {
+        super(iterable);
+        this.keyType = keyType(type());
+        this.size = keyArray().length();
+        this.ordered = true;
+        for (int i=0; i<size; ++i) {
+            if (keyArray().isNull(i)) {
+                throw new IndexException("A sorted index cannot contain null keys");
+            } else if (i > 0 && codeAt(i - 1) >= codeAt(i)) {
+                throw new IndexException("Keys for a sorted index must be in strictly ascending order, found " + getKey(i) + " after " + getKey(i - 1));
+            }
+        }
+    }
+
+    /**
+     * Constructor
+     * @param iterable  the keys for index
+     * @param parent    the parent index to initialize from
+     */
+    private IndexSorted(Iterable<K> iterable, IndexSorted<K> parent) {
+        super(iterable, parent);
+        this.keyType = parent.keyType;
+        this.size = keyArray().length();
+        this.refresh();
+    }
+
+
+    /**
+     * Returns the array type for the key type, which must be supported by a sorted index
+     * @param type  the key type
+     * @return      the array type
+     */
+    private static ArrayType keyType(Class<?> type) {
+        final ArrayType keyType = ArrayType.of(type);
+        switch (keyType) {
+            case INTEGER:
+            case LONG:
+            case YEAR:
+            case DATE:
+            case INSTANT:
+            case LOCAL_DATE:
+            case LOCAL_TIME:
+            case LOCAL_DATETIME:
+                return keyType;
+            default:
+                throw new IndexException("Unsupported key type for a sorted index: " + type.getSimpleName());
+        }
+    }
+
+
+    /**
+     * Returns the primitive code for the key specified, the order of which matches that of the keys
+     * @param key   the key to code
+     * @return      the code for key
+     */
+    private long code(K key) {
+        switch (keyType) {
+            case INTEGER:           return (Integer)key;
+            case LONG:              return (Long)key;
+            case YEAR:              return ((Year)key).getValue();
+            case DATE:              return dateCoding.getCode((Date)key);
+            case INSTANT:           return instantCoding.getCode((Instant)key);
+            case LOCAL_DATE:        return localDateCoding.getCode((LocalDate)key);
+            case LOCAL_TIME:        return localTimeCoding.getCode((LocalTime)key);
+            case LOCAL_DATETIME:    return localDateTimeCoding.getCode((LocalDateTime)key);
+            default:    throw new IndexException("Unsupported key type for a sorted index: " + keyType);
+        }
+    }
+
+
+    /**
+     * Returns the primitive code of the key at the ordinal specified, read directly from the key array
+     * @param ordinal   the key ordinal
+     * @return          the code for key at ordinal
+     */
+    private long codeAt(int ordinal) {
+        switch (keyType) {
+            case INTEGER:   return keyArray().getInt(ordinal);
+            case YEAR:      return keyArray().getInt(ordinal);
+            default:        return keyArray().getLong(ordinal);
+        }
+    }
+
+
+    /**
+     * Returns the ordinal for the code specified, or a negative value if there is no match
+     * @param code  the key code
+     * @return      the ordinal for code, negative if no match
+     */
+    private int ordinalOf(long code) {
+        if (!ordered) {
+            return ordinalMap.get(code);
+        } else {
+            final int ordinal = lowerBound(code);
+            return ordinal < size && codeAt(ordinal) == code ? ordinal : -1;
+        }
+    }
+
+
+    /**
+     * Returns the ordinal of the first key with a code greater than or equal to the code specified
+     * @param code  the key code
+     * @return      the ordinal of first key not less than code, or size if there is none
+     */
+    private int lowerBound(long code) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (codeAt(mid) < code) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+
+    /**
+     * Returns the ordinal of the first key with a code strictly greater than the code specified
+     * @param code  the key code
+     * @return      the ordinal of first key greater than code, or size if there is none
+     */
+    private int upperBound(long code) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (codeAt(mid) <= code) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+
+    /**
+     * Returns the key at the ordinal specified if it is within bounds
+     * @param ordinal   the key ordinal
+     * @return          the optional key
+     */
+    private Optional<K> keyAt(int ordinal) {
+        return ordinal >= 0 && ordinal < size ? Optional.of(getKey(ordinal)) : Optional.empty();
+    }
+
+
+    /**
+     * Checks whether the keys are still in ascending order, and builds a fallback hash map if they are not
+     * @return  this index
+     */
+    private Index<K> refresh() {
+        this.ordered = true;
+        this.ordinalMap = null;
+        for (int i=1; i<size && ordered; ++i) {
+            this.ordered = codeAt(i - 1) < codeAt(i);
+        }
+        if (!ordered) {
+            this.ordinalMap = new TLongIntHashMap(size, 0.75f, -1L, -1);
+            for (int i=0; i<size; ++i) {
+                final int existing = ordinalMap.put(codeAt(i), i);
+                if (existing >= 0) {
+                    throw new IndexException("Cannot have duplicate keys in index: " + getKey(i));
+                }
+            }
+        }
+        return this;
+    }
+
+
+    @Override()
+    public final boolean isSorted() {
+        return ordered;
+    }
+
+
+    @Override()
+    public final Index<K> filter(Iterable<K> keys) {
+        return new IndexSorted<>(keys, isFilter() ? (IndexSorted<K>)parent() : this);
+    }
+
+
+    @Override
+    public final Index<K> filter(Predicate<K> predicate) {
+        final ArrayBuilder<K> builder = ArrayBuilder.of(size / 2, type());
+        for (int i=0; i<size; ++i) {
+            final K key = keyArray().getValue(i);
+            if (predicate.test(key)) {
+                builder.add(key);
+            }
+        }
+        final Array<K> filter = builder.toArray();
+        return new IndexSorted<>(filter, isFilter() ? (IndexSorted<K>)parent() : this);
+    }
+
+
+    @Override()
+    public final Index<K> between(K start, K end) {
+        if (!ordered) {
+            return super.between(start, end);
+        } else {
+            final int from = lowerBound(code(start));
+            final int to = Math.max(from, upperBound(code(end)));
+            final Array<K> keys = keyArray().copy(from, to);
+            return new IndexSorted<>(keys, isFilter() ? (IndexSorted<K>)parent() : this);
+        }
+    }
+
+
+    @Override()
+    public final Optional<K> previousKey(K key) {
+        return ordered ? keyAt(lowerBound(code(key)) - 1) : super.previousKey(key);
+    }
+
+
+    @Override()
+    public final Optional<K> nextKey(K key) {
+        return ordered ? keyAt(upperBound(code(key))) : super.nextKey(key);
+    }
+
+
+    @Override()
+    public final Optional<K> floorKey(K key) {
+        return ordered ? keyAt(upperBound(code(key)) - 1) : super.floorKey(key);
+    }
+
+
+    @Override()
+    public final Optional<K> ceilingKey(K key) {
+        return ordered ? keyAt(lowerBound(code(key))) : super.ceilingKey(key);
+    }
+
+
+    @Override
+    public final boolean add(K key) {
+        if (isFilter()) {
+            throw new IndexException("Cannot add keys to a filter on another index");
+        } else if (key == null) {
+            throw new IndexException("A sorted index cannot contain null keys");
+        } else {
+            final long code = code(key);
+            if (ordinalOf(code) >= 0) {
+                return false;
+            } else if (ordered && size > 0 && code < codeAt(size - 1)) {
+                throw new IndexException("Keys must be added to a sorted index in ascending order, " + key + " is before " + getKey(size - 1));
+            } else {
+                final int index = size;
+                this.ensureCapacity(index + 1);
+                this.keyArray().setValue(index, key);
+                this.size++;
+                if (!ordered) {
+                    this.ordinalMap.put(code, index);
+                }
+                return true;
+            }
+        }
+    }
+
+
+    @Override
+    public final int addAll(Iterable<K> keys, boolean ignoreDuplicates) {
+        if (isFilter()) {
+            throw new IndexException("Cannot add keys to a filter on another index");
+        } else {
+            int count = 0;
+            for (K key : keys) {
+                if (add(key)) {
+                    count++;
+                } else if (!ignoreDuplicates) {
+                    throw new IndexException("Attempt to add duplicate key to index: " + key);
+                }
+            }
+            return count;
+        }
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public final Index<K> copy() {
+        try {
+            final IndexSorted<K> clone = (IndexSorted<K>)super.copy();
+            clone.ordinalMap = ordinalMap != null ? new TLongIntHashMap(ordinalMap) : null;
+            return clone;
+        } catch (Exception ex) {
+            throw new IndexException("Failed to clone index", ex);
+        }
+    }
+
+
+    @Override
+    public final Index<K> sort(boolean parallel, boolean ascending) {
+        super.sort(parallel, ascending);
+        return refresh();
+    }
+
+
+    @Override
+    public final Index<K> sort(boolean parallel, IntComparator comparator) {
+        super.sort(parallel, comparator);
+        return refresh();
+    }
+
+
+    @Override
+    public final Index<K> reorder(int[] ordinals) {
+        super.reorder(ordinals);
+        return refresh();
+    }
+
+
+    @Override
+    public final int size() {
+        return size;
+    }
+
+
+    @Override
+    public final int getIndexForKey(K key) {
+        final int ordinal = key != null ? ordinalOf(code(key)) : -1;
+        if (ordinal < 0) {
+            throw new IndexException("No match for key in index: " + key);
+        } else {
+            return getIndexForOrdinal(ordinal);
+        }
+    }
+
+
+    @Override
+    public final boolean contains(K key) {
+        return key != null && ordinalOf(code(key)) >= 0;
+    }
+
+
+    @Override
+    public final int replace(K existing, K replacement) {
+        final int ordinal = existing != null ? ordinalOf(code(existing)) : -1;
+        if (ordinal < 0) {
+            throw new IndexException("No match key for " + existing);
+        } else if (replacement == null) {
+            throw new IndexException("A sorted index cannot contain null keys");
+        } else {
+            final long code = code(replacement);
+            if (ordinalOf(code) >= 0) {
+                throw new IndexException("The replacement key already exists in index " + replacement);
+            } else if (ordered && ((ordinal > 0 && codeAt(ordinal - 1) >= code) || (ordinal < size - 1 && codeAt(ordinal + 1) <= code))) {
+                throw new IndexException("The replacement key " + replacement + " would break the order of a sorted index");
+            } else {
+                if (!ordered) {
+                    this.ordinalMap.remove(codeAt(ordinal));
+                    this.ordinalMap.put(code, ordinal);
+                }
+                this.keyArray().setValue(ordinal, replacement);
+                return getIndexForOrdinal(ordinal);
+            }
+        }
+    }
+
+
+    @Override()
+    public final void forEachEntry(IndexConsumer<K> consumer) {
+        for (int i=0; i<size; ++i) {
+            final K key = keyArray().getValue(i);
+            consumer.accept(key, getIndexForOrdinal(i));
+        }
+    }
+
+}
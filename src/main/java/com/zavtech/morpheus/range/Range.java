@@ -28,7 +28,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Spliterator;
 import java.util.Spliterators;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.RecursiveTask;
 import java.util.function.DoublePredicate;
@@ -44,6 +43,7 @@ import com.zavtech.morpheus.array.Array;
 import com.zavtech.morpheus.array.ArrayBuilder;
 import com.zavtech.morpheus.array.ArrayUtils;
 import com.zavtech.morpheus.index.Index;
+import com.zavtech.morpheus.util.ComputeContext;
 
 /**
  * An interface to a range of some type with a inclusive start and exclusive end
@@ -185,7 +185,7 @@ public interface Range<T> extends Iterable<T> {
             return (Array<T>)ArrayBuilder.of(length).addAll(iterable).toArray();
         } else {
             final ToArrayTask<T> task = new ToArrayTask<>(this, 1000);
-            return ForkJoinPool.commonPool().invoke(task);
+            return ComputeContext.current().invoke(task);
         }
     }
 
@@ -18,6 +18,8 @@ package com.zavtech.morpheus.range;
 import java.util.Arrays;
 import java.util.stream.IntStream;
 
+import com.zavtech.morpheus.util.ComputeContext;
+
 /**
  * A convenience base class for building range implementations
  *
@@ -58,17 +60,17 @@ abstract class RangeBase<T> implements Range<T> {
 
     /**
      * Returns an array with more or less equal segment step counts as a resulting of splitting total steps into segments
-     * The number of segments is determined by the machine processor count as per Runtime.getRuntime().availableProcessors()
+     * The number of segments is determined by the parallelism of the current ComputeContext
      * @param totalStepCount    the total number of steps to segment into more or less equal parts
      * @return                  the array of segment step counts, which sum to the arg
      */
     int[] getSegmentSteps(int totalStepCount) {
-        final int segmentStepCount = totalStepCount / Runtime.getRuntime().availableProcessors();
-        final int segmentCount = totalStepCount / segmentStepCount;
+        final int segmentStepCount = Math.max(1, totalStepCount / ComputeContext.current().getParallelism());
+        final int segmentCount = Math.max(1, totalStepCount / segmentStepCount);
         final int[] segmentSteps = new int[segmentCount];
         Arrays.fill(segmentSteps, segmentStepCount);
         final int padding = totalStepCount - IntStream.of(segmentSteps).sum();
-        if (padding > 0) segmentSteps[segmentSteps.length-1] += padding;
+        if (padding != 0) segmentSteps[segmentSteps.length-1] += padding;
         return segmentSteps;
     }
 
@@ -23,12 +23,19 @@ import java.util.Iterator;
 import java.util.Optional;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ObjIntConsumer;
 import java.util.function.Predicate;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
@@ -52,6 +59,7 @@ import com.zavtech.morpheus.frame.DataFrameEvents;
 import com.zavtech.morpheus.frame.DataFrameException;
 import com.zavtech.morpheus.frame.DataFrameExport;
 import com.zavtech.morpheus.frame.DataFrameFill;
+import com.zavtech.morpheus.frame.DataFrameJoin;
 import com.zavtech.morpheus.frame.DataFrameOptions;
 import com.zavtech.morpheus.frame.DataFrameOutput;
 import com.zavtech.morpheus.frame.DataFramePCA;
@@ -70,6 +78,7 @@ import com.zavtech.morpheus.stats.Sample;
 import com.zavtech.morpheus.stats.Stats;
 import com.zavtech.morpheus.util.Asserts;
 import com.zavtech.morpheus.util.Bounds;
+import com.zavtech.morpheus.util.ComputeContext;
 import com.zavtech.morpheus.util.functions.ToBooleanFunction;
 import com.zavtech.morpheus.util.text.Formats;
 
@@ -113,7 +122,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     XDataFrame(XDataFrameContent<R,C> data, boolean parallel) {
         this.data = data;
         this.parallel = parallel;
-        this.events = new XDataFrameEvents();
+        this.events = new XDataFrameEvents(this);
         this.rows = new XDataFrameRows<>(this, parallel);
         this.cols = new XDataFrameColumns<>(this, parallel);
     }
@@ -233,7 +242,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
         try {
             final XDataFrame<R,C> clone = (XDataFrame<R,C>)super.clone();
             clone.data = this.data.copy();
-            clone.events = new XDataFrameEvents();
+            clone.events = new XDataFrameEvents(clone);
             clone.rows = new XDataFrameRows<>(clone, parallel);
             clone.cols = new XDataFrameColumns<>(clone, parallel);
             return clone;
@@ -331,11 +340,11 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
             return Optional.empty();
         } else if (rowCount() > colCount()) {
             final MinMaxValueTask task = new MinMaxValueTask(0, rowCount(), true, predicate);
-            final Optional<DataFrameValue<R,C>> result = isParallel() ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+            final Optional<DataFrameValue<R,C>> result = isParallel() ? ComputeContext.current().invoke(task) : task.compute();
             return result.map(DataFrameValue::<V>getValue);
         } else {
             final MinMaxValueTask task = new MinMaxValueTask(0, colCount(), true, predicate);
-            final Optional<DataFrameValue<R,C>> result = isParallel() ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+            final Optional<DataFrameValue<R,C>> result = isParallel() ? ComputeContext.current().invoke(task) : task.compute();
             return result.map(DataFrameValue::<V>getValue);
         }
     }
@@ -347,11 +356,11 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
             return Optional.empty();
         } else if (rowCount() > colCount()) {
             final MinMaxValueTask task = new MinMaxValueTask(0, rowCount(), false, predicate);
-            final Optional<DataFrameValue<R,C>> result = isParallel() ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+            final Optional<DataFrameValue<R,C>> result = isParallel() ? ComputeContext.current().invoke(task) : task.compute();
             return result.map(DataFrameValue::<V>getValue);
         } else {
             final MinMaxValueTask task = new MinMaxValueTask(0, colCount(), false, predicate);
-            final Optional<DataFrameValue<R,C>> result = isParallel() ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+            final Optional<DataFrameValue<R,C>> result = isParallel() ? ComputeContext.current().invoke(task) : task.compute();
             return result.map(DataFrameValue::<V>getValue);
         }
     }
@@ -363,10 +372,10 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
             return Optional.empty();
         } else if (rowCount() > colCount()) {
             final BoundsTask<V> task = new BoundsTask<>(0, rowCount(), predicate);
-            return isParallel() ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+            return isParallel() ? ComputeContext.current().invoke(task) : task.compute();
         } else {
             final BoundsTask<V> task = new BoundsTask<>(0, colCount(), predicate);
-            return isParallel() ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+            return isParallel() ? ComputeContext.current().invoke(task) : task.compute();
         }
     }
 
@@ -375,9 +384,9 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     public final DataFrame<R,C> forEachValue(Consumer<DataFrameValue<R,C>> consumer) {
         if (parallel && colCount() > 0) {
             final int toIndex = rowCount() * colCount() - 1;
-            final int threshold = (rowCount() * colCount()) / Runtime.getRuntime().availableProcessors();
+            final int threshold = ComputeContext.current().getSplitThreshold(rowCount() * colCount(), 1);
             final ForEachValue action = new ForEachValue(0, toIndex, threshold, consumer);
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
         } else if (colCount() > 0) {
             final int toIndex = rowCount() * colCount() - 1;
             final int threshold = Integer.MAX_VALUE;
@@ -392,9 +401,9 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     public final DataFrame<R,C> applyBooleans(ToBooleanFunction<DataFrameValue<R,C>> mapper) {
         if (parallel && colCount() > 0) {
             final int toIndex = rowCount() * colCount() - 1;
-            final int threshold = (rowCount() * colCount()) / Runtime.getRuntime().availableProcessors();
+            final int threshold = ComputeContext.current().getSplitThreshold(rowCount() * colCount(), 1);
             final ApplyBooleans action = new ApplyBooleans(0, toIndex, threshold, mapper);
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
         } else if (colCount() > 0) {
             final int toIndex = rowCount() * colCount() - 1;
             final int threshold = Integer.MAX_VALUE;
@@ -409,9 +418,9 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     public final DataFrame<R,C> applyInts(ToIntFunction<DataFrameValue<R,C>> mapper) {
         if (parallel && colCount() > 0) {
             final int toIndex = rowCount() * colCount() - 1;
-            final int threshold = (rowCount() * colCount()) / Runtime.getRuntime().availableProcessors();
+            final int threshold = ComputeContext.current().getSplitThreshold(rowCount() * colCount(), 1);
             final ApplyInts action = new ApplyInts(0, toIndex, threshold, mapper);
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
         } else if (colCount() > 0) {
             final int toIndex = rowCount() * colCount() - 1;
             final int threshold = Integer.MAX_VALUE;
@@ -426,9 +435,9 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     public final DataFrame<R,C> applyLongs(ToLongFunction<DataFrameValue<R,C>> mapper) {
         if (parallel && colCount() > 0) {
             final int toIndex = rowCount() * colCount() - 1;
-            final int threshold = (rowCount() * colCount()) / Runtime.getRuntime().availableProcessors();
+            final int threshold = ComputeContext.current().getSplitThreshold(rowCount() * colCount(), 1);
             final ApplyLongs action = new ApplyLongs(0, toIndex, threshold, mapper);
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
         } else if (colCount() > 0) {
             final int toIndex = rowCount() * colCount() - 1;
             final int threshold = Integer.MAX_VALUE;
@@ -443,9 +452,9 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     public final DataFrame<R,C> applyDoubles(ToDoubleFunction<DataFrameValue<R,C>> mapper) {
         if (parallel && colCount() > 0) {
             final int toIndex = rowCount() * colCount() - 1;
-            final int threshold = (rowCount() * colCount()) / Runtime.getRuntime().availableProcessors();
+            final int threshold = ComputeContext.current().getSplitThreshold(rowCount() * colCount(), 1);
             final ApplyDoubles action = new ApplyDoubles(0, toIndex, threshold, mapper);
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
         } else if (colCount() > 0) {
             final int toIndex = rowCount() * colCount() - 1;
             final int threshold = Integer.MAX_VALUE;
@@ -460,9 +469,9 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     public final DataFrame<R,C> applyValues(Function<DataFrameValue<R,C>,?> mapper) {
         if (parallel && colCount() > 0) {
             final int toIndex = rowCount() * colCount() - 1;
-            final int threshold = (rowCount() * colCount()) / Runtime.getRuntime().availableProcessors();
+            final int threshold = ComputeContext.current().getSplitThreshold(rowCount() * colCount(), 1);
             final ApplyValues action = new ApplyValues(0, toIndex, threshold, mapper);
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
         } else if (colCount() > 0) {
             final int toIndex = rowCount() * colCount() - 1;
             final int threshold = Integer.MAX_VALUE;
@@ -473,6 +482,118 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     }
 
 
+    @Override()
+    public final DataFrame<R,C> applyAsInts(IntUnaryOperator operator) {
+        final Optional<Array<?>[]> arrays = content().getColArrays(Integer.class);
+        if (arrays.isPresent()) {
+            return applyKernel(arrays.get(), (array, j) -> array.applyAsInts(0, rowCount(), operator));
+        } else {
+            return applyInts(v -> operator.applyAsInt(v.getInt()));
+        }
+    }
+
+
+    @Override()
+    public final DataFrame<R,C> applyAsInts(DataFrame<?,?> other, IntBinaryOperator operator) {
+        Asserts.check(rowCount() == other.rowCount(), "The row counts of the two frames must match");
+        Asserts.check(colCount() == other.colCount(), "The column counts of the two frames must match");
+        final Optional<Array<?>[]> arrays = content().getColArrays(Integer.class);
+        final Optional<Array<?>[]> operands = operands(other);
+        if (arrays.isPresent() && operands.isPresent()) {
+            return applyKernel(arrays.get(), (array, j) -> array.applyAsInts(0, rowCount(), operands.get()[j], operator));
+        } else {
+            final DataFrameContent<?,?> data = other.data();
+            return applyInts(v -> operator.applyAsInt(v.getInt(), data.getInt(v.rowOrdinal(), v.colOrdinal())));
+        }
+    }
+
+
+    @Override()
+    public final DataFrame<R,C> applyAsLongs(LongUnaryOperator operator) {
+        final Optional<Array<?>[]> arrays = content().getColArrays(Long.class);
+        if (arrays.isPresent()) {
+            return applyKernel(arrays.get(), (array, j) -> array.applyAsLongs(0, rowCount(), operator));
+        } else {
+            return applyLongs(v -> operator.applyAsLong(v.getLong()));
+        }
+    }
+
+
+    @Override()
+    public final DataFrame<R,C> applyAsLongs(DataFrame<?,?> other, LongBinaryOperator operator) {
+        Asserts.check(rowCount() == other.rowCount(), "The row counts of the two frames must match");
+        Asserts.check(colCount() == other.colCount(), "The column counts of the two frames must match");
+        final Optional<Array<?>[]> arrays = content().getColArrays(Long.class);
+        final Optional<Array<?>[]> operands = operands(other);
+        if (arrays.isPresent() && operands.isPresent()) {
+            return applyKernel(arrays.get(), (array, j) -> array.applyAsLongs(0, rowCount(), operands.get()[j], operator));
+        } else {
+            final DataFrameContent<?,?> data = other.data();
+            return applyLongs(v -> operator.applyAsLong(v.getLong(), data.getLong(v.rowOrdinal(), v.colOrdinal())));
+        }
+    }
+
+
+    @Override()
+    public final DataFrame<R,C> applyAsDoubles(DoubleUnaryOperator operator) {
+        final Optional<Array<?>[]> arrays = content().getColArrays(Double.class);
+        if (arrays.isPresent()) {
+            return applyKernel(arrays.get(), (array, j) -> array.applyAsDoubles(0, rowCount(), operator));
+        } else {
+            return applyDoubles(v -> operator.applyAsDouble(v.getDouble()));
+        }
+    }
+
+
+    @Override()
+    public final DataFrame<R,C> applyAsDoubles(DataFrame<?,?> other, DoubleBinaryOperator operator) {
+        Asserts.check(rowCount() == other.rowCount(), "The row counts of the two frames must match");
+        Asserts.check(colCount() == other.colCount(), "The column counts of the two frames must match");
+        final Optional<Array<?>[]> arrays = content().getColArrays(Double.class);
+        final Optional<Array<?>[]> operands = operands(other);
+        if (arrays.isPresent() && operands.isPresent()) {
+            return applyKernel(arrays.get(), (array, j) -> array.applyAsDoubles(0, rowCount(), operands.get()[j], operator));
+        } else {
+            final DataFrameContent<?,?> data = other.data();
+            return applyDoubles(v -> operator.applyAsDouble(v.getDouble(), data.getDouble(v.rowOrdinal(), v.colOrdinal())));
+        }
+    }
+
+
+    /**
+     * Returns the column arrays of the frame specified if they can be read directly by a primitive kernel
+     * @param other the frame of right hand operands
+     * @return      the column arrays of other in column ordinal order, empty if not supported
+     */
+    private Optional<Array<?>[]> operands(DataFrame<?,?> other) {
+        if (other instanceof XDataFrame) {
+            return ((XDataFrame<?,?>)other).content().getColArrays(null);
+        } else {
+            return Optional.empty();
+        }
+    }
+
+
+    /**
+     * Applies a primitive kernel to each column array of this frame, across and within columns in parallel if this frame is parallel
+     * @param arrays    the column arrays of this frame in column ordinal order
+     * @param kernel    the kernel that takes a column array and its column ordinal
+     * @return          this frame
+     */
+    private DataFrame<R,C> applyKernel(Array<?>[] arrays, ObjIntConsumer<Array<?>> kernel) {
+        final IntConsumer consumer = j -> {
+            kernel.accept(parallel ? arrays[j].parallel() : arrays[j], j);
+            content().changedCol(j);
+        };
+        if (parallel) {
+            ComputeContext.current().run(() -> IntStream.range(0, arrays.length).parallel().forEach(consumer));
+        } else {
+            IntStream.range(0, arrays.length).forEach(consumer);
+        }
+        return this;
+    }
+
+
     @Override()
     public DataFrame<R,C> sign() throws DataFrameException {
         final int rowCount = rowCount();
@@ -597,6 +718,12 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     }
 
 
+    @Override()
+    public final DataFrameJoin<R,C> join() {
+        return new XDataFrameJoin<>(this, isParallel());
+    }
+
+
     @Override()
     public DataFrameEvents events() {
         return events;
@@ -793,8 +920,8 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     public final DataFrame<R,C> select(Predicate<DataFrameRow<R,C>> rowPredicate, Predicate<DataFrameColumn<R,C>> colPredicate) {
         final SelectRows selectRows = new SelectRows(0, rowCount()-1, rowPredicate);
         final SelectColumns selectCols = new SelectColumns(0, colCount()-1, colPredicate);
-        final Array<R> rowKeys = isParallel() ? ForkJoinPool.commonPool().invoke(selectRows) : selectRows.compute();
-        final Array<C> colKeys = isParallel() ? ForkJoinPool.commonPool().invoke(selectCols) : selectCols.compute();
+        final Array<R> rowKeys = isParallel() ? ComputeContext.current().invoke(selectRows) : selectRows.compute();
+        final Array<C> colKeys = isParallel() ? ComputeContext.current().invoke(selectCols) : selectCols.compute();
         final Index<R> newRowAxis = rowKeys().filter(rowKeys);
         final Index<C> newColAxis = colKeys().filter(colKeys);
         final XDataFrameContent<R,C> newContents = data.filter(newRowAxis, newColAxis);
@@ -914,7 +1041,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     @Override()
     public Stream<DataFrameValue<R,C>> values() {
         final int valueCount = rowCount() * colCount();
-        final int splitThreshold = valueCount / Runtime.getRuntime().availableProcessors();
+        final int splitThreshold = ComputeContext.current().getSplitThreshold(valueCount, 1);
         return StreamSupport.stream(new DataFrameValueSpliterator<>(0, valueCount-1, rowCount(), splitThreshold), isParallel());
     }
 
@@ -1004,7 +1131,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     @SuppressWarnings("unchecked")
     private void readObject(ObjectInputStream is) throws IOException, ClassNotFoundException {
         this.data = (XDataFrameContent)is.readObject();
-        this.events = new XDataFrameEvents();
+        this.events = new XDataFrameEvents(this);
         this.rows = new XDataFrameRows<>(this, false);
         this.cols = new XDataFrameColumns<>(this, false);
     }
@@ -0,0 +1,208 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.reference;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.frame.DataFrameException;
+import com.zavtech.morpheus.frame.DataFrameVector;
+import com.zavtech.morpheus.stats.Statistic1;
+import com.zavtech.morpheus.stats.StatsAssembler;
+import com.zavtech.morpheus.util.ComputeContext;
+import com.zavtech.morpheus.util.Tuple;
+
+/**
+ * A hash aggregation engine that computes statistics over the numeric columns of a DataFrame grouped by the values in one or more columns
+ *
+ * Rows are assigned dense group ids in a single pass over the grouping columns via XDataFrameHashKeys, which hashes
+ * the primitive codes of int and long coded arrays directly, so no Tuple is created per row and no group frames are
+ * materialised. Statistics are then accumulated per group in primitive arrays in a single pass over each
+ * value column, which can be processed in parallel since every column is independent.
+ *
+ * @param <R>   the row key type
+ * @param <C>   the column key type
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class XDataFrameAggregate<R,C> extends StatsAssembler<DataFrame<Tuple,C>> {
+
+    private static final int NO_ID = XDataFrameHashKeys.NO_ID;
+
+    private boolean parallel;
+    private Array<C> groupColKeys;
+    private XDataFrame<R,C> source;
+    private Groups groups;
+
+    /**
+     * Constructor
+     * @param source        the source frame to aggregate
+     * @param parallel      true to accumulate columns in parallel
+     * @param groupColKeys  the keys of the columns to group by
+     */
+    XDataFrameAggregate(XDataFrame<R,C> source, boolean parallel, Array<C> groupColKeys) {
+        this.source = source;
+        this.parallel = parallel;
+        this.groupColKeys = groupColKeys;
+    }
+
+
+    @Override
+    protected DataFrame<Tuple,C> compute(Statistic1 stat) {
+        try {
+            final Groups groups = groups();
+            final Array<C> colKeys = source.cols().filter(DataFrameVector::isNumeric).keyArray();
+            final DataFrame<Tuple,C> result = DataFrame.ofDoubles(groups.keys, colKeys);
+            final IntStream ordinals = IntStream.range(0, colKeys.length());
+            final IntConsumer accumulator = colOrdinal -> {
+                final C colKey = colKeys.getValue(colOrdinal);
+                final double[] values = accumulate(groups, colKey, stat);
+                for (int i=0; i<values.length; ++i) {
+                    result.data().setDouble(i, colOrdinal, values[i]);
+                }
+            };
+            if (parallel) {
+                ComputeContext.current().run(() -> ordinals.parallel().forEach(accumulator));
+            } else {
+                ordinals.forEach(accumulator);
+            }
+            return result;
+        } catch (DataFrameException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new DataFrameException("Failed to compute grouped row stats: " + ex.getMessage(), ex);
+        }
+    }
+
+
+    /**
+     * Returns the groups for the source frame, which are computed once on first access
+     * @return  the groups for the source frame
+     */
+    private synchronized Groups groups() {
+        if (groups == null) {
+            this.groups = new Groups();
+        }
+        return groups;
+    }
+
+
+    /**
+     * Returns the statistic computed for each group over the values in the column specified
+     * @param groups    the groups of rows
+     * @param colKey    the column key
+     * @param stat      the statistic to compute
+     * @return          the statistic value for each group, indexed by group id
+     */
+    private double[] accumulate(Groups groups, C colKey, Statistic1 stat) {
+        final int[] ids = groups.ids;
+        final int[] indexes = groups.indexes;
+        final Array<?> array = source.content().getColArray(colKey);
+        final double[] result = new double[groups.count];
+        switch (stat.getType()) {
+            case COUNT:
+                for (int i=0; i<ids.length; ++i) {
+                    final double value = array.getDouble(indexes[i]);
+                    if (!Double.isNaN(value)) {
+                        result[ids[i]]++;
+                    }
+                }
+                return result;
+            case SUM:
+                for (int i=0; i<ids.length; ++i) {
+                    final double value = array.getDouble(indexes[i]);
+                    if (!Double.isNaN(value)) {
+                        result[ids[i]] += value;
+                    }
+                }
+                return result;
+            case MEAN:
+                final long[] counts = new long[groups.count];
+                for (int i=0; i<ids.length; ++i) {
+                    final double value = array.getDouble(indexes[i]);
+                    if (!Double.isNaN(value)) {
+                        final int id = ids[i];
+                        result[id] += (value - result[id]) / ++counts[id];
+                    }
+                }
+                return result;
+            default:
+                final Statistic1[] stats = new Statistic1[groups.count];
+                for (int id=0; id<stats.length; ++id) {
+                    stats[id] = stat.copy().reset();
+                }
+                for (int i=0; i<ids.length; ++i) {
+                    stats[ids[i]].add(array.getDouble(indexes[i]));
+                }
+                for (int id=0; id<stats.length; ++id) {
+                    result[id] = stats[id].getValue();
+                }
+                return result;
+        }
+    }
+
+
+    /**
+     * The assignment of rows in the source frame to dense group ids
+     */
+    private class Groups {
+
+        private int count;
+        private int[] ids;
+        private int[] indexes;
+        private Array<Tuple> keys;
+
+        /**
+         * Constructor
+         */
+        Groups() {
+            this.indexes = source.content().getColArrayIndexes();
+            final Array<?>[] arrays = new Array<?>[groupColKeys.length()];
+            for (int j=0; j<arrays.length; ++j) {
+                arrays[j] = source.content().getColArray(groupColKeys.getValue(j));
+            }
+            if (arrays.length == 0) {
+                throw new DataFrameException("At least one column key must be specified to group rows");
+            }
+            final XDataFrameHashKeys hashKeys = new XDataFrameHashKeys(new Array<?>[][] {arrays}, new int[][] {indexes});
+            this.ids = hashKeys.ids(0);
+            this.count = hashKeys.count();
+            final int[] firstRows = new int[count];
+            Arrays.fill(firstRows, NO_ID);
+            for (int i=0; i<ids.length; ++i) {
+                if (firstRows[ids[i]] == NO_ID) {
+                    firstRows[ids[i]] = i;
+                }
+            }
+            final Object[][] values = new Object[count][arrays.length];
+            for (int id=0; id<count; ++id) {
+                for (int j=0; j<arrays.length; ++j) {
+                    values[id][j] = arrays[j].getValue(indexes[firstRows[id]]);
+                }
+            }
+            this.keys = Array.of(Tuple.class, count);
+            for (int id=0; id<count; ++id) {
+                this.keys.setValue(id, Tuple.of(values[id]));
+            }
+        }
+    }
+
+}
@@ -20,7 +20,6 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.Spliterator;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.RecursiveTask;
 import java.util.function.Consumer;
@@ -41,6 +40,7 @@ import com.zavtech.morpheus.frame.DataFrameRow;
 import com.zavtech.morpheus.frame.DataFrameVector;
 import com.zavtech.morpheus.index.Index;
 import com.zavtech.morpheus.util.Asserts;
+import com.zavtech.morpheus.util.ComputeContext;
 import com.zavtech.morpheus.util.Parallel;
 import com.zavtech.morpheus.util.Tuple;
 
@@ -181,6 +181,16 @@ abstract class XDataFrameAxisBase<X,Y,R,C,V extends DataFrameVector<?,?,R,C,?>,T
         return axis.nextKey(key);
     }
 
+    @Override
+    public final Optional<X> floorKey(X key) {
+        return axis.floorKey(key);
+    }
+
+    @Override
+    public final Optional<X> ceilingKey(X key) {
+        return axis.ceilingKey(key);
+    }
+
     @Override
     public final int ordinalOf(X key) {
         return axis.getOrdinalForKey(key);
@@ -217,13 +227,11 @@ abstract class XDataFrameAxisBase<X,Y,R,C,V extends DataFrameVector<?,?,R,C,?>,T
             return Stream.empty();
         } else if (axisType == Type.ROWS) {
             final int rowCount = frame.rowCount();
-            final int partitionSize = rowCount / Runtime.getRuntime().availableProcessors();
-            final int splitThreshold = Math.max(partitionSize, 10000);
+            final int splitThreshold = ComputeContext.current().getSplitThreshold(rowCount, 10000);
             return StreamSupport.stream(new DataFrameVectorSpliterator<>(0, rowCount-1, rowCount, splitThreshold), frame.isParallel());
         } else if (axisType == Type.COLS) {
             final int colCount = frame.colCount();
-            final int partitionSize = colCount / Runtime.getRuntime().availableProcessors();
-            final int splitThreshold = Math.max(partitionSize, 10000);
+            final int splitThreshold = ComputeContext.current().getSplitThreshold(colCount, 10000);
             return StreamSupport.stream(new DataFrameVectorSpliterator<>(0, colCount-1, colCount, splitThreshold), frame.isParallel());
         } else {
             throw new DataFrameException("Unsupported axis type: " + axisType);
@@ -275,7 +283,7 @@ abstract class XDataFrameAxisBase<X,Y,R,C,V extends DataFrameVector<?,?,R,C,?>,T
         if (parallel) {
             final int count = count();
             final ForEachVector action = new ForEachVector(0, count - 1, consumer);
-            ForkJoinPool.commonPool().invoke(action);
+            ComputeContext.current().invoke(action);
         } else if (count() > 0) {
             final int count = count();
             final V vector = createVector(frame, 0);
@@ -367,13 +375,28 @@ abstract class XDataFrameAxisBase<X,Y,R,C,V extends DataFrameVector<?,?,R,C,?>,T
     }
 
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public final DataFrame<R,C> between(X start, X end) {
+        if (axisType.isRow()) {
+            final Index<R> newRowKeys = (Index<R>)axis.between(start, end);
+            final Index<C> newColKeys = frame.colKeys().copy();
+            return frame.filter(newRowKeys, newColKeys);
+        } else {
+            final Index<R> newRowKeys = frame.rowKeys().copy();
+            final Index<C> newColKeys = (Index<C>)axis.between(start, end);
+            return frame.filter(newRowKeys, newColKeys);
+        }
+    }
+
+
     @Override
     @Parallel
     public final DataFrame<R,C> select(Predicate<V> predicate) {
         if (parallel) {
             final int count = count();
             final Select select = new Select(0, count-1, predicate);
-            final Array<X> keys = ForkJoinPool.commonPool().invoke(select);
+            final Array<X> keys = ComputeContext.current().invoke(select);
             return createFilter(frame, keys);
         } else {
             final int count = count();
@@ -419,7 +442,7 @@ abstract class XDataFrameAxisBase<X,Y,R,C,V extends DataFrameVector<?,?,R,C,?>,T
     @Override
     public final Optional<V> min(Comparator<V> comparator) {
         final MinVector task = new MinVector(0, count()-1, comparator);
-        final V result = parallel ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+        final V result = parallel ? ComputeContext.current().invoke(task) : task.compute();
         return Optional.ofNullable(result);
     }
 
@@ -427,7 +450,7 @@ abstract class XDataFrameAxisBase<X,Y,R,C,V extends DataFrameVector<?,?,R,C,?>,T
     @Override
     public final Optional<V> max(Comparator<V> comparator) {
         final maxVector task = new maxVector(0, count()-1, comparator);
-        final V result = parallel ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+        final V result = parallel ? ComputeContext.current().invoke(task) : task.compute();
         return Optional.ofNullable(result);
     }
 
@@ -665,7 +688,7 @@ abstract class XDataFrameAxisBase<X,Y,R,C,V extends DataFrameVector<?,?,R,C,?>,T
             this.comparator = comparator;
             this.threshold = Integer.MAX_VALUE;
             if (parallel) {
-                this.threshold = Math.max(1000, count() / Runtime.getRuntime().availableProcessors());
+                this.threshold = ComputeContext.current().getSplitThreshold(count(), 1000);
             }
         }
 
@@ -728,7 +751,7 @@ abstract class XDataFrameAxisBase<X,Y,R,C,V extends DataFrameVector<?,?,R,C,?>,T
             this.comparator = comparator;
             this.threshold = Integer.MAX_VALUE;
             if (parallel) {
-                this.threshold = Math.max(1000, count() / Runtime.getRuntime().availableProcessors());
+                this.threshold = ComputeContext.current().getSplitThreshold(count(), 1000);
             }
         }
 
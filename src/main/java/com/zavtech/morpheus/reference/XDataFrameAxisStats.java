@@ -15,7 +15,6 @@
  */
 package com.zavtech.morpheus.reference;
 
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
 
 import com.zavtech.morpheus.frame.DataFrame;
@@ -33,6 +32,7 @@ import com.zavtech.morpheus.stats.StatType;
 import com.zavtech.morpheus.stats.Statistic1;
 import com.zavtech.morpheus.stats.Statistic2;
 import com.zavtech.morpheus.stats.Stats;
+import com.zavtech.morpheus.util.ComputeContext;
 
 /**
  * The reference implementation of the DataFrameAxisStats interface as applied to the column dimension of a DataFrame
@@ -121,23 +121,21 @@ class XDataFrameAxisStats<K,R,C,X,Y> extends XDataFrameStatsBase<X,Y> implements
 
 
     @Override
-    @SuppressWarnings("unchecked")
     public DataFrame<K,K> covariance() {
+        return covariance(false);
+    }
+
+
+    @Override
+    public DataFrame<K,K> correlation() {
+        return correlation(false);
+    }
+
+
+    @Override
+    public DataFrame<K,K> covariance(boolean pairwise) {
         try {
-            final Statistic2 covariance = new Covariance();
-            if (isRow()) {
-                final Index<K> rowKeys = (Index<K>)Index.of(frame.rows().filter(DataFrameVector::isNumeric).keyArray());
-                final XDataFrame<K,K> result = (XDataFrame<K,K>)DataFrame.ofDoubles(rowKeys, rowKeys);
-                final StatisticAction action = new BivariateRowStatistics(0, result.rows().count()-1, result, covariance);
-                if (isParallel()) ForkJoinPool.commonPool().invoke(action); else action.compute();
-                return result;
-            } else {
-                final Index<K> colKeys = (Index<K>)Index.of(frame.cols().filter(DataFrameVector::isNumeric).keyArray());
-                final XDataFrame<K,K> result = (XDataFrame<K,K>)DataFrame.ofDoubles(colKeys, colKeys);
-                final StatisticAction action = new BivariateColumnStatistics(0, result.cols().count()-1, result, covariance);
-                if (isParallel()) ForkJoinPool.commonPool().invoke(action); else action.compute();
-                return result;
-            }
+            return XDataFrameCovariance.compute(frame, isRow(), false, pairwise, 0d, isParallel());
         } catch (Exception ex) {
             throw new DataFrameException("Failed to compute covariance matrix for DataFrame", ex);
         }
@@ -145,29 +143,35 @@ class XDataFrameAxisStats<K,R,C,X,Y> extends XDataFrameStatsBase<X,Y> implements
 
 
     @Override
-    @SuppressWarnings("unchecked")
-    public DataFrame<K,K> correlation() {
+    public DataFrame<K,K> correlation(boolean pairwise) {
         try {
-            final Statistic2 correlation = new Correlation();
-            if (isRow()) {
-                final Index<K> rowKeys = (Index<K>)Index.of(frame.rows().filter(DataFrameVector::isNumeric).keyArray());
-                final XDataFrame<K,K> result = (XDataFrame<K,K>)DataFrame.ofDoubles(rowKeys, rowKeys);
-                final StatisticAction action = new BivariateRowStatistics(0, result.rowCount()-1, result, correlation);
-                if (isParallel()) ForkJoinPool.commonPool().invoke(action); else action.compute();
-                return result;
-            } else {
-                final Index<K> colKeys = (Index<K>)Index.of(frame.cols().filter(DataFrameVector::isNumeric).keyArray());
-                final XDataFrame<K,K> result = (XDataFrame<K,K>)DataFrame.ofDoubles(colKeys, colKeys);
-                final StatisticAction action = new BivariateColumnStatistics(0, result.colCount()-1, result, correlation);
-                if (isParallel()) ForkJoinPool.commonPool().invoke(action); else action.compute();
-                return result;
-            }
+            return XDataFrameCovariance.compute(frame, isRow(), true, pairwise, 0d, isParallel());
         } catch (Exception ex) {
             throw new DataFrameException("Failed to compute correlation matrix for DataFrame", ex);
         }
     }
 
 
+    @Override
+    public DataFrame<K,K> ewmcov(int halfLife, boolean pairwise) {
+        try {
+            return XDataFrameCovariance.compute(frame, isRow(), false, pairwise, halfLife, isParallel());
+        } catch (Exception ex) {
+            throw new DataFrameException("Failed to compute EWM covariance matrix for DataFrame", ex);
+        }
+    }
+
+
+    @Override
+    public DataFrame<K,K> ewmcorr(int halfLife, boolean pairwise) {
+        try {
+            return XDataFrameCovariance.compute(frame, isRow(), true, pairwise, halfLife, isParallel());
+        } catch (Exception ex) {
+            throw new DataFrameException("Failed to compute EWM correlation matrix for DataFrame", ex);
+        }
+    }
+
+
     @Override
     @SuppressWarnings("unchecked")
     public double covariance(K key1, K key2) {
@@ -235,7 +239,7 @@ class XDataFrameAxisStats<K,R,C,X,Y> extends XDataFrameStatsBase<X,Y> implements
         final XDataFrame<R,C> result = (XDataFrame<R,C>)frame.copy();
         if (parallel) {
             final int colCount = result.cols().count();
-            ForkJoinPool.commonPool().invoke(new Ewma(result, 0, colCount-1, 2, halfLife));
+            ComputeContext.current().invoke(new Ewma(result, 0, colCount-1, 2, halfLife));
         } else {
             final int colCount = result.cols().count();
             new Ewma(result, 0, colCount-1, Integer.MAX_VALUE, halfLife).compute();
@@ -419,127 +423,4 @@ class XDataFrameAxisStats<K,R,C,X,Y> extends XDataFrameStatsBase<X,Y> implements
         }
     }
 
-
-    /**
-     * A Callable to compute a bi-variate statistic based on row vectors of a DataFrame
-     */
-    private class BivariateRowStatistics extends StatisticAction {
-
-        private int from;
-        private int to;
-        private XDataFrame<K,K> result;
-        private Statistic2 statistic;
-
-        /**
-         * Constructor
-         * @param from      the from column index
-         * @param to        the to column index
-         * @param result    the result frame to write to
-         * @param statistic the statistic
-         */
-        private BivariateRowStatistics(int from, int to, XDataFrame<K,K> result, Statistic2 statistic) {
-            this.from = from;
-            this.to = to;
-            this.result = result;
-            this.statistic = statistic.copy();
-        }
-
-        @Override
-        @SuppressWarnings("unchecked")
-        public void compute() {
-            final int count = to - from + 1;
-            final int threshold = isParallel() ? DataFrameOptions.getRowSplitThreshold(frame) : Integer.MAX_VALUE;
-            if (count <= threshold) {
-                final int rowCount = result.rowCount();
-                final int colCount = frame.colCount();
-                final XDataFrameRow<R,C> row1 = new XDataFrameRow<>(frame, false);
-                final XDataFrameRow<R,C> row2 = new XDataFrameRow<>(frame, false);
-                for (int rowIndex1 = from; rowIndex1 <= to; ++rowIndex1) {
-                    row1.moveTo((R)result.rows().key(rowIndex1));
-                    for (int rowIndex2 = 0; rowIndex2 < rowCount; ++rowIndex2) {
-                        row2.moveTo((R)result.rows().key(rowIndex2));
-                        if (row1.isNumeric() && row2.isNumeric()) {
-                            this.statistic.reset();
-                            for (int colIndex = 0; colIndex < colCount; ++colIndex) {
-                                final double v1 = row1.getDouble(colIndex);
-                                final double v2 = row2.getDouble(colIndex);
-                                this.statistic.add(v1, v2);
-                            }
-                            final double statValue = statistic.getValue();
-                            this.result.data().setDouble(rowIndex1, rowIndex2, statValue);
-                        }
-                    }
-                }
-            } else {
-                final int splitCount = (to - from) / 2;
-                final int midPoint = from + splitCount;
-                invokeAll(
-                    new BivariateRowStatistics(from, midPoint, result, statistic),
-                    new BivariateRowStatistics(midPoint+1, to, result, statistic)
-                );
-            }
-        }
-    }
-
-    /**
-     * A Callable to compute a bi-variate statistic based on column vectors of a DataFrame
-     */
-    private class BivariateColumnStatistics extends StatisticAction {
-
-        private int from;
-        private int to;
-        private XDataFrame<K,K> result;
-        private Statistic2 statistic;
-
-        /**
-         * Constructor
-         * @param from      the from column index
-         * @param to        the to column index
-         * @param result    the result frame to write to
-         * @param statistic the statistic
-         */
-        private BivariateColumnStatistics(int from, int to, XDataFrame<K, K> result, Statistic2 statistic) {
-            this.from = from;
-            this.to = to;
-            this.result = result;
-            this.statistic = statistic.copy();
-        }
-
-        @Override
-        @SuppressWarnings("unchecked")
-        public void compute() {
-            final int count = to - from + 1;
-            final int threshold = isParallel() ? DataFrameOptions.getColumnSplitThreshold(frame) : Integer.MAX_VALUE;
-            if (count <= threshold) {
-                final int rowCount = frame.rowCount();
-                final int colCount = result.colCount();
-                final XDataFrameColumn<R,C> column1 = new XDataFrameColumn<>(frame, false);
-                final XDataFrameColumn<R,C> column2 = new XDataFrameColumn<>(frame, false);
-                for (int colIndex1 = from; colIndex1 <= to; ++colIndex1) {
-                    column1.moveTo((C)result.cols().key(colIndex1));
-                    for (int colIndex2 = 0; colIndex2 < colCount; ++ colIndex2) {
-                        column2.moveTo((C)result.cols().key(colIndex2));
-                        if (column1.isNumeric() && column2.isNumeric()) {
-                            this.statistic.reset();
-                            for (int rowIndex = 0; rowIndex < rowCount; ++rowIndex) {
-                                final double v1 = column1.getDouble(rowIndex);
-                                final double v2 = column2.getDouble(rowIndex);
-                                this.statistic.add(v1, v2);
-                            }
-                            final double statValue = statistic.getValue();
-                            this.result.data().setDouble(colIndex1, colIndex2, statValue);
-                        }
-                    }
-                }
-            } else {
-                final int splitCount = (to - from) / 2;
-                final int midPoint = from + splitCount;
-                invokeAll(
-                    new BivariateColumnStatistics(from, midPoint, result, statistic),
-                    new BivariateColumnStatistics(midPoint+1, to, result, statistic)
-                );
-            }
-        }
-    }
-
 }
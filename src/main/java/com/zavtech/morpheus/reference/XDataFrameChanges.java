@@ -0,0 +1,241 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.reference;
+
+import java.util.BitSet;
+
+/**
+ * A class that records the row and column indexes of DataFrame content that has been updated since the last drain.
+ *
+ * Indexes are the canonical array indexes of the content rather than ordinals, so they remain valid if the frame is
+ * sorted between the update and the drain. Each axis is tracked in a BitSet, so repeated updates to the same cells
+ * coalesce, and the memory used is bounded by the size of the frame rather than the number of updates.
+ *
+ * Updates are recorded in one of several stripes selected by the updating thread, each guarded by its own monitor,
+ * so threads updating a frame in parallel rarely contend, while the row and column of an update are always recorded
+ * together. A drain collects and resets every stripe.
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class XDataFrameChanges {
+
+    private static final int stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1;
+
+    private BitSet rows;
+    private BitSet cols;
+    private Stripe[] stripes;
+
+    /**
+     * Constructor
+     */
+    XDataFrameChanges() {
+        this.stripes = new Stripe[stripeCount];
+        for (int i=0; i<stripes.length; ++i) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Constructor
+     * @param rows  the dirty row indexes
+     * @param cols  the dirty column indexes
+     */
+    private XDataFrameChanges(BitSet rows, BitSet cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.stripes = new Stripe[] { new Stripe(rows, cols) };
+    }
+
+    /**
+     * Returns the dirty row indexes of changes returned by drain()
+     * @return  the dirty row indexes
+     */
+    final BitSet rows() {
+        return rows;
+    }
+
+    /**
+     * Returns the dirty column indexes of changes returned by drain()
+     * @return  the dirty column indexes
+     */
+    final BitSet cols() {
+        return cols;
+    }
+
+    /**
+     * Returns the stripe to record updates from the current thread in
+     * @return  the stripe for the current thread
+     */
+    private Stripe stripe() {
+        return stripes[(int)Thread.currentThread().getId() & (stripes.length - 1)];
+    }
+
+    /**
+     * Returns true if there are no dirty rows or columns
+     * @return  true if empty
+     */
+    final boolean isEmpty() {
+        for (Stripe stripe : stripes) {
+            if (!stripe.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marks the cell at the row and column index as updated
+     * @param rowIndex  the row index
+     * @param colIndex  the column index
+     */
+    final void mark(int rowIndex, int colIndex) {
+        this.stripe().mark(rowIndex, colIndex);
+    }
+
+    /**
+     * Marks a range of rows in the column at the index specified as updated
+     * @param fromRow   the first row index, inclusive
+     * @param toRow     the last row index, exclusive
+     * @param colIndex  the column index
+     */
+    final void mark(int fromRow, int toRow, int colIndex) {
+        if (fromRow < toRow) {
+            this.stripe().mark(fromRow, toRow, colIndex);
+        }
+    }
+
+    /**
+     * Adds the changes of another instance to this one
+     * @param other the changes to add
+     */
+    final void merge(XDataFrameChanges other) {
+        final Stripe stripe = stripe();
+        for (Stripe source : other.stripes) {
+            stripe.merge(source);
+        }
+    }
+
+    /**
+     * Returns the changes recorded since the last drain, and resets this instance
+     * @return  the changes since the last drain, which may be empty
+     */
+    final XDataFrameChanges drain() {
+        final BitSet rows = new BitSet();
+        final BitSet cols = new BitSet();
+        for (Stripe stripe : stripes) {
+            stripe.drainTo(rows, cols);
+        }
+        return new XDataFrameChanges(rows, cols);
+    }
+
+
+    /**
+     * A pair of row and column index sets guarded by the monitor of the stripe
+     */
+    private static class Stripe {
+
+        private BitSet rows;
+        private BitSet cols;
+
+        /**
+         * Constructor
+         */
+        Stripe() {
+            this(new BitSet(), new BitSet());
+        }
+
+        /**
+         * Constructor
+         * @param rows  the dirty row indexes
+         * @param cols  the dirty column indexes
+         */
+        Stripe(BitSet rows, BitSet cols) {
+            this.rows = rows;
+            this.cols = cols;
+        }
+
+        /**
+         * Returns true if there are no dirty rows or columns in this stripe
+         * @return  true if empty
+         */
+        synchronized boolean isEmpty() {
+            return rows.isEmpty() && cols.isEmpty();
+        }
+
+        /**
+         * Marks the cell at the row and column index as updated
+         * @param rowIndex  the row index
+         * @param colIndex  the column index
+         */
+        synchronized void mark(int rowIndex, int colIndex) {
+            this.rows.set(rowIndex);
+            this.cols.set(colIndex);
+        }
+
+        /**
+         * Marks a range of rows in the column at the index specified as updated
+         * @param fromRow   the first row index, inclusive
+         * @param toRow     the last row index, exclusive
+         * @param colIndex  the column index
+         */
+        synchronized void mark(int fromRow, int toRow, int colIndex) {
+            this.rows.set(fromRow, toRow);
+            this.cols.set(colIndex);
+        }
+
+        /**
+         * Adds the changes of another stripe to this one
+         * @param other the stripe to add
+         */
+        void merge(Stripe other) {
+            final BitSet otherRows;
+            final BitSet otherCols;
+            synchronized (other) {
+                otherRows = (BitSet)other.rows.clone();
+                otherCols = (BitSet)other.cols.clone();
+            }
+            synchronized (this) {
+                this.rows.or(otherRows);
+                this.cols.or(otherCols);
+            }
+        }
+
+        /**
+         * Adds the changes in this stripe to the sets specified, and resets this stripe
+         * @param rows  the row indexes to add to
+         * @param cols  the column indexes to add to
+         */
+        void drainTo(BitSet rows, BitSet cols) {
+            final BitSet dirtyRows;
+            final BitSet dirtyCols;
+            synchronized (this) {
+                if (this.rows.isEmpty() && this.cols.isEmpty()) {
+                    return;
+                } else {
+                    dirtyRows = this.rows;
+                    dirtyCols = this.cols;
+                    this.rows = new BitSet();
+                    this.cols = new BitSet();
+                }
+            }
+            rows.or(dirtyRows);
+            cols.or(dirtyCols);
+        }
+    }
+
+}
@@ -15,12 +15,15 @@
  */
 package com.zavtech.morpheus.reference;
 
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 import com.zavtech.morpheus.array.Array;
 import com.zavtech.morpheus.array.ArrayType;
@@ -37,7 +40,9 @@ import com.zavtech.morpheus.frame.DataFrameValue;
 import com.zavtech.morpheus.range.Range;
 import com.zavtech.morpheus.stats.StatType;
 import com.zavtech.morpheus.stats.Stats;
+import com.zavtech.morpheus.stats.StatsSummary;
 import com.zavtech.morpheus.util.Asserts;
+import com.zavtech.morpheus.util.ComputeContext;
 import com.zavtech.morpheus.util.Parallel;
 
 /**
@@ -213,6 +218,21 @@ class XDataFrameColumns<R,C> extends XDataFrameAxisBase<C,R,R,C,DataFrameColumn<
         return XDataFrameSorter.sortCols(frame(), isParallel(), comparator);
     }
 
+    @Override @Parallel
+    public final DataFrame<R,C> top(int count, boolean ascending, R key) {
+        return XDataFrameTop.topCols(frame(), count, Collections.singletonList(key), ascending, isParallel());
+    }
+
+    @Override @Parallel
+    public final DataFrame<R,C> top(int count, boolean ascending, List<R> keys) {
+        return XDataFrameTop.topCols(frame(), count, keys, ascending, isParallel());
+    }
+
+    @Override @Parallel
+    public final DataFrame<R,C> top(int count, Comparator<DataFrameColumn<R,C>> comparator) {
+        return XDataFrameTop.topCols(frame(), count, isParallel(), comparator);
+    }
+
     @Override @Parallel
     public final DataFrame<R,C> apply(Consumer<DataFrameColumn<R,C>> consumer) {
         this.forEach(consumer);
@@ -312,15 +332,25 @@ class XDataFrameColumns<R,C> extends XDataFrameAxisBase<C,R,R,C,DataFrameColumn<
         final Array<StatType> statKeys = Array.of(stats);
         final Array<C> colKeys = filter(DataFrameColumn::isNumeric).keyArray();
         final DataFrame<C,StatType> result = DataFrame.ofDoubles(colKeys, statKeys);
-        this.filter(DataFrameColumn::isNumeric).forEach(column -> {
-            final C key = column.key();
-            final Stats<Double> colStats = column.stats();
+        final IntConsumer describer = i -> {
+            final C key = colKeys.getValue(i);
+            final DataFrameColumn<R,C> column = frame().col(key);
+            final StatsSummary summary = StatsSummary.of(stats);
+            final int size = column.size();
+            for (int k = 0; k < size; ++k) {
+                summary.add(column.getDouble(k));
+            }
             for (int j = 0; j < statKeys.length(); ++j) {
                 final StatType stat = statKeys.getValue(j);
-                final double value = stat.apply(colStats);
-                result.data().setDouble(key, j, value);
+                final double value = summary.getValue(stat);
+                result.data().setDouble(i, j, value);
             }
-        });
+        };
+        if (isParallel() && colKeys.length() > 1) {
+            ComputeContext.current().run(() -> IntStream.range(0, colKeys.length()).parallel().forEach(describer));
+        } else {
+            IntStream.range(0, colKeys.length()).forEach(describer);
+        }
         return result;
     }
 
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.ToDoubleFunction;
@@ -34,6 +35,7 @@ import java.util.stream.Stream;
 
 import com.zavtech.morpheus.array.Array;
 import com.zavtech.morpheus.array.ArrayBuilder;
+import com.zavtech.morpheus.array.ArrayStyle;
 import com.zavtech.morpheus.array.ArrayType;
 import com.zavtech.morpheus.array.ArrayUtils;
 import com.zavtech.morpheus.frame.DataFrame;
@@ -69,6 +71,7 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
     private Index<C> colKeys;
     private boolean columnStore;
     private List<Array<?>> data;
+    private transient volatile XDataFrameChanges changes;
 
 
     /**
@@ -167,6 +170,119 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
         return new XDataFrameContent<>(colKeys, rowKeys, !isColumnStore(), data);
     }
 
+
+    /**
+     * Returns the values of this content as doubles in a single row major or column major array
+     * @param columnMajor   true for column major order, false for row major order
+     * @return              the newly created array of values
+     */
+    final double[] toDoubles(boolean columnMajor) {
+        final int rowCount = rowKeys.size();
+        final int colCount = colKeys.size();
+        final double[] result = new double[rowCount * colCount];
+        final boolean storageOrder = columnMajor == isColumnStore();
+        final int majorCount = isColumnStore() ? colCount : rowCount;
+        final int minorCount = isColumnStore() ? rowCount : colCount;
+        final int[] minorIndexes = minorIndexes();
+        final double[] buffer = storageOrder ? result : new double[minorCount];
+        for (int major=0; major<majorCount; ++major) {
+            final int offset = storageOrder ? major * minorCount : 0;
+            this.copyDoubles(major, minorIndexes, buffer, offset);
+            if (!storageOrder) {
+                for (int minor=0; minor<minorCount; ++minor) {
+                    result[minor * majorCount + major] = buffer[minor];
+                }
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns the values of this content as doubles in an array per row
+     * @return  the newly created arrays of values, one per row
+     */
+    final double[][] toRowArrays() {
+        final int rowCount = rowKeys.size();
+        final int colCount = colKeys.size();
+        final double[][] result = new double[rowCount][colCount];
+        final int[] minorIndexes = minorIndexes();
+        if (isColumnStore()) {
+            final double[] buffer = new double[rowCount];
+            for (int j=0; j<colCount; ++j) {
+                this.copyDoubles(j, minorIndexes, buffer, 0);
+                for (int i=0; i<rowCount; ++i) {
+                    result[i][j] = buffer[i];
+                }
+            }
+        } else {
+            for (int i=0; i<rowCount; ++i) {
+                this.copyDoubles(i, minorIndexes, result[i], 0);
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns the column arrays of this content in column ordinal order, so that primitive kernels can update them directly
+     * This is only possible for a column store whose row ordinals equal array indexes, and where all columns match the type.
+     * @param type  the type every column must be a dense array of, null to accept columns of any type and style
+     * @return      the column arrays, empty if values can only be accessed through the cell API
+     */
+    final Optional<Array<?>[]> getColArrays(Class<?> type) {
+        if (!isColumnStore() || minorIndexes() != null) {
+            return Optional.empty();
+        } else {
+            final Array<?>[] arrays = new Array<?>[colKeys.size()];
+            for (int j=0; j<arrays.length; ++j) {
+                arrays[j] = data.get(colKeys.getIndexForOrdinal(j));
+                if (type != null && (arrays[j].type() != type || arrays[j].style() != ArrayStyle.DENSE)) {
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(arrays);
+        }
+    }
+
+
+    /**
+     * Returns the array indexes for the ordinals of the axis along each stored array, or null if they are 0..n-1
+     * @return  the indexes for each ordinal along stored arrays, null if ordinals equal indexes
+     */
+    private int[] minorIndexes() {
+        final Index<?> minorKeys = isColumnStore() ? rowKeys : colKeys;
+        final int count = minorKeys.size();
+        final int[] indexes = new int[count];
+        boolean identity = true;
+        for (int i=0; i<count; ++i) {
+            indexes[i] = minorKeys.getIndexForOrdinal(i);
+            identity &= indexes[i] == i;
+        }
+        return identity ? null : indexes;
+    }
+
+
+    /**
+     * Copies the values of the stored array at the ordinal specified into the target as doubles
+     * @param majorOrdinal  the ordinal of the stored array, a column ordinal for column stores, a row ordinal otherwise
+     * @param minorIndexes  the indexes within stored arrays for each ordinal, null if ordinals equal indexes
+     * @param target        the array to copy into
+     * @param offset        the offset in target for the first value
+     */
+    private void copyDoubles(int majorOrdinal, int[] minorIndexes, double[] target, int offset) {
+        final Index<?> majorKeys = isColumnStore() ? colKeys : rowKeys;
+        final Array<?> array = data.get(majorKeys.getIndexForOrdinal(majorOrdinal));
+        if (minorIndexes == null) {
+            final int count = isColumnStore() ? rowKeys.size() : colKeys.size();
+            array.copyDoubles(0, count, target, offset);
+        } else {
+            for (int i=0; i<minorIndexes.length; ++i) {
+                target[offset + i] = array.getDouble(minorIndexes[i]);
+            }
+        }
+    }
+
     /**
      * Returns a newly created cursor for this content
      * @param frame the frame reference
@@ -595,12 +711,64 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
     }
 
 
+    /**
+     * Returns a newly created radix sort to sort this content in the row dimension, if the column types support it
+     * @param colKeys       the column keys to sort rows by, in order of precedence
+     * @param ascending     true for ascending, false for descending
+     * @return              the radix sort, empty if a comparator based sort is required
+     */
+    final Optional<XDataFrameRadixSort> createRowRadixSort(List<C> colKeys, boolean ascending) {
+        final Array<?>[] arrays = new Array<?>[colKeys.size()];
+        for (int i=0; i<colKeys.size(); ++i) {
+            arrays[i] = getColArray(colKeys.get(i));
+        }
+        if (!XDataFrameRadixSort.isSupported(rowKeys.size(), arrays)) {
+            return Optional.empty();
+        } else {
+            return Optional.of(new XDataFrameRadixSort(arrays, getColArrayIndexes(), ascending));
+        }
+    }
+
+
+    /**
+     * Returns a newly created radix sort to sort this content in the column dimension, if the row types support it
+     * @param rowKeys       the row keys to sort columns by, in order of precedence
+     * @param ascending     true for ascending, false for descending
+     * @return              the radix sort, empty if a comparator based sort is required
+     */
+    final Optional<XDataFrameRadixSort> createColRadixSort(List<R> rowKeys, boolean ascending) {
+        final Array<?>[] arrays = new Array<?>[rowKeys.size()];
+        for (int i=0; i<rowKeys.size(); ++i) {
+            arrays[i] = getRowArray(rowKeys.get(i));
+        }
+        if (!XDataFrameRadixSort.isSupported(colKeys.size(), arrays)) {
+            return Optional.empty();
+        } else {
+            return Optional.of(new XDataFrameRadixSort(arrays, getRowArrayIndexes(), ascending));
+        }
+    }
+
+
+    /**
+     * Returns the index into the arrays returned by getRowArray() for each column ordinal, for internal use only
+     * @return  the array index for each column ordinal
+     */
+    final int[] getRowArrayIndexes() {
+        final int[] indexes = new int[colKeys.size()];
+        for (int i=0; i<indexes.length; ++i) {
+            indexes[i] = columnStore ? i : colKeys.getIndexForOrdinal(i);
+        }
+        return indexes;
+    }
+
+
     /**
      * Returns row data as an array for internal use only
+     * For a row store the array is indexed by column index, otherwise it is a copy indexed by column ordinal
      * @param rowKey    the row key
      * @return          the array of row data
      */
-    private Array<?> getRowArray(R rowKey) {
+    final Array<?> getRowArray(R rowKey) {
         if (!columnStore) {
             final int index = rowKeys.getIndexForKey(rowKey);
             return data.get(index);
@@ -624,12 +792,26 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
     }
 
 
+    /**
+     * Returns the index into the arrays returned by getColArray() for each row ordinal, for internal use only
+     * @return  the array index for each row ordinal
+     */
+    final int[] getColArrayIndexes() {
+        final int[] indexes = new int[rowKeys.size()];
+        for (int i=0; i<indexes.length; ++i) {
+            indexes[i] = columnStore ? rowKeys.getIndexForOrdinal(i) : i;
+        }
+        return indexes;
+    }
+
+
     /**
      * Returns column data as an array for internal use only
+     * For a column store the array is indexed by row index, otherwise it is a copy indexed by row ordinal
      * @param colKey    the column key
      * @return          the array of column data
      */
-    private Array<?> getColArray(C colKey) {
+    final Array<?> getColArray(C colKey) {
         if (columnStore) {
             final int index = colKeys.getIndexForKey(colKey);
             return data.get(index);
@@ -719,7 +901,7 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
                 final Array<R> rowKeys = this.rowKeys.toArray();
                 final Array<C> colKeys = this.colKeys.toArray();
                 final int[] modelIndexes = this.rowKeys.indexes().toArray();
-                final Index<R> newRowAxis = Index.of(rowKeys);
+                final Index<R> newRowAxis = this.rowKeys.isSorted() ? Index.ofSorted(rowKeys) : Index.of(rowKeys);
                 final Index<C> newColAxis = Index.of(colKeys);
                 final List<Array<?>> newData = this.colKeys.keys().map(c -> getArray(c).copy(modelIndexes)).collect(Collectors.toList());
                 return new XDataFrameContent<>(newRowAxis, newColAxis, columnStore, newData);
@@ -1143,10 +1325,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForKey(colKey);
             if (columnStore) {
                 final Array<?> colArray = data.get(colIndex);
-                return colArray.setBoolean(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setBoolean(rowIndex, value));
             } else {
                 final Array<?> rowArray = data.get(rowIndex);
-                return rowArray.setBoolean(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setBoolean(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowKey + ", " + colKey + ")", t);
@@ -1161,10 +1343,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForOrdinal(colOrdinal);
             if (columnStore) {
                 final Array<?> colArray = data.get(colIndex);
-                return colArray.setBoolean(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setBoolean(rowIndex, value));
             } else {
                 final Array<?> rowArray = data.get(rowIndex);
-                return rowArray.setBoolean(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setBoolean(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowKey + ", " + colOrdinal + ")", t);
@@ -1179,10 +1361,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForKey(colKey);
             if (columnStore) {
                 final Array<?> colArray = data.get(colIndex);
-                return colArray.setBoolean(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setBoolean(rowIndex, value));
             } else {
                 final Array<?> rowArray = data.get(rowIndex);
-                return rowArray.setBoolean(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setBoolean(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowOrdinal + ", " + colKey + ")", t);
@@ -1197,10 +1379,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForOrdinal(colOrdinal);
             if (columnStore) {
                 final Array<?> colArray = data.get(colIndex);
-                return colArray.setBoolean(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setBoolean(rowIndex, value));
             } else {
                 final Array<?> rowArray = data.get(rowIndex);
-                return rowArray.setBoolean(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setBoolean(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowOrdinal + ", " + colOrdinal + ")", t);
@@ -1215,10 +1397,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForKey(colKey);
             if (columnStore) {
                 final Array<?> colArray = data.get(colIndex);
-                return colArray.setInt(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setInt(rowIndex, value));
             } else {
                 final Array<?> rowArray = data.get(rowIndex);
-                return rowArray.setInt(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setInt(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowKey + ", " + colKey + ")", t);
@@ -1233,10 +1415,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForOrdinal(colOrdinal);
             if (columnStore) {
                 final Array<?> colArray = data.get(colIndex);
-                return colArray.setInt(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setInt(rowIndex, value));
             } else {
                 final Array<?> rowArray = data.get(rowIndex);
-                return rowArray.setInt(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setInt(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowKey + ", " + colOrdinal + ")", t);
@@ -1251,10 +1433,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForKey(colKey);
             if (columnStore) {
                 final Array<?> colArray = data.get(colIndex);
-                return colArray.setInt(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setInt(rowIndex, value));
             } else {
                 final Array<?> rowArray = data.get(rowIndex);
-                return rowArray.setInt(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setInt(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowOrdinal + ", " + colKey + ")", t);
@@ -1269,10 +1451,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForOrdinal(colOrdinal);
             if (columnStore) {
                 final Array<?> colArray = data.get(colIndex);
-                return colArray.setInt(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setInt(rowIndex, value));
             } else {
                 final Array<?> rowArray = data.get(rowIndex);
-                return rowArray.setInt(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setInt(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowOrdinal + ", " + colOrdinal + ")", t);
@@ -1287,10 +1469,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForKey(colKey);
             if (columnStore) {
                 final Array<?> colArray = data.get(colIndex);
-                return colArray.setLong(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setLong(rowIndex, value));
             } else {
                 final Array<?> rowArray = data.get(rowIndex);
-                return rowArray.setLong(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setLong(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowKey + ", " + colKey + ")", t);
@@ -1305,10 +1487,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForOrdinal(colOrdinal);
             if (columnStore) {
                 final Array<?> colArray = data.get(colIndex);
-                return colArray.setLong(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setLong(rowIndex, value));
             } else {
                 final Array<?> rowArray = data.get(rowIndex);
-                return rowArray.setLong(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setLong(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowKey + ", " + colOrdinal + ")", t);
@@ -1323,10 +1505,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForKey(colKey);
             if (columnStore) {
                 final Array<?> colArray = data.get(colIndex);
-                return colArray.setLong(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setLong(rowIndex, value));
             } else {
                 final Array<?> rowArray = data.get(rowIndex);
-                return rowArray.setLong(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setLong(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowOrdinal + ", " + colKey + ")", t);
@@ -1341,10 +1523,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForOrdinal(colOrdinal);
             if (columnStore) {
                 final Array<?> colArray = data.get(colIndex);
-                return colArray.setLong(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setLong(rowIndex, value));
             } else {
                 final Array<?> rowArray = data.get(rowIndex);
-                return rowArray.setLong(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setLong(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowOrdinal + ", " + colOrdinal + ")", t);
@@ -1359,10 +1541,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForKey(colKey);
             if (columnStore) {
                 final Array<?> colArray = data.get(colIndex);
-                return colArray.setDouble(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setDouble(rowIndex, value));
             } else {
                 final Array<?> rowArray = data.get(rowIndex);
-                return rowArray.setDouble(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setDouble(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowKey + ", " + colKey + ")", t);
@@ -1377,10 +1559,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForOrdinal(colOrdinal);
             if (columnStore) {
                 final Array<?> colArray = data.get(colIndex);
-                return colArray.setDouble(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setDouble(rowIndex, value));
             } else {
                 final Array<?> rowArray = data.get(rowIndex);
-                return rowArray.setDouble(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setDouble(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowKey + ", " + colOrdinal + ")", t);
@@ -1395,10 +1577,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForKey(colKey);
             if (columnStore) {
                 final Array<?> colArray = data.get(colIndex);
-                return colArray.setDouble(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setDouble(rowIndex, value));
             } else {
                 final Array<?> rowArray = data.get(rowIndex);
-                return rowArray.setDouble(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setDouble(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowOrdinal + ", " + colKey + ")", t);
@@ -1413,10 +1595,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForOrdinal(colOrdinal);
             if (columnStore) {
                 final Array<?> colArray = data.get(colIndex);
-                return colArray.setDouble(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setDouble(rowIndex, value));
             } else {
                 final Array<?> rowArray = data.get(rowIndex);
-                return rowArray.setDouble(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setDouble(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowOrdinal + ", " + colOrdinal + ")", t);
@@ -1432,10 +1614,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForKey(colKey);
             if (columnStore) {
                 final Array<Object> colArray = (Array<Object>)data.get(colIndex);
-                return (T)colArray.setValue(rowIndex, value);
+                return (T)changed(rowIndex, colIndex, colArray.setValue(rowIndex, value));
             } else {
                 final Array<Object> rowArray = (Array<Object>)data.get(rowIndex);
-                return (T)rowArray.setValue(colIndex, value);
+                return (T)changed(rowIndex, colIndex, rowArray.setValue(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowKey + ", " + colKey + ")", t);
@@ -1451,10 +1633,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForOrdinal(colOrdinal);
             if (columnStore) {
                 final Array<T> colArray = (Array<T>)data.get(colIndex);
-                return colArray.setValue(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setValue(rowIndex, value));
             } else {
                 final Array<T> rowArray = (Array<T>)data.get(rowIndex);
-                return rowArray.setValue(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setValue(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowKey + ", " + colOrdinal + ")", t);
@@ -1470,10 +1652,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForKey(colKey);
             if (columnStore) {
                 final Array<T> colArray = (Array<T>)data.get(colIndex);
-                return colArray.setValue(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setValue(rowIndex, value));
             } else {
                 final Array<T> rowArray = (Array<T>)data.get(rowIndex);
-                return rowArray.setValue(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setValue(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowOrdinal + ", " + colKey + ")", t);
@@ -1489,10 +1671,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             final int colIndex = colKeys.getIndexForOrdinal(colOrdinal);
             if (columnStore) {
                 final Array<T> colArray = (Array<T>)data.get(colIndex);
-                return colArray.setValue(rowIndex, value);
+                return changed(rowIndex, colIndex, colArray.setValue(rowIndex, value));
             } else {
                 final Array<T> rowArray = (Array<T>)data.get(rowIndex);
-                return rowArray.setValue(colIndex, value);
+                return changed(rowIndex, colIndex, rowArray.setValue(colIndex, value));
             }
         } catch (Throwable t) {
             throw new DataFrameException("DataFrame access error at (" + rowOrdinal + ", " + colOrdinal + ")", t);
@@ -1500,6 +1682,105 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
     }
 
 
+    /**
+     * Sets the changes that record the row and column indexes of every cell updated through this content
+     * @param changes   the changes to record updates in, null to stop tracking
+     */
+    final void track(XDataFrameChanges changes) {
+        this.changes = changes;
+    }
+
+
+    /**
+     * Records an update to the cell at the row and column index, if updates are being tracked
+     * @param rowIndex  the row index
+     * @param colIndex  the column index
+     */
+    private void changed(int rowIndex, int colIndex) {
+        final XDataFrameChanges changes = this.changes;
+        if (changes != null) {
+            changes.mark(rowIndex, colIndex);
+        }
+    }
+
+
+    /**
+     * Records an update to every row of a column array returned by getColArrays(), if updates are being tracked
+     * @param colOrdinal    the column ordinal
+     */
+    final void changedCol(int colOrdinal) {
+        final XDataFrameChanges changes = this.changes;
+        if (changes != null) {
+            changes.mark(0, rowKeys.size(), colKeys.getIndexForOrdinal(colOrdinal));
+        }
+    }
+
+
+    /**
+     * Records an update to the cell at the row and column index, and returns the previous value
+     * @param rowIndex  the row index
+     * @param colIndex  the column index
+     * @param previous  the previous value returned by the setter
+     * @return          the previous value
+     */
+    private boolean changed(int rowIndex, int colIndex, boolean previous) {
+        this.changed(rowIndex, colIndex);
+        return previous;
+    }
+
+
+    /**
+     * Records an update to the cell at the row and column index, and returns the previous value
+     * @param rowIndex  the row index
+     * @param colIndex  the column index
+     * @param previous  the previous value returned by the setter
+     * @return          the previous value
+     */
+    private int changed(int rowIndex, int colIndex, int previous) {
+        this.changed(rowIndex, colIndex);
+        return previous;
+    }
+
+
+    /**
+     * Records an update to the cell at the row and column index, and returns the previous value
+     * @param rowIndex  the row index
+     * @param colIndex  the column index
+     * @param previous  the previous value returned by the setter
+     * @return          the previous value
+     */
+    private long changed(int rowIndex, int colIndex, long previous) {
+        this.changed(rowIndex, colIndex);
+        return previous;
+    }
+
+
+    /**
+     * Records an update to the cell at the row and column index, and returns the previous value
+     * @param rowIndex  the row index
+     * @param colIndex  the column index
+     * @param previous  the previous value returned by the setter
+     * @return          the previous value
+     */
+    private double changed(int rowIndex, int colIndex, double previous) {
+        this.changed(rowIndex, colIndex);
+        return previous;
+    }
+
+
+    /**
+     * Records an update to the cell at the row and column index, and returns the previous value
+     * @param rowIndex  the row index
+     * @param colIndex  the column index
+     * @param previous  the previous value returned by the setter
+     * @return          the previous value
+     */
+    private <T> T changed(int rowIndex, int colIndex, T previous) {
+        this.changed(rowIndex, colIndex);
+        return previous;
+    }
+
+
     /**
      * Custom object serialization method for improved performance
      * @param is    the input stream
@@ -1793,6 +2074,7 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
                 } else {
                     array.setBoolean(colIndex, value);
                 }
+                changed(rowIndex, colIndex);
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame write error at (" + rowKey() + ", " + colKey() + "): " + ex.getMessage(), ex);
             }
@@ -1806,6 +2088,7 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
                 } else {
                     array.setInt(colIndex, value);
                 }
+                changed(rowIndex, colIndex);
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame write error at (" + rowKey() + ", " + colKey() + "): " + ex.getMessage(), ex);
             }
@@ -1819,6 +2102,7 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
                 } else {
                     array.setLong(colIndex, value);
                 }
+                changed(rowIndex, colIndex);
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame write error at (" + rowKey() + ", " + colKey() + "): " + ex.getMessage(), ex);
             }
@@ -1832,6 +2116,7 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
                 } else {
                     array.setDouble(colIndex, value);
                 }
+                changed(rowIndex, colIndex);
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame write error at (" + rowKey() + ", " + colKey() + "): " + ex.getMessage(), ex);
             }
@@ -1846,6 +2131,7 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
                 } else {
                     ((Array<V>)array).setValue(colIndex, value);
                 }
+                changed(rowIndex, colIndex);
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame write error at (" + rowKey() + ", " + colKey() + "): " + ex.getMessage(), ex);
             }
@@ -2144,9 +2430,9 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
                 final int colIndex = colKeys.getIndexForKey(colKey);
                 if (columnStore) {
                     final Array<?> colArray = data.get(colIndex);
-                    return colArray.setBoolean(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setBoolean(rowIndex, value));
                 } else {
-                    return rowArray.setBoolean(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setBoolean(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + key() + ", " + colKey + ")", ex);
@@ -2159,9 +2445,9 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
                 final int colIndex = colKeys.getIndexForOrdinal(colOrdinal);
                 if (columnStore) {
                     final Array<?> colArray = data.get(colOrdinal);
-                    return colArray.setBoolean(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setBoolean(rowIndex, value));
                 } else {
-                    return rowArray.setBoolean(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setBoolean(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + key() + ", " + colKeys.getKey(colOrdinal) + ")", ex);
@@ -2174,9 +2460,9 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
                 final int colIndex = colKeys.getIndexForKey(colKey);
                 if (columnStore) {
                     final Array<?> colArray = data.get(colIndex);
-                    return colArray.setInt(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setInt(rowIndex, value));
                 } else {
-                    return rowArray.setInt(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setInt(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + key() + ", " + colKey + ")", ex);
@@ -2189,9 +2475,9 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
                 final int colIndex = colKeys.getIndexForOrdinal(colOrdinal);
                 if (columnStore) {
                     final Array<?> colArray = data.get(colOrdinal);
-                    return colArray.setInt(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setInt(rowIndex, value));
                 } else {
-                    return rowArray.setInt(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setInt(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + key() + ", " + colKeys.getKey(colOrdinal) + ")", ex);
@@ -2204,9 +2490,9 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
                 final int colIndex = colKeys.getIndexForKey(colKey);
                 if (columnStore) {
                     final Array<?> colArray = data.get(colIndex);
-                    return colArray.setLong(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setLong(rowIndex, value));
                 } else {
-                    return rowArray.setLong(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setLong(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + key() + ", " + colKey + ")", ex);
@@ -2219,9 +2505,9 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
                 final int colIndex = colKeys.getIndexForOrdinal(colOrdinal);
                 if (columnStore) {
                     final Array<?> colArray = data.get(colOrdinal);
-                    return colArray.setLong(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setLong(rowIndex, value));
                 } else {
-                    return rowArray.setLong(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setLong(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + key() + ", " + colKeys.getKey(colOrdinal) + ")", ex);
@@ -2234,9 +2520,9 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
                 final int colIndex = colKeys.getIndexForKey(colKey);
                 if (columnStore) {
                     final Array<?> colArray = data.get(colIndex);
-                    return colArray.setDouble(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setDouble(rowIndex, value));
                 } else {
-                    return rowArray.setDouble(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setDouble(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + key() + ", " + colKey + ")", ex);
@@ -2249,9 +2535,9 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
                 final int colIndex = colKeys.getIndexForOrdinal(colOrdinal);
                 if (columnStore) {
                     final Array<?> colArray = data.get(colOrdinal);
-                    return colArray.setDouble(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setDouble(rowIndex, value));
                 } else {
-                    return rowArray.setDouble(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setDouble(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + key() + ", " + colKeys.getKey(colOrdinal) + ")", ex);
@@ -2265,9 +2551,9 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
                 final int colIndex = colKeys.getIndexForKey(colKey);
                 if (columnStore) {
                     final Array<V> colArray = (Array<V>)data.get(colIndex);
-                    return colArray.setValue(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setValue(rowIndex, value));
                 } else {
-                    return ((Array<V>)rowArray).setValue(colIndex, value);
+                    return changed(rowIndex, colIndex, ((Array<V>)rowArray).setValue(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + key() + ", " + colKey + ")", ex);
@@ -2281,9 +2567,9 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
                 final int colIndex = colKeys.getIndexForOrdinal(colOrdinal);
                 if (columnStore) {
                     final Array<V> colArray = (Array<V>)data.get(colOrdinal);
-                    return colArray.setValue(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setValue(rowIndex, value));
                 } else {
-                    return ((Array<V>)rowArray).setValue(colIndex, value);
+                    return changed(rowIndex, colIndex, ((Array<V>)rowArray).setValue(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + key() + ", " + colKeys.getKey(colOrdinal) + ")", ex);
@@ -2511,10 +2797,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             try {
                 final int rowIndex = rowKeys.getIndexForKey(rowKey);
                 if (columnStore) {
-                    return colArray.setBoolean(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setBoolean(rowIndex, value));
                 } else {
                     final Array<?> rowArray = data.get(rowIndex);
-                    return rowArray.setBoolean(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setBoolean(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + rowKey + ", " + key() + "): " + ex.getMessage(), ex);
@@ -2526,10 +2812,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             try {
                 final int rowIndex = rowKeys.getIndexForOrdinal(rowOrdinal);
                 if (columnStore) {
-                    return colArray.setBoolean(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setBoolean(rowIndex, value));
                 } else {
                     final Array<?> rowArray = data.get(rowIndex);
-                    return rowArray.setBoolean(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setBoolean(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + rowKeys.getKey(rowOrdinal) + ", " + key() + "): " + ex.getMessage(), ex);
@@ -2541,10 +2827,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             try {
                 final int rowIndex = rowKeys.getIndexForKey(rowKey);
                 if (columnStore) {
-                    return colArray.setInt(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setInt(rowIndex, value));
                 } else {
                     final Array<?> rowArray = data.get(rowIndex);
-                    return rowArray.setInt(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setInt(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + rowKey + ", " + key() + "): " + ex.getMessage(), ex);
@@ -2556,10 +2842,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             try {
                 final int rowIndex = rowKeys.getIndexForOrdinal(rowOrdinal);
                 if (columnStore) {
-                    return colArray.setInt(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setInt(rowIndex, value));
                 } else {
                     final Array<?> rowArray = data.get(rowIndex);
-                    return rowArray.setInt(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setInt(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + rowKeys.getKey(rowOrdinal) + ", " + key() + "): " + ex.getMessage(), ex);
@@ -2571,10 +2857,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             try {
                 final int rowIndex = rowKeys.getIndexForKey(rowKey);
                 if (columnStore) {
-                    return colArray.setLong(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setLong(rowIndex, value));
                 } else {
                     final Array<?> rowArray = data.get(rowIndex);
-                    return rowArray.setLong(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setLong(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + rowKey + ", " + key() + "): " + ex.getMessage(), ex);
@@ -2586,10 +2872,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             try {
                 final int rowIndex = rowKeys.getIndexForOrdinal(rowOrdinal);
                 if (columnStore) {
-                    return colArray.setLong(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setLong(rowIndex, value));
                 } else {
                     final Array<?> rowArray = data.get(rowIndex);
-                    return rowArray.setLong(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setLong(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + rowKeys.getKey(rowOrdinal) + ", " + key() + "): " + ex.getMessage(), ex);
@@ -2601,10 +2887,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             try {
                 final int rowIndex = rowKeys.getIndexForKey(rowKey);
                 if (columnStore) {
-                    return colArray.setDouble(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setDouble(rowIndex, value));
                 } else {
                     final Array<?> rowArray = data.get(rowIndex);
-                    return rowArray.setDouble(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setDouble(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + rowKey + ", " + key() + "): " + ex.getMessage(), ex);
@@ -2616,10 +2902,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             try {
                 final int rowIndex = rowKeys.getIndexForOrdinal(rowOrdinal);
                 if (columnStore) {
-                    return colArray.setDouble(rowIndex, value);
+                    return changed(rowIndex, colIndex, colArray.setDouble(rowIndex, value));
                 } else {
                     final Array<?> rowArray = data.get(rowIndex);
-                    return rowArray.setDouble(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setDouble(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + rowKeys.getKey(rowOrdinal) + ", " + key() + "): " + ex.getMessage(), ex);
@@ -2632,10 +2918,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             try {
                 final int rowIndex = rowKeys.getIndexForKey(rowKey);
                 if (columnStore) {
-                    return ((Array<V>)colArray).setValue(rowIndex, value);
+                    return changed(rowIndex, colIndex, ((Array<V>)colArray).setValue(rowIndex, value));
                 } else {
                     final Array<V> rowArray = (Array<V>)data.get(rowIndex);
-                    return rowArray.setValue(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setValue(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + rowKey + ", " + key() + "): " + ex.getMessage(), ex);
@@ -2648,10 +2934,10 @@ class XDataFrameContent<R,C> implements DataFrameContent<R,C>, Serializable, Clo
             try {
                 final int rowIndex = rowKeys.getIndexForOrdinal(rowOrdinal);
                 if (columnStore) {
-                    return ((Array<V>)colArray).setValue(rowIndex, value);
+                    return changed(rowIndex, colIndex, ((Array<V>)colArray).setValue(rowIndex, value));
                 } else {
                     final Array<V> rowArray = (Array<V>)data.get(rowIndex);
-                    return rowArray.setValue(colIndex, value);
+                    return changed(rowIndex, colIndex, rowArray.setValue(colIndex, value));
                 }
             } catch (Exception ex) {
                 throw new DataFrameException("DataFrame access error at (" + rowKeys.getKey(rowOrdinal) + ", " + key() + "): " + ex.getMessage(), ex);
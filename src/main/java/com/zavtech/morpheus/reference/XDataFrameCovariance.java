@@ -0,0 +1,442 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.reference;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.frame.DataFrameException;
+import com.zavtech.morpheus.frame.DataFrameVector;
+import com.zavtech.morpheus.index.Index;
+import com.zavtech.morpheus.util.ComputeContext;
+
+/**
+ * A class that computes the covariance or correlation matrix between all numeric vectors on an axis of a DataFrame.
+ *
+ * The vectors are copied once into a contiguous buffer with one run of observations per vector. In complete mode each
+ * run is centred on its (weighted) mean and multiplied by the square root of the observation weights, and for correlation
+ * also scaled to unit norm, so that every entry of the matrix is a single dot product of two runs. In pairwise mode NaN
+ * observations are zeroed and masked, and each pair accumulates the sums it needs over the observations both vectors
+ * share. Either way the matrix is produced by one kernel that walks square tiles of the upper triangle, and within a
+ * tile walks the observations in chunks, so both runs of every dot product stay in cache. Tiles are computed in parallel.
+ *
+ * Observation weights are either all one, or decay exponentially with a half-life such that the last observation has
+ * a weight of one, and the bias correction for the reliability weights reduces to n - 1 in the unweighted case.
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class XDataFrameCovariance<R,C> {
+
+    private static final int BLOCK_SIZE = 64;
+    private static final int CHUNK_SIZE = 256;
+    private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+    private int n;
+    private int k;
+    private boolean rows;
+    private boolean parallel;
+    private boolean pairwise;
+    private boolean correlation;
+    private double denominator;
+    private double[] values;
+    private double[] masks;
+    private double[] weights;
+    private double[] matrix;
+    private XDataFrame<R,C> frame;
+
+
+    /**
+     * Constructor
+     * @param frame         the frame to operate on
+     * @param rows          true to compute the matrix between rows, false for columns
+     * @param correlation   true for the correlation matrix, false for the covariance matrix
+     * @param pairwise      true to use the observations where both values are not NaN for each pair, false to propagate NaN values
+     * @param halfLife      the half-life for exponential weights, or zero for equal weights
+     * @param parallel      true to compute in parallel
+     */
+    private XDataFrameCovariance(XDataFrame<R,C> frame, boolean rows, boolean correlation, boolean pairwise, double halfLife, boolean parallel) {
+        this.frame = frame;
+        this.rows = rows;
+        this.correlation = correlation;
+        this.pairwise = pairwise;
+        this.parallel = parallel;
+        this.n = rows ? frame.colCount() : frame.rowCount();
+        this.weights = halfLife > 0d ? weights(n, halfLife) : null;
+        this.denominator = denominator();
+    }
+
+
+    /**
+     * Returns the covariance or correlation matrix between the numeric rows or columns of a DataFrame
+     * @param frame         the frame to operate on
+     * @param rows          true to compute the matrix between rows, false for columns
+     * @param correlation   true for the correlation matrix, false for the covariance matrix
+     * @param pairwise      true to use the observations where both values are not NaN for each pair, false to propagate NaN values
+     * @param halfLife      the half-life for exponential weights, or zero for equal weights
+     * @param parallel      true to compute in parallel
+     * @param <K>           the key type of the axis
+     * @return              the symmetric matrix, keyed by the numeric vector keys in both dimensions
+     */
+    @SuppressWarnings("unchecked")
+    static <R,C,K> DataFrame<K,K> compute(XDataFrame<R,C> frame, boolean rows, boolean correlation, boolean pairwise, double halfLife, boolean parallel) {
+        final Index<K> keys = rows
+            ? (Index<K>)Index.of(frame.rows().filter(DataFrameVector::isNumeric).keyArray())
+            : (Index<K>)Index.of(frame.cols().filter(DataFrameVector::isNumeric).keyArray());
+        final XDataFrameCovariance<R,C> engine = new XDataFrameCovariance<>(frame, rows, correlation, pairwise, halfLife, parallel);
+        final double[] matrix = engine.compute((Index<Object>)keys);
+        final int k = keys.size();
+        final DataFrame<K,K> result = DataFrame.ofDoubles(keys, keys);
+        for (int i=0; i<k; ++i) {
+            for (int j=0; j<k; ++j) {
+                result.data().setDouble(i, j, matrix[i * k + j]);
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns exponentially decaying weights such that the last observation has a weight of one
+     * @param n         the number of observations
+     * @param halfLife  the half-life such that the EWM weight, alpha = 1 - exp(log(0.5)/halfLife)
+     * @return          the observation weights
+     */
+    private static double[] weights(int n, double halfLife) {
+        final double decay = Math.exp(Math.log(0.5d) / halfLife);
+        final double[] weights = new double[n];
+        double weight = 1d;
+        for (int i=n-1; i>=0; --i) {
+            weights[i] = weight;
+            weight *= decay;
+        }
+        return weights;
+    }
+
+
+    /**
+     * Returns the bias corrected denominator for covariance over all observations, which is n - 1 for equal weights
+     * @return  the denominator given the reliability weights of the observations
+     */
+    private double denominator() {
+        double sumW = 0d, sumW2 = 0d;
+        for (int i=0; i<n; ++i) {
+            final double weight = weight(i);
+            sumW += weight;
+            sumW2 += weight * weight;
+        }
+        return sumW - sumW2 / sumW;
+    }
+
+
+    /**
+     * Returns the weight of the observation at the index specified
+     * @param index     the observation index
+     * @return          the observation weight
+     */
+    private double weight(int index) {
+        return weights != null ? weights[index] : 1d;
+    }
+
+
+    /**
+     * Computes the symmetric matrix between the vectors with the keys specified
+     * @param keys  the keys of the numeric vectors on the axis
+     * @return      the k x k matrix in row major order
+     */
+    private double[] compute(Index<Object> keys) {
+        this.k = keys.size();
+        final long bufferLength = (long)k * n;
+        final long matrixLength = (long)k * k;
+        if (bufferLength > MAX_LENGTH) {
+            throw new DataFrameException("Too many values to compute a " + k + "x" + k + " matrix over " + n + " observations, the limit is " + MAX_LENGTH);
+        } else if (matrixLength > MAX_LENGTH) {
+            throw new DataFrameException("Too many vectors to compute a " + k + "x" + k + " matrix, the limit is " + MAX_LENGTH + " entries");
+        }
+        this.values = new double[(int)bufferLength];
+        this.masks = pairwise ? new double[(int)bufferLength] : null;
+        this.matrix = new double[(int)matrixLength];
+        this.run(k, new Loader(keys));
+        final int blockCount = (k + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        final int tileCount = blockCount * (blockCount + 1) / 2;
+        final int[] tiles = new int[tileCount * 2];
+        for (int blockA=0, tile=0; blockA<blockCount; ++blockA) {
+            for (int blockB=blockA; blockB<blockCount; ++blockB, ++tile) {
+                tiles[tile * 2] = blockA * BLOCK_SIZE;
+                tiles[tile * 2 + 1] = blockB * BLOCK_SIZE;
+            }
+        }
+        if (parallel && tileCount > 1) {
+            ComputeContext.current().invoke(new TileAction(0, tileCount - 1, tiles));
+        } else if (tileCount > 0) {
+            new TileAction(0, tileCount - 1, tiles).compute();
+        }
+        return matrix;
+    }
+
+
+    /**
+     * Runs the consumer for every index in the range [0, count), in parallel if this engine is parallel
+     * @param count     the number of indexes
+     * @param consumer  the consumer to run
+     */
+    private void run(int count, IntConsumer consumer) {
+        if (parallel && count > 1) {
+            ComputeContext.current().run(() -> IntStream.range(0, count).parallel().forEach(consumer));
+        } else {
+            IntStream.range(0, count).forEach(consumer);
+        }
+    }
+
+
+    /**
+     * An IntConsumer that copies a vector into its run of the buffer and prepares it for the kernel
+     */
+    private class Loader implements IntConsumer {
+
+        private Index<Object> keys;
+
+        /**
+         * Constructor
+         * @param keys  the keys of the vectors to load
+         */
+        Loader(Index<Object> keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void accept(int vectorIndex) {
+            final int offset = vectorIndex * n;
+            final Object key = keys.getKey(vectorIndex);
+            if (rows) {
+                final XDataFrameRow<R,C> row = new XDataFrameRow<>(frame, false);
+                row.moveTo((R)key);
+                for (int i=0; i<n; ++i) values[offset + i] = row.getDouble(i);
+            } else {
+                final XDataFrameColumn<R,C> column = new XDataFrameColumn<>(frame, false);
+                column.moveTo((C)key);
+                for (int i=0; i<n; ++i) values[offset + i] = column.getDouble(i);
+            }
+            if (pairwise) {
+                this.mask(offset);
+            } else {
+                this.centre(offset);
+            }
+        }
+
+        /**
+         * Centres a run on its weighted mean and applies the square root of the weights, scaling to unit norm for correlation
+         * @param offset    the offset of the run in the buffer
+         */
+        private void centre(int offset) {
+            double sumWeights = 0d;
+            double mean = 0d;
+            for (int i=0; i<n; ++i) {
+                final double weight = weight(i);
+                sumWeights += weight;
+                mean += (values[offset + i] - mean) * (weight / sumWeights);
+            }
+            double sumSquares = 0d;
+            for (int i=0; i<n; ++i) {
+                final double value = Math.sqrt(weight(i)) * (values[offset + i] - mean);
+                values[offset + i] = value;
+                sumSquares += value * value;
+            }
+            if (correlation) {
+                final double scale = 1d / Math.sqrt(sumSquares);
+                for (int i=0; i<n; ++i) {
+                    values[offset + i] *= scale;
+                }
+            }
+        }
+
+        /**
+         * Records which observations of a run are present, zeroing NaN values and shifting the rest by their mean
+         * The shift leaves the pairwise sums invariant, but keeps them small to limit cancellation.
+         * @param offset    the offset of the run in the buffer
+         */
+        private void mask(int offset) {
+            int count = 0;
+            double mean = 0d;
+            for (int i=0; i<n; ++i) {
+                final double value = values[offset + i];
+                if (!Double.isNaN(value)) {
+                    mean += (value - mean) / ++count;
+                }
+            }
+            for (int i=0; i<n; ++i) {
+                final double value = values[offset + i];
+                final boolean present = !Double.isNaN(value);
+                masks[offset + i] = present ? 1d : 0d;
+                values[offset + i] = present ? value - mean : 0d;
+            }
+        }
+    }
+
+
+    /**
+     * A RecursiveAction that computes a range of the tiles of the upper triangle of the matrix
+     */
+    private class TileAction extends RecursiveAction {
+
+        private int from;
+        private int to;
+        private int[] tiles;
+
+        /**
+         * Constructor
+         * @param from      the from tile index, inclusive
+         * @param to        the to tile index, inclusive
+         * @param tiles     the index of the first vector of block A and block B for each tile, in pairs
+         */
+        TileAction(int from, int to, int[] tiles) {
+            this.from = from;
+            this.to = to;
+            this.tiles = tiles;
+        }
+
+        @Override
+        protected void compute() {
+            if (!parallel || from == to) {
+                for (int tile=from; tile<=to; ++tile) {
+                    this.computeTile(tiles[tile * 2], tiles[tile * 2 + 1]);
+                }
+            } else {
+                final int midPoint = from + (to - from) / 2;
+                invokeAll(
+                    new TileAction(from, midPoint, tiles),
+                    new TileAction(midPoint + 1, to, tiles)
+                );
+            }
+        }
+
+        /**
+         * Computes the tile of the matrix whose rows and columns start at the vector indexes specified
+         * @param startA    the index of the first vector in block A
+         * @param startB    the index of the first vector in block B, which is at or after block A
+         */
+        private void computeTile(int startA, int startB) {
+            final int endA = Math.min(k, startA + BLOCK_SIZE);
+            final int endB = Math.min(k, startB + BLOCK_SIZE);
+            final int sums = pairwise ? 7 : 1;
+            final double[] acc = new double[BLOCK_SIZE * BLOCK_SIZE * sums];
+            for (int chunk=0; chunk<n; chunk += CHUNK_SIZE) {
+                final int chunkEnd = Math.min(n, chunk + CHUNK_SIZE);
+                for (int a=startA; a<endA; ++a) {
+                    for (int b=Math.max(a, startB); b<endB; ++b) {
+                        final int slot = ((a - startA) * BLOCK_SIZE + (b - startB)) * sums;
+                        if (pairwise) {
+                            this.accumulatePairwise(a * n, b * n, chunk, chunkEnd, acc, slot);
+                        } else {
+                            acc[slot] += dot(a * n, b * n, chunk, chunkEnd);
+                        }
+                    }
+                }
+            }
+            for (int a=startA; a<endA; ++a) {
+                for (int b=Math.max(a, startB); b<endB; ++b) {
+                    final int slot = ((a - startA) * BLOCK_SIZE + (b - startB)) * sums;
+                    final double value = pairwise ? pairwiseValue(acc, slot) : completeValue(acc[slot]);
+                    matrix[a * k + b] = value;
+                    matrix[b * k + a] = value;
+                }
+            }
+        }
+
+        /**
+         * Returns the dot product of two runs over a chunk of observations
+         * @param offsetA   the offset of the first run
+         * @param offsetB   the offset of the second run
+         * @param from      the from observation, inclusive
+         * @param to        the to observation, exclusive
+         * @return          the dot product
+         */
+        private double dot(int offsetA, int offsetB, int from, int to) {
+            double sum = 0d;
+            for (int i=from; i<to; ++i) {
+                sum += values[offsetA + i] * values[offsetB + i];
+            }
+            return sum;
+        }
+
+        /**
+         * Accumulates the weighted sums for a pair over the observations in a chunk where both values are present
+         * @param offsetA   the offset of the first run
+         * @param offsetB   the offset of the second run
+         * @param from      the from observation, inclusive
+         * @param to        the to observation, exclusive
+         * @param acc       the accumulator array
+         * @param slot      the offset of the seven sums for this pair in the accumulator array
+         */
+        private void accumulatePairwise(int offsetA, int offsetB, int from, int to, double[] acc, int slot) {
+            double sumW = 0d, sumW2 = 0d, sumX = 0d, sumY = 0d, sumXY = 0d, sumXX = 0d, sumYY = 0d;
+            for (int i=from; i<to; ++i) {
+                final double weight = weight(i);
+                final double mw = masks[offsetA + i] * masks[offsetB + i] * weight;
+                final double x = values[offsetA + i];
+                final double y = values[offsetB + i];
+                sumW += mw;
+                sumW2 += mw * weight;
+                sumX += mw * x;
+                sumY += mw * y;
+                sumXY += mw * x * y;
+                sumXX += mw * x * x;
+                sumYY += mw * y * y;
+            }
+            acc[slot] += sumW;
+            acc[slot + 1] += sumW2;
+            acc[slot + 2] += sumX;
+            acc[slot + 3] += sumY;
+            acc[slot + 4] += sumXY;
+            acc[slot + 5] += sumXX;
+            acc[slot + 6] += sumYY;
+        }
+
+        /**
+         * Returns the matrix entry given the dot product of two prepared runs
+         * @param dot   the dot product
+         * @return      the covariance or correlation
+         */
+        private double completeValue(double dot) {
+            return correlation ? dot : dot / denominator;
+        }
+
+        /**
+         * Returns the matrix entry given the pairwise sums of two masked runs
+         * @param acc   the accumulator array
+         * @param slot  the offset of the seven sums for the pair
+         * @return      the covariance or correlation
+         */
+        private double pairwiseValue(double[] acc, int slot) {
+            final double sumW = acc[slot];
+            final double sumX = acc[slot + 2];
+            final double sumY = acc[slot + 3];
+            final double sxy = acc[slot + 4] - sumX * sumY / sumW;
+            if (correlation) {
+                final double sxx = acc[slot + 5] - sumX * sumX / sumW;
+                final double syy = acc[slot + 6] - sumY * sumY / sumW;
+                return sxy / Math.sqrt(sxx * syy);
+            } else {
+                return sxy / (sumW - acc[slot + 1] / sumW);
+            }
+        }
+    }
+
+}
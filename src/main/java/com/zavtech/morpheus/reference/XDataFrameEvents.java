@@ -16,13 +16,25 @@
 package com.zavtech.morpheus.reference;
 
 import java.lang.ref.WeakReference;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.array.ArrayBuilder;
 import com.zavtech.morpheus.frame.DataFrameEvent;
+import com.zavtech.morpheus.frame.DataFrameException;
 import com.zavtech.morpheus.frame.DataFrameListener;
 import com.zavtech.morpheus.frame.DataFrameEvents;
+import com.zavtech.morpheus.index.Index;
 
 /**
  * The default implementation of the DataFrameNotify interface.
@@ -33,10 +45,23 @@ import com.zavtech.morpheus.frame.DataFrameEvents;
  */
 class XDataFrameEvents implements DataFrameEvents {
 
+    private static ScheduledExecutorService scheduler;
+
     private boolean enabled;
+    private XDataFrame<?,?> frame;
+    private transient ChangeFeed feed;
     private transient Set<WeakReference> listenerSet = new LinkedHashSet<>();
 
 
+    /**
+     * Constructor
+     * @param frame     the frame that owns these events
+     */
+    XDataFrameEvents(XDataFrame<?,?> frame) {
+        this.frame = frame;
+    }
+
+
     @Override
     public boolean isEnabled() {
         return enabled;
@@ -87,4 +112,145 @@ class XDataFrameEvents implements DataFrameEvents {
             }
         }
     }
+
+
+    @Override
+    public final void startChangeFeed(long interval, TimeUnit unit, Executor executor) {
+        synchronized (this) {
+            if (feed != null) {
+                throw new DataFrameException("A change feed is already active for this DataFrame");
+            } else {
+                final XDataFrameChanges changes = new XDataFrameChanges();
+                this.feed = new ChangeFeed(this, frame.content(), changes, executor);
+                this.feed.content.track(changes);
+                this.feed.future = scheduler().scheduleWithFixedDelay(feed, interval, interval, unit);
+            }
+        }
+    }
+
+
+    @Override
+    public final void stopChangeFeed() {
+        synchronized (this) {
+            if (feed != null) {
+                this.feed.future.cancel(false);
+                this.feed.content.track(null);
+                this.feed = null;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the shared scheduler that triggers change feed publications
+     * @return  the shared scheduler
+     */
+    private static synchronized ScheduledExecutorService scheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "DataFrameChangeFeedThread");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scheduler;
+    }
+
+
+    /**
+     * Publishes a batch of changes to listeners as an UPDATE event
+     * @param changes   the batch of changes
+     */
+    private void publish(XDataFrameChanges changes) {
+        final DataFrameEvent<?,?> event = createEvent(frame, changes);
+        if (event.rowKeys().length() > 0 || event.colKeys().length() > 0) {
+            this.fireDataFrameEvent(event);
+        }
+    }
+
+
+    /**
+     * Returns an UPDATE event for the rows and columns of the frame recorded in the changes
+     * @param frame     the frame reference
+     * @param changes   the batch of changes
+     * @return          the update event
+     */
+    private static <R,C> DataFrameEvent<R,C> createEvent(XDataFrame<R,C> frame, XDataFrameChanges changes) {
+        final Array<R> rowKeys = keys(frame.rowKeys(), changes.rows());
+        final Array<C> colKeys = keys(frame.colKeys(), changes.cols());
+        return DataFrameEvent.createUpdateEvent(frame, rowKeys, colKeys);
+    }
+
+
+    /**
+     * Returns the keys in ordinal order for the index positions set in the bit set, ignoring those not in the index
+     * @param index     the index to resolve keys from
+     * @param indexes   the index positions
+     * @return          the array of keys
+     */
+    private static <K> Array<K> keys(Index<K> index, BitSet indexes) {
+        final int size = index.size();
+        final ArrayBuilder<K> builder = ArrayBuilder.of(Math.max(Math.min(indexes.cardinality(), size), 10), index.type());
+        for (int ordinal=0; ordinal<size; ++ordinal) {
+            if (indexes.get(index.getIndexForOrdinal(ordinal))) {
+                builder.add(index.getKey(ordinal));
+            }
+        }
+        return builder.toArray();
+    }
+
+
+    /**
+     * A task run by the scheduler that drains changes and delivers them on the executor, one batch at a time
+     */
+    private static class ChangeFeed implements Runnable {
+
+        private Executor executor;
+        private ScheduledFuture<?> future;
+        private XDataFrameChanges changes;
+        private XDataFrameContent<?,?> content;
+        private AtomicBoolean delivering = new AtomicBoolean();
+        private WeakReference<XDataFrameEvents> events;
+
+        /**
+         * Constructor
+         * @param events    the events to publish to, which is weakly referenced
+         * @param content   the content being tracked
+         * @param changes   the changes recorded by content
+         * @param executor  the executor to deliver events on
+         */
+        ChangeFeed(XDataFrameEvents events, XDataFrameContent<?,?> content, XDataFrameChanges changes, Executor executor) {
+            this.events = new WeakReference<>(events);
+            this.content = content;
+            this.changes = changes;
+            this.executor = executor;
+        }
+
+        @Override
+        public void run() {
+            final XDataFrameEvents target = events.get();
+            if (target == null) {
+                this.future.cancel(false);
+                this.content.track(null);
+            } else if (delivering.compareAndSet(false, true)) {
+                final XDataFrameChanges batch = changes.drain();
+                if (batch.isEmpty()) {
+                    this.delivering.set(false);
+                } else {
+                    try {
+                        this.executor.execute(() -> {
+                            try {
+                                target.publish(batch);
+                            } finally {
+                                this.delivering.set(false);
+                            }
+                        });
+                    } catch (RejectedExecutionException ex) {
+                        this.changes.merge(batch);
+                        this.delivering.set(false);
+                    }
+                }
+            }
+        }
+    }
 }
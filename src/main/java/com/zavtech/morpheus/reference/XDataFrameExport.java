@@ -49,9 +49,25 @@ class XDataFrameExport<R,C> implements DataFrameExport {
 
     @Override
     public final Matrix asMatrix() {
-        final Matrix matrix = new Matrix(frame.rowCount(), frame.colCount());
-        frame.forEachValue(v -> matrix.set(v.rowOrdinal(), v.colOrdinal(), v.getDouble()));
-        return matrix;
+        return new Matrix(toRowArrays(), frame.rowCount(), frame.colCount());
+    }
+
+
+    @Override
+    public final double[] toColumnMajor() {
+        return frame.content().toDoubles(true);
+    }
+
+
+    @Override
+    public final double[] toRowMajor() {
+        return frame.content().toDoubles(false);
+    }
+
+
+    @Override
+    public final double[][] toRowArrays() {
+        return frame.content().toRowArrays();
     }
 
 
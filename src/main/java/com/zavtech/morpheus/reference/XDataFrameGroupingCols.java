@@ -3,7 +3,6 @@ package com.zavtech.morpheus.reference;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveTask;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -22,6 +21,7 @@ import com.zavtech.morpheus.index.Index;
 import com.zavtech.morpheus.stats.Statistic1;
 import com.zavtech.morpheus.stats.Stats;
 import com.zavtech.morpheus.stats.StatsAssembler;
+import com.zavtech.morpheus.util.ComputeContext;
 import com.zavtech.morpheus.util.Tuple;
 
 /**
@@ -84,7 +84,7 @@ class XDataFrameGroupingCols<R,C> implements DataFrameGrouping.Cols<R,C> {
     static <R,C> XDataFrameGroupingCols<R,C> of(XDataFrame<R,C> source, boolean parallel, Function<DataFrameColumn<R,C>,Tuple> function) {
         final int depth = source.cols().first().map(function).map(Tuple::size).orElse(0);
         final GroupColumnsTask<R,C> task = new GroupColumnsTask<>(source, 0, source.colCount()-1, depth, parallel, function);
-        return parallel ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+        return parallel ? ComputeContext.current().invoke(task) : task.compute();
     }
 
     @Override
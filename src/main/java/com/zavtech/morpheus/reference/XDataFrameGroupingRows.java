@@ -15,10 +15,13 @@
  */
 package com.zavtech.morpheus.reference;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveTask;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -37,11 +40,18 @@ import com.zavtech.morpheus.index.Index;
 import com.zavtech.morpheus.stats.Statistic1;
 import com.zavtech.morpheus.stats.Stats;
 import com.zavtech.morpheus.stats.StatsAssembler;
+import com.zavtech.morpheus.util.ComputeContext;
 import com.zavtech.morpheus.util.Tuple;
 
 /**
  * An implementation of the DataFrameGrouping interface that groups rows of a DataFrame
  *
+ * When grouping by column keys, the group memberships are only built on first access to a group, and are derived
+ * from the dense ids assigned by XDataFrameHashKeys rather than from a Tuple per row, so computing grouped stats via
+ * XDataFrameAggregate never pays for them. Groups by column keys are reported in order of first appearance of each
+ * key in the source frame, both by getGroupKeys() and in the rows of the frames returned by stats(). Groups created
+ * by a grouping function are reported in no particular order.
+ *
  * @param <R>   the row key type
  * @param <C>   the column key type
  *
@@ -52,18 +62,22 @@ import com.zavtech.morpheus.util.Tuple;
 class XDataFrameGroupingRows<R,C> implements DataFrameGrouping.Rows<R,C> {
 
     private int depth;
+    private boolean parallel;
+    private Array<C> groupColKeys;
     private XDataFrame<R,C> source;
-    private Map<Tuple,Array<R>> groupKeysMap;
+    private volatile Map<Tuple,Array<R>> groupKeysMap;
 
     /**
      * Constructor
      * @param source        the source frame for groups
      * @param depth         the grouping depth
+     * @param parallel      true for parallel grouping
      * @param groupKeysMap  the apply of keys for each group
      */
-    private XDataFrameGroupingRows(XDataFrame<R,C> source, int depth, Map<Tuple,Array<R>> groupKeysMap) {
+    private XDataFrameGroupingRows(XDataFrame<R,C> source, int depth, boolean parallel, Map<Tuple,Array<R>> groupKeysMap) {
         this.source = source;
         this.depth = depth;
+        this.parallel = parallel;
         this.groupKeysMap = groupKeysMap;
     }
 
@@ -78,20 +92,13 @@ class XDataFrameGroupingRows<R,C> implements DataFrameGrouping.Rows<R,C> {
      * @return          the newly create grouping engine
      */
     static <R,C> XDataFrameGroupingRows<R,C> of(XDataFrame<R,C> source, boolean parallel, Array<C> colKeys) {
-        if (colKeys.length() == 1) {
-            final C colKey = colKeys.getValue(0);
-            final int ordinal = source.colKeys().getOrdinalForKey(colKey);
-            return XDataFrameGroupingRows.of(source, parallel, row -> Tuple.of(row.<Object>getValue(ordinal)));
-        } else {
-            final int[] ordinals = source.colKeys().ordinals(colKeys).toArray();
-            return XDataFrameGroupingRows.of(source, parallel, row -> {
-                final Object[] values = new Object[colKeys.length()];
-                for (int i=0; i<ordinals.length; ++i) {
-                    values[i] = row.getValue(ordinals[i]);
-                }
-                return Tuple.of(values);
-            });
+        for (int j=0; j<colKeys.length(); ++j) {
+            source.colKeys().getOrdinalForKey(colKeys.getValue(j));
         }
+        final int depth = source.rowCount() > 0 ? colKeys.length() : 0;
+        final XDataFrameGroupingRows<R,C> grouping = new XDataFrameGroupingRows<>(source, depth, parallel, null);
+        grouping.groupColKeys = colKeys;
+        return grouping;
     }
 
     /**
@@ -106,11 +113,11 @@ class XDataFrameGroupingRows<R,C> implements DataFrameGrouping.Rows<R,C> {
         final int depth = source.rows().first().map(function).map(Tuple::size).orElse(0);
         final GroupRowsTask<R,C> task = new GroupRowsTask<>(source, 0, source.rowCount()-1, depth, parallel, function);
         if (parallel) {
-            final Map<Tuple,ArrayBuilder<R>> groupKeyMap = ForkJoinPool.commonPool().invoke(task);
-            return new XDataFrameGroupingRows<>(source, depth, crystallize(groupKeyMap));
+            final Map<Tuple,ArrayBuilder<R>> groupKeyMap = ComputeContext.current().invoke(task);
+            return new XDataFrameGroupingRows<>(source, depth, parallel, crystallize(groupKeyMap));
         } else {
             final Map<Tuple,ArrayBuilder<R>> groupKeyMap = task.compute();
-            return new XDataFrameGroupingRows<>(source, depth, crystallize(groupKeyMap));
+            return new XDataFrameGroupingRows<>(source, depth, parallel, crystallize(groupKeyMap));
         }
     }
 
@@ -127,17 +134,21 @@ class XDataFrameGroupingRows<R,C> implements DataFrameGrouping.Rows<R,C> {
 
     @Override
     public final Stats<DataFrame<Tuple,C>> stats(int level) {
-        return new GroupedRowStats(level);
+        if (groupColKeys != null && level < groupColKeys.length()) {
+            return new XDataFrameAggregate<>(source, parallel, groupColKeys.copy(0, level + 1));
+        } else {
+            return new GroupedRowStats(level);
+        }
     }
 
     @Override
     public final int getGroupCount(int level) {
-        return (int)groupKeysMap.keySet().stream().filter(g -> g.size() == level + 1).count();
+        return (int)groupKeysMap().keySet().stream().filter(g -> g.size() == level + 1).count();
     }
 
     @Override
     public final Stream<Tuple> getGroupKeys(int level) {
-        return groupKeysMap.keySet().stream().filter(g -> g.size() == level + 1);
+        return groupKeysMap().keySet().stream().filter(g -> g.size() == level + 1);
     }
 
     @Override
@@ -147,13 +158,13 @@ class XDataFrameGroupingRows<R,C> implements DataFrameGrouping.Rows<R,C> {
 
     @Override
     public final Stream<Tuple> getChildren(Tuple groupKey) {
-        return groupKeysMap.keySet().stream().filter(g -> g.size() == groupKey.size() + 1 && g.filter(0, groupKey.size()).equals(groupKey));
+        return groupKeysMap().keySet().stream().filter(g -> g.size() == groupKey.size() + 1 && g.filter(0, groupKey.size()).equals(groupKey));
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public final DataFrame<R,C> getGroup(Tuple groupKey) {
-        final Array<R> groupKeys = groupKeysMap.get(groupKey);
+        final Array<R> groupKeys = groupKeysMap().get(groupKey);
         if (groupKeys == null) {
             throw new DataFrameException("No DataFrame for group " + groupKey);
         } else {
@@ -176,6 +187,68 @@ class XDataFrameGroupingRows<R,C> implements DataFrameGrouping.Rows<R,C> {
     }
 
 
+    /**
+     * Returns the keys of the rows in each group, building them on first access if grouping by column keys
+     * @return  the row keys for each group, keyed by group key
+     */
+    private Map<Tuple,Array<R>> groupKeysMap() {
+        Map<Tuple,Array<R>> result = groupKeysMap;
+        if (result == null) {
+            synchronized (this) {
+                if (groupKeysMap == null) {
+                    this.groupKeysMap = createGroupKeysMap();
+                }
+                result = groupKeysMap;
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns the keys of the rows in each group at every level, derived from the dense ids of the grouping columns
+     * Groups are added level by level, and in order of first appearance within each level.
+     * @return  the row keys for each group, keyed by group key
+     */
+    private Map<Tuple,Array<R>> createGroupKeysMap() {
+        final Map<Tuple,Array<R>> result = new LinkedHashMap<>();
+        final int[] indexes = source.content().getColArrayIndexes();
+        final Array<?>[] arrays = new Array<?>[depth];
+        for (int j=0; j<depth; ++j) {
+            arrays[j] = source.content().getColArray(groupColKeys.getValue(j));
+        }
+        final Class<R> keyType = source.rows().keyType();
+        for (int level=0; level<depth; ++level) {
+            final Array<?>[] levelArrays = Arrays.copyOf(arrays, level + 1);
+            final XDataFrameHashKeys hashKeys = new XDataFrameHashKeys(new Array<?>[][] {levelArrays}, new int[][] {indexes});
+            final int[] ids = hashKeys.ids(0);
+            final int count = hashKeys.count();
+            final int[] firstRows = new int[count];
+            final int[] sizes = new int[count];
+            for (int i=0; i<ids.length; ++i) {
+                if (sizes[ids[i]]++ == 0) {
+                    firstRows[ids[i]] = i;
+                }
+            }
+            final List<Array<R>> groups = new ArrayList<>(count);
+            for (int id=0; id<count; ++id) {
+                final Object[] values = new Object[levelArrays.length];
+                for (int j=0; j<levelArrays.length; ++j) {
+                    values[j] = levelArrays[j].getValue(indexes[firstRows[id]]);
+                }
+                final Array<R> groupKeys = Array.of(keyType, sizes[id]);
+                groups.add(groupKeys);
+                result.put(Tuple.of(values), groupKeys);
+            }
+            final int[] cursors = new int[count];
+            for (int i=0; i<ids.length; ++i) {
+                groups.get(ids[i]).setValue(cursors[ids[i]]++, source.rows().key(i));
+            }
+        }
+        return result;
+    }
+
+
     /**
      * Returns a apply with the values of the input apply crystallized to Morpheus arrays
      * @param input     the input apply for which to crystallize the values
@@ -0,0 +1,247 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.reference;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.array.ArrayType;
+import com.zavtech.morpheus.array.coding.IntCoding;
+import com.zavtech.morpheus.array.coding.WithIntCoding;
+import com.zavtech.morpheus.array.coding.WithLongCoding;
+
+/**
+ * Assigns dense integer ids to the distinct values, or combinations of values, in the key columns of one or more DataFrames
+ *
+ * Values in int or long coded arrays are hashed on their primitive codes, and booleans, ints, longs and doubles on their
+ * raw values, using open addressing primitive hash maps so that no key objects are created per row. Any other values are
+ * hashed as objects. Ids are assigned in order of first appearance and are shared across all the sides supplied, so
+ * equal keys in different frames resolve to the same id, which makes the ids suitable for both grouping and joining.
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class XDataFrameHashKeys {
+
+    static final int NO_ID = -1;
+
+    private enum Kind { BOOLEANS, INTS, LONGS, DOUBLES, INT_CODES, LONG_CODES, OBJECTS }
+
+    private int count;
+    private int[][] ids;
+
+    /**
+     * Constructor
+     * @param keys      the key arrays for each side, indexed by side and then key column
+     * @param indexes   the array index for each row ordinal, indexed by side
+     */
+    XDataFrameHashKeys(Array<?>[][] keys, int[][] indexes) {
+        this.ids = new int[indexes.length][];
+        for (int side=0; side<indexes.length; ++side) {
+            this.ids[side] = new int[indexes[side].length];
+        }
+        this.count = valueIds(column(keys, 0), indexes, ids);
+        if (keys[0].length > 1) {
+            final int[][] valueIds = new int[indexes.length][];
+            for (int side=0; side<indexes.length; ++side) {
+                valueIds[side] = new int[indexes[side].length];
+            }
+            for (int j=1; j<keys[0].length; ++j) {
+                valueIds(column(keys, j), indexes, valueIds);
+                final TLongIntMap idMap = new TLongIntHashMap(Math.max(16, count * 2), 0.5f, Long.MIN_VALUE, NO_ID);
+                for (int side=0; side<ids.length; ++side) {
+                    final int[] sideIds = ids[side];
+                    final int[] sideValueIds = valueIds[side];
+                    for (int i=0; i<sideIds.length; ++i) {
+                        sideIds[i] = id(idMap, ((long)sideIds[i] << 32) | (sideValueIds[i] & 0xFFFFFFFFL));
+                    }
+                }
+                this.count = idMap.size();
+            }
+        }
+    }
+
+
+    /**
+     * Returns the number of distinct keys across all sides
+     * @return  the number of distinct keys
+     */
+    final int count() {
+        return count;
+    }
+
+
+    /**
+     * Returns the id of the key for each row ordinal in the side specified
+     * @param side  the side index
+     * @return      the key id for each row ordinal
+     */
+    final int[] ids(int side) {
+        return ids[side];
+    }
+
+
+    /**
+     * Returns the key arrays for the column specified across all sides
+     * @param keys      the key arrays for each side, indexed by side and then key column
+     * @param column    the key column index
+     * @return          the key arrays for column, indexed by side
+     */
+    private static Array<?>[] column(Array<?>[][] keys, int column) {
+        final Array<?>[] result = new Array<?>[keys.length];
+        for (int side=0; side<keys.length; ++side) {
+            result[side] = keys[side][column];
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns the kind of hashing that can be applied to the array specified
+     * @param array     the array of key values
+     * @return          the hashing kind for array
+     */
+    private static Kind kind(Array<?> array) {
+        if (array instanceof WithIntCoding) {
+            return Kind.INT_CODES;
+        } else if (array instanceof WithLongCoding) {
+            return Kind.LONG_CODES;
+        } else {
+            switch (ArrayType.of(array.type())) {
+                case BOOLEAN:   return Kind.BOOLEANS;
+                case INTEGER:   return Kind.INTS;
+                case LONG:      return Kind.LONGS;
+                case DOUBLE:    return Kind.DOUBLES;
+                default:        return Kind.OBJECTS;
+            }
+        }
+    }
+
+
+    /**
+     * Returns true only if both arrays share the same coding instance, or the same kind of coding with fixed codes
+     * Dictionary codings such as OfString and OfTable assign codes per instance, and codings of different kinds
+     * can assign the same code to different values, so equal codes are only equal values within one scheme.
+     * @param left      the left array
+     * @param right     the right array
+     * @return          true if codes from both arrays can be compared directly
+     */
+    private static boolean isSameDictionary(Array<?> left, Array<?> right) {
+        final IntCoding<?> leftCoding = ((WithIntCoding<?>)left).getCoding();
+        final IntCoding<?> rightCoding = ((WithIntCoding<?>)right).getCoding();
+        if (leftCoding == rightCoding) {
+            return true;
+        } else if (leftCoding == null || rightCoding == null || leftCoding.getClass() != rightCoding.getClass()) {
+            return false;
+        } else {
+            return !(leftCoding instanceof IntCoding.OfString) && !(leftCoding instanceof IntCoding.OfTable);
+        }
+    }
+
+
+    /**
+     * Assigns a dense id to each distinct value across the arrays, in order of first appearance
+     * Primitive hashing is only used if all arrays have the same type and kind, so that equal codes imply equal values.
+     * @param arrays    the key arrays, one per side
+     * @param indexes   the array index for each row ordinal, indexed by side
+     * @param result    the arrays to populate with the value id of each row ordinal, indexed by side
+     * @return          the number of distinct values
+     */
+    private static int valueIds(Array<?>[] arrays, int[][] indexes, int[][] result) {
+        Kind kind = kind(arrays[0]);
+        for (int side=1; side<arrays.length; ++side) {
+            if (kind(arrays[side]) != kind || arrays[side].type() != arrays[0].type()) {
+                kind = Kind.OBJECTS;
+            } else if (kind == Kind.INT_CODES && !isSameDictionary(arrays[0], arrays[side])) {
+                kind = Kind.OBJECTS;
+            }
+        }
+        if (kind == Kind.OBJECTS) {
+            final Map<Object,Integer> idMap = new HashMap<>();
+            for (int side=0; side<arrays.length; ++side) {
+                final Array<?> array = arrays[side];
+                final int[] sideIndexes = indexes[side];
+                final int[] sideResult = result[side];
+                for (int i=0; i<sideIndexes.length; ++i) {
+                    final Object value = array.getValue(sideIndexes[i]);
+                    final Integer id = idMap.get(value);
+                    if (id != null) {
+                        sideResult[i] = id;
+                    } else {
+                        sideResult[i] = idMap.size();
+                        idMap.put(value, sideResult[i]);
+                    }
+                }
+            }
+            return idMap.size();
+        } else {
+            final TLongIntMap idMap = new TLongIntHashMap(16, 0.5f, Long.MIN_VALUE, NO_ID);
+            for (int side=0; side<arrays.length; ++side) {
+                final Array<?> array = arrays[side];
+                final int[] sideIndexes = indexes[side];
+                final int[] sideResult = result[side];
+                for (int i=0; i<sideIndexes.length; ++i) {
+                    sideResult[i] = id(idMap, code(array, kind, sideIndexes[i]));
+                }
+            }
+            return idMap.size();
+        }
+    }
+
+
+    /**
+     * Returns the primitive code for the value at the index specified
+     * @param array     the array of key values
+     * @param kind      the hashing kind for array
+     * @param index     the array index
+     * @return          the primitive code for value
+     */
+    private static long code(Array<?> array, Kind kind, int index) {
+        switch (kind) {
+            case BOOLEANS:      return array.getBoolean(index) ? 1L : 0L;
+            case INTS:          return array.getInt(index);
+            case LONGS:         return array.getLong(index);
+            case DOUBLES:       return Double.doubleToLongBits(array.getDouble(index));
+            case INT_CODES:     return array.getInt(index);
+            case LONG_CODES:    return array.getLong(index);
+            default:            throw new IllegalArgumentException("Unsupported key kind: " + kind);
+        }
+    }
+
+
+    /**
+     * Returns the dense id for the primitive key, assigning the next id if the key has not been seen before
+     * @param idMap     the map of key to id
+     * @param key       the primitive key
+     * @return          the dense id for key
+     */
+    private static int id(TLongIntMap idMap, long key) {
+        final int id = idMap.get(key);
+        if (id != NO_ID) {
+            return id;
+        } else {
+            final int newId = idMap.size();
+            idMap.put(key, newId);
+            return newId;
+        }
+    }
+
+}
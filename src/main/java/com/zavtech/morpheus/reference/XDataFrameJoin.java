@@ -0,0 +1,433 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.reference;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.array.ArrayType;
+import com.zavtech.morpheus.array.coding.WithLongCoding;
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.frame.DataFrameException;
+import com.zavtech.morpheus.frame.DataFrameJoin;
+import com.zavtech.morpheus.frame.DataFrameOptions;
+import com.zavtech.morpheus.range.Range;
+import com.zavtech.morpheus.util.ComputeContext;
+
+/**
+ * The reference implementation of the DataFrameJoin interface
+ *
+ * Keys on both sides are resolved to shared dense ids via XDataFrameHashKeys, which hashes primitive values and codes
+ * directly. The right side is then indexed by chaining its rows per key id in plain int arrays, and the left side is
+ * probed in partitions that are processed in parallel for a parallel frame, first counting and then writing the
+ * matched row ordinals at precomputed offsets. When joining on row keys and both frames are sorted by key, a merge
+ * join is used instead, which avoids hashing altogether. Each column of the result is allocated once at its final size.
+ *
+ * @param <R>   the row key type
+ * @param <C>   the column key type
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class XDataFrameJoin<R,C> implements DataFrameJoin<R,C> {
+
+    private static final int NONE = -1;
+
+    private boolean parallel;
+    private XDataFrame<R,C> frame;
+
+    /**
+     * Constructor
+     * @param frame     the left frame to join
+     * @param parallel  true to probe and copy columns in parallel
+     */
+    XDataFrameJoin(XDataFrame<R,C> frame, boolean parallel) {
+        this.frame = frame;
+        this.parallel = parallel;
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public DataFrame<R,C> onRowKeys(DataFrame<R,C> right, Type type) {
+        final XDataFrame<R,C> other = (XDataFrame<R,C>)right;
+        this.checkDistinct(other, new HashSet<>());
+        final Array<R> leftKeys = frame.rowKeys().toArray();
+        final Array<R> rightKeys = other.rowKeys().toArray();
+        final Pairs pairs = isMergeable(leftKeys, rightKeys) ? mergeJoin(leftKeys, rightKeys, type) : hashJoin(
+            new XDataFrameHashKeys(new Array<?>[][] {{leftKeys}, {rightKeys}}, new int[][] {identity(leftKeys.length()), identity(rightKeys.length())}),
+            type
+        );
+        final Array<R> rowKeys = Array.of(frame.rows().keyType(), pairs.size);
+        this.copy(rightKeys, identity(rightKeys.length()), pairs.right, rowKeys);
+        this.copy(leftKeys, identity(leftKeys.length()), pairs.left, rowKeys);
+        return createFrame(rowKeys, pairs, other, new HashSet<>());
+    }
+
+
+    @Override
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    public final DataFrame<Integer,C> onColumns(DataFrame<?,C> right, Type type, C... colKeys) {
+        final XDataFrame<?,C> other = (XDataFrame<?,C>)right;
+        final Set<C> joinKeys = new HashSet<>(Arrays.asList(colKeys));
+        if (colKeys.length == 0) {
+            throw new DataFrameException("At least one column key must be specified to join on");
+        }
+        for (C colKey : colKeys) {
+            final Class<?> leftType = frame.cols().type(colKey);
+            final Class<?> rightType = other.cols().type(colKey);
+            if (leftType != rightType) {
+                throw new DataFrameException("Join column " + colKey + " has type " + leftType.getSimpleName() + " on left and " + rightType.getSimpleName() + " on right");
+            }
+        }
+        this.checkDistinct(other, joinKeys);
+        final Array<?>[][] keys = new Array<?>[2][colKeys.length];
+        for (int j=0; j<colKeys.length; ++j) {
+            keys[0][j] = frame.content().getColArray(colKeys[j]);
+            keys[1][j] = other.content().getColArray(colKeys[j]);
+        }
+        final int[][] indexes = new int[][] {frame.content().getColArrayIndexes(), other.content().getColArrayIndexes()};
+        final Pairs pairs = hashJoin(new XDataFrameHashKeys(keys, indexes), type);
+        final Array<Integer> rowKeys = Range.of(0, pairs.size).toArray();
+        return createFrame(rowKeys, pairs, other, joinKeys);
+    }
+
+
+    /**
+     * Checks that the column keys of the frames are distinct, apart from the join columns
+     * @param right     the right frame
+     * @param joinKeys  the join column keys
+     * @throws DataFrameException   if the frames have any non join column keys in common
+     */
+    private void checkDistinct(XDataFrame<?,C> right, Set<C> joinKeys) {
+        right.cols().keys().forEach(colKey -> {
+            if (!joinKeys.contains(colKey) && frame.cols().contains(colKey)) {
+                throw new DataFrameException("Cannot join frames as both contain column " + colKey);
+            }
+        });
+    }
+
+
+    /**
+     * Returns the joined frame with the left columns followed by the right columns, excluding the right join columns
+     * @param rowKeys   the row keys for the joined frame
+     * @param pairs     the pairs of left and right row ordinals
+     * @param right     the right frame
+     * @param joinKeys  the join column keys, which take values from the right frame where there is no left row
+     * @param <X>       the row key type of joined frame
+     * @return          the joined frame
+     */
+    private <X> DataFrame<X,C> createFrame(Array<X> rowKeys, Pairs pairs, XDataFrame<?,C> right, Set<C> joinKeys) {
+        final int[] leftIndexes = frame.content().getColArrayIndexes();
+        final int[] rightIndexes = right.content().getColArrayIndexes();
+        final Array<C> leftColKeys = frame.cols().keyArray();
+        final Array<C> rightColKeys = right.cols().keyArray().filter(v -> !joinKeys.contains(v.getValue()));
+        final Array<?>[] columns = new Array<?>[leftColKeys.length() + rightColKeys.length()];
+        final IntStream ordinals = IntStream.range(0, columns.length);
+        final IntConsumer copier = j -> {
+            if (j < leftColKeys.length()) {
+                final C colKey = leftColKeys.getValue(j);
+                final Array<?> column = Array.of(frame.cols().type(colKey), pairs.size);
+                if (joinKeys.contains(colKey)) {
+                    this.copy(right.content().getColArray(colKey), rightIndexes, pairs.right, column);
+                }
+                this.copy(frame.content().getColArray(colKey), leftIndexes, pairs.left, column);
+                columns[j] = column;
+            } else {
+                final C colKey = rightColKeys.getValue(j - leftColKeys.length());
+                final Array<?> column = Array.of(right.cols().type(colKey), pairs.size);
+                this.copy(right.content().getColArray(colKey), rightIndexes, pairs.right, column);
+                columns[j] = column;
+            }
+        };
+        if (parallel) {
+            ComputeContext.current().run(() -> ordinals.parallel().forEach(copier));
+        } else {
+            ordinals.forEach(copier);
+        }
+        return DataFrame.of(rowKeys, frame.cols().keyType(), frameColumns -> {
+            for (int j=0; j<columns.length; ++j) {
+                final C colKey = j < leftColKeys.length() ? leftColKeys.getValue(j) : rightColKeys.getValue(j - leftColKeys.length());
+                frameColumns.add(colKey, columns[j]);
+            }
+        });
+    }
+
+
+    /**
+     * Copies values from the source array to the target array for each target position with a source ordinal
+     * @param source    the source array
+     * @param indexes   the source array index for each source row ordinal
+     * @param ordinals  the source row ordinal for each target position, NONE if there is no source row
+     * @param target    the target array
+     */
+    @SuppressWarnings("unchecked")
+    private void copy(Array<?> source, int[] indexes, int[] ordinals, Array<?> target) {
+        final int length = target.length();
+        if (source instanceof WithLongCoding && target instanceof WithLongCoding) {
+            for (int i=0; i<length; ++i) {
+                final int ordinal = ordinals[i];
+                if (ordinal != NONE) target.setLong(i, source.getLong(indexes[ordinal]));
+            }
+        } else {
+            switch (ArrayType.of(source.type())) {
+                case BOOLEAN:
+                    for (int i=0; i<length; ++i) {
+                        final int ordinal = ordinals[i];
+                        if (ordinal != NONE) target.setBoolean(i, source.getBoolean(indexes[ordinal]));
+                    }
+                    break;
+                case INTEGER:
+                    for (int i=0; i<length; ++i) {
+                        final int ordinal = ordinals[i];
+                        if (ordinal != NONE) target.setInt(i, source.getInt(indexes[ordinal]));
+                    }
+                    break;
+                case LONG:
+                    for (int i=0; i<length; ++i) {
+                        final int ordinal = ordinals[i];
+                        if (ordinal != NONE) target.setLong(i, source.getLong(indexes[ordinal]));
+                    }
+                    break;
+                case DOUBLE:
+                    for (int i=0; i<length; ++i) {
+                        final int ordinal = ordinals[i];
+                        if (ordinal != NONE) target.setDouble(i, source.getDouble(indexes[ordinal]));
+                    }
+                    break;
+                default:
+                    final Array<Object> objects = (Array<Object>)target;
+                    for (int i=0; i<length; ++i) {
+                        final int ordinal = ordinals[i];
+                        if (ordinal != NONE) objects.setValue(i, source.getValue(indexes[ordinal]));
+                    }
+                    break;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the pairs of left and right row ordinals for a hash join on the key ids specified
+     * @param hashKeys  the key ids for the left side (0) and right side (1)
+     * @param type      the join type
+     * @return          the pairs of row ordinals
+     */
+    private Pairs hashJoin(XDataFrameHashKeys hashKeys, Type type) {
+        final int count = hashKeys.count();
+        final int[] leftIds = hashKeys.ids(0);
+        final int[] rightIds = hashKeys.ids(1);
+        final int[] heads = new int[count];
+        final int[] chain = new int[rightIds.length];
+        final int[] matches = new int[count];
+        Arrays.fill(heads, NONE);
+        for (int i=rightIds.length-1; i>=0; --i) {
+            final int id = rightIds[i];
+            chain[i] = heads[id];
+            heads[id] = i;
+            matches[id]++;
+        }
+        final int partitionSize = Math.max(1, parallel ? DataFrameOptions.getRowSplitThreshold(frame) : leftIds.length);
+        final int partitionCount = leftIds.length == 0 ? 0 : (leftIds.length - 1) / partitionSize + 1;
+        final long[] offsets = new long[partitionCount + 1];
+        this.forEachPartition(partitionCount, p -> {
+            long size = 0L;
+            final int to = Math.min(leftIds.length, (p + 1) * partitionSize);
+            for (int i=p * partitionSize; i<to; ++i) {
+                final int n = matches[leftIds[i]];
+                size += n > 0 ? n : type == Type.INNER ? 0 : 1;
+            }
+            offsets[p + 1] = size;
+        });
+        for (int p=0; p<partitionCount; ++p) {
+            offsets[p + 1] += offsets[p];
+        }
+        final boolean[] probed = new boolean[type == Type.OUTER ? count : 0];
+        int unmatched = 0;
+        if (type == Type.OUTER) {
+            for (int id : leftIds) probed[id] = true;
+            for (int id : rightIds) unmatched += probed[id] ? 0 : 1;
+        }
+        final long size = offsets[partitionCount] + unmatched;
+        if (size > Integer.MAX_VALUE) {
+            throw new DataFrameException("The join would produce too many rows: " + size);
+        }
+        final Pairs pairs = new Pairs((int)size);
+        this.forEachPartition(partitionCount, p -> {
+            int k = (int)offsets[p];
+            final int to = Math.min(leftIds.length, (p + 1) * partitionSize);
+            for (int i=p * partitionSize; i<to; ++i) {
+                int match = heads[leftIds[i]];
+                if (match == NONE && type != Type.INNER) {
+                    pairs.left[k] = i;
+                    pairs.right[k++] = NONE;
+                }
+                while (match != NONE) {
+                    pairs.left[k] = i;
+                    pairs.right[k++] = match;
+                    match = chain[match];
+                }
+            }
+        });
+        if (type == Type.OUTER) {
+            int k = (int)offsets[partitionCount];
+            for (int i=0; i<rightIds.length; ++i) {
+                if (!probed[rightIds[i]]) {
+                    pairs.left[k] = NONE;
+                    pairs.right[k++] = i;
+                }
+            }
+        }
+        return pairs;
+    }
+
+
+    /**
+     * Returns the pairs of left and right row ordinals for a merge join of two arrays of unique keys sorted in ascending order
+     * @param leftKeys  the left keys
+     * @param rightKeys the right keys
+     * @param type      the join type
+     * @return          the pairs of row ordinals
+     */
+    private Pairs mergeJoin(Array<R> leftKeys, Array<R> rightKeys, Type type) {
+        final int leftLength = leftKeys.length();
+        final int rightLength = rightKeys.length();
+        final Pairs pairs = new Pairs(type == Type.INNER ? Math.min(leftLength, rightLength) : type == Type.LEFT ? leftLength : leftLength + rightLength);
+        int i = 0, j = 0, k = 0;
+        while (i < leftLength || j < rightLength) {
+            final int result = i == leftLength ? 1 : j == rightLength ? -1 : compare(leftKeys, i, rightKeys, j);
+            if (result == 0) {
+                pairs.left[k] = i++;
+                pairs.right[k++] = j++;
+            } else if (result < 0) {
+                if (type != Type.INNER) {
+                    pairs.left[k] = i;
+                    pairs.right[k++] = NONE;
+                }
+                i++;
+            } else {
+                if (type == Type.OUTER) {
+                    pairs.left[k] = NONE;
+                    pairs.right[k++] = j;
+                }
+                j++;
+            }
+        }
+        pairs.size = k;
+        return pairs;
+    }
+
+
+    /**
+     * Returns true if both arrays of keys are comparable and sorted in strictly ascending order
+     * @param leftKeys  the left keys
+     * @param rightKeys the right keys
+     * @return          true if the keys can be merge joined
+     */
+    private boolean isMergeable(Array<R> leftKeys, Array<R> rightKeys) {
+        if (leftKeys.type() != rightKeys.type() || !Comparable.class.isAssignableFrom(leftKeys.type())) {
+            return false;
+        } else {
+            for (int i=1; i<leftKeys.length(); ++i) {
+                if (compare(leftKeys, i - 1, leftKeys, i) >= 0) return false;
+            }
+            for (int i=1; i<rightKeys.length(); ++i) {
+                if (compare(rightKeys, i - 1, rightKeys, i) >= 0) return false;
+            }
+            return true;
+        }
+    }
+
+
+    /**
+     * Compares two keys of the same type, using primitive values or long codes where possible
+     * @param array1    the first array
+     * @param index1    the index in first array
+     * @param array2    the second array
+     * @param index2    the index in second array
+     * @return          the comparison result
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(Array<R> array1, int index1, Array<R> array2, int index2) {
+        if (array1 instanceof WithLongCoding && array2 instanceof WithLongCoding) {
+            return Long.compare(array1.getLong(index1), array2.getLong(index2));
+        } else {
+            switch (ArrayType.of(array1.type())) {
+                case INTEGER:   return Integer.compare(array1.getInt(index1), array2.getInt(index2));
+                case LONG:      return Long.compare(array1.getLong(index1), array2.getLong(index2));
+                case DOUBLE:    return Double.compare(array1.getDouble(index1), array2.getDouble(index2));
+                default:        return ((Comparable<Object>)array1.getValue(index1)).compareTo(array2.getValue(index2));
+            }
+        }
+    }
+
+
+    /**
+     * Applies the consumer to each partition number, in the current compute context if this join is parallel
+     * @param count     the number of partitions
+     * @param consumer  the consumer to apply to each partition number
+     */
+    private void forEachPartition(int count, IntConsumer consumer) {
+        final IntStream partitions = IntStream.range(0, count);
+        if (parallel) {
+            ComputeContext.current().run(() -> partitions.parallel().forEach(consumer));
+        } else {
+            partitions.forEach(consumer);
+        }
+    }
+
+
+    /**
+     * Returns an array of indexes that map each ordinal to itself
+     * @param length    the array length
+     * @return          the identity index array
+     */
+    private static int[] identity(int length) {
+        final int[] indexes = new int[length];
+        for (int i=0; i<length; ++i) {
+            indexes[i] = i;
+        }
+        return indexes;
+    }
+
+
+    /**
+     * The matched pairs of left and right row ordinals, where NONE indicates no row on that side
+     */
+    private static class Pairs {
+
+        private int size;
+        private int[] left;
+        private int[] right;
+
+        /**
+         * Constructor
+         * @param capacity  the capacity for pairs
+         */
+        Pairs(int capacity) {
+            this.size = capacity;
+            this.left = new int[capacity];
+            this.right = new int[capacity];
+        }
+    }
+
+}
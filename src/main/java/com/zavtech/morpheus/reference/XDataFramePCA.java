@@ -20,6 +20,7 @@ import java.util.function.Function;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.SingularValueDecomposition;
 
@@ -103,7 +104,7 @@ class XDataFramePCA<R,C> implements DataFramePCA<R,C> {
                 try {
                     final double rowCount = data().rowCount();
                     final long t1 = System.currentTimeMillis();
-                    final RealMatrix matrix = data().export().asApacheMatrix();
+                    final RealMatrix matrix = new Array2DRowRealMatrix(data().export().toRowArrays(), false);
                     final SingularValueDecomposition svd = new SingularValueDecomposition(matrix);
                     final DoubleStream singularValues = DoubleStream.of(svd.getSingularValues());
                     final double[] eigenValues = singularValues.map(v -> Math.pow(v, 2d) / (rowCount - 1d)).toArray();
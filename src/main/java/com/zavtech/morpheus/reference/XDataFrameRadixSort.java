@@ -0,0 +1,323 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.reference;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.array.ArrayType;
+import com.zavtech.morpheus.util.ComputeContext;
+
+/**
+ * A least significant digit radix sort that computes the sorted order of a DataFrame axis from one or more primitive keyed arrays.
+ *
+ * Each sort array is extracted into a long buffer using an order preserving transform, so that unsigned comparison of the
+ * buffer matches the ordering of the comparator based sort, and is then rebased on its minimum so that leading bytes
+ * which never vary are skipped. When the significant bits of all sort arrays fit in 64 bits they are packed into a single
+ * composite key, otherwise the arrays are sorted from least to most significant, relying on the stability of each pass.
+ * Histograms and scatters are computed over contiguous chunks, which are processed in parallel for large axes.
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class XDataFrameRadixSort {
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX_SIZE = 1 << RADIX_BITS;
+    private static final int MIN_LENGTH = 1024;
+    private static final int MIN_CHUNK_LENGTH = 1 << 16;
+
+    private int length;
+    private int[] indexes;
+    private boolean ascending;
+    private Array<?>[] arrays;
+
+    /**
+     * Constructor
+     * @param arrays    the arrays to sort by, in order of precedence
+     * @param indexes   the index into the arrays for each ordinal of the axis being sorted
+     * @param ascending true for ascending, false for descending
+     */
+    XDataFrameRadixSort(Array<?>[] arrays, int[] indexes, boolean ascending) {
+        this.arrays = arrays;
+        this.indexes = indexes;
+        this.ascending = ascending;
+        this.length = indexes.length;
+    }
+
+
+    /**
+     * Returns true if a radix sort can be used for an axis of the length and sort arrays specified
+     * @param length    the length of axis to sort
+     * @param arrays    the arrays to sort by
+     * @return          true if all arrays have a primitive representation that can be radix sorted
+     */
+    static boolean isSupported(int length, Array<?>... arrays) {
+        if (length < MIN_LENGTH) {
+            return false;
+        } else {
+            for (Array<?> array : arrays) {
+                switch (array.typeCode()) {
+                    case BOOLEAN:           break;
+                    case INTEGER:           break;
+                    case LONG:              break;
+                    case DOUBLE:            break;
+                    case DATE:              break;
+                    case INSTANT:           break;
+                    case LOCAL_DATE:        break;
+                    case LOCAL_TIME:        break;
+                    case LOCAL_DATETIME:    break;
+                    case ZONED_DATETIME:    break;
+                    default:                return false;
+                }
+            }
+            return true;
+        }
+    }
+
+
+    /**
+     * Returns the ordinals of the axis in sorted order, which is stable for equal keys
+     * @param parallel  true to compute histograms and scatters in parallel
+     * @return          the permutation of ordinals in sorted order
+     */
+    int[] sort(boolean parallel) {
+        final int chunks = chunks(parallel);
+        final int count = arrays.length;
+        final long[][] keys = new long[count][];
+        final int[] bits = new int[count];
+        int totalBits = 0;
+        for (int i=0; i<count; ++i) {
+            keys[i] = new long[length];
+            bits[i] = extract(arrays[i], keys[i], chunks);
+            totalBits += bits[i];
+        }
+        final int[] ordinals = IntStream.range(0, length).toArray();
+        if (totalBits <= 64) {
+            final long[] packed = keys[0];
+            for (int i=1; i<count; ++i) {
+                final long[] next = keys[i];
+                final int shift = bits[i];
+                for (int j=0; j<length; ++j) {
+                    packed[j] = (packed[j] << shift) | next[j];
+                }
+            }
+            sort(packed, ordinals, totalBits, chunks);
+        } else {
+            final long[] buffer = new long[length];
+            for (int i=count-1; i>=0; --i) {
+                final long[] values = keys[i];
+                for (int j=0; j<length; ++j) {
+                    buffer[j] = values[ordinals[j]];
+                }
+                sort(buffer, ordinals, bits[i], chunks);
+            }
+        }
+        return ordinals;
+    }
+
+
+    /**
+     * Returns the number of chunks to split each pass into
+     * @param parallel  true if the sort is parallel
+     * @return          the number of chunks
+     */
+    private int chunks(boolean parallel) {
+        if (!parallel || length < MIN_CHUNK_LENGTH * 2) {
+            return 1;
+        } else {
+            final int parallelism = ComputeContext.current().getParallelism();
+            return Math.max(1, Math.min(parallelism * 2, length / MIN_CHUNK_LENGTH));
+        }
+    }
+
+
+    /**
+     * Runs the chunk task for each chunk of the axis, in parallel if there is more than one chunk
+     * @param chunks    the number of chunks
+     * @param task      the task to run for each chunk
+     */
+    private void forEachChunk(int chunks, ChunkTask task) {
+        if (chunks == 1) {
+            task.run(0, 0, length);
+        } else {
+            ComputeContext.current().run(() -> IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                final int from = (int)((long)length * chunk / chunks);
+                final int to = (int)((long)length * (chunk + 1) / chunks);
+                task.run(chunk, from, to);
+            }));
+        }
+    }
+
+
+    /**
+     * Extracts the order preserving keys from the array into the buffer, rebased on the minimum key
+     * @param array     the array to extract keys from
+     * @param keys      the buffer to write keys to, in ordinal order
+     * @param chunks    the number of chunks to extract in
+     * @return          the number of significant bits in the rebased keys
+     */
+    private int extract(Array<?> array, long[] keys, int chunks) {
+        final long[] min = new long[chunks];
+        final long[] max = new long[chunks];
+        final ArrayType type = array.typeCode();
+        this.forEachChunk(chunks, (chunk, from, to) -> {
+            long low = -1L;
+            long high = 0L;
+            for (int i=from; i<to; ++i) {
+                final long key = key(array, type, indexes[i]);
+                keys[i] = key;
+                if (Long.compareUnsigned(key, low) < 0) low = key;
+                if (Long.compareUnsigned(key, high) > 0) high = key;
+            }
+            min[chunk] = low;
+            max[chunk] = high;
+        });
+        long low = -1L;
+        long high = 0L;
+        for (int chunk=0; chunk<chunks; ++chunk) {
+            if (Long.compareUnsigned(min[chunk], low) < 0) low = min[chunk];
+            if (Long.compareUnsigned(max[chunk], high) > 0) high = max[chunk];
+        }
+        final long base = low;
+        if (base != 0L) {
+            this.forEachChunk(chunks, (chunk, from, to) -> {
+                for (int i=from; i<to; ++i) {
+                    keys[i] -= base;
+                }
+            });
+        }
+        return 64 - Long.numberOfLeadingZeros(high - low);
+    }
+
+
+    /**
+     * Returns the order preserving key for the array element, such that unsigned comparison of keys matches the comparator
+     * @param array     the array to read from
+     * @param type      the type code of array
+     * @param index     the array index
+     * @return          the order preserving key
+     */
+    private long key(Array<?> array, ArrayType type, int index) {
+        final long key;
+        switch (type) {
+            case BOOLEAN:
+                key = array.getBoolean(index) ? 1L : 0L;
+                break;
+            case INTEGER:
+                key = (long)array.getInt(index) ^ Long.MIN_VALUE;
+                break;
+            case DOUBLE:
+                final long bits = Double.doubleToLongBits(array.getDouble(index));
+                key = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+                break;
+            default:
+                key = array.getLong(index) ^ Long.MIN_VALUE;
+                break;
+        }
+        return ascending ? key : ~key;
+    }
+
+
+    /**
+     * Stable sorts the keys in unsigned order, applying the same moves to the ordinals
+     * @param keys      the keys to sort, which are overwritten
+     * @param ordinals  the ordinals that move with the keys
+     * @param bits      the number of significant bits in the keys
+     * @param chunks    the number of chunks per pass
+     */
+    private void sort(long[] keys, int[] ordinals, int bits, int chunks) {
+        final int[][] counts = new int[chunks][RADIX_SIZE];
+        long[] sourceKeys = keys;
+        long[] targetKeys = new long[length];
+        int[] sourceOrdinals = ordinals;
+        int[] targetOrdinals = new int[length];
+        for (int shift=0; shift<bits; shift+=RADIX_BITS) {
+            final int digitShift = shift;
+            final long[] fromKeys = sourceKeys;
+            this.forEachChunk(chunks, (chunk, from, to) -> {
+                final int[] histogram = counts[chunk];
+                Arrays.fill(histogram, 0);
+                for (int i=from; i<to; ++i) {
+                    histogram[(int)(fromKeys[i] >>> digitShift) & (RADIX_SIZE - 1)]++;
+                }
+            });
+            if (offsets(counts)) {
+                final long[] toKeys = targetKeys;
+                final int[] fromOrdinals = sourceOrdinals;
+                final int[] toOrdinals = targetOrdinals;
+                this.forEachChunk(chunks, (chunk, from, to) -> {
+                    final int[] offsets = counts[chunk];
+                    for (int i=from; i<to; ++i) {
+                        final long key = fromKeys[i];
+                        final int position = offsets[(int)(key >>> digitShift) & (RADIX_SIZE - 1)]++;
+                        toKeys[position] = key;
+                        toOrdinals[position] = fromOrdinals[i];
+                    }
+                });
+                targetKeys = sourceKeys;
+                sourceKeys = toKeys;
+                targetOrdinals = sourceOrdinals;
+                sourceOrdinals = toOrdinals;
+            }
+        }
+        if (sourceOrdinals != ordinals) {
+            System.arraycopy(sourceOrdinals, 0, ordinals, 0, length);
+        }
+    }
+
+
+    /**
+     * Converts the per chunk digit counts into scatter offsets, ordered by digit and then by chunk to keep the pass stable
+     * @param counts    the counts per chunk, which are replaced with offsets
+     * @return          false if all keys share one digit, in which case the pass can be skipped
+     */
+    private boolean offsets(int[][] counts) {
+        int offset = 0;
+        for (int digit=0; digit<RADIX_SIZE; ++digit) {
+            int total = 0;
+            for (int[] chunk : counts) {
+                final int count = chunk[digit];
+                chunk[digit] = offset + total;
+                total += count;
+            }
+            if (total == length) {
+                return false;
+            } else {
+                offset += total;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * A task that operates on a contiguous chunk of the axis
+     */
+    private interface ChunkTask {
+
+        /**
+         * Runs this task over the chunk specified
+         * @param chunk     the chunk number
+         * @param from      the first ordinal, inclusive
+         * @param to        the last ordinal, exclusive
+         */
+        void run(int chunk, int from, int to);
+    }
+
+}
@@ -42,6 +42,8 @@ class XDataFrameRead implements DataFrameRead {
         DataFrameSource.register(new JsonSource<>());
         DataFrameSource.register(new DbSource<>());
         DataFrameSource.register(new ExcelSource<>());
+        DataFrameSource.register(new MappedSource<>());
+        DataFrameSource.register(new BinarySource<>());
     }
 
     /**
@@ -126,4 +128,26 @@ class XDataFrameRead implements DataFrameRead {
     public <R> DataFrame<R, String> db(Consumer<DbSourceOptions<R>> configurator) {
         return DataFrameSource.lookup(DbSource.class).read(configurator);
     }
+
+    @Override
+    public <R,C> DataFrame<R,C> mapped(File directory) {
+        return mapped(options -> options.setDirectory(directory));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R,C> DataFrame<R,C> mapped(Consumer<MappedSourceOptions<R,C>> configurator) {
+        return DataFrameSource.lookup(MappedSource.class).read(configurator);
+    }
+
+    @Override
+    public <R,C> DataFrame<R,C> binary(File file) {
+        return binary(options -> options.setFile(file));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R,C> DataFrame<R,C> binary(Consumer<BinarySourceOptions<R,C>> configurator) {
+        return DataFrameSource.lookup(BinarySource.class).read(configurator);
+    }
 }
@@ -15,10 +15,13 @@
  */
 package com.zavtech.morpheus.reference;
 
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 import com.zavtech.morpheus.array.Array;
 import com.zavtech.morpheus.frame.DataFrame;
@@ -33,7 +36,10 @@ import com.zavtech.morpheus.frame.DataFrameRows;
 import com.zavtech.morpheus.frame.DataFrameValue;
 import com.zavtech.morpheus.stats.StatType;
 import com.zavtech.morpheus.stats.Stats;
+import com.zavtech.morpheus.stats.StatsSummary;
+import com.zavtech.morpheus.util.ComputeContext;
 import com.zavtech.morpheus.util.Parallel;
+import com.zavtech.morpheus.util.Tuple;
 
 /**
  * The reference implementation of DataFrameOperator that operates in the row dimension of the DataFrame.
@@ -157,6 +163,12 @@ class XDataFrameRows<R,C> extends XDataFrameAxisBase<R,C,R,C,DataFrameRow<R,C>,D
         return new XDataFrameAxisStats<>(frame(), isParallel(), false);
     }
 
+    @Override @Parallel
+    @SafeVarargs
+    public final Stats<DataFrame<Tuple,C>> aggregate(C... colKeys) {
+        return new XDataFrameAggregate<>(frame(), isParallel(), Array.of(colKeys));
+    }
+
     @Override @Parallel
     public final DataFrame<R,C> sort(boolean ascending) {
         return XDataFrameSorter.sortRows(frame(), ascending, isParallel());
@@ -177,6 +189,21 @@ class XDataFrameRows<R,C> extends XDataFrameAxisBase<R,C,R,C,DataFrameRow<R,C>,D
         return XDataFrameSorter.sortRows(frame(), isParallel(), comparator);
     }
 
+    @Override @Parallel
+    public final DataFrame<R,C> top(int count, boolean ascending, C key) {
+        return XDataFrameTop.topRows(frame(), count, Collections.singletonList(key), ascending, isParallel());
+    }
+
+    @Override @Parallel
+    public final DataFrame<R,C> top(int count, boolean ascending, List<C> keys) {
+        return XDataFrameTop.topRows(frame(), count, keys, ascending, isParallel());
+    }
+
+    @Override @Parallel
+    public final DataFrame<R,C> top(int count, Comparator<DataFrameRow<R,C>> comparator) {
+        return XDataFrameTop.topRows(frame(), count, isParallel(), comparator);
+    }
+
     @Override @Parallel
     public final DataFrame<R,C> apply(Consumer<DataFrameRow<R,C>> consumer) {
         this.forEach(consumer);
@@ -208,18 +235,28 @@ class XDataFrameRows<R,C> extends XDataFrameAxisBase<R,C,R,C,DataFrameRow<R,C>,D
 
     @Override
     public final DataFrame<R,StatType> describe(StatType... stats) {
-        final Array<R> rowKeys = filter(DataFrameRow::isNumeric).keyArray();
         final Array<StatType> statKeys = Array.of(StatType.class, stats);
+        final Array<R> rowKeys = filter(DataFrameRow::isNumeric).keyArray();
         final DataFrame<R,StatType> result = DataFrame.ofDoubles(rowKeys, statKeys);
-        this.filter(DataFrameRow::isNumeric).forEach(row -> {
-            final R key = row.key();
-            final Stats<Double> rowStats = row.stats();
+        final IntConsumer describer = i -> {
+            final R key = rowKeys.getValue(i);
+            final DataFrameRow<R,C> row = frame().row(key);
+            final StatsSummary summary = StatsSummary.of(stats);
+            final int size = row.size();
+            for (int k = 0; k < size; ++k) {
+                summary.add(row.getDouble(k));
+            }
             for (int j = 0; j < statKeys.length(); ++j) {
                 final StatType stat = statKeys.getValue(j);
-                final double value = stat.apply(rowStats);
-                result.data().setDouble(key, j, value);
+                final double value = summary.getValue(stat);
+                result.data().setDouble(i, j, value);
             }
-        });
+        };
+        if (isParallel() && rowKeys.length() > 1) {
+            ComputeContext.current().run(() -> IntStream.range(0, rowKeys.length()).parallel().forEach(describer));
+        } else {
+            IntStream.range(0, rowKeys.length()).forEach(describer);
+        }
         return result;
     }
 
@@ -20,6 +20,7 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 import com.zavtech.morpheus.array.Array;
 import com.zavtech.morpheus.frame.DataFrame;
@@ -30,6 +31,8 @@ import com.zavtech.morpheus.range.Range;
 /**
  * A class that is designed to sort a DataFrame in either the row or column dimension
  *
+ * Sorts by the values of primitive typed rows or columns use a radix sort, while other sorts use a comparator
+ *
  * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
  *
  * @see <a href="http://mechanical-sympathy.blogspot.com/2012/08/memory-access-patterns-are-important.html">Mechanical Sympathy</a>
@@ -100,11 +103,18 @@ class XDataFrameSorter {
      * @return              the sorted DataFrame
      */
     static <R,C> XDataFrame<R,C> sortRows(XDataFrame<R,C> frame, List<C> colKeys, boolean ascending, boolean parallel) {
-        final int multiplier = ascending ? 1 : -1;
         final XDataFrameContent<R,C> content = frame.content();
-        final XDataFrameComparator comparator = content.createRowComparator(colKeys, multiplier);
-        frame.rowKeys().sort(parallel, comparator);
-        return frame;
+        final Optional<XDataFrameRadixSort> radixSort = content.createRowRadixSort(colKeys, ascending);
+        if (radixSort.isPresent()) {
+            final int[] ordinals = radixSort.get().sort(parallel);
+            frame.rowKeys().reorder(ordinals);
+            return frame;
+        } else {
+            final int multiplier = ascending ? 1 : -1;
+            final XDataFrameComparator comparator = content.createRowComparator(colKeys, multiplier);
+            frame.rowKeys().sort(parallel, comparator);
+            return frame;
+        }
     }
 
 
@@ -117,11 +127,18 @@ class XDataFrameSorter {
      * @return              the sorted DataFrame
      */
     static <R,C> XDataFrame<R,C> sortCols(XDataFrame<R,C> frame, List<R> rowKeys, boolean ascending, boolean parallel) {
-        final int multiplier = ascending ? 1 : -1;
         final XDataFrameContent<R,C> content = frame.content();
-        final XDataFrameComparator comparator = content.createColComparator(rowKeys, multiplier);
-        frame.colKeys().sort(parallel, comparator);
-        return frame;
+        final Optional<XDataFrameRadixSort> radixSort = content.createColRadixSort(rowKeys, ascending);
+        if (radixSort.isPresent()) {
+            final int[] ordinals = radixSort.get().sort(parallel);
+            frame.colKeys().reorder(ordinals);
+            return frame;
+        } else {
+            final int multiplier = ascending ? 1 : -1;
+            final XDataFrameComparator comparator = content.createColComparator(rowKeys, multiplier);
+            frame.colKeys().sort(parallel, comparator);
+            return frame;
+        }
     }
 
 
@@ -26,6 +26,7 @@ import com.zavtech.morpheus.stats.Kurtosis;
 import com.zavtech.morpheus.stats.Max;
 import com.zavtech.morpheus.stats.Mean;
 import com.zavtech.morpheus.stats.Median;
+import com.zavtech.morpheus.stats.MergeableStatistic;
 import com.zavtech.morpheus.stats.Min;
 import com.zavtech.morpheus.stats.Percentile;
 import com.zavtech.morpheus.stats.Product;
@@ -49,6 +50,7 @@ import com.zavtech.morpheus.stats.Variance;
 class XDataFrameStats<R,C> implements Stats<Double> {
 
     private boolean skipNaNs;
+    private XDataFrameVector<?,?,R,C,?> vector;
     private Iterable<DataFrameValue<R,C>> values;
 
     /**
@@ -61,6 +63,15 @@ class XDataFrameStats<R,C> implements Stats<Double> {
         this.values = values;
     }
 
+    /**
+     * Constructor
+     * @param vector    the vector to compute stats over, skipping NaN values
+     */
+    XDataFrameStats(XDataFrameVector<?,?,R,C,?> vector) {
+        this(true, vector);
+        this.vector = vector;
+    }
+
     /**
      * Computes the uni-variate statistic specified over the sample
      * @param statistic     the statistic to compute
@@ -68,20 +79,33 @@ class XDataFrameStats<R,C> implements Stats<Double> {
      */
     private Double compute(Statistic1 statistic) {
         try {
-            this.values.forEach(value -> {
-                if (value.isNumeric()) {
-                    final double doubleValue = value.getDouble();
-                    if (!skipNaNs || !Double.isNaN(doubleValue)) {
-                        statistic.add(doubleValue);
+            if (isReducible(statistic)) {
+                return MergeableStatistic.reduce((MergeableStatistic)statistic, vector::getDouble, 0, vector.size());
+            } else {
+                this.values.forEach(value -> {
+                    if (value.isNumeric()) {
+                        final double doubleValue = value.getDouble();
+                        if (!skipNaNs || !Double.isNaN(doubleValue)) {
+                            statistic.add(doubleValue);
+                        }
                     }
-                }
-            });
-            return statistic.getValue();
+                });
+                return statistic.getValue();
+            }
         } catch (StatException ex) {
             throw new DataFrameException(ex.getMessage(), ex);
         }
     }
 
+    /**
+     * Returns true if the statistic can be computed by a parallel reduction over partitions of a numeric column
+     * @param statistic     the statistic to compute
+     * @return              true if partial results can be computed in parallel and merged
+     */
+    private boolean isReducible(Statistic1 statistic) {
+        return vector != null && vector.isParallel() && vector.isColumn() && vector.isNumeric() && statistic instanceof MergeableStatistic;
+    }
+
     @Override()
     public final Double count() {
         return compute(new Count());
@@ -15,7 +15,6 @@
  */
 package com.zavtech.morpheus.reference;
 
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
 
 import com.zavtech.morpheus.frame.DataFrame;
@@ -40,6 +39,7 @@ import com.zavtech.morpheus.stats.Sum;
 import com.zavtech.morpheus.stats.SumLogs;
 import com.zavtech.morpheus.stats.SumSquares;
 import com.zavtech.morpheus.stats.Variance;
+import com.zavtech.morpheus.util.ComputeContext;
 
 /**
  * A convenience base class for building Stats implementations that return bulk statistics
@@ -232,7 +232,7 @@ abstract class XDataFrameStatsBase<R,C> implements Stats<DataFrame<R,C>> {
             } else {
                 final StatisticAction action = createStatisticAction(statistic, result);
                 if (isParallel()) {
-                    ForkJoinPool.commonPool().invoke(action);
+                    ComputeContext.current().invoke(action);
                 } else {
                     action.compute();
                 }
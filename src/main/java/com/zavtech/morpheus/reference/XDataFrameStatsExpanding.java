@@ -15,9 +15,13 @@
  */
 package com.zavtech.morpheus.reference;
 
+import java.util.Optional;
+
 import com.zavtech.morpheus.frame.DataFrameException;
 import com.zavtech.morpheus.frame.DataFrameOptions;
+import com.zavtech.morpheus.stats.Percentile;
 import com.zavtech.morpheus.stats.Statistic1;
+import com.zavtech.morpheus.stats.WindowStatistic;
 
 /**
  * The reference implementation of Stats to provide expanding window statistics in either the row or column dimension of a DataFrame
@@ -85,6 +89,21 @@ class XDataFrameStatsExpanding<R,C> extends XDataFrameStatsBase<R,C> {
     }
 
 
+    /**
+     * Returns the statistic to use for an expanding window, which for percentiles is an order statistic tree
+     * @param statistic     the statistic requested
+     * @return              the statistic to apply to the expanding window
+     */
+    private Statistic1 expanding(Statistic1 statistic) {
+        if (statistic instanceof Percentile) {
+            final Optional<WindowStatistic> window = WindowStatistic.of(statistic);
+            return window.isPresent() ? window.get() : statistic.copy();
+        } else {
+            return statistic.copy();
+        }
+    }
+
+
     /**
      * Action to compute expanding window statistic on the rows of a DataFrame
      */
@@ -106,7 +125,7 @@ class XDataFrameStatsExpanding<R,C> extends XDataFrameStatsBase<R,C> {
             this.from = from;
             this.to = to;
             this.result = result;
-            this.statistic = statistic.copy();
+            this.statistic = expanding(statistic);
         }
 
         @Override
@@ -160,7 +179,7 @@ class XDataFrameStatsExpanding<R,C> extends XDataFrameStatsBase<R,C> {
             this.from = from;
             this.to = to;
             this.result = result;
-            this.statistic = statistic.copy();
+            this.statistic = expanding(statistic);
         }
 
         @Override
@@ -18,6 +18,7 @@ package com.zavtech.morpheus.reference;
 import com.zavtech.morpheus.frame.DataFrameException;
 import com.zavtech.morpheus.frame.DataFrameOptions;
 import com.zavtech.morpheus.stats.Statistic1;
+import com.zavtech.morpheus.stats.WindowStatistic;
 
 /**
  * The reference implementation of Stats to provide rolling window statistics in either the row or column dimension of a DataFrame
@@ -31,6 +32,11 @@ import com.zavtech.morpheus.stats.Statistic1;
  */
 class XDataFrameStatsRolling<R,C> extends XDataFrameStatsBase<R,C> {
 
+    /**
+     * The number of window lengths after which a window statistic is re-seeded to bound accumulated rounding error
+     */
+    private static final int RESEED_FACTOR = 8;
+
     private int axis;
     private int windowSize;
     private XDataFrame<R,C> frame;
@@ -81,8 +87,8 @@ class XDataFrameStatsRolling<R,C> extends XDataFrameStatsBase<R,C> {
     @Override
     protected StatisticAction createStatisticAction(Statistic1 statistic, XDataFrame<R,C> result) {
         switch (axis) {
-            case 0: return new RowRollingStatistics(0, rowCount(), statistic, result);
-            case 1: return new ColumnRollingStatistics(0, colCount(), statistic, result);
+            case 0: return new RowRollingStatistics(0, rowCount()-1, statistic, result);
+            case 1: return new ColumnRollingStatistics(0, colCount()-1, statistic, result);
             default:    throw new DataFrameException("Unsupported axis code: " + axis);
         }
     }
@@ -96,6 +102,7 @@ class XDataFrameStatsRolling<R,C> extends XDataFrameStatsBase<R,C> {
         private int to;
         private int from;
         private Statistic1 statistic;
+        private WindowStatistic window;
         private XDataFrame<R,C> result;
 
         /**
@@ -110,6 +117,7 @@ class XDataFrameStatsRolling<R,C> extends XDataFrameStatsBase<R,C> {
             this.to = to;
             this.result = result;
             this.statistic = statistic.copy();
+            this.window = WindowStatistic.of(statistic).orElse(null);
         }
 
         @Override
@@ -117,18 +125,41 @@ class XDataFrameStatsRolling<R,C> extends XDataFrameStatsBase<R,C> {
             final int count = to - from + 1;
             final int threshold = isParallel() ? DataFrameOptions.getRowSplitThreshold(frame) : Integer.MAX_VALUE;
             if (count <= threshold) {
-                final int rowCount = frame.rows().count();
                 final int colCount = frame.cols().count();
-                for (int rowIndex = from; rowIndex < rowCount; ++rowIndex) {
-                    for (int colIndex = windowSize-1; colIndex < colCount; colIndex++) {
-                        this.statistic.reset();
-                        final int from = colIndex - windowSize + 1;
-                        for (int i = from; i <= colIndex; ++i) {
-                            final double value = frame.data().getDouble(rowIndex, i);
-                            this.statistic.add(value);
+                if (window != null) {
+                    final int reseed = windowSize * RESEED_FACTOR;
+                    for (int rowIndex = from; rowIndex <= to; ++rowIndex) {
+                        this.window.reset();
+                        for (int colIndex = 0; colIndex < colCount; ++colIndex) {
+                            if (colIndex < windowSize) {
+                                this.window.add(frame.data().getDouble(rowIndex, colIndex));
+                            } else if (colIndex % reseed != 0) {
+                                this.window.remove(frame.data().getDouble(rowIndex, colIndex - windowSize));
+                                this.window.add(frame.data().getDouble(rowIndex, colIndex));
+                            } else {
+                                this.window.reset();
+                                final int start = colIndex - windowSize + 1;
+                                for (int i = start; i <= colIndex; ++i) {
+                                    this.window.add(frame.data().getDouble(rowIndex, i));
+                                }
+                            }
+                            if (colIndex >= windowSize - 1) {
+                                this.result.data().setDouble(rowIndex, colIndex, window.getValue());
+                            }
+                        }
+                    }
+                } else {
+                    for (int rowIndex = from; rowIndex <= to; ++rowIndex) {
+                        for (int colIndex = windowSize-1; colIndex < colCount; colIndex++) {
+                            this.statistic.reset();
+                            final int from = colIndex - windowSize + 1;
+                            for (int i = from; i <= colIndex; ++i) {
+                                final double value = frame.data().getDouble(rowIndex, i);
+                                this.statistic.add(value);
+                            }
+                            final double statValue = statistic.getValue();
+                            this.result.data().setDouble(rowIndex, colIndex, statValue);
                         }
-                        final double statValue = statistic.getValue();
-                        this.result.data().setDouble(rowIndex, colIndex, statValue);
                     }
                 }
             } else {
@@ -151,6 +182,7 @@ class XDataFrameStatsRolling<R,C> extends XDataFrameStatsBase<R,C> {
         private int to;
         private int from;
         private Statistic1 statistic;
+        private WindowStatistic window;
         private XDataFrame<R,C> result;
 
         /**
@@ -165,6 +197,7 @@ class XDataFrameStatsRolling<R,C> extends XDataFrameStatsBase<R,C> {
             this.to = to;
             this.result = result;
             this.statistic = statistic.copy();
+            this.window = WindowStatistic.of(statistic).orElse(null);
         }
 
         @Override
@@ -173,17 +206,40 @@ class XDataFrameStatsRolling<R,C> extends XDataFrameStatsBase<R,C> {
             final int threshold = isParallel() ? DataFrameOptions.getColumnSplitThreshold(frame) : Integer.MAX_VALUE;
             if (count <= threshold) {
                 final int rowCount = frame.rows().count();
-                final int colCount = frame.cols().count();
-                for (int colIndex = from; colIndex < colCount; ++colIndex) {
-                    for (int rowIndex = windowSize-1; rowIndex < rowCount; rowIndex++) {
-                        this.statistic.reset();
-                        final int from = rowIndex - windowSize + 1;
-                        for (int i = from; i <= rowIndex; ++i) {
-                            final double value = frame.data().getDouble(i, colIndex);
-                            this.statistic.add(value);
+                if (window != null) {
+                    final int reseed = windowSize * RESEED_FACTOR;
+                    for (int colIndex = from; colIndex <= to; ++colIndex) {
+                        this.window.reset();
+                        for (int rowIndex = 0; rowIndex < rowCount; ++rowIndex) {
+                            if (rowIndex < windowSize) {
+                                this.window.add(frame.data().getDouble(rowIndex, colIndex));
+                            } else if (rowIndex % reseed != 0) {
+                                this.window.remove(frame.data().getDouble(rowIndex - windowSize, colIndex));
+                                this.window.add(frame.data().getDouble(rowIndex, colIndex));
+                            } else {
+                                this.window.reset();
+                                final int start = rowIndex - windowSize + 1;
+                                for (int i = start; i <= rowIndex; ++i) {
+                                    this.window.add(frame.data().getDouble(i, colIndex));
+                                }
+                            }
+                            if (rowIndex >= windowSize - 1) {
+                                this.result.data().setDouble(rowIndex, colIndex, window.getValue());
+                            }
+                        }
+                    }
+                } else {
+                    for (int colIndex = from; colIndex <= to; ++colIndex) {
+                        for (int rowIndex = windowSize-1; rowIndex < rowCount; rowIndex++) {
+                            this.statistic.reset();
+                            final int from = rowIndex - windowSize + 1;
+                            for (int i = from; i <= rowIndex; ++i) {
+                                final double value = frame.data().getDouble(i, colIndex);
+                                this.statistic.add(value);
+                            }
+                            final double statValue = statistic.getValue();
+                            this.result.data().setDouble(rowIndex, colIndex, statValue);
                         }
-                        final double statValue = statistic.getValue();
-                        this.result.data().setDouble(rowIndex, colIndex, statValue);
                     }
                 }
             } else {
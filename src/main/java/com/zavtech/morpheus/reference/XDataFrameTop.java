@@ -0,0 +1,355 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.reference;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.frame.DataFrameColumn;
+import com.zavtech.morpheus.frame.DataFrameException;
+import com.zavtech.morpheus.frame.DataFrameOptions;
+import com.zavtech.morpheus.frame.DataFrameRow;
+import com.zavtech.morpheus.index.Index;
+import com.zavtech.morpheus.util.ComputeContext;
+import com.zavtech.morpheus.util.IntComparator;
+
+/**
+ * A class that selects the first N rows or columns of a DataFrame in sort order, without sorting the entire axis.
+ *
+ * Each partition of the axis keeps a bounded heap of the best N ordinals seen so far, with the worst of them at the root,
+ * so a scan costs O(n log N) comparisons and only the N survivors are ever moved. In parallel mode the partition heaps
+ * are merged pairwise as the fork-join tasks complete. Ties are broken by ordinal, so the selection matches the head of
+ * a stable sort of the same axis.
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class XDataFrameTop {
+
+
+    /**
+     * Returns a filter of the DataFrame with the first count rows in the order implied by the specified columns
+     * @param frame         the frame to select from
+     * @param count         the max number of rows to select
+     * @param colKeys       the column keys to order by, in order of precedence
+     * @param ascending     true for ascending, false for descending
+     * @param parallel      true for parallel selection
+     * @return              the filtered DataFrame, with rows in sort order
+     */
+    static <R,C> DataFrame<R,C> topRows(XDataFrame<R,C> frame, int count, List<C> colKeys, boolean ascending, boolean parallel) {
+        final int multiplier = ascending ? 1 : -1;
+        final XDataFrameContent<R,C> content = frame.content();
+        final XDataFrameComparator[] comparators = new XDataFrameComparator[colKeys.size()];
+        for (int i=0; i<colKeys.size(); ++i) {
+            final Array<?> array = content.getColArray(colKeys.get(i));
+            comparators[i] = XDataFrameComparator.create(array, multiplier);
+        }
+        final IntComparator comparator = new ValueComparator(comparators, content.getColArrayIndexes());
+        final int threshold = DataFrameOptions.getRowSplitThreshold(frame);
+        final int[] ordinals = select(frame.rowCount(), count, comparator, threshold, parallel);
+        return frame.rows().select(keys(frame.rowKeys(), ordinals));
+    }
+
+
+    /**
+     * Returns a filter of the DataFrame with the first count columns in the order implied by the specified rows
+     * @param frame         the frame to select from
+     * @param count         the max number of columns to select
+     * @param rowKeys       the row keys to order by, in order of precedence
+     * @param ascending     true for ascending, false for descending
+     * @param parallel      true for parallel selection
+     * @return              the filtered DataFrame, with columns in sort order
+     */
+    static <R,C> DataFrame<R,C> topCols(XDataFrame<R,C> frame, int count, List<R> rowKeys, boolean ascending, boolean parallel) {
+        final int multiplier = ascending ? 1 : -1;
+        final XDataFrameContent<R,C> content = frame.content();
+        final XDataFrameComparator[] comparators = new XDataFrameComparator[rowKeys.size()];
+        for (int i=0; i<rowKeys.size(); ++i) {
+            final Array<?> array = content.getRowArray(rowKeys.get(i));
+            comparators[i] = XDataFrameComparator.create(array, multiplier);
+        }
+        final IntComparator comparator = new ValueComparator(comparators, content.getRowArrayIndexes());
+        final int threshold = DataFrameOptions.getColumnSplitThreshold(frame);
+        final int[] ordinals = select(frame.colCount(), count, comparator, threshold, parallel);
+        return frame.cols().select(keys(frame.colKeys(), ordinals));
+    }
+
+
+    /**
+     * Returns a filter of the DataFrame with the first count rows in the order implied by the user provided comparator
+     * @param frame         the frame to select from
+     * @param count         the max number of rows to select
+     * @param parallel      true for parallel selection
+     * @param comparator    the user provided comparator
+     * @return              the filtered DataFrame, with rows in sort order
+     */
+    static <R,C> DataFrame<R,C> topRows(XDataFrame<R,C> frame, int count, boolean parallel, Comparator<DataFrameRow<R,C>> comparator) {
+        final IntComparator rowComparator = new TieComparator(XDataFrameComparator.createRowComparator(frame, comparator));
+        final int threshold = DataFrameOptions.getRowSplitThreshold(frame);
+        final int[] ordinals = select(frame.rowCount(), count, rowComparator, threshold, parallel);
+        return frame.rows().select(keys(frame.rowKeys(), ordinals));
+    }
+
+
+    /**
+     * Returns a filter of the DataFrame with the first count columns in the order implied by the user provided comparator
+     * @param frame         the frame to select from
+     * @param count         the max number of columns to select
+     * @param parallel      true for parallel selection
+     * @param comparator    the user provided comparator
+     * @return              the filtered DataFrame, with columns in sort order
+     */
+    static <R,C> DataFrame<R,C> topCols(XDataFrame<R,C> frame, int count, boolean parallel, Comparator<DataFrameColumn<R,C>> comparator) {
+        final IntComparator colComparator = new TieComparator(XDataFrameComparator.createColComparator(frame, comparator));
+        final int threshold = DataFrameOptions.getColumnSplitThreshold(frame);
+        final int[] ordinals = select(frame.colCount(), count, colComparator, threshold, parallel);
+        return frame.cols().select(keys(frame.colKeys(), ordinals));
+    }
+
+
+    /**
+     * Returns the keys for the ordinals specified
+     * @param index     the index to resolve keys from
+     * @param ordinals  the ordinals
+     * @return          the array of keys
+     */
+    private static <K> Array<K> keys(Index<K> index, int[] ordinals) {
+        final Array<K> keys = Array.of(index.type(), ordinals.length);
+        for (int i=0; i<ordinals.length; ++i) {
+            keys.setValue(i, index.getKey(ordinals[i]));
+        }
+        return keys;
+    }
+
+
+    /**
+     * Returns the first count ordinals of an axis in the order implied by the comparator
+     * @param length        the length of axis
+     * @param count         the max number of ordinals to select
+     * @param comparator    the comparator that defines a total order over ordinals
+     * @param threshold     the partition length below which a task does not split
+     * @param parallel      true for parallel selection
+     * @return              the selected ordinals in comparator order
+     */
+    private static int[] select(int length, int count, IntComparator comparator, int threshold, boolean parallel) {
+        if (count < 0) {
+            throw new DataFrameException("The count for a top selection cannot be negative: " + count);
+        } else {
+            final int capacity = Math.min(count, length);
+            final Select select = new Select(0, length, capacity, comparator, parallel ? threshold : Integer.MAX_VALUE);
+            final Heap heap = parallel ? ComputeContext.current().invoke(select) : select.compute();
+            return heap.toSortedArray();
+        }
+    }
+
+
+    /**
+     * A bounded max heap of ordinals, which retains the smallest ordinals in comparator order
+     */
+    private static class Heap {
+
+        private int size;
+        private int[] values;
+        private IntComparator comparator;
+
+        /**
+         * Constructor
+         * @param capacity      the max number of ordinals to retain
+         * @param comparator    the comparator that orders ordinals
+         */
+        Heap(int capacity, IntComparator comparator) {
+            this.values = new int[capacity];
+            this.comparator = comparator;
+        }
+
+        /**
+         * Offers an ordinal to this heap, which is retained if the heap is not full or it precedes the current root
+         * @param ordinal   the ordinal to offer
+         */
+        void offer(int ordinal) {
+            if (size < values.length) {
+                int child = size++;
+                while (child > 0) {
+                    final int parent = (child - 1) >>> 1;
+                    if (comparator.compare(values[parent], ordinal) >= 0) break;
+                    this.values[child] = values[parent];
+                    child = parent;
+                }
+                this.values[child] = ordinal;
+            } else if (size > 0 && comparator.compare(ordinal, values[0]) < 0) {
+                this.siftDown(ordinal, size);
+            }
+        }
+
+        /**
+         * Places the ordinal at the root and sifts it down into position among the first size entries
+         * @param ordinal   the ordinal to place
+         * @param size      the number of entries in heap
+         */
+        private void siftDown(int ordinal, int size) {
+            int parent = 0;
+            while (true) {
+                int child = 2 * parent + 1;
+                if (child >= size) break;
+                if (child + 1 < size && comparator.compare(values[child + 1], values[child]) > 0) child++;
+                if (comparator.compare(values[child], ordinal) <= 0) break;
+                this.values[parent] = values[child];
+                parent = child;
+            }
+            this.values[parent] = ordinal;
+        }
+
+        /**
+         * Merges the ordinals of another heap into this heap
+         * @param other     the other heap
+         * @return          this heap
+         */
+        Heap merge(Heap other) {
+            for (int i=0; i<other.size; ++i) {
+                this.offer(other.values[i]);
+            }
+            return this;
+        }
+
+        /**
+         * Empties this heap into an array of ordinals in comparator order
+         * @return  the sorted ordinals
+         */
+        int[] toSortedArray() {
+            final int[] result = new int[size];
+            for (int i=size-1; i>=0; --i) {
+                result[i] = values[0];
+                this.siftDown(values[i], i);
+            }
+            this.size = 0;
+            return result;
+        }
+    }
+
+
+    /**
+     * A fork-join task that selects the top ordinals of a range of the axis into a heap
+     */
+    private static class Select extends RecursiveTask<Heap> {
+
+        private int from;
+        private int to;
+        private int capacity;
+        private int threshold;
+        private IntComparator comparator;
+
+        /**
+         * Constructor
+         * @param from          the from ordinal, inclusive
+         * @param to            the to ordinal, exclusive
+         * @param capacity      the max number of ordinals to select
+         * @param comparator    the comparator that orders ordinals
+         * @param threshold     the range length below which this task does not split
+         */
+        Select(int from, int to, int capacity, IntComparator comparator, int threshold) {
+            this.from = from;
+            this.to = to;
+            this.capacity = capacity;
+            this.comparator = comparator;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Heap compute() {
+            if (to - from > threshold) {
+                final int mid = (from + to) >>> 1;
+                final Select left = new Select(from, mid, capacity, comparator, threshold);
+                final Select right = new Select(mid, to, capacity, comparator, threshold);
+                left.fork();
+                final Heap rightHeap = right.compute();
+                final Heap leftHeap = left.join();
+                return leftHeap.merge(rightHeap);
+            } else {
+                final Heap heap = new Heap(capacity, comparator.copy());
+                for (int ordinal=from; ordinal<to; ++ordinal) {
+                    heap.offer(ordinal);
+                }
+                return heap;
+            }
+        }
+    }
+
+
+    /**
+     * An IntComparator over ordinals that compares values in one or more arrays, breaking ties by ordinal
+     */
+    private static class ValueComparator implements IntComparator {
+
+        private int[] indexes;
+        private XDataFrameComparator[] comparators;
+
+        /**
+         * Constructor
+         * @param comparators   the array comparators, in order of precedence
+         * @param indexes       the array index for each ordinal
+         */
+        ValueComparator(XDataFrameComparator[] comparators, int[] indexes) {
+            this.comparators = comparators;
+            this.indexes = indexes;
+        }
+
+        @Override
+        public final int compare(int ordinal1, int ordinal2) {
+            final int index1 = indexes[ordinal1];
+            final int index2 = indexes[ordinal2];
+            for (XDataFrameComparator comparator : comparators) {
+                final int result = comparator.compareValues(index1, index2);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return Integer.compare(ordinal1, ordinal2);
+        }
+    }
+
+
+    /**
+     * An IntComparator that wraps a user provided vector comparator, breaking ties by ordinal
+     */
+    private static class TieComparator implements IntComparator {
+
+        private IntComparator comparator;
+
+        /**
+         * Constructor
+         * @param comparator    the comparator to wrap
+         */
+        TieComparator(IntComparator comparator) {
+            this.comparator = comparator;
+        }
+
+        @Override
+        public final int compare(int ordinal1, int ordinal2) {
+            final int result = comparator.compare(ordinal1, ordinal2);
+            return result != 0 ? result : Integer.compare(ordinal1, ordinal2);
+        }
+
+        @Override
+        public final IntComparator copy() {
+            return new TieComparator(comparator.copy());
+        }
+    }
+
+}
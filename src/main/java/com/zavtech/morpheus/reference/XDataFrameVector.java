@@ -47,6 +47,7 @@ import com.zavtech.morpheus.stats.Statistic1;
 import com.zavtech.morpheus.stats.Stats;
 import com.zavtech.morpheus.util.Asserts;
 import com.zavtech.morpheus.util.Bounds;
+import com.zavtech.morpheus.util.ComputeContext;
 import com.zavtech.morpheus.util.functions.ToBooleanFunction;
 
 /**
@@ -76,7 +77,7 @@ abstract class XDataFrameVector<X,Y,R,C,Z> implements DataFrameVector<X,Y,R,C,Z>
         this.frame = frame;
         this.parallel = parallel;
         this.axisType = row ? Type.ROWS : Type.COLS;
-        this.stats = new XDataFrameStats<>(true, this);
+        this.stats = new XDataFrameStats<>(this);
     }
 
     @Override()
@@ -378,8 +379,7 @@ abstract class XDataFrameVector<X,Y,R,C,Z> implements DataFrameVector<X,Y,R,C,Z>
     @Override()
     public final Stream<DataFrameValue<R,C>> values() {
         final int valueCount = size();
-        final int partitionSize = valueCount / Runtime.getRuntime().availableProcessors();
-        final int splitThreshold = Math.max(partitionSize, 5000);
+        final int splitThreshold = ComputeContext.current().getSplitThreshold(valueCount, 5000);
         return StreamSupport.stream(new DataFrameValueSpliterator<>(0, valueCount-1, valueCount, splitThreshold), isParallel());
     }
 
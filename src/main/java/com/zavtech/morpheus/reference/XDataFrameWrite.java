@@ -21,12 +21,16 @@ import java.util.function.Consumer;
 import com.zavtech.morpheus.frame.DataFrame;
 import com.zavtech.morpheus.frame.DataFrameSink;
 import com.zavtech.morpheus.frame.DataFrameWrite;
+import com.zavtech.morpheus.sink.BinarySink;
+import com.zavtech.morpheus.sink.BinarySinkOptions;
 import com.zavtech.morpheus.sink.CsvSink;
 import com.zavtech.morpheus.sink.CsvSinkOptions;
 import com.zavtech.morpheus.sink.DbSink;
 import com.zavtech.morpheus.sink.DbSinkOptions;
 import com.zavtech.morpheus.sink.JsonSink;
 import com.zavtech.morpheus.sink.JsonSinkOptions;
+import com.zavtech.morpheus.sink.MappedSink;
+import com.zavtech.morpheus.sink.MappedSinkOptions;
 
 /**
  * The reference implementation of the DataFrameWrite interface to enable DataFrames to be written out to a storage device.
@@ -62,6 +66,16 @@ class XDataFrameWrite<R,C> implements DataFrameWrite<R,C> {
         this.to(new JsonSink<>(), configurator);
     }
 
+    @Override
+    public final void mapped(Consumer<MappedSinkOptions> configurator) {
+        this.to(new MappedSink<>(), configurator);
+    }
+
+    @Override
+    public final void binary(Consumer<BinarySinkOptions<C>> configurator) {
+        this.to(new BinarySink<>(), configurator);
+    }
+
     @Override
     public final <O,S extends DataFrameSink<R,C,O>> void to(S sink, Consumer<O> configurator) {
         Objects.requireNonNull(sink, "The sink cannot be null");
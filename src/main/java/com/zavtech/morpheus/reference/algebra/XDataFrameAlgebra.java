@@ -15,8 +15,12 @@
  */
 package com.zavtech.morpheus.reference.algebra;
 
-import java.util.concurrent.ForkJoinPool;
+import java.util.Set;
 import java.util.concurrent.RecursiveAction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.stream.Collectors;
 
 import com.zavtech.morpheus.array.Array;
 import com.zavtech.morpheus.array.ArrayType;
@@ -27,6 +31,7 @@ import com.zavtech.morpheus.frame.DataFrameContent;
 import com.zavtech.morpheus.frame.DataFrameException;
 import com.zavtech.morpheus.frame.DataFrameRow;
 import com.zavtech.morpheus.util.Asserts;
+import com.zavtech.morpheus.util.ComputeContext;
 
 /**
  * A convenience base class for building third-party library specific implementations for DataFrame Linear Algebra functionality.
@@ -86,28 +91,7 @@ public abstract class XDataFrameAlgebra<R,C> implements DataFrameAlgebra<R,C> {
         try {
             Asserts.notNull(scalar, "The scalar value cannot be null");
             final DataFrame<R,C> result = frame.copy();
-            result.cols().forEach(column -> {
-                final ArrayType type = ArrayType.of(column.typeInfo());
-                if (type.isInteger()) {
-                    column.applyInts(v -> {
-                        final int left = v.getInt();
-                        return left + scalar.intValue();
-                    });
-                } else if (type.isLong()) {
-                    column.applyLongs(v -> {
-                        final long left = v.getLong();
-                        return left + scalar.longValue();
-                    });
-                } else if (type.isDouble()) {
-                    column.applyDoubles(v -> {
-                        final double left = v.getDouble();
-                        return left + scalar.doubleValue();
-                    });
-                } else {
-                    throw new DataFrameException("Column " + column.key() + " is not a numeric type: " + type);
-                }
-            });
-            return result;
+            return apply(result, scalar, (a, b) -> a + b, (a, b) -> a + b, (a, b) -> a + b);
         } catch (DataFrameException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -123,32 +107,7 @@ public abstract class XDataFrameAlgebra<R,C> implements DataFrameAlgebra<R,C> {
             Asserts.check(frame.rowCount() == other.rowCount(), "The row counts of the two frames must match");
             Asserts.check(frame.colCount() == other.colCount(), "The column counts of the two frames must match");
             final DataFrame<R,C> result = frame.copy();
-            final DataFrameContent<?,?> data = other.data();
-            result.cols().forEach(column -> {
-                final ArrayType type = ArrayType.of(column.typeInfo());
-                if (type.isInteger()) {
-                    column.applyInts(v -> {
-                        final int left = v.getInt();
-                        final int right = data.getInt(v.rowOrdinal(), v.colOrdinal());
-                        return left + right;
-                    });
-                } else if (type.isLong()) {
-                    column.applyLongs(v -> {
-                        final long left = v.getLong();
-                        final long right = data.getLong(v.rowOrdinal(), v.colOrdinal());
-                        return left + right;
-                    });
-                } else if (type.isDouble()) {
-                    column.applyDoubles(v -> {
-                        final double left = v.getDouble();
-                        final double right = data.getDouble(v.rowOrdinal(), v.colOrdinal());
-                        return left + right;
-                    });
-                } else {
-                    throw new DataFrameException("Column " + column.key() + " is not a numeric type: " + type);
-                }
-            });
-            return result;
+            return apply(result, other, (a, b) -> a + b, (a, b) -> a + b, (a, b) -> a + b);
         } catch (DataFrameException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -162,28 +121,7 @@ public abstract class XDataFrameAlgebra<R,C> implements DataFrameAlgebra<R,C> {
         try {
             Asserts.notNull(scalar, "The scalar value cannot be null");
             final DataFrame<R,C> result = frame.copy();
-            result.cols().forEach(column -> {
-                final ArrayType type = ArrayType.of(column.typeInfo());
-                if (type.isInteger()) {
-                    column.applyInts(v -> {
-                        final int left = v.getInt();
-                        return left - scalar.intValue();
-                    });
-                } else if (type.isLong()) {
-                    column.applyLongs(v -> {
-                        final long left = v.getLong();
-                        return left - scalar.longValue();
-                    });
-                } else if (type.isDouble()) {
-                    column.applyDoubles(v -> {
-                        final double left = v.getDouble();
-                        return left - scalar.doubleValue();
-                    });
-                } else {
-                    throw new DataFrameException("Column " + column.key() + " is not a numeric type: " + type);
-                }
-            });
-            return result;
+            return apply(result, scalar, (a, b) -> a - b, (a, b) -> a - b, (a, b) -> a - b);
         } catch (DataFrameException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -199,32 +137,7 @@ public abstract class XDataFrameAlgebra<R,C> implements DataFrameAlgebra<R,C> {
             Asserts.check(frame.rowCount() == other.rowCount(), "The row counts of the two frames must match");
             Asserts.check(frame.colCount() == other.colCount(), "The column counts of the two frames must match");
             final DataFrame<R,C> result = frame.copy();
-            final DataFrameContent<?,?> data = other.data();
-            result.cols().forEach(column -> {
-                final ArrayType type = ArrayType.of(column.typeInfo());
-                if (type.isInteger()) {
-                    column.applyInts(v -> {
-                        final int left = v.getInt();
-                        final int right = data.getInt(v.rowOrdinal(), v.colOrdinal());
-                        return left - right;
-                    });
-                } else if (type.isLong()) {
-                    column.applyLongs(v -> {
-                        final long left = v.getLong();
-                        final long right = data.getLong(v.rowOrdinal(), v.colOrdinal());
-                        return left - right;
-                    });
-                } else if (type.isDouble()) {
-                    column.applyDoubles(v -> {
-                        final double left = v.getDouble();
-                        final double right = data.getDouble(v.rowOrdinal(), v.colOrdinal());
-                        return left - right;
-                    });
-                } else {
-                    throw new DataFrameException("Column " + column.key() + " is not a numeric type: " + type);
-                }
-            });
-            return result;
+            return apply(result, other, (a, b) -> a - b, (a, b) -> a - b, (a, b) -> a - b);
         } catch (DataFrameException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -238,28 +151,7 @@ public abstract class XDataFrameAlgebra<R,C> implements DataFrameAlgebra<R,C> {
         try {
             Asserts.notNull(scalar, "The scalar value cannot be null");
             final DataFrame<R,C> result = frame.copy();
-            result.cols().forEach(column -> {
-                final ArrayType type = ArrayType.of(column.typeInfo());
-                if (type.isInteger()) {
-                    column.applyInts(v -> {
-                        final int left = v.getInt();
-                        return left * scalar.intValue();
-                    });
-                } else if (type.isLong()) {
-                    column.applyLongs(v -> {
-                        final long left = v.getLong();
-                        return left * scalar.longValue();
-                    });
-                } else if (type.isDouble()) {
-                    column.applyDoubles(v -> {
-                        final double left = v.getDouble();
-                        return left * scalar.doubleValue();
-                    });
-                } else {
-                    throw new DataFrameException("Column " + column.key() + " is not a numeric type: " + type);
-                }
-            });
-            return result;
+            return apply(result, scalar, (a, b) -> a * b, (a, b) -> a * b, (a, b) -> a * b);
         } catch (DataFrameException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -275,32 +167,7 @@ public abstract class XDataFrameAlgebra<R,C> implements DataFrameAlgebra<R,C> {
             Asserts.check(frame.rowCount() == other.rowCount(), "The row counts of the two frames must match");
             Asserts.check(frame.colCount() == other.colCount(), "The column counts of the two frames must match");
             final DataFrame<R,C> result = frame.copy();
-            final DataFrameContent<?,?> data = other.data();
-            result.cols().forEach(column -> {
-                final ArrayType type = ArrayType.of(column.typeInfo());
-                if (type.isInteger()) {
-                    column.applyInts(v -> {
-                        final int left = v.getInt();
-                        final int right = data.getInt(v.rowOrdinal(), v.colOrdinal());
-                        return left * right;
-                    });
-                } else if (type.isLong()) {
-                    column.applyLongs(v -> {
-                        final long left = v.getLong();
-                        final long right = data.getLong(v.rowOrdinal(), v.colOrdinal());
-                        return left * right;
-                    });
-                } else if (type.isDouble()) {
-                    column.applyDoubles(v -> {
-                        final double left = v.getDouble();
-                        final double right = data.getDouble(v.rowOrdinal(), v.colOrdinal());
-                        return left * right;
-                    });
-                } else {
-                    throw new DataFrameException("Column " + column.key() + " is not a numeric type: " + type);
-                }
-            });
-            return result;
+            return apply(result, other, (a, b) -> a * b, (a, b) -> a * b, (a, b) -> a * b);
         } catch (Exception ex) {
             throw new DataFrameException("Failed to multiply two DataFrames", ex);
         }
@@ -315,10 +182,19 @@ public abstract class XDataFrameAlgebra<R,C> implements DataFrameAlgebra<R,C> {
             final Array<Y> colKeys = right.cols().keyArray();
             final DataFrame<R,Y> result = DataFrame.ofDoubles(rowKeys, colKeys);
             final int count = result.rowCount() * result.colCount();
-            if (frame().isParallel()) {
-                final int threshold = Math.max(10, count / Runtime.getRuntime().availableProcessors());
+            if (XDataFrameGemm.isSupported(left) && XDataFrameGemm.isSupported(right)) {
+                Asserts.check(left.colCount() == right.rowCount(), "The left column count must match the right row count");
+                final double[] leftValues = XDataFrameGemm.pack(left);
+                final double[] rightValues = XDataFrameGemm.pack(right);
+                final int m = left.rowCount();
+                final int k = left.colCount();
+                final int n = right.colCount();
+                final double[] values = XDataFrameGemm.multiply(leftValues, rightValues, m, k, n, left.isParallel());
+                XDataFrameGemm.unpack(values, result);
+            } else if (frame().isParallel()) {
+                final int threshold = ComputeContext.current().getSplitThreshold(count, 10);
                 final DotProduct action = new DotProduct(left, right, result, 0, count, threshold);
-                ForkJoinPool.commonPool().invoke(action);
+                ComputeContext.current().invoke(action);
             } else {
                 final int threshold = Integer.MAX_VALUE;
                 final DotProduct action = new DotProduct(left, right, result, 0, count, threshold);
@@ -337,28 +213,7 @@ public abstract class XDataFrameAlgebra<R,C> implements DataFrameAlgebra<R,C> {
             Asserts.notNull(scalar, "The scalar value cannot be null");
             Asserts.notNull(scalar.doubleValue() != 0d, "The scalar value cannot be zero");
             final DataFrame<R,C> result = frame.copy();
-            result.cols().forEach(column -> {
-                final ArrayType type = ArrayType.of(column.typeInfo());
-                if (type.isInteger()) {
-                    column.applyInts(v -> {
-                        final int left = v.getInt();
-                        return left / scalar.intValue();
-                    });
-                } else if (type.isLong()) {
-                    column.applyLongs(v -> {
-                        final long left = v.getLong();
-                        return left / scalar.longValue();
-                    });
-                } else if (type.isDouble()) {
-                    column.applyDoubles(v -> {
-                        final double left = v.getDouble();
-                        return left / scalar.doubleValue();
-                    });
-                } else {
-                    throw new DataFrameException("Column " + column.key() + " is not a numeric type: " + type);
-                }
-            });
-            return result;
+            return apply(result, scalar, (a, b) -> a / b, (a, b) -> a / b, (a, b) -> a / b);
         } catch (DataFrameException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -374,43 +229,105 @@ public abstract class XDataFrameAlgebra<R,C> implements DataFrameAlgebra<R,C> {
             Asserts.check(frame.rowCount() == other.rowCount(), "The row counts of the two frames must match");
             Asserts.check(frame.colCount() == other.colCount(), "The column counts of the two frames must match");
             final DataFrame<R,C> result = frame.copy();
+            return apply(result, other, (a, b) -> a / b, (a, b) -> a / b, (a, b) -> a / b);
+        } catch (DataFrameException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new DataFrameException("Failed to divide two DataFrames", ex);
+        }
+    }
+
+
+    /**
+     * Applies the operator for the type of each column to every value in the frame and the scalar
+     * Frames whose columns all share one primitive type are updated with primitive kernels rather than value cursors.
+     * @param result    the frame to update in place
+     * @param scalar    the right hand operand
+     * @param intOp     the operator for int columns
+     * @param longOp    the operator for long columns
+     * @param doubleOp  the operator for double columns
+     * @return          the updated frame
+     */
+    private DataFrame<R,C> apply(DataFrame<R,C> result, Number scalar, IntBinaryOperator intOp, LongBinaryOperator longOp, DoubleBinaryOperator doubleOp) {
+        final int intValue = scalar.intValue();
+        final long longValue = scalar.longValue();
+        final double doubleValue = scalar.doubleValue();
+        final ArrayType type = commonType(result);
+        if (type == ArrayType.INTEGER) {
+            return result.applyAsInts(v -> intOp.applyAsInt(v, intValue));
+        } else if (type == ArrayType.LONG) {
+            return result.applyAsLongs(v -> longOp.applyAsLong(v, longValue));
+        } else if (type == ArrayType.DOUBLE) {
+            return result.applyAsDoubles(v -> doubleOp.applyAsDouble(v, doubleValue));
+        } else {
+            result.cols().forEach(column -> {
+                final ArrayType colType = ArrayType.of(column.typeInfo());
+                if (colType.isInteger()) {
+                    column.applyInts(v -> intOp.applyAsInt(v.getInt(), intValue));
+                } else if (colType.isLong()) {
+                    column.applyLongs(v -> longOp.applyAsLong(v.getLong(), longValue));
+                } else if (colType.isDouble()) {
+                    column.applyDoubles(v -> doubleOp.applyAsDouble(v.getDouble(), doubleValue));
+                } else {
+                    throw new DataFrameException("Column " + column.key() + " is not a numeric type: " + colType);
+                }
+            });
+            return result;
+        }
+    }
+
+
+    /**
+     * Applies the operator for the type of each column to every value in the frame and the value at the same coordinates in other
+     * Frames whose columns all share one primitive type are updated with primitive kernels rather than value cursors.
+     * @param result    the frame to update in place
+     * @param other     the frame of right hand operands
+     * @param intOp     the operator for int columns
+     * @param longOp    the operator for long columns
+     * @param doubleOp  the operator for double columns
+     * @return          the updated frame
+     */
+    private DataFrame<R,C> apply(DataFrame<R,C> result, DataFrame<?,?> other, IntBinaryOperator intOp, LongBinaryOperator longOp, DoubleBinaryOperator doubleOp) {
+        final ArrayType type = commonType(result);
+        if (type == ArrayType.INTEGER) {
+            return result.applyAsInts(other, intOp);
+        } else if (type == ArrayType.LONG) {
+            return result.applyAsLongs(other, longOp);
+        } else if (type == ArrayType.DOUBLE) {
+            return result.applyAsDoubles(other, doubleOp);
+        } else {
             final DataFrameContent<?,?> data = other.data();
             result.cols().forEach(column -> {
-                final ArrayType type = ArrayType.of(column.typeInfo());
-                if (type.isInteger()) {
-                    column.applyInts(v -> {
-                        final int left = v.getInt();
-                        final int right = data.getInt(v.rowOrdinal(), v.colOrdinal());
-                        return left / right;
-                    });
-                } else if (type.isLong()) {
-                    column.applyLongs(v -> {
-                        final long left = v.getLong();
-                        final long right = data.getLong(v.rowOrdinal(), v.colOrdinal());
-                        return left / right;
-                    });
-                } else if (type.isDouble()) {
-                    column.applyDoubles(v -> {
-                        final double left = v.getDouble();
-                        final double right = data.getDouble(v.rowOrdinal(), v.colOrdinal());
-                        return left / right;
-                    });
+                final ArrayType colType = ArrayType.of(column.typeInfo());
+                if (colType.isInteger()) {
+                    column.applyInts(v -> intOp.applyAsInt(v.getInt(), data.getInt(v.rowOrdinal(), v.colOrdinal())));
+                } else if (colType.isLong()) {
+                    column.applyLongs(v -> longOp.applyAsLong(v.getLong(), data.getLong(v.rowOrdinal(), v.colOrdinal())));
+                } else if (colType.isDouble()) {
+                    column.applyDoubles(v -> doubleOp.applyAsDouble(v.getDouble(), data.getDouble(v.rowOrdinal(), v.colOrdinal())));
                 } else {
-                    throw new DataFrameException("Column " + column.key() + " is not a numeric type: " + type);
+                    throw new DataFrameException("Column " + column.key() + " is not a numeric type: " + colType);
                 }
             });
             return result;
-        } catch (DataFrameException ex) {
-            throw ex;
-        } catch (Exception ex) {
-            throw new DataFrameException("Failed to divide two DataFrames", ex);
         }
     }
 
 
+    /**
+     * Returns the type shared by all columns of the frame
+     * @param frame the frame to inspect
+     * @return      the common column type, null if the frame has no columns or columns of more than one type
+     */
+    private ArrayType commonType(DataFrame<?,?> frame) {
+        final Set<Class<?>> types = frame.cols().types().collect(Collectors.toSet());
+        return types.size() == 1 ? ArrayType.of(types.iterator().next()) : null;
+    }
+
 
     /**
      * A recursive task to implement a parallel computation of a dot product between two frames
+     * This cursor based path is only used when either frame has non-numeric columns, see XDataFrameGemm otherwise.
      */
     private class DotProduct extends RecursiveAction {
 
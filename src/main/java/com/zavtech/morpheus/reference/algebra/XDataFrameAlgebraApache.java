@@ -19,9 +19,6 @@ import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 
-import org.apache.commons.math3.exception.NotStrictlyPositiveException;
-import org.apache.commons.math3.exception.OutOfRangeException;
-import org.apache.commons.math3.linear.AbstractRealMatrix;
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.apache.commons.math3.linear.CholeskyDecomposition;
 import org.apache.commons.math3.linear.DecompositionSolver;
@@ -34,7 +31,6 @@ import org.apache.commons.math3.linear.SingularValueDecomposition;
 
 import com.zavtech.morpheus.array.Array;
 import com.zavtech.morpheus.frame.DataFrame;
-import com.zavtech.morpheus.frame.DataFrameContent;
 import com.zavtech.morpheus.frame.DataFrameException;
 import com.zavtech.morpheus.range.Range;
 import com.zavtech.morpheus.util.LazyValue;
@@ -129,38 +125,13 @@ class XDataFrameAlgebraApache<R,C> extends XDataFrameAlgebra<R,C> {
 
 
     /**
-     * Returns a light-weight Apache Matrix wrapper of the DataFrame
-     * @param frame     the frame to wrap in an Apache Matrix interface
+     * Returns an Apache Matrix that adopts the row arrays of the DataFrame, copied with one bulk read per stored array
+     * Apache decompositions read every element, usually more than once, so this is cheaper than a per element view.
+     * @param frame     the frame to create an Apache Matrix from
      * @return          the resulting Apache matrix
      */
     private RealMatrix toMatrix(DataFrame<?,?> frame) {
-        final DataFrameContent<?,?> data = frame.data();
-        return new AbstractRealMatrix() {
-            @Override
-            public int getRowDimension() {
-                return frame.rowCount();
-            }
-            @Override
-            public int getColumnDimension() {
-                return frame.colCount();
-            }
-            @Override
-            public RealMatrix createMatrix(int rowCount, int colCount) throws NotStrictlyPositiveException {
-                return new Array2DRowRealMatrix(rowCount, colCount);
-            }
-            @Override
-            public RealMatrix copy() {
-                return toMatrix(frame.copy());
-            }
-            @Override
-            public double getEntry(int rowIndex, int colIndex) throws OutOfRangeException {
-                return data.getDouble(rowIndex, colIndex);
-            }
-            @Override
-            public void setEntry(int rowIndex, int colIndex, double value) throws OutOfRangeException {
-                data.setDouble(rowIndex, colIndex, value);
-            }
-        };
+        return new Array2DRowRealMatrix(frame.export().toRowArrays(), false);
     }
 
 
@@ -98,17 +98,10 @@ class XDataFrameAlgebraJama<R,C> extends XDataFrameAlgebra<R,C> {
     /**
      * Returns a JAMA matrix representation of the Morpheus DataFrame
      * @param frame     the DataFrame reference
-     * @return          the JAMA matrix
+     * @return          the JAMA matrix, which adopts row arrays copied with one bulk read per stored array
      */
     private Matrix toMatrix(DataFrame<?,?> frame) {
-        final Matrix matrix = new Matrix(frame.rowCount(), frame.colCount());
-        frame.forEachValue(v -> {
-            final int i = v.rowOrdinal();
-            final int j = v.colOrdinal();
-            final double value = v.getDouble();
-            matrix.set(i, j, value);
-        });
-        return matrix;
+        return frame.export().asMatrix();
     }
 
 
@@ -0,0 +1,254 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.reference.algebra;
+
+import java.util.concurrent.RecursiveAction;
+
+import com.zavtech.morpheus.array.ArrayType;
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.frame.DataFrameContent;
+import com.zavtech.morpheus.frame.DataFrameException;
+import com.zavtech.morpheus.util.ComputeContext;
+
+/**
+ * A cache blocked matrix multiply kernel for numeric DataFrames packed into row major double arrays.
+ *
+ * The output is divided into tiles of rows and columns, and for each tile the inner dimension is walked in panels,
+ * copying the panel of the right operand into a contiguous buffer so that it stays in cache while four rows of the
+ * left operand are applied to it at a time. Tiles are independent, so they are computed in parallel with fork-join.
+ * Each output value accumulates its products in inner dimension order, so results match a naive triple loop exactly.
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class XDataFrameGemm {
+
+    private static final int ROW_TILE = 64;
+    private static final int COL_TILE = 512;
+    private static final int INNER_PANEL = 256;
+    private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+
+    /**
+     * Returns true if all columns of the frame are numeric, so that it can be packed into a double array
+     * @param frame     the frame to check
+     * @return          true if the frame can be packed
+     */
+    static boolean isSupported(DataFrame<?,?> frame) {
+        return frame.cols().types().allMatch(type -> ArrayType.of(type).isNumeric());
+    }
+
+
+    /**
+     * Returns the values of a numeric frame packed into a row major double array
+     * @param frame     the frame to pack
+     * @return          the row major values of frame
+     */
+    static double[] pack(DataFrame<?,?> frame) {
+        final int rowCount = frame.rowCount();
+        final int colCount = frame.colCount();
+        final double[] values = new double[length(rowCount, colCount)];
+        final DataFrameContent<?,?> data = frame.data();
+        for (int j=0; j<colCount; ++j) {
+            for (int i=0; i<rowCount; ++i) {
+                values[i * colCount + j] = data.getDouble(i, j);
+            }
+        }
+        return values;
+    }
+
+
+    /**
+     * Writes the row major values into the double frame specified
+     * @param values    the row major values, with the same dimensions as frame
+     * @param frame     the frame to write to
+     */
+    static void unpack(double[] values, DataFrame<?,?> frame) {
+        final int rowCount = frame.rowCount();
+        final int colCount = frame.colCount();
+        final DataFrameContent<?,?> data = frame.data();
+        for (int j=0; j<colCount; ++j) {
+            for (int i=0; i<rowCount; ++i) {
+                data.setDouble(i, j, values[i * colCount + j]);
+            }
+        }
+    }
+
+
+    /**
+     * Returns the product of two row major matrices
+     * @param left      the m x k left matrix in row major order
+     * @param right     the k x n right matrix in row major order
+     * @param m         the row count of left matrix
+     * @param k         the column count of left matrix and row count of right matrix
+     * @param n         the column count of right matrix
+     * @param parallel  true to compute tiles in parallel
+     * @return          the m x n product in row major order
+     */
+    static double[] multiply(double[] left, double[] right, int m, int k, int n, boolean parallel) {
+        final double[] result = new double[length(m, n)];
+        final int tileCount = tiles(m, ROW_TILE) * tiles(n, COL_TILE);
+        final Multiply action = new Multiply(left, right, result, m, k, n, 0, tileCount);
+        if (parallel && tileCount > 1) {
+            ComputeContext.current().invoke(action);
+        } else {
+            action.computeTiles();
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns the length of a row major array for a matrix with the dimensions specified
+     * @param rowCount  the row count of the matrix
+     * @param colCount  the column count of the matrix
+     * @return          the array length
+     * @throws DataFrameException   if the matrix has too many values to be packed into an array
+     */
+    private static int length(int rowCount, int colCount) {
+        final long length = (long)rowCount * colCount;
+        if (length > MAX_LENGTH) {
+            throw new DataFrameException("A " + rowCount + "x" + colCount + " matrix is too large to pack into an array, the limit is " + MAX_LENGTH + " values");
+        }
+        return (int)length;
+    }
+
+
+    /**
+     * Returns the number of tiles of the size specified needed to cover a dimension
+     * @param length    the dimension length
+     * @param tileSize  the tile size
+     * @return          the number of tiles
+     */
+    private static int tiles(int length, int tileSize) {
+        return length == 0 ? 0 : (length - 1) / tileSize + 1;
+    }
+
+
+    /**
+     * A recursive task that computes a range of output tiles, splitting the range until one tile remains
+     */
+    private static class Multiply extends RecursiveAction {
+
+        private int m;
+        private int k;
+        private int n;
+        private int from;
+        private int to;
+        private double[] left;
+        private double[] right;
+        private double[] result;
+
+        /**
+         * Constructor
+         * @param left      the m x k left matrix in row major order
+         * @param right     the k x n right matrix in row major order
+         * @param result    the m x n result matrix in row major order
+         * @param m         the row count of left matrix
+         * @param k         the inner dimension
+         * @param n         the column count of right matrix
+         * @param from      the first tile index, inclusive
+         * @param to        the last tile index, exclusive
+         */
+        Multiply(double[] left, double[] right, double[] result, int m, int k, int n, int from, int to) {
+            this.left = left;
+            this.right = right;
+            this.result = result;
+            this.m = m;
+            this.k = k;
+            this.n = n;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                final int mid = (from + to) >>> 1;
+                invokeAll(
+                    new Multiply(left, right, result, m, k, n, from, mid),
+                    new Multiply(left, right, result, m, k, n, mid, to)
+                );
+            } else {
+                this.computeTiles();
+            }
+        }
+
+        /**
+         * Computes all tiles in the range of this task on the calling thread
+         */
+        void computeTiles() {
+            final int colTiles = tiles(n, COL_TILE);
+            final double[] panel = new double[Math.min(k, INNER_PANEL) * Math.min(n, COL_TILE)];
+            for (int tile = from; tile < to; ++tile) {
+                final int i0 = (tile / colTiles) * ROW_TILE;
+                final int j0 = (tile % colTiles) * COL_TILE;
+                this.computeTile(panel, i0, Math.min(m, i0 + ROW_TILE), j0, Math.min(n, j0 + COL_TILE));
+            }
+        }
+
+        /**
+         * Computes a single output tile, walking the inner dimension in panels
+         * @param panel     the buffer to pack each panel of the right matrix into
+         * @param i0        the first row of tile, inclusive
+         * @param i1        the last row of tile, exclusive
+         * @param j0        the first column of tile, inclusive
+         * @param j1        the last column of tile, exclusive
+         */
+        private void computeTile(double[] panel, int i0, int i1, int j0, int j1) {
+            final int width = j1 - j0;
+            for (int p0 = 0; p0 < k; p0 += INNER_PANEL) {
+                final int p1 = Math.min(k, p0 + INNER_PANEL);
+                for (int p = p0; p < p1; ++p) {
+                    System.arraycopy(right, p * n + j0, panel, (p - p0) * width, width);
+                }
+                int i = i0;
+                for (; i + 3 < i1; i += 4) {
+                    final int c0 = i * n + j0;
+                    final int c1 = c0 + n;
+                    final int c2 = c1 + n;
+                    final int c3 = c2 + n;
+                    for (int p = p0; p < p1; ++p) {
+                        final double a0 = left[i * k + p];
+                        final double a1 = left[(i + 1) * k + p];
+                        final double a2 = left[(i + 2) * k + p];
+                        final double a3 = left[(i + 3) * k + p];
+                        final int offset = (p - p0) * width;
+                        for (int j = 0; j < width; ++j) {
+                            final double b = panel[offset + j];
+                            this.result[c0 + j] += a0 * b;
+                            this.result[c1 + j] += a1 * b;
+                            this.result[c2 + j] += a2 * b;
+                            this.result[c3 + j] += a3 * b;
+                        }
+                    }
+                }
+                for (; i < i1; ++i) {
+                    final int c0 = i * n + j0;
+                    for (int p = p0; p < p1; ++p) {
+                        final double a0 = left[i * k + p];
+                        final int offset = (p - p0) * width;
+                        for (int j = 0; j < width; ++j) {
+                            this.result[c0 + j] += a0 * panel[offset + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+}
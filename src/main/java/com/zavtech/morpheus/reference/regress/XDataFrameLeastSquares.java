@@ -158,13 +158,8 @@ abstract class XDataFrameLeastSquares<R,C> implements DataFrameLeastSquares<R,C>
      * @return  the Y vector for regression model
      */
     RealVector createY() {
-        final int rowCount = frame.rows().count();
-        final int colIndex = frame.cols().ordinalOf(regressand);
-        final RealVector y = new ArrayRealVector(rowCount);
-        for (int i = 0; i < rowCount; ++i) {
-            y.setEntry(i, frame.data().getDouble(i, colIndex));
-        }
-        return y;
+        final double[] values = frame.cols().select(regressand).export().toColumnMajor();
+        return new ArrayRealVector(values, false);
     }
 
 
@@ -173,19 +168,17 @@ abstract class XDataFrameLeastSquares<R,C> implements DataFrameLeastSquares<R,C>
      * @return  the X design matrix
      */
     RealMatrix createX() {
-        final int n = frame.rows().count();
-        final int offset = hasIntercept() ? 1 : 0;
-        final int p = hasIntercept() ? regressors.size() + 1 : regressors.size();
-        final int[] colIndexes = regressors.stream().mapToInt(k -> frame.cols().ordinalOf(k)).toArray();
-        final RealMatrix x = new Array2DRowRealMatrix(n, p);
-        for (int i = 0; i < n; ++i) {
-            x.setEntry(i, 0, 1d);
-            for (int j = offset; j < p; ++j) {
-                final double value = frame.data().getDouble(i, colIndexes[j - offset]);
-                x.setEntry(i, j, value);
+        final double[][] values = frame.cols().select(regressors).export().toRowArrays();
+        if (!hasIntercept()) {
+            return new Array2DRowRealMatrix(values, false);
+        } else {
+            final double[][] rows = new double[values.length][regressors.size() + 1];
+            for (int i = 0; i < values.length; ++i) {
+                rows[i][0] = 1d;
+                System.arraycopy(values[i], 0, rows[i], 1, regressors.size());
             }
+            return new Array2DRowRealMatrix(rows, false);
         }
-        return x;
     }
 
 
@@ -0,0 +1,411 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.sink;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import com.zavtech.morpheus.array.ArrayType;
+import com.zavtech.morpheus.array.coding.IntCoding;
+import com.zavtech.morpheus.array.coding.LongCoding;
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.frame.DataFrameContent;
+import com.zavtech.morpheus.frame.DataFrameException;
+import com.zavtech.morpheus.frame.DataFrameSink;
+import com.zavtech.morpheus.util.Initialiser;
+
+/**
+ * A DataFrameSink implementation that writes a DataFrame to a file in the Morpheus columnar binary format.
+ *
+ * The file starts with a magic number and version, followed by one contiguous block for the row keys and one for
+ * each column. Primitive values are written as fixed width big endian values, types with an IntCoding or LongCoding
+ * are written as their codes, strings as length prefixed UTF-8 and any other type via Java serialization, and any
+ * column block can be deflate compressed. A footer at the end of the file records the row count, the key types, the
+ * column keys and types, and the encoding, offset and length of every block, so that a reader can load any subset
+ * of columns without scanning the others, and bulk read primitive and coded blocks without any per-value parsing.
+ * The codes of some IntCodings, such as those for zone ids and currencies, are positions in tables of the running JVM
+ * that can change between Java releases, so the footer entry for an int coded block also records the value of every
+ * code used in the block, and the reader decodes the block with that table rather than the tables of its own JVM.
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class BinarySink<R,C> implements DataFrameSink<R,C,BinarySinkOptions<C>> {
+
+    public static final int MAGIC = 0x4D525048;
+    public static final int VERSION = 2;
+    public static final int TRAILER_BYTES = 12;
+
+    public static final int BOOLEANS = 1;
+    public static final int INTS = 2;
+    public static final int LONGS = 3;
+    public static final int DOUBLES = 4;
+    public static final int INT_CODES = 5;
+    public static final int LONG_CODES = 6;
+    public static final int STRINGS = 7;
+    public static final int OBJECTS = 8;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int RESET_INTERVAL = 1000;
+
+    /**
+     * Constructor
+     */
+    public BinarySink() {
+        super();
+    }
+
+
+    /**
+     * Returns the block encoding used for values of the type specified
+     * @param type  the data type
+     * @return      the block encoding
+     */
+    public static int encoding(Class<?> type) {
+        if (type.isEnum()) {
+            return INT_CODES;
+        } else {
+            switch (ArrayType.of(type)) {
+                case BOOLEAN:           return BOOLEANS;
+                case INTEGER:           return INTS;
+                case LONG:              return LONGS;
+                case DOUBLE:            return DOUBLES;
+                case CURRENCY:          return INT_CODES;
+                case YEAR:              return INT_CODES;
+                case ZONE_ID:           return INT_CODES;
+                case TIME_ZONE:         return INT_CODES;
+                case DATE:              return LONG_CODES;
+                case INSTANT:           return LONG_CODES;
+                case LOCAL_DATE:        return LONG_CODES;
+                case LOCAL_TIME:        return LONG_CODES;
+                case LOCAL_DATETIME:    return LONG_CODES;
+                case STRING:            return STRINGS;
+                default:                return OBJECTS;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the IntCoding for a type with the INT_CODES encoding
+     * @param type  the data type
+     * @param <T>   the data type
+     * @return      the int coding for type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> IntCoding<T> intCoding(Class<T> type) {
+        if (type.isEnum()) {
+            return (IntCoding<T>)IntCoding.ofEnum((Class<Enum>)type);
+        } else {
+            switch (ArrayType.of(type)) {
+                case CURRENCY:          return (IntCoding<T>)IntCoding.ofCurrency();
+                case YEAR:              return (IntCoding<T>)IntCoding.ofYear();
+                case ZONE_ID:           return (IntCoding<T>)IntCoding.ofZoneId();
+                case TIME_ZONE:         return (IntCoding<T>)IntCoding.ofTimeZone();
+                default:                throw new DataFrameException("No IntCoding available for type: " + type);
+            }
+        }
+    }
+
+
+    /**
+     * Returns the LongCoding for a type with the LONG_CODES encoding
+     * @param type  the data type
+     * @param <T>   the data type
+     * @return      the long coding for type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> LongCoding<T> longCoding(Class<T> type) {
+        switch (ArrayType.of(type)) {
+            case DATE:              return (LongCoding<T>)LongCoding.ofDate();
+            case INSTANT:           return (LongCoding<T>)LongCoding.ofInstant();
+            case LOCAL_DATE:        return (LongCoding<T>)LongCoding.ofLocalDate();
+            case LOCAL_TIME:        return (LongCoding<T>)LongCoding.ofLocalTime();
+            case LOCAL_DATETIME:    return (LongCoding<T>)LongCoding.ofLocalDateTime();
+            default:                throw new DataFrameException("No LongCoding available for type: " + type);
+        }
+    }
+
+
+    @Override
+    public void write(DataFrame<R,C> frame, Consumer<BinarySinkOptions<C>> configurator) {
+        final BinarySinkOptions<C> options = Initialiser.apply(new BinarySinkOptions<>(), configurator);
+        final File file = options.getFile();
+        if (file == null) {
+            throw new DataFrameException("The output file for a binary DataFrame cannot be null");
+        } else {
+            final File dir = file.getAbsoluteFile().getParentFile();
+            if (dir != null && !dir.exists() && !dir.mkdirs()) {
+                throw new DataFrameException("Unable to create directory for binary DataFrame: " + dir.getAbsolutePath());
+            }
+            try (CountingOutputStream counter = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+                 DataOutputStream os = new DataOutputStream(counter)) {
+                final int colCount = frame.colCount();
+                final long[] offsets = new long[colCount + 1];
+                final boolean[] compressed = new boolean[colCount + 1];
+                final Object[] codeTables = new Object[colCount + 1];
+                final Predicate<C> compression = options.getCompression().orElse(colKey -> false);
+                os.writeInt(MAGIC);
+                os.writeInt(VERSION);
+                offsets[0] = counter.count;
+                codeTables[0] = writeValues(os, frame.rows().keyType(), frame.rowCount(), false, frame.rows()::key);
+                for (int j=0; j<colCount; ++j) {
+                    offsets[j + 1] = counter.count;
+                    compressed[j + 1] = compression.test(frame.cols().key(j));
+                    codeTables[j + 1] = writeColumn(os, frame, j, compressed[j + 1]);
+                }
+                final long footerOffset = counter.count;
+                final ObjectOutputStream footer = new ObjectOutputStream(os);
+                footer.writeInt(frame.rowCount());
+                footer.writeObject(frame.rows().keyType());
+                footer.writeObject(frame.cols().keyType());
+                footer.writeInt(colCount);
+                for (int j=0; j<=colCount; ++j) {
+                    final C colKey = j == 0 ? null : frame.cols().key(j - 1);
+                    final Class<?> type = j == 0 ? frame.rows().keyType() : frame.cols().type(colKey);
+                    final long end = j < colCount ? offsets[j + 1] : footerOffset;
+                    footer.writeObject(colKey);
+                    footer.writeObject(type);
+                    footer.writeInt(encoding(type));
+                    footer.writeBoolean(compressed[j]);
+                    footer.writeLong(offsets[j]);
+                    footer.writeLong(end - offsets[j]);
+                    footer.writeObject(codeTables[j]);
+                }
+                footer.flush();
+                os.writeLong(footerOffset);
+                os.writeInt(MAGIC);
+            } catch (DataFrameException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new DataFrameException("Failed to write binary DataFrame to " + file.getAbsolutePath(), ex);
+            }
+        }
+    }
+
+
+    /**
+     * Writes the block for the column specified, reading primitive columns without boxing
+     * @param os            the output stream
+     * @param frame         the frame to write
+     * @param colOrdinal    the column ordinal
+     * @param compressed    true to compress the block
+     * @return              the values keyed by code for an int coded block, otherwise null
+     * @throws IOException  if there is an I/O error
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Integer,Object> writeColumn(DataOutputStream os, DataFrame<R,C> frame, int colOrdinal, boolean compressed) throws IOException {
+        final int rowCount = frame.rowCount();
+        final DataFrameContent<R,C> data = frame.data();
+        final Class<Object> type = (Class<Object>)frame.cols().type(frame.cols().key(colOrdinal));
+        switch (encoding(type)) {
+            case BOOLEANS:
+                writeBlock(os, compressed, block -> {
+                    for (int i=0; i<rowCount; ++i) block.writeBoolean(data.getBoolean(i, colOrdinal));
+                });
+                break;
+            case INTS:
+                writeBlock(os, compressed, block -> {
+                    for (int i=0; i<rowCount; ++i) block.writeInt(data.getInt(i, colOrdinal));
+                });
+                break;
+            case LONGS:
+                writeBlock(os, compressed, block -> {
+                    for (int i=0; i<rowCount; ++i) block.writeLong(data.getLong(i, colOrdinal));
+                });
+                break;
+            case DOUBLES:
+                writeBlock(os, compressed, block -> {
+                    for (int i=0; i<rowCount; ++i) block.writeDouble(data.getDouble(i, colOrdinal));
+                });
+                break;
+            default:
+                return writeValues(os, type, rowCount, compressed, i -> data.getValue(i, colOrdinal));
+        }
+        return null;
+    }
+
+
+    /**
+     * Writes a block of values of the type specified, encoded according to their type
+     * @param os            the output stream
+     * @param type          the value type
+     * @param count         the number of values
+     * @param compressed    true to compress the block
+     * @param values        the function that supplies values by ordinal
+     * @param <T>           the value type
+     * @return              the values keyed by code for an int coded block, otherwise null
+     * @throws IOException  if there is an I/O error
+     */
+    private <T> Map<Integer,Object> writeValues(DataOutputStream os, Class<T> type, int count, boolean compressed, IntFunction<T> values) throws IOException {
+        switch (encoding(type)) {
+            case BOOLEANS:
+                writeBlock(os, compressed, block -> {
+                    for (int i=0; i<count; ++i) block.writeBoolean((Boolean)values.apply(i));
+                });
+                break;
+            case INTS:
+                writeBlock(os, compressed, block -> {
+                    for (int i=0; i<count; ++i) block.writeInt((Integer)values.apply(i));
+                });
+                break;
+            case LONGS:
+                writeBlock(os, compressed, block -> {
+                    for (int i=0; i<count; ++i) block.writeLong((Long)values.apply(i));
+                });
+                break;
+            case DOUBLES:
+                writeBlock(os, compressed, block -> {
+                    for (int i=0; i<count; ++i) block.writeDouble((Double)values.apply(i));
+                });
+                break;
+            case INT_CODES:
+                final BitSet used = new BitSet();
+                final IntCoding<T> intCoding = intCoding(type);
+                final Map<Integer,Object> codeTable = new TreeMap<>();
+                writeBlock(os, compressed, block -> {
+                    for (int i=0; i<count; ++i) {
+                        final T value = values.apply(i);
+                        final int code = intCoding.getCode(value);
+                        if (code >= 0 && !used.get(code)) {
+                            used.set(code);
+                            codeTable.put(code, value);
+                        }
+                        block.writeInt(code);
+                    }
+                });
+                return codeTable;
+            case LONG_CODES:
+                final LongCoding<T> longCoding = longCoding(type);
+                writeBlock(os, compressed, block -> {
+                    for (int i=0; i<count; ++i) block.writeLong(longCoding.getCode(values.apply(i)));
+                });
+                break;
+            case STRINGS:
+                writeBlock(os, compressed, block -> {
+                    for (int i=0; i<count; ++i) {
+                        final T value = values.apply(i);
+                        if (value == null) {
+                            block.writeInt(-1);
+                        } else {
+                            final byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+                            block.writeInt(bytes.length);
+                            block.write(bytes);
+                        }
+                    }
+                });
+                break;
+            default:
+                writeBlock(os, compressed, block -> {
+                    final ObjectOutputStream objects = new ObjectOutputStream(block);
+                    for (int i=0; i<count; ++i) {
+                        objects.writeObject(values.apply(i));
+                        if (i % RESET_INTERVAL == 0) {
+                            objects.reset();
+                        }
+                    }
+                    objects.flush();
+                });
+                break;
+        }
+        return null;
+    }
+
+
+    /**
+     * Writes a block to the output stream, deflating its content if required
+     * @param os            the output stream
+     * @param compressed    true to compress the block
+     * @param writer        the writer that writes the block content
+     * @throws IOException  if there is an I/O error
+     */
+    private void writeBlock(DataOutputStream os, boolean compressed, BlockWriter writer) throws IOException {
+        if (!compressed) {
+            writer.write(os);
+        } else {
+            final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                final DeflaterOutputStream deflaterStream = new DeflaterOutputStream(os, deflater, BUFFER_SIZE);
+                final DataOutputStream block = new DataOutputStream(deflaterStream);
+                writer.write(block);
+                block.flush();
+                deflaterStream.finish();
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+
+
+    /**
+     * An OutputStream that counts the bytes written to it, since DataOutputStream.size() is limited to 2GB
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        /**
+         * Constructor
+         * @param out   the underlying stream
+         */
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            this.out.write(value);
+            this.count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            this.out.write(bytes, offset, length);
+            this.count += length;
+        }
+    }
+
+
+    /**
+     * An interface to a function that writes the content of a block
+     */
+    private interface BlockWriter {
+
+        /**
+         * Writes the content of a block to the stream
+         * @param os    the stream to write to
+         * @throws IOException  if there is an I/O error
+         */
+        void write(DataOutputStream os) throws IOException;
+    }
+
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.sink;
+
+import java.io.File;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * The options for writing a DataFrame to a file in the Morpheus columnar binary format via the BinarySink
+ *
+ * @param <C>   the column key type
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class BinarySinkOptions<C> {
+
+    private File file;
+    private Predicate<C> compression;
+
+    /**
+     * Constructor
+     */
+    public BinarySinkOptions() {
+        super();
+    }
+
+    /**
+     * Returns the file to write to
+     * @return  the output file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the predicate that selects which columns to compress
+     * @return  the optional compression predicate, empty if no columns are compressed
+     */
+    public Optional<Predicate<C>> getCompression() {
+        return Optional.ofNullable(compression);
+    }
+
+    /**
+     * Sets the file to write to
+     * @param file  the output file
+     */
+    public void setFile(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Sets the file to write to
+     * @param path  the output file path
+     */
+    public void setFile(String path) {
+        this.file = new File(path);
+    }
+
+    /**
+     * Sets whether all columns should be compressed
+     * @param compress  true to compress all columns, false for none
+     */
+    public void setCompression(boolean compress) {
+        this.compression = compress ? colKey -> true : null;
+    }
+
+    /**
+     * Sets the predicate that selects which columns to compress
+     * @param compression   the predicate that selects columns to compress, null for none
+     */
+    public void setCompression(Predicate<C> compression) {
+        this.compression = compression;
+    }
+}
@@ -15,16 +15,26 @@
  */
 package com.zavtech.morpheus.sink;
 
+import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
 
 import com.zavtech.morpheus.frame.DataFrame;
 import com.zavtech.morpheus.frame.DataFrameContent;
 import com.zavtech.morpheus.frame.DataFrameException;
 import com.zavtech.morpheus.frame.DataFrameSink;
+import com.zavtech.morpheus.util.ComputeContext;
 import com.zavtech.morpheus.util.Initialiser;
 import com.zavtech.morpheus.util.text.Formats;
 import com.zavtech.morpheus.util.text.printer.Printer;
@@ -32,6 +42,10 @@ import com.zavtech.morpheus.util.text.printer.Printer;
 /**
  * A DataFrameSink implementation that writes a DataFrame to some output device in CSV format.
  *
+ * Rows are formatted in blocks into reusable buffers, with printers appending directly into the buffer rather than
+ * creating a String per cell. When the frame is parallel, a batch of blocks is formatted concurrently and the blocks
+ * are then written in row order, so output is identical to a sequential write.
+ *
  * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
  *
  * @author  Xavier Witdouck
@@ -46,46 +60,21 @@ public class CsvSink<R,C> implements DataFrameSink<R,C,CsvSinkOptions<R>> {
     }
 
     @Override()
-    @SuppressWarnings("unchecked")
     public void write(DataFrame<R,C> frame, Consumer<CsvSinkOptions<R>> configurator) {
         final CsvSinkOptions<R> options = Initialiser.apply(new CsvSinkOptions<>(), configurator);
         Objects.requireNonNull(options.getFormats(), "The CSV options formats cannot be null");
         Objects.requireNonNull(options.getResource(), "The CSV options output resource cannot be null");
         Objects.requireNonNull(options.getSeparator(), "The CSV options separator cannot be null");
-        try (OutputStream os = options.getResource().toOutputStream()) {
-            final Formats formats = options.getFormats();
-            final String separator = options.getSeparator();
-            final String nullText = options.getNullText();
+        Objects.requireNonNull(options.getCharset(), "The CSV options charset cannot be null");
+        if (options.getRowBlockSize() < 1) {
+            throw new DataFrameException("The CSV options row block size must be > 0, not " + options.getRowBlockSize());
+        }
+        try (OutputStream os = createOutputStream(options)) {
             if (options.isIncludeColumnHeader()) {
                 writeHeader(frame, options, os);
             }
-            final Class<R> rowKeyType = frame.rows().keyType();
-            final DataFrameContent<R,C> data = frame.data();
-            final Printer<R> rowKeyPrinter = options.getRowKeyPrinter().orElse(formats.getPrinterOrFail(rowKeyType));
-            final List<Printer<?>> colPrinters = frame.cols().stream().map(c -> formats.getPrinterOrFail(c.key(), c.typeInfo())).collect(Collectors.toList());
-            for (int i = 0; i < frame.rowCount(); ++i) {
-                final StringBuilder row = new StringBuilder();
-                if (options.isIncludeRowHeader()) {
-                    final R rowKey = frame.rows().key(i);
-                    row.append(rowKeyPrinter.apply(rowKey));
-                    row.append(separator);
-                }
-                for (int j = 0; j < frame.colCount(); ++j) {
-                    final Printer<?> printer = colPrinters.get(j);
-                    switch (printer.getStyle()) {
-                        case BOOLEAN:   row.append(printer.apply(data.getBoolean(i, j)));   break;
-                        case INTEGER:   row.append(printer.apply(data.getInt(i, j)));       break;
-                        case LONG:      row.append(printer.apply(data.getLong(i, j)));      break;
-                        case DOUBLE:    row.append(printer.apply(data.getDouble(i, j)));    break;
-                        default:        row.append(printer.apply(data.getValue(i, j)));     break;
-                    }
-                    if (j < frame.colCount() - 1) {
-                        row.append(separator);
-                    } else {
-                        row.append("\n");
-                        os.write(row.toString().getBytes());
-                    }
-                }
+            if (frame.colCount() > 0) {
+                writeRows(frame, options, os);
             }
         } catch (DataFrameException ex) {
             throw ex;
@@ -94,6 +83,52 @@ public class CsvSink<R,C> implements DataFrameSink<R,C,CsvSinkOptions<R>> {
         }
     }
 
+    /**
+     * Returns the output stream to write to, wrapped in a gzip stream if so configured
+     * @param options   the options for output
+     * @return          the output stream
+     * @throws IOException  if the stream could not be created
+     */
+    private OutputStream createOutputStream(CsvSinkOptions<R> options) throws IOException {
+        final OutputStream os = options.getResource().toOutputStream();
+        return options.isGzip() ? new GZIPOutputStream(os, 1024 * 64) : os;
+    }
+
+    /**
+     * Writes the frame rows to the output stream in blocks, formatting blocks concurrently if the frame is parallel
+     * @param frame     the frame to write
+     * @param options   the options to tailor output
+     * @param os        the output stream to write to
+     * @throws IOException  if there is a write error
+     */
+    private void writeRows(DataFrame<R,C> frame, CsvSinkOptions<R> options, OutputStream os) throws IOException {
+        final Formats formats = options.getFormats();
+        final Class<R> rowKeyType = frame.rows().keyType();
+        final Printer<R> rowKeyPrinter = options.getRowKeyPrinter().orElse(formats.getPrinterOrFail(rowKeyType));
+        final List<Printer<?>> colPrinters = frame.cols().stream().map(c -> formats.getPrinterOrFail(c.key(), c.typeInfo())).collect(Collectors.toList());
+        final int rowCount = frame.rowCount();
+        final int blockSize = options.getRowBlockSize();
+        final int blockCount = rowCount == 0 ? 0 : (rowCount - 1) / blockSize + 1;
+        final int workerCount = frame.isParallel() ? ComputeContext.current().getParallelism() : 1;
+        final int slotCount = Math.max(1, Math.min(blockCount, workerCount));
+        final List<RowBlock> blocks = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; ++i) {
+            blocks.add(new RowBlock(frame, options, rowKeyPrinter, colPrinters));
+        }
+        for (int first = 0; first < blockCount; first += slotCount) {
+            final int start = first;
+            final int count = Math.min(slotCount, blockCount - first);
+            if (count == 1) {
+                blocks.get(0).format(start);
+            } else {
+                ComputeContext.current().run(() -> IntStream.range(0, count).parallel().forEach(k -> blocks.get(k).format(start + k)));
+            }
+            for (int k = 0; k < count; ++k) {
+                blocks.get(k).writeTo(os);
+            }
+        }
+    }
+
     /**
      * Writes the frame column header to the output stream
      * @param frame     the frame to write headers for
@@ -101,7 +136,7 @@ public class CsvSink<R,C> implements DataFrameSink<R,C,CsvSinkOptions<R>> {
      * @param os        the output stream to write to
      * @throws DataFrameException  if there is a write error
      */
-    private void writeHeader(DataFrame<R,C> frame, CsvSinkOptions options, OutputStream os) {
+    private void writeHeader(DataFrame<R,C> frame, CsvSinkOptions<R> options, OutputStream os) {
         try {
             final StringBuilder header = new StringBuilder();
             if (options.isIncludeRowHeader()) {
@@ -117,7 +152,7 @@ public class CsvSink<R,C> implements DataFrameSink<R,C,CsvSinkOptions<R>> {
                     header.append(options.getSeparator());
                 } else {
                     header.append("\n");
-                    os.write(header.toString().getBytes());
+                    os.write(header.toString().getBytes(options.getCharset()));
                 }
             }
         } catch (Exception ex) {
@@ -125,4 +160,116 @@ public class CsvSink<R,C> implements DataFrameSink<R,C,CsvSinkOptions<R>> {
         }
     }
 
+
+    /**
+     * A reusable block of formatted rows, with its own copy of the printers so that blocks can be formatted concurrently
+     */
+    private class RowBlock {
+
+        private int blockSize;
+        private String separator;
+        private boolean rowHeader;
+        private DataFrame<R,C> frame;
+        private DataFrameContent<R,C> data;
+        private Printer<R> rowKeyPrinter;
+        private Printer<?>[] colPrinters;
+        private CharsetEncoder encoder;
+        private StringBuilder text;
+        private ByteBuffer bytes;
+
+        /**
+         * Constructor
+         * @param frame         the frame to format rows for
+         * @param options       the options to tailor output
+         * @param rowKeyPrinter the row key printer
+         * @param colPrinters   the column printers
+         */
+        RowBlock(DataFrame<R,C> frame, CsvSinkOptions<R> options, Printer<R> rowKeyPrinter, List<Printer<?>> colPrinters) {
+            this.frame = frame;
+            this.data = frame.data();
+            this.blockSize = options.getRowBlockSize();
+            this.separator = options.getSeparator();
+            this.rowHeader = options.isIncludeRowHeader();
+            this.rowKeyPrinter = rowKeyPrinter.copy();
+            this.colPrinters = colPrinters.stream().map(Printer::copy).toArray(Printer<?>[]::new);
+            this.encoder = options.getCharset().newEncoder();
+            this.encoder.onMalformedInput(CodingErrorAction.REPLACE);
+            this.encoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.text = new StringBuilder(1024 * 64);
+            this.bytes = ByteBuffer.allocate(1024 * 64);
+        }
+
+        /**
+         * Formats the rows of the block specified and encodes them into the byte buffer of this block
+         * @param block the block index
+         */
+        @SuppressWarnings("unchecked")
+        void format(int block) {
+            final int colCount = colPrinters.length;
+            final int rowStart = block * blockSize;
+            final int rowEnd = Math.min(frame.rowCount(), rowStart + blockSize);
+            this.text.setLength(0);
+            for (int i = rowStart; i < rowEnd; ++i) {
+                if (rowHeader) {
+                    this.rowKeyPrinter.append(frame.rows().key(i), text);
+                    this.text.append(separator);
+                }
+                for (int j = 0; j < colCount; ++j) {
+                    final Printer<?> printer = colPrinters[j];
+                    switch (printer.getStyle()) {
+                        case BOOLEAN:   printer.append(data.getBoolean(i, j), text);   break;
+                        case INTEGER:   printer.append(data.getInt(i, j), text);       break;
+                        case LONG:      printer.append(data.getLong(i, j), text);      break;
+                        case DOUBLE:    printer.append(data.getDouble(i, j), text);    break;
+                        default:        ((Printer<Object>)printer).append(data.getValue(i, j), text);  break;
+                    }
+                    this.text.append(j < colCount - 1 ? separator : "\n");
+                }
+            }
+            this.encode();
+        }
+
+        /**
+         * Encodes the formatted text into the byte buffer, growing the buffer if required
+         */
+        private void encode() {
+            final int expected = (int)(text.length() * encoder.averageBytesPerChar()) + 16;
+            if (bytes.capacity() < expected) {
+                this.bytes = ByteBuffer.allocate(expected);
+            }
+            final CharBuffer chars = CharBuffer.wrap(text);
+            this.bytes.clear();
+            this.encoder.reset();
+            CoderResult result = encoder.encode(chars, bytes, true);
+            while (result.isOverflow()) {
+                this.grow();
+                result = encoder.encode(chars, bytes, true);
+            }
+            result = encoder.flush(bytes);
+            while (result.isOverflow()) {
+                this.grow();
+                result = encoder.flush(bytes);
+            }
+        }
+
+        /**
+         * Doubles the capacity of the byte buffer, retaining its current content
+         */
+        private void grow() {
+            final ByteBuffer larger = ByteBuffer.allocate(bytes.capacity() * 2);
+            this.bytes.flip();
+            larger.put(bytes);
+            this.bytes = larger;
+        }
+
+        /**
+         * Writes the encoded bytes of this block to the output stream
+         * @param os    the output stream to write to
+         * @throws IOException  if there is a write error
+         */
+        void writeTo(OutputStream os) throws IOException {
+            os.write(bytes.array(), 0, bytes.position());
+        }
+    }
+
 }
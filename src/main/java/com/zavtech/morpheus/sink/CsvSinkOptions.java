@@ -17,6 +17,8 @@ package com.zavtech.morpheus.sink;
 
 import java.io.File;
 import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -38,6 +40,9 @@ public class CsvSinkOptions<R> {
     private Formats formats;
     private String separator;
     private Resource resource;
+    private Charset charset;
+    private boolean gzip;
+    private int rowBlockSize;
     private boolean includeRowHeader;
     private boolean includeColumnHeader;
     private Printer<R> rowKeyPrinter;
@@ -49,6 +54,8 @@ public class CsvSinkOptions<R> {
         this.separator = ",";
         this.title = "DataFrame";
         this.formats = new Formats();
+        this.charset = StandardCharsets.UTF_8;
+        this.rowBlockSize = 10000;
         this.includeRowHeader = true;
         this.includeColumnHeader = true;
     }
@@ -93,6 +100,30 @@ public class CsvSinkOptions<R> {
         return resource;
     }
 
+    /**
+     * Returns the charset used to encode output
+     * @return  the charset, UTF-8 by default
+     */
+    Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Returns true if output should be gzip compressed
+     * @return  true to gzip output
+     */
+    boolean isGzip() {
+        return gzip;
+    }
+
+    /**
+     * Returns the number of rows formatted as one block before being written
+     * @return  the number of rows per block
+     */
+    int getRowBlockSize() {
+        return rowBlockSize;
+    }
+
     /**
      * Returns true if the row header should be included in output
      * @return      true if row header should be included
@@ -217,4 +248,29 @@ public class CsvSinkOptions<R> {
     public void setIncludeColumnHeader(boolean includeColumnHeader) {
         this.includeColumnHeader = includeColumnHeader;
     }
+
+    /**
+     * Sets the charset used to encode output
+     * @param charset   the charset, UTF-8 by default
+     */
+    public void setCharset(Charset charset) {
+        this.charset = charset;
+    }
+
+    /**
+     * Sets whether output should be gzip compressed
+     * @param gzip  true to gzip output
+     */
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    /**
+     * Sets the number of rows formatted as one block before being written
+     * Blocks are formatted concurrently when the frame is parallel, so larger blocks use more memory per worker
+     * @param rowBlockSize  the number of rows per block, 10000 by default
+     */
+    public void setRowBlockSize(int rowBlockSize) {
+        this.rowBlockSize = rowBlockSize;
+    }
 }
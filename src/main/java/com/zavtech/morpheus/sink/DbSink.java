@@ -21,23 +21,32 @@ import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import com.zavtech.morpheus.array.ArrayType;
 import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.frame.DataFrameContent;
 import com.zavtech.morpheus.frame.DataFrameCursor;
 import com.zavtech.morpheus.frame.DataFrameException;
-import com.zavtech.morpheus.frame.DataFrameRow;
 import com.zavtech.morpheus.frame.DataFrameSink;
 import com.zavtech.morpheus.frame.DataFrameValue;
 import com.zavtech.morpheus.util.Collect;
@@ -49,13 +58,19 @@ import com.zavtech.morpheus.util.sql.SQLType;
 /**
  * A DataFrameSink implementation that writes DataFrames to a SQL database table.
  *
+ * Rows are bound column by column, reading primitive and String columns with default mappings straight from the frame.
+ * Writes can be split over several connections, pipelined, committed every N batches and inserted with multi-row
+ * statements, with metrics for the write reported to an optional listener.
+ *
  * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
  *
  * @author  Xavier Witdouck
  */
 public class DbSink<R,C> implements DataFrameSink<R,C,DbSinkOptions<R,C>> {
 
+    private static final int MAX_PARAMETERS = 999;
     private static final Map<Class<?>,SQLType> sqlTypeMap = new HashMap<>();
+    private static final Set<Class<?>> directTypes = Collect.asSet(Boolean.class, Integer.class, Long.class, Double.class, String.class);
 
     /**
      * Static initializer
@@ -90,14 +105,21 @@ public class DbSink<R,C> implements DataFrameSink<R,C,DbSinkOptions<R,C>> {
         Objects.requireNonNull(frame, "DataFrame cannot be null");
         Objects.requireNonNull(configurator, "The options consumer cannot be null");
         final DbSinkOptions<R,C> options = Initialiser.apply(new DbSinkOptions<>(), configurator);
+        if (options.getBatchSize() < 1) {
+            throw new DataFrameException("The batch size must be > 0, not " + options.getBatchSize());
+        } else if (options.getWriterCount() < 1) {
+            throw new DataFrameException("The writer count must be > 0, not " + options.getWriterCount());
+        } else if (options.getWriterCount() > 1 && !options.getDataSource().isPresent()) {
+            throw new DataFrameException("More than one writer requires a DataSource so each writer can use its own connection");
+        }
         try (Connection conn = options.getConnection()) {
             if (!options.getPlatform().isPresent()) {
                 final String driverName = conn.getMetaData().getDriverName();
                 final SQLPlatform platform = SQLPlatform.getPlatform(driverName);
                 options.setPlatform(platform);
             }
-            this.createTable(frame, options);
-            this.insertData(frame, options);
+            this.createTable(conn, frame, options);
+            this.insertData(conn, frame, options);
         } catch (Exception ex) {
             throw new DataFrameException("Failed to write DataFrame to database table " + options.getTableName(), ex);
         }
@@ -106,21 +128,18 @@ public class DbSink<R,C> implements DataFrameSink<R,C,DbSinkOptions<R,C>> {
 
     /**
      * Creates the target table if it does not already exist in the database
+     * @param conn      the database connection
      * @param frame     the DataFrame to create a table for
      * @param options   the sink options
      * @throws DataFrameException   if this operation fails
      */
-    private void createTable(DataFrame<R,C> frame, DbSinkOptions<R,C> options) {
-        final Connection conn = options.getConnection();
+    private void createTable(Connection conn, DataFrame<R,C> frame, DbSinkOptions<R,C> options) {
         final String tableName = options.getTableName();
         try (Statement stmt = conn.createStatement()) {
             final DatabaseMetaData metaData = conn.getMetaData();
             final ResultSet tables = metaData.getTables(null, null, tableName, null);
-            if (tables.next()) {
-                System.out.println("The table named " + tableName + " already exists");
-            } else {
+            if (!tables.next()) {
                 final String ddl = getCreateTableSql(frame, options);
-                System.out.println("Executing DDL:\n " + ddl);
                 stmt.executeUpdate(ddl);
             }
         } catch (Exception ex) {
@@ -130,65 +149,80 @@ public class DbSink<R,C> implements DataFrameSink<R,C,DbSinkOptions<R,C>> {
 
 
     /**
-     * Called to insert data from the DataFrame to the target table
+     * Called to insert data from the DataFrame to the target table, splitting rows across writers if so configured
+     * @param conn      the database connection
      * @param frame     the DataFrame to load data from
      * @param options   the sink options
      * @throws DataFrameException   if this operation fails
      */
-    private void insertData(DataFrame<R,C> frame, DbSinkOptions<R,C> options) {
-        final List<ColumnAdapter> columnList = getColumnAdapters(frame, options);
-        final String insertSql = getInsertSql(columnList, options);
-        System.out.println("Insert SQL: " + insertSql);
-        try (PreparedStatement stmt = options.getConnection().prepareStatement(insertSql)) {
-            int rowCount = 0;
-            for (DataFrameRow<R,C> row : frame.rows()) {
-                for (int i=0; i<columnList.size(); ++i) {
-                    final ColumnAdapter adapter = columnList.get(i);
-                    final int stmtIndex = i+1;
-                    adapter.apply(stmt, stmtIndex, row);
-                }
-                stmt.addBatch();
-                rowCount++;
-                if (rowCount % options.getBatchSize() == 0) {
-                    System.out.println("Executing batch, row count is " + rowCount);
-                    stmt.executeBatch();
-                }
+    private void insertData(Connection conn, DataFrame<R,C> frame, DbSinkOptions<R,C> options) {
+        final long start = System.nanoTime();
+        final int rowCount = frame.rowCount();
+        final int writerCount = Math.max(1, Math.min(options.getWriterCount(), rowCount));
+        final int rowsPerWriter = rowCount == 0 ? 0 : (rowCount - 1) / writerCount + 1;
+        final DbSinkMetrics metrics = new DbSinkMetrics();
+        if (writerCount == 1) {
+            metrics.add(new DbWriter(conn, frame, options, 0, rowCount).call());
+        } else {
+            final List<Callable<DbSinkMetrics>> tasks = new ArrayList<>(writerCount);
+            for (int i=0; i<writerCount; ++i) {
+                final int rowStart = i * rowsPerWriter;
+                final int rowEnd = Math.min(rowCount, rowStart + rowsPerWriter);
+                tasks.add(() -> {
+                    try (Connection writerConn = options.getConnection()) {
+                        return new DbWriter(writerConn, frame, options, rowStart, rowEnd).call();
+                    }
+                });
             }
-            if (rowCount % options.getBatchSize() != 0) {
-                System.out.println("Executing final batch, row count is " + rowCount);
-                stmt.executeBatch();
+            final ExecutorService executor = Executors.newFixedThreadPool(writerCount, runnable -> {
+                final Thread thread = new Thread(runnable, "DataFrameDbWriterThread");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                for (Future<DbSinkMetrics> future : executor.invokeAll(tasks)) {
+                    metrics.add(future.get());
+                }
+            } catch (ExecutionException ex) {
+                throw new DataFrameException("Failed to insert data from DataFrame into table named " + options.getTableName(), ex.getCause());
+            } catch (InterruptedException ex) {
+                throw new DataFrameException("Interrupted while inserting data into table named " + options.getTableName(), ex);
+            } finally {
+                executor.shutdown();
             }
-        } catch (Exception ex) {
-            throw new DataFrameException("Failed to insert data from DataFrame into table named " + options.getTableName(), ex);
         }
+        metrics.setElapsedNanos(System.nanoTime() - start);
+        options.getMetricsListener().ifPresent(listener -> listener.accept(metrics));
     }
 
 
-
     /**
      * Constructs the SQL insert statement for the column list specified
      * @param columnList    the column list
      * @param options       the DB sink options
+     * @param rows          the number of rows inserted by each statement
      * @return              the sql insert statement
      */
-    private String getInsertSql(List<ColumnAdapter> columnList, DbSinkOptions<R,C> options) {
+    private String getInsertSql(List<ColumnAdapter> columnList, DbSinkOptions<R,C> options, int rows) {
         final String tableName = options.getTableName();
         final List<String> colNames = columnList.stream().map(c -> "\"" + c.colName + "\"").collect(Collectors.toList());
         final List<String> params = IntStream.range(0, colNames.size()).mapToObj(i -> "?").collect(Collectors.toList());
         final String columnsString = String.join(",", colNames);
-        final String paramsString = String.join(",", params);
-        return String.format("INSERT INTO \"%s\" (%s) VALUES (%s)", tableName, columnsString, paramsString);
+        final String paramsString = "(" + String.join(",", params) + ")";
+        final String valuesString = String.join(",", Collections.nCopies(rows, paramsString));
+        return String.format("INSERT INTO \"%s\" (%s) VALUES %s", tableName, columnsString, valuesString);
     }
 
 
     /**
      * Returns a apply of column type info for the target table
+     * @param conn      the database connection
      * @param frame     the DataFrame reference
+     * @param options   the sink options
      * @return          the apply of column type info
      */
     @SuppressWarnings("unchecked")
-    private List<ColumnAdapter> getColumnAdapters(DataFrame<R,C> frame, DbSinkOptions<R,C> options) {
-        final Connection conn = options.getConnection();
+    private List<ColumnAdapter> getColumnAdapters(Connection conn, DataFrame<R,C> frame, DbSinkOptions<R,C> options) {
         final String tableName = options.getTableName();
         final SQLPlatform platform = options.getPlatform().orElseThrow(() -> new IllegalStateException("No SQL platform specified in options"));
         final Map<C,String> columnMap1 = frame.cols().keys().collect(Collectors.toMap(c -> c, c -> options.getColumnNames().apply(c)));
@@ -204,13 +238,14 @@ public class DbSink<R,C> implements DataFrameSink<R,C,DbSinkOptions<R,C>> {
                 final String sqlTypeName = metaData.getColumnTypeName(i+1);
                 final SQLType sqlType = typeResolver.getType(sqlTypeCode, sqlTypeName);
                 if (options.getRowKeyColumn().map(name -> name.equals(sqlColName)).orElse(false)) {
-                    columnList.add(new RowKeyAdapter(sqlColName, sqlType, options));
+                    columnList.add(new RowKeyAdapter(sqlColName, sqlType, frame, options));
                 } else if (options.getAutoIncrementColumnName().map(name -> !name.equalsIgnoreCase(sqlColName)).orElse(true)) {
                     final C colKey = columnMap2.get(sqlColName);
                     final Class<?> dataType = frame.cols().type(colKey);
                     final DataFrameCursor<R,C> cursor = frame.cursor().atColKey(colKey);
                     final Function1<DataFrameValue<R,C>,?> mapper = options.getColumnMappings().getMapper(dataType);
-                    columnList.add(new ValueAdapter(sqlColName, sqlType, cursor, mapper));
+                    final boolean direct = options.getColumnMappings().isDefault(dataType) && directTypes.contains(dataType);
+                    columnList.add(new ValueAdapter(sqlColName, sqlType, cursor, mapper, direct));
                 }
             }
             return columnList;
@@ -314,6 +349,248 @@ public class DbSink<R,C> implements DataFrameSink<R,C,DbSinkOptions<R,C>> {
 
 
 
+    /**
+     * A writer that inserts a contiguous range of frame rows into the target table over a single connection
+     * Rows are bound column by column in batches, and when pipelined, each batch executes on a background thread while
+     * the next batch is bound to a second statement, so at most one batch is in flight.
+     */
+    private class DbWriter implements Callable<DbSinkMetrics> {
+
+        private int rowStart;
+        private int rowEnd;
+        private Connection conn;
+        private DataFrame<R,C> frame;
+        private DbSinkMetrics metrics;
+        private DbSinkOptions<R,C> options;
+
+        /**
+         * Constructor
+         * @param conn      the connection to write with
+         * @param frame     the frame to write
+         * @param options   the sink options
+         * @param rowStart  the first row ordinal to write, inclusive
+         * @param rowEnd    the last row ordinal to write, exclusive
+         */
+        DbWriter(Connection conn, DataFrame<R,C> frame, DbSinkOptions<R,C> options, int rowStart, int rowEnd) {
+            this.conn = conn;
+            this.frame = frame;
+            this.options = options;
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+            this.metrics = new DbSinkMetrics();
+        }
+
+        @Override
+        public DbSinkMetrics call() throws DataFrameException {
+            final boolean commits = options.getCommitBatchCount() > 0;
+            try {
+                final boolean autoCommit = conn.getAutoCommit();
+                try {
+                    if (commits) {
+                        this.conn.setAutoCommit(false);
+                    }
+                    this.write(getColumnAdapters(conn, frame, options));
+                    if (commits) {
+                        this.commit();
+                    }
+                    return metrics;
+                } catch (Exception ex) {
+                    if (commits) {
+                        this.conn.rollback();
+                    }
+                    throw ex;
+                } finally {
+                    if (commits) {
+                        this.conn.setAutoCommit(autoCommit);
+                    }
+                }
+            } catch (DataFrameException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new DataFrameException("Failed to insert data from DataFrame into table named " + options.getTableName(), ex);
+            }
+        }
+
+        /**
+         * Writes the rows of this writer in batches, with multi-row statements if so configured
+         * In multi-row mode the batch size is rounded down to a whole number of statements, and any rows that do not
+         * fill a whole statement at the end of the range are inserted with one final statement sized to fit.
+         * In pipelined mode, the values of the next batch are extracted from the frame on a background thread while
+         * the current batch is bound and executed on this thread, so all JDBC calls stay on the connection's thread.
+         * @param adapters  the column adapters
+         * @throws Exception    if the write fails
+         */
+        private void write(List<ColumnAdapter> adapters) throws Exception {
+            final boolean multiRow = options.getInsertMode() == DbSinkOptions.InsertMode.MULTI_ROW;
+            final int groupSize = multiRow ? Math.max(1, Math.min(options.getBatchSize(), MAX_PARAMETERS / Math.max(1, adapters.size()))) : 1;
+            final int batchSize = groupSize * Math.max(1, options.getBatchSize() / groupSize);
+            final int tailStart = rowEnd - (rowEnd - rowStart) % groupSize;
+            final ExecutorService executor = options.isPipelined() ? Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "DataFrameDbExtractThread");
+                thread.setDaemon(true);
+                return thread;
+            }) : null;
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(getInsertSql(adapters, options, groupSize))) {
+                    Future<Batch> pending = executor != null && rowStart < tailStart ? extract(executor, adapters, rowStart, Math.min(tailStart, rowStart + batchSize)) : null;
+                    for (int start = rowStart; start < tailStart; start += batchSize) {
+                        final int end = Math.min(tailStart, start + batchSize);
+                        final int rows = end - start;
+                        if (pending == null) {
+                            this.bind(stmt, adapters, start, end, groupSize);
+                        } else {
+                            final Batch batch = await(pending);
+                            pending = end < tailStart ? extract(executor, adapters, end, Math.min(tailStart, end + batchSize)) : null;
+                            this.bind(stmt, adapters, batch, groupSize);
+                        }
+                        this.execute(stmt, rows);
+                    }
+                }
+                if (tailStart < rowEnd) {
+                    final int rows = rowEnd - tailStart;
+                    try (PreparedStatement stmt = conn.prepareStatement(getInsertSql(adapters, options, rows))) {
+                        this.bind(stmt, adapters, tailStart, rowEnd, rows);
+                        this.execute(stmt, rows);
+                    }
+                }
+            } finally {
+                if (executor != null) {
+                    executor.shutdownNow();
+                }
+            }
+        }
+
+        /**
+         * Binds the rows in the range to the statement, adding a JDBC batch entry for every group of rows
+         * @param stmt      the statement to bind to
+         * @param adapters  the column adapters
+         * @param start     the first row ordinal, inclusive
+         * @param end       the last row ordinal, exclusive
+         * @param groupSize the number of rows bound by each statement execution
+         * @throws SQLException if binding fails
+         */
+        private void bind(PreparedStatement stmt, List<ColumnAdapter> adapters, int start, int end, int groupSize) throws SQLException {
+            final long t1 = System.nanoTime();
+            final int columnCount = adapters.size();
+            for (int group = start; group < end; group += groupSize) {
+                for (int i=0; i<groupSize; ++i) {
+                    final int rowOrdinal = group + i;
+                    final int offset = i * columnCount;
+                    for (int j=0; j<columnCount; ++j) {
+                        adapters.get(j).apply(stmt, offset + j + 1, rowOrdinal);
+                    }
+                }
+                stmt.addBatch();
+            }
+            this.metrics.bound(System.nanoTime() - t1);
+        }
+
+        /**
+         * Binds the values of a batch extracted in advance to the statement, adding a JDBC batch entry for every group of rows
+         * @param stmt      the statement to bind to
+         * @param adapters  the column adapters
+         * @param batch     the batch of extracted values
+         * @param groupSize the number of rows bound by each statement execution
+         * @throws SQLException if binding fails
+         */
+        private void bind(PreparedStatement stmt, List<ColumnAdapter> adapters, Batch batch, int groupSize) throws SQLException {
+            final long t1 = System.nanoTime();
+            final int columnCount = adapters.size();
+            final int groupLength = groupSize * columnCount;
+            for (int offset = 0; offset < batch.values.length; offset += groupLength) {
+                for (int i=0; i<groupLength; ++i) {
+                    adapters.get(i % columnCount).bind(stmt, i + 1, batch.values[offset + i]);
+                }
+                stmt.addBatch();
+            }
+            this.metrics.bound(batch.nanos + System.nanoTime() - t1);
+        }
+
+        /**
+         * Submits a task to extract the values for the rows in the range, without touching the connection
+         * @param executor  the executor to extract on
+         * @param adapters  the column adapters
+         * @param start     the first row ordinal, inclusive
+         * @param end       the last row ordinal, exclusive
+         * @return          the future batch of extracted values
+         */
+        private Future<Batch> extract(ExecutorService executor, List<ColumnAdapter> adapters, int start, int end) {
+            return executor.submit(() -> {
+                final long t1 = System.nanoTime();
+                final int columnCount = adapters.size();
+                final Object[] values = new Object[(end - start) * columnCount];
+                for (int rowOrdinal = start, index = 0; rowOrdinal < end; ++rowOrdinal) {
+                    for (int j=0; j<columnCount; ++j) {
+                        values[index++] = adapters.get(j).extract(rowOrdinal);
+                    }
+                }
+                return new Batch(values, System.nanoTime() - t1);
+            });
+        }
+
+        /**
+         * Executes the batch bound to the statement, and commits if the commit batch count has been reached
+         * @param stmt  the statement to execute
+         * @param rows  the number of rows in batch
+         * @throws SQLException if execution fails
+         */
+        private void execute(PreparedStatement stmt, int rows) throws SQLException {
+            final long t1 = System.nanoTime();
+            stmt.executeBatch();
+            this.metrics.executed(rows, System.nanoTime() - t1);
+            final int commitBatchCount = options.getCommitBatchCount();
+            if (commitBatchCount > 0 && metrics.getBatchCount() % commitBatchCount == 0) {
+                this.commit();
+            }
+        }
+
+        /**
+         * Commits the current transaction
+         * @throws SQLException if commit fails
+         */
+        private void commit() throws SQLException {
+            final long t1 = System.nanoTime();
+            this.conn.commit();
+            this.metrics.committed(System.nanoTime() - t1);
+        }
+
+        /**
+         * Waits for the pending batch to be extracted, propagating any failure
+         * @param pending   the pending batch
+         * @return          the extracted batch
+         * @throws Exception    if the extraction failed
+         */
+        private Batch await(Future<Batch> pending) throws Exception {
+            try {
+                return pending.get();
+            } catch (ExecutionException ex) {
+                throw ex.getCause() instanceof Exception ? (Exception)ex.getCause() : ex;
+            }
+        }
+    }
+
+
+    /**
+     * A batch of parameter values extracted from the frame in row major order, ready to be bound to a statement
+     */
+    private static class Batch {
+
+        private Object[] values;
+        private long nanos;
+
+        /**
+         * Constructor
+         * @param values    the extracted values, in row major order
+         * @param nanos     the time taken to extract
+         */
+        Batch(Object[] values, long nanos) {
+            this.values = values;
+            this.nanos = nanos;
+        }
+    }
+
+
+
     /**
      * A convenience base class for building an adapter that maps DataFrame content to a SQL column of a well defined type
      */
@@ -341,9 +618,50 @@ public class DbSink<R,C> implements DataFrameSink<R,C,DbSinkOptions<R,C>> {
          * Applies a parameter value to the SQL PreparedStatement
          * @param stmt          the PreparedStatement to apply parameter to
          * @param stmtIndex     the statement index for parameter
-         * @param row           the row to extract a value from
+         * @param rowOrdinal    the ordinal of the row to extract a value from
+         */
+        abstract void apply(PreparedStatement stmt, int stmtIndex, int rowOrdinal);
+
+        /**
+         * Extracts the value for a row mapped to its SQL representation, without touching any JDBC resources
+         * @param rowOrdinal    the ordinal of the row to extract a value from
+         * @return              the SQL value, null for SQL NULL
+         */
+        abstract Object extract(int rowOrdinal);
+
+        /**
+         * Binds a value previously returned by extract() to the SQL PreparedStatement
+         * @param stmt          the PreparedStatement to apply parameter to
+         * @param stmtIndex     the statement index for parameter
+         * @param value         the extracted value, null for SQL NULL
          */
-        abstract void apply(PreparedStatement stmt, int stmtIndex, DataFrameRow<R,C> row);
+        void bind(PreparedStatement stmt, int stmtIndex, Object value) {
+            try {
+                if (value == null) {
+                    stmt.setNull(stmtIndex, colType.getTypeCode());
+                } else if (value instanceof Boolean) {
+                    stmt.setBoolean(stmtIndex, (Boolean)value);
+                } else if (value instanceof Integer) {
+                    stmt.setInt(stmtIndex, (Integer)value);
+                } else if (value instanceof Long) {
+                    stmt.setLong(stmtIndex, (Long)value);
+                } else if (value instanceof Double) {
+                    stmt.setDouble(stmtIndex, (Double)value);
+                } else if (value instanceof String) {
+                    stmt.setString(stmtIndex, (String)value);
+                } else if (value instanceof Date) {
+                    stmt.setDate(stmtIndex, (Date)value);
+                } else if (value instanceof Time) {
+                    stmt.setTime(stmtIndex, (Time)value);
+                } else if (value instanceof Timestamp) {
+                    stmt.setTimestamp(stmtIndex, (Timestamp)value);
+                } else {
+                    stmt.setObject(stmtIndex, value);
+                }
+            } catch (Exception ex) {
+                throw new DataFrameException("Failed to bind value to SQL statement for column " + colName + ": " + value, ex);
+            }
+        }
     }
 
 
@@ -354,16 +672,19 @@ public class DbSink<R,C> implements DataFrameSink<R,C,DbSinkOptions<R,C>> {
 
         private SQLType rowKeyType;
         private Class<?> rowKeyClass;
+        private DataFrame<R,C> frame;
         private Function1<R,?> rowKeyMapper;
 
         /**
          * Constructor
          * @param colName   the column name
          * @param colType   the column type
+         * @param frame     the frame to write
          * @param options   the sink options
          */
-        RowKeyAdapter(String colName, SQLType colType, DbSinkOptions<R,C> options) {
+        RowKeyAdapter(String colName, SQLType colType, DataFrame<R,C> frame, DbSinkOptions<R,C> options) {
             super(colName, colType);
+            this.frame = frame;
             this.rowKeyMapper = options.getRowKeyMapper().orElseThrow(() -> new IllegalStateException("No mapper specified for row key mapping: " + colName));
             this.rowKeyClass = options.getRowKeySqlClass().orElseThrow(() -> new IllegalStateException("No SQL type specified for row key mapping: " + colName));
             this.rowKeyType = Optional.ofNullable(sqlTypeMap.get(rowKeyClass)).orElseThrow(() ->
@@ -372,23 +693,28 @@ public class DbSink<R,C> implements DataFrameSink<R,C,DbSinkOptions<R,C>> {
         }
 
         @Override
-        void apply(PreparedStatement stmt, int stmtIndex, DataFrameRow<R, C> row) {
-            final R rowKey = row.key();
+        void apply(PreparedStatement stmt, int stmtIndex, int rowOrdinal) {
+            this.bind(stmt, stmtIndex, extract(rowOrdinal));
+        }
+
+        @Override
+        Object extract(int rowOrdinal) {
+            final R rowKey = frame.rows().key(rowOrdinal);
             try {
                 switch (rowKeyType) {
-                    case BIT:       stmt.setBoolean(stmtIndex, rowKeyMapper.applyAsBoolean(rowKey));             break;
-                    case BOOLEAN:   stmt.setBoolean(stmtIndex, rowKeyMapper.applyAsBoolean(rowKey));             break;
-                    case TINYINT:   stmt.setInt(stmtIndex, rowKeyMapper.applyAsInt(rowKey));                     break;
-                    case SMALLINT:  stmt.setInt(stmtIndex, rowKeyMapper.applyAsInt(rowKey));                     break;
-                    case FLOAT:     stmt.setDouble(stmtIndex, rowKeyMapper.applyAsDouble(rowKey));               break;
-                    case INTEGER:   stmt.setInt(stmtIndex, rowKeyMapper.applyAsInt(rowKey));                     break;
-                    case BIGINT:    stmt.setLong(stmtIndex, rowKeyMapper.applyAsLong(rowKey));                   break;
-                    case DOUBLE:    stmt.setDouble(stmtIndex, rowKeyMapper.applyAsDouble(rowKey));               break;
-                    case DECIMAL:   stmt.setDouble(stmtIndex, rowKeyMapper.applyAsDouble(rowKey));               break;
-                    case VARCHAR:   stmt.setString(stmtIndex, (String)rowKeyMapper.apply(rowKey));          break;
-                    case DATE:      stmt.setDate(stmtIndex, (Date)rowKeyMapper.apply(rowKey));              break;
-                    case TIME:      stmt.setTime(stmtIndex, (Time)rowKeyMapper.apply(rowKey));              break;
-                    case DATETIME:  stmt.setTimestamp(stmtIndex, (Timestamp)rowKeyMapper.apply(rowKey));    break;
+                    case BIT:       return rowKeyMapper.applyAsBoolean(rowKey);
+                    case BOOLEAN:   return rowKeyMapper.applyAsBoolean(rowKey);
+                    case TINYINT:   return rowKeyMapper.applyAsInt(rowKey);
+                    case SMALLINT:  return rowKeyMapper.applyAsInt(rowKey);
+                    case FLOAT:     return rowKeyMapper.applyAsDouble(rowKey);
+                    case INTEGER:   return rowKeyMapper.applyAsInt(rowKey);
+                    case BIGINT:    return rowKeyMapper.applyAsLong(rowKey);
+                    case DOUBLE:    return rowKeyMapper.applyAsDouble(rowKey);
+                    case DECIMAL:   return rowKeyMapper.applyAsDouble(rowKey);
+                    case VARCHAR:   return (String)rowKeyMapper.apply(rowKey);
+                    case DATE:      return (Date)rowKeyMapper.apply(rowKey);
+                    case TIME:      return (Time)rowKeyMapper.apply(rowKey);
+                    case DATETIME:  return (Timestamp)rowKeyMapper.apply(rowKey);
                     default:    throw new IllegalStateException("Unsupported column type:" + rowKeyType);
                 }
             } catch (Exception ex) {
@@ -403,6 +729,10 @@ public class DbSink<R,C> implements DataFrameSink<R,C,DbSinkOptions<R,C>> {
      */
     private class ValueAdapter extends ColumnAdapter {
 
+        private int colOrdinal;
+        private boolean direct;
+        private ArrayType dataType;
+        private DataFrameContent<R,C> data;
         private DataFrameCursor<R,C> cursor;
         private Function1<DataFrameValue<R,C>,?> mapper;
 
@@ -412,34 +742,115 @@ public class DbSink<R,C> implements DataFrameSink<R,C,DbSinkOptions<R,C>> {
          * @param colType   the column SQL type
          * @param cursor    the frame cursor, initialized to the correct column ordinal
          * @param mapper    the mapper to apply DataFrameValue to appropriate SQL type
+         * @param direct    true to bind values directly from the frame column, bypassing the cursor and mapper
          */
-        ValueAdapter(String colName, SQLType colType, DataFrameCursor<R,C> cursor, Function1<DataFrameValue<R,C>,?> mapper) {
+        ValueAdapter(String colName, SQLType colType, DataFrameCursor<R,C> cursor, Function1<DataFrameValue<R,C>,?> mapper, boolean direct) {
             super(colName, colType);
             this.cursor = cursor;
             this.mapper = mapper;
+            this.direct = direct;
+            this.data = cursor.frame().data();
+            this.colOrdinal = cursor.colOrdinal();
+            this.dataType = ArrayType.of(cursor.frame().cols().type(cursor.colKey()));
+        }
+
+        @Override()
+        void apply(PreparedStatement stmt, int stmtIndex, int rowOrdinal) {
+            if (direct) {
+                this.applyDirect(stmt, stmtIndex, rowOrdinal);
+            } else {
+                this.bind(stmt, stmtIndex, extractMapped(rowOrdinal));
+            }
         }
 
         @Override()
-        void apply(PreparedStatement stmt, int stmtIndex, DataFrameRow<R,C> row) {
+        Object extract(int rowOrdinal) {
+            return direct ? extractDirect(rowOrdinal) : extractMapped(rowOrdinal);
+        }
+
+        /**
+         * Applies a value read straight from the column to the statement, which is only used for default mappings
+         * @param stmt          the PreparedStatement to apply parameter to
+         * @param stmtIndex     the statement index for parameter
+         * @param rowOrdinal    the ordinal of the row to extract a value from
+         */
+        private void applyDirect(PreparedStatement stmt, int stmtIndex, int rowOrdinal) {
             try {
-                this.cursor.atRowOrdinal(row.ordinal());
+                switch (dataType) {
+                    case BOOLEAN:   stmt.setBoolean(stmtIndex, data.getBoolean(rowOrdinal, colOrdinal));  break;
+                    case INTEGER:   stmt.setInt(stmtIndex, data.getInt(rowOrdinal, colOrdinal));          break;
+                    case LONG:      stmt.setLong(stmtIndex, data.getLong(rowOrdinal, colOrdinal));        break;
+                    case DOUBLE:
+                        final double value = data.getDouble(rowOrdinal, colOrdinal);
+                        if (Double.isNaN(value)) {
+                            stmt.setNull(stmtIndex, colType.getTypeCode());
+                        } else {
+                            stmt.setDouble(stmtIndex, value);
+                        }
+                        break;
+                    default:
+                        final String text = data.getValue(rowOrdinal, colOrdinal);
+                        if (text == null) {
+                            stmt.setNull(stmtIndex, colType.getTypeCode());
+                        } else {
+                            stmt.setString(stmtIndex, text);
+                        }
+                        break;
+                }
+            } catch (Exception ex) {
+                final String coordinates = String.format("(%s, %s)", cursor.frame().rows().key(rowOrdinal), cursor.colKey());
+                throw new DataFrameException("Failed to apply value to SQL statement at " + coordinates, ex);
+            }
+        }
+
+        /**
+         * Extracts a value read straight from the column, which is only used for default mappings
+         * @param rowOrdinal    the ordinal of the row to extract a value from
+         * @return              the SQL value, null for SQL NULL
+         */
+        private Object extractDirect(int rowOrdinal) {
+            try {
+                switch (dataType) {
+                    case BOOLEAN:   return data.getBoolean(rowOrdinal, colOrdinal);
+                    case INTEGER:   return data.getInt(rowOrdinal, colOrdinal);
+                    case LONG:      return data.getLong(rowOrdinal, colOrdinal);
+                    case DOUBLE:
+                        final double value = data.getDouble(rowOrdinal, colOrdinal);
+                        return Double.isNaN(value) ? null : value;
+                    default:
+                        return data.getValue(rowOrdinal, colOrdinal);
+                }
+            } catch (Exception ex) {
+                final String coordinates = String.format("(%s, %s)", cursor.frame().rows().key(rowOrdinal), cursor.colKey());
+                throw new DataFrameException("Failed to apply value to SQL statement at " + coordinates, ex);
+            }
+        }
+
+        /**
+         * Extracts a value via the cursor and column mapper
+         * @param rowOrdinal    the ordinal of the row to extract a value from
+         * @return              the SQL value, null for SQL NULL
+         */
+        private Object extractMapped(int rowOrdinal) {
+            try {
+                this.cursor.atRowOrdinal(rowOrdinal);
                 if (cursor.isNull()) {
-                    stmt.setNull(stmtIndex, colType.getTypeCode());
+                    return null;
                 } else {
                     switch (colType) {
-                        case BIT:       stmt.setBoolean(stmtIndex, mapper.applyAsBoolean(cursor));          break;
-                        case BOOLEAN:   stmt.setBoolean(stmtIndex, mapper.applyAsBoolean(cursor));          break;
-                        case TINYINT:   stmt.setInt(stmtIndex, mapper.applyAsInt(cursor));                  break;
-                        case SMALLINT:  stmt.setInt(stmtIndex, mapper.applyAsInt(cursor));                  break;
-                        case FLOAT:     stmt.setDouble(stmtIndex, mapper.applyAsDouble(cursor));            break;
-                        case INTEGER:   stmt.setInt(stmtIndex, mapper.applyAsInt(cursor));                  break;
-                        case BIGINT:    stmt.setLong(stmtIndex, mapper.applyAsLong(cursor));                break;
-                        case DOUBLE:    stmt.setDouble(stmtIndex, mapper.applyAsDouble(cursor));            break;
-                        case DECIMAL:   stmt.setDouble(stmtIndex, mapper.applyAsDouble(cursor));            break;
-                        case VARCHAR:   stmt.setString(stmtIndex, (String)mapper.apply(cursor));            break;
-                        case DATE:      stmt.setDate(stmtIndex, (Date)mapper.apply(cursor));                break;
-                        case TIME:      stmt.setTime(stmtIndex, (Time)mapper.apply(cursor));                break;
-                        case DATETIME:  stmt.setTimestamp(stmtIndex, (Timestamp)mapper.apply(cursor));      break;
+                        case BIT:       return mapper.applyAsBoolean(cursor);
+                        case BOOLEAN:   return mapper.applyAsBoolean(cursor);
+                        case TINYINT:   return mapper.applyAsInt(cursor);
+                        case SMALLINT:  return mapper.applyAsInt(cursor);
+                        case FLOAT:     return mapper.applyAsDouble(cursor);
+                        case INTEGER:   return mapper.applyAsInt(cursor);
+                        case BIGINT:    return mapper.applyAsLong(cursor);
+                        case DOUBLE:    return mapper.applyAsDouble(cursor);
+                        case DECIMAL:   return mapper.applyAsDouble(cursor);
+                        case VARCHAR:   return (String)mapper.apply(cursor);
+                        case DATE:      return (Date)mapper.apply(cursor);
+                        case TIME:      return (Time)mapper.apply(cursor);
+                        case DATETIME:  return (Timestamp)mapper.apply(cursor);
                         default:    throw new IllegalStateException("Unsupported column type:" + colType);
                     }
                 }
@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.sink;
+
+/**
+ * A class that captures metrics for a DataFrame write to a SQL database table, which are reported to the metrics listener
+ *
+ * Bind and execute times are summed across all writers, so with parallel writers or pipelining they can exceed the elapsed time.
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class DbSinkMetrics {
+
+    private int writerCount;
+    private long rowCount;
+    private long batchCount;
+    private long commitCount;
+    private long bindNanos;
+    private long executeNanos;
+    private long elapsedNanos;
+
+    /**
+     * Constructor
+     */
+    DbSinkMetrics() {
+        super();
+    }
+
+    /**
+     * Returns the number of writers used
+     * @return  the number of writers
+     */
+    public int getWriterCount() {
+        return writerCount;
+    }
+
+    /**
+     * Returns the number of rows inserted
+     * @return  the number of rows inserted
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of batches executed
+     * @return  the number of batches executed
+     */
+    public long getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Returns the number of explicit commits, which is zero unless a commit batch count is set
+     * @return  the number of commits
+     */
+    public long getCommitCount() {
+        return commitCount;
+    }
+
+    /**
+     * Returns the total time spent binding values to statements
+     * @return  the bind time in nanoseconds
+     */
+    public long getBindNanos() {
+        return bindNanos;
+    }
+
+    /**
+     * Returns the total time spent executing statements, including commits
+     * @return  the execute time in nanoseconds
+     */
+    public long getExecuteNanos() {
+        return executeNanos;
+    }
+
+    /**
+     * Returns the elapsed time for the write, excluding table creation
+     * @return  the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Records a bound batch
+     * @param nanos     the time taken to bind
+     */
+    void bound(long nanos) {
+        this.bindNanos += nanos;
+    }
+
+    /**
+     * Records an executed batch
+     * @param rows      the number of rows in batch
+     * @param nanos     the time taken to execute
+     */
+    void executed(int rows, long nanos) {
+        this.batchCount++;
+        this.rowCount += rows;
+        this.executeNanos += nanos;
+    }
+
+    /**
+     * Records a commit
+     * @param nanos     the time taken to commit
+     */
+    void committed(long nanos) {
+        this.commitCount++;
+        this.executeNanos += nanos;
+    }
+
+    /**
+     * Adds the metrics of a writer to these metrics
+     * @param other     the writer metrics
+     */
+    void add(DbSinkMetrics other) {
+        this.writerCount++;
+        this.rowCount += other.rowCount;
+        this.batchCount += other.batchCount;
+        this.commitCount += other.commitCount;
+        this.bindNanos += other.bindNanos;
+        this.executeNanos += other.executeNanos;
+    }
+
+    /**
+     * Sets the elapsed time for the write
+     * @param elapsedNanos  the elapsed time in nanoseconds
+     */
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DbSinkMetrics{writers=%s, rows=%s, batches=%s, commits=%s, bindMillis=%s, executeMillis=%s, elapsedMillis=%s}",
+            writerCount, rowCount, batchCount, commitCount, bindNanos / 1000000L, executeNanos / 1000000L, elapsedNanos / 1000000L
+        );
+    }
+}
@@ -26,9 +26,11 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import javax.sql.DataSource;
@@ -49,8 +51,13 @@ import com.zavtech.morpheus.util.sql.SQLPlatform;
 public class DbSinkOptions<R,C> {
 
     private int batchSize;
+    private int writerCount;
+    private int commitBatchCount;
+    private boolean pipelined;
     private String tableName;
+    private InsertMode insertMode;
     private Connection connection;
+    private DataSource dataSource;
     private SQLPlatform platform;
     private ColumnMappings columnMappings;
     private String autoIncrementColumnName;
@@ -58,12 +65,31 @@ public class DbSinkOptions<R,C> {
     private String rowKeyColumn;
     private Class<?> rowKeySqlClass;
     private Function1<R,?> rowKeyMapper;
+    private Consumer<DbSinkMetrics> metricsListener;
+
+    /**
+     * The strategies available to insert rows into the target table
+     */
+    public enum InsertMode {
+
+        /**
+         * One parameterized INSERT per row, added to a JDBC batch that is executed every batch size rows
+         */
+        BATCH,
+
+        /**
+         * Multi-row INSERT ... VALUES (...), (...) statements, each binding as many rows as the parameter limit allows
+         */
+        MULTI_ROW
+    }
 
     /**
      * Constructor
      */
     public DbSinkOptions() {
         this.batchSize = 1000;
+        this.writerCount = 1;
+        this.insertMode = InsertMode.BATCH;
         this.columnNames = Object::toString;
         this.columnMappings = new ColumnMappings();
     }
@@ -76,6 +102,46 @@ public class DbSinkOptions<R,C> {
         return batchSize;
     }
 
+    /**
+     * Returns the number of concurrent writers
+     * @return  the number of writers
+     */
+    int getWriterCount() {
+        return writerCount;
+    }
+
+    /**
+     * Returns the number of batches between commits, zero to leave the connection auto commit setting unchanged
+     * @return  the number of batches per commit
+     */
+    int getCommitBatchCount() {
+        return commitBatchCount;
+    }
+
+    /**
+     * Returns true if the next batch is bound while the previous batch executes
+     * @return  true if pipelined
+     */
+    boolean isPipelined() {
+        return pipelined;
+    }
+
+    /**
+     * Returns the strategy used to insert rows
+     * @return  the insert mode
+     */
+    InsertMode getInsertMode() {
+        return insertMode;
+    }
+
+    /**
+     * Returns the optional listener to receive metrics once the write completes
+     * @return  the optional metrics listener
+     */
+    Optional<Consumer<DbSinkMetrics>> getMetricsListener() {
+        return Optional.ofNullable(metricsListener);
+    }
+
     /**
      * Returns the table name to write to
      * @return  the table name
@@ -97,7 +163,19 @@ public class DbSinkOptions<R,C> {
      * @return  the database connection
      */
     Connection getConnection() {
-        return connection;
+        try {
+            return connection != null ? connection : dataSource.getConnection();
+        } catch (SQLException ex) {
+            throw new DataFrameException("Failed to access a DB connection from DataSource", ex);
+        }
+    }
+
+    /**
+     * Returns the optional DataSource for these options, which is required for more than one writer
+     * @return  the optional data source
+     */
+    Optional<DataSource> getDataSource() {
+        return Optional.ofNullable(dataSource);
     }
 
     /**
@@ -156,6 +234,50 @@ public class DbSinkOptions<R,C> {
         this.batchSize = batchSize;
     }
 
+    /**
+     * Sets the number of writers that insert disjoint row ranges concurrently, each on its own connection
+     * More than one writer requires a DataSource, and each writer commits independently, so a failed write may leave
+     * rows from other writers in the table. Databases that lock the whole file for writes, such as SQLite, gain nothing.
+     * @param writerCount   the number of writers, 1 by default
+     */
+    public void setWriterCount(int writerCount) {
+        this.writerCount = writerCount;
+    }
+
+    /**
+     * Sets the number of batches between explicit commits, with auto commit disabled for the duration of the write
+     * Batches committed before a failure remain in the table, while uncommitted batches are rolled back.
+     * @param commitBatchCount  the number of batches per commit, zero to leave auto commit unchanged
+     */
+    public void setCommitBatchCount(int commitBatchCount) {
+        this.commitBatchCount = commitBatchCount;
+    }
+
+    /**
+     * Sets whether the values of the next batch should be extracted on a background thread while the previous batch executes
+     * All JDBC calls, including binding, stay on the writer's thread, so the connection is never used by two threads at once.
+     * @param pipelined true to pipeline batches
+     */
+    public void setPipelined(boolean pipelined) {
+        this.pipelined = pipelined;
+    }
+
+    /**
+     * Sets the strategy used to insert rows into the target table
+     * @param insertMode    the insert mode, BATCH by default
+     */
+    public void setInsertMode(InsertMode insertMode) {
+        this.insertMode = insertMode;
+    }
+
+    /**
+     * Sets a listener to receive metrics for the write once it completes
+     * @param metricsListener   the metrics listener
+     */
+    public void setMetricsListener(Consumer<DbSinkMetrics> metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
     /**
      * Sets the target table name to write to
      * @param tableName the fully qualified table name
@@ -175,15 +297,12 @@ public class DbSinkOptions<R,C> {
 
     /**
      * Sets the JDBC data source for this request
+     * Connections are taken from the DataSource when the write executes, one for each writer
      * @param dataSource    the DataSource the grab a connection from
      */
     public void setConnection(DataSource dataSource) {
         Objects.requireNonNull(dataSource, "The SQL data source cannot be null");
-        try {
-            this.connection = dataSource.getConnection();
-        } catch (SQLException ex) {
-            throw new RuntimeException("Failed to access a DB connection from DataSource", ex);
-        }
+        this.dataSource = dataSource;
     }
 
     /**
@@ -255,24 +374,25 @@ public class DbSinkOptions<R,C> {
 
         private Map<Class<?>,Class<?>> sqlTypeMap = new HashMap<>();
         private Map<Class<?>,Function1<DataFrameValue<R,C>,?>> mapperMap = new HashMap<>();
+        private Set<Class<?>> customSet = new HashSet<>();
 
         /**
          * Constructor
          */
         ColumnMappings() {
-            this.add(Boolean.class, Boolean.class, Function1.toBoolean(DataFrameValue::getBoolean));
-            this.add(Integer.class, Integer.class, Function1.toInt(DataFrameValue::getInt));
-            this.add(Long.class, Long.class, Function1.toLong(DataFrameValue::getLong));
-            this.add(Double.class, Double.class, Function1.toDouble(DataFrameValue::getDouble));
-            this.add(String.class, String.class, Function1.toValue(DataFrameValue::<String>getValue));
-            this.add(java.sql.Date.class, java.sql.Date.class, Function1.toValue(DataFrameValue::<Date>getValue));
-            this.add(java.sql.Time.class, java.sql.Time.class, Function1.toValue(DataFrameValue::<Time>getValue));
-            this.add(java.sql.Timestamp.class, java.sql.Timestamp.class, Function1.toValue(DataFrameValue::<Timestamp>getValue));
-            this.add(java.util.Date.class, java.sql.Date.class, Function1.toValue(v -> new Date(v.<java.util.Date>getValue().getTime())));
-            this.add(LocalTime.class, Time.class, Function1.toValue(v -> Time.valueOf(v.<LocalTime>getValue())));
-            this.add(LocalDate.class, java.sql.Date.class, Function1.toValue(v -> Date.valueOf(v.<LocalDate>getValue())));
-            this.add(LocalDateTime.class, Timestamp.class, Function1.toValue(v -> Timestamp.valueOf(v.<LocalDateTime>getValue())));
-            this.add(ZonedDateTime.class, Timestamp.class, Function1.toValue(v -> Timestamp.valueOf(v.<ZonedDateTime>getValue().toLocalDateTime())));
+            this.register(Boolean.class, Boolean.class, Function1.toBoolean(DataFrameValue::getBoolean));
+            this.register(Integer.class, Integer.class, Function1.toInt(DataFrameValue::getInt));
+            this.register(Long.class, Long.class, Function1.toLong(DataFrameValue::getLong));
+            this.register(Double.class, Double.class, Function1.toDouble(DataFrameValue::getDouble));
+            this.register(String.class, String.class, Function1.toValue(DataFrameValue::<String>getValue));
+            this.register(java.sql.Date.class, java.sql.Date.class, Function1.toValue(DataFrameValue::<Date>getValue));
+            this.register(java.sql.Time.class, java.sql.Time.class, Function1.toValue(DataFrameValue::<Time>getValue));
+            this.register(java.sql.Timestamp.class, java.sql.Timestamp.class, Function1.toValue(DataFrameValue::<Timestamp>getValue));
+            this.register(java.util.Date.class, java.sql.Date.class, Function1.toValue(v -> new Date(v.<java.util.Date>getValue().getTime())));
+            this.register(LocalTime.class, Time.class, Function1.toValue(v -> Time.valueOf(v.<LocalTime>getValue())));
+            this.register(LocalDate.class, java.sql.Date.class, Function1.toValue(v -> Date.valueOf(v.<LocalDate>getValue())));
+            this.register(LocalDateTime.class, Timestamp.class, Function1.toValue(v -> Timestamp.valueOf(v.<LocalDateTime>getValue())));
+            this.register(ZonedDateTime.class, Timestamp.class, Function1.toValue(v -> Timestamp.valueOf(v.<ZonedDateTime>getValue().toLocalDateTime())));
         }
 
         /**
@@ -317,6 +437,28 @@ public class DbSinkOptions<R,C> {
          * @param <B>       the JDBC type
          */
         public <A,B> void add(Class<A> dataClass, Class<B> sqlClass, Function1<DataFrameValue<R,C>,B> mapper) {
+            this.register(dataClass, sqlClass, mapper);
+            this.customSet.add(dataClass);
+        }
+
+        /**
+         * Returns true if the mapping for the data type is the default, which allows values to be bound directly
+         * @param dataType  the DataFrame column type class
+         * @return          true if the mapping has not been replaced
+         */
+        boolean isDefault(Class<?> dataType) {
+            return !customSet.contains(dataType);
+        }
+
+        /**
+         * Registers a mapping between a DataFrame column type and the approprivate JDBC type
+         * @param dataClass  the DataFrame column data type
+         * @param sqlClass   the SQL data type supported by JDBC
+         * @param mapper    the mapper function to transform A into B
+         * @param <A>       the DataFrame column type
+         * @param <B>       the JDBC type
+         */
+        private <A,B> void register(Class<A> dataClass, Class<B> sqlClass, Function1<DataFrameValue<R,C>,B> mapper) {
             Asserts.notNull(dataClass, "The data type cannot be null");
             Asserts.notNull(sqlClass, "The sql type cannot be null");
             Asserts.notNull(mapper, "The sql mapper function cannot be nul");
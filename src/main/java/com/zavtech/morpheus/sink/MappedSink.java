@@ -0,0 +1,282 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.sink;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.array.ArrayType;
+import com.zavtech.morpheus.array.mapped.MappedArrayConstructor;
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.frame.DataFrameContent;
+import com.zavtech.morpheus.frame.DataFrameException;
+import com.zavtech.morpheus.frame.DataFrameSink;
+import com.zavtech.morpheus.util.Initialiser;
+
+/**
+ * A DataFrameSink implementation that writes a DataFrame to a named directory of memory mapped files which can be reopened later.
+ *
+ * The directory contains one memory mapped file per column, a memory mapped file for the row keys if their type
+ * can be mapped, and a small header that records the row count, the key types, the column keys and the column
+ * data types. Reading the directory back with the MappedSource maps the existing files directly, so no data
+ * is copied or re-initialised. Files are written to temporary files alongside the existing ones, which are then
+ * unmapped, closed and moved into place with the header moved last, so a write that fails before the moves begin
+ * leaves the previous version untouched. The moves are made one file at a time and are not atomic as a group, so a
+ * directory must not be opened while it is being re-written, and a failure part way through the moves can leave a
+ * mix of old and new files. Column files left over from a previous version with more columns are deleted once the
+ * new header is in place.
+ *
+ * Values such as zone ids and currencies are stored as codes derived from tables in the running JVM, which can
+ * change between Java releases, so the header also records the values for the codes used by each such file.
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class MappedSink<R,C> implements DataFrameSink<R,C,MappedSinkOptions> {
+
+    public static final int VERSION = 2;
+    public static final String HEADER_FILE = "header.dat";
+    public static final String ROW_KEYS_FILE = "rows.dat";
+
+    /**
+     * Constructor
+     */
+    public MappedSink() {
+        super();
+    }
+
+
+    /**
+     * Returns the name of the memory mapped file for the column ordinal specified
+     * @param colOrdinal    the column ordinal
+     * @return              the file name for column
+     */
+    public static String columnFile(int colOrdinal) {
+        return "column-" + colOrdinal + ".dat";
+    }
+
+
+    /**
+     * Returns true if values of the type specified can be stored in a memory mapped file
+     * @param type  the data type
+     * @return      true if type can be memory mapped
+     */
+    public static boolean isMappable(Class<?> type) {
+        if (type.isEnum()) {
+            return true;
+        } else {
+            switch (ArrayType.of(type)) {
+                case BOOLEAN:           return true;
+                case INTEGER:           return true;
+                case LONG:              return true;
+                case DOUBLE:            return true;
+                case CURRENCY:          return true;
+                case YEAR:              return true;
+                case ZONE_ID:           return true;
+                case TIME_ZONE:         return true;
+                case DATE:              return true;
+                case INSTANT:           return true;
+                case LOCAL_DATE:        return true;
+                case LOCAL_TIME:        return true;
+                case LOCAL_DATETIME:    return true;
+                case ZONED_DATETIME:    return true;
+                default:                return false;
+            }
+        }
+    }
+
+
+    @Override
+    public void write(DataFrame<R,C> frame, Consumer<MappedSinkOptions> configurator) {
+        final MappedSinkOptions options = Initialiser.apply(MappedSinkOptions.class, configurator);
+        final File directory = options.getDirectory();
+        if (directory == null) {
+            throw new DataFrameException("The directory for a memory mapped DataFrame cannot be null");
+        } else {
+            final List<File> written = new ArrayList<>();
+            final Map<String,Map<Integer,Object>> codeTables = new HashMap<>();
+            try {
+                if (!directory.exists() && !directory.mkdirs()) {
+                    throw new DataFrameException("Unable to create directory for memory mapped DataFrame: " + directory.getAbsolutePath());
+                }
+                final Class<R> rowKeyType = frame.rows().keyType();
+                final boolean rowKeysMapped = isMappable(rowKeyType);
+                if (rowKeysMapped) {
+                    written.add(writeRowKeys(frame, directory, codeTables));
+                }
+                for (int j=0; j<frame.colCount(); ++j) {
+                    written.add(writeColumn(frame, j, directory, codeTables));
+                }
+                written.add(writeHeader(frame, rowKeysMapped, directory, codeTables));
+                for (File temp : written) {
+                    final String name = temp.getName().substring(0, temp.getName().length() - 4);
+                    final File target = new File(directory, name);
+                    Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                deleteStale(directory, frame.colCount(), rowKeysMapped);
+            } catch (DataFrameException ex) {
+                written.forEach(File::delete);
+                throw ex;
+            } catch (Exception ex) {
+                written.forEach(File::delete);
+                throw new DataFrameException("Failed to write memory mapped DataFrame to " + directory.getAbsolutePath(), ex);
+            }
+        }
+    }
+
+
+    /**
+     * Deletes files left in the directory by a previous version of the frame that are not part of the current version
+     * @param directory     the output directory
+     * @param colCount      the number of columns in the current version
+     * @param rowKeysMapped true if the current version has a row keys file
+     */
+    private void deleteStale(File directory, int colCount, boolean rowKeysMapped) {
+        final File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                final String name = file.getName();
+                if (name.startsWith("column-") && name.endsWith(".dat")) {
+                    try {
+                        final int colOrdinal = Integer.parseInt(name.substring(7, name.length() - 4));
+                        if (colOrdinal >= colCount && !file.delete()) {
+                            throw new DataFrameException("Unable to delete stale memory mapped column file: " + file.getAbsolutePath());
+                        }
+                    } catch (NumberFormatException ex) {
+                        // not a column file written by this sink
+                    }
+                } else if (name.equals(ROW_KEYS_FILE) && !rowKeysMapped && !file.delete()) {
+                    throw new DataFrameException("Unable to delete stale memory mapped row keys file: " + file.getAbsolutePath());
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Writes the header which describes the shape and types of the frame
+     * @param frame         the frame to write
+     * @param rowKeysMapped true if the row keys were written to a memory mapped file
+     * @param directory     the output directory
+     * @param codeTables    the code tables of the files written, keyed by file name
+     * @return              the temporary header file
+     */
+    private File writeHeader(DataFrame<R,C> frame, boolean rowKeysMapped, File directory, Map<String,Map<Integer,Object>> codeTables) throws Exception {
+        final File file = new File(directory, HEADER_FILE + ".tmp");
+        try (ObjectOutputStream os = new ObjectOutputStream(new FileOutputStream(file))) {
+            os.writeInt(VERSION);
+            os.writeInt(frame.rowCount());
+            os.writeObject(frame.rows().keyType());
+            os.writeBoolean(rowKeysMapped);
+            if (!rowKeysMapped) {
+                os.writeObject(frame.rows().keys().collect(Collectors.toCollection(ArrayList::new)));
+            } else {
+                os.writeObject(codeTables.get(ROW_KEYS_FILE));
+            }
+            os.writeObject(frame.cols().keyType());
+            os.writeInt(frame.colCount());
+            for (int j=0; j<frame.colCount(); ++j) {
+                final C colKey = frame.cols().key(j);
+                os.writeObject(colKey);
+                os.writeObject(frame.cols().type(colKey));
+                os.writeObject(codeTables.get(columnFile(j)));
+            }
+            return file;
+        }
+    }
+
+
+    /**
+     * Writes the row keys of the frame to a memory mapped file
+     * @param frame     the frame to write
+     * @param directory the output directory
+     * @param codeTables the code tables of the files written, keyed by file name
+     * @return          the temporary row keys file
+     */
+    private File writeRowKeys(DataFrame<R,C> frame, File directory, Map<String,Map<Integer,Object>> codeTables) {
+        final int rowCount = frame.rowCount();
+        final Class<R> keyType = frame.rows().keyType();
+        final File file = new File(directory, ROW_KEYS_FILE + ".tmp");
+        final Array<R> keys = Array.map(keyType, rowCount, ArrayType.defaultValue(keyType), file.getAbsolutePath());
+        try {
+            for (int i=0; i<rowCount; ++i) {
+                keys.setValue(i, frame.rows().key(i));
+            }
+            codeTables.put(ROW_KEYS_FILE, MappedArrayConstructor.getCodeTable(keys));
+            return file;
+        } finally {
+            MappedArrayConstructor.close(keys);
+        }
+    }
+
+
+    /**
+     * Writes the values of a column of the frame to a memory mapped file
+     * @param frame         the frame to write
+     * @param colOrdinal    the column ordinal
+     * @param directory     the output directory
+     * @param codeTables    the code tables of the files written, keyed by file name
+     * @return              the temporary column file
+     */
+    @SuppressWarnings("unchecked")
+    private File writeColumn(DataFrame<R,C> frame, int colOrdinal, File directory, Map<String,Map<Integer,Object>> codeTables) {
+        final int rowCount = frame.rowCount();
+        final C colKey = frame.cols().key(colOrdinal);
+        final Class<Object> dataType = (Class<Object>)frame.cols().type(colKey);
+        if (!isMappable(dataType)) {
+            throw new DataFrameException("Column " + colKey + " of type " + dataType.getSimpleName() + " cannot be memory mapped");
+        } else {
+            final File file = new File(directory, columnFile(colOrdinal) + ".tmp");
+            final Array<Object> array = Array.map(dataType, rowCount, ArrayType.defaultValue(dataType), file.getAbsolutePath());
+            try {
+                final DataFrameContent<R,C> data = frame.data();
+                switch (ArrayType.of(dataType)) {
+                    case BOOLEAN:
+                        for (int i=0; i<rowCount; ++i) array.setBoolean(i, data.getBoolean(i, colOrdinal));
+                        break;
+                    case INTEGER:
+                        for (int i=0; i<rowCount; ++i) array.setInt(i, data.getInt(i, colOrdinal));
+                        break;
+                    case LONG:
+                        for (int i=0; i<rowCount; ++i) array.setLong(i, data.getLong(i, colOrdinal));
+                        break;
+                    case DOUBLE:
+                        for (int i=0; i<rowCount; ++i) array.setDouble(i, data.getDouble(i, colOrdinal));
+                        break;
+                    default:
+                        for (int i=0; i<rowCount; ++i) array.setValue(i, data.getValue(i, colOrdinal));
+                        break;
+                }
+                codeTables.put(columnFile(colOrdinal), MappedArrayConstructor.getCodeTable(array));
+                return file;
+            } finally {
+                MappedArrayConstructor.close(array);
+            }
+        }
+    }
+
+}
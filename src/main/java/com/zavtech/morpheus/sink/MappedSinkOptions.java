@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.sink;
+
+import java.io.File;
+
+/**
+ * The options for writing a DataFrame to a directory of memory mapped files via the MappedSink
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class MappedSinkOptions {
+
+    private File directory;
+
+    /**
+     * Constructor
+     */
+    public MappedSinkOptions() {
+        super();
+    }
+
+    /**
+     * Returns the directory to write the memory mapped files to
+     * @return  the output directory
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Sets the directory to write the memory mapped files to
+     * @param directory the output directory, which will be created if it does not exist
+     */
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Sets the directory to write the memory mapped files to
+     * @param path  the output directory path, which will be created if it does not exist
+     */
+    public void setDirectory(String path) {
+        this.directory = new File(path);
+    }
+}
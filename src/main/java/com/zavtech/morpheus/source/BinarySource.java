@@ -0,0 +1,387 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.source;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.array.coding.IntCoding;
+import com.zavtech.morpheus.array.coding.LongCoding;
+import com.zavtech.morpheus.array.coding.WithIntCoding;
+import com.zavtech.morpheus.array.coding.WithLongCoding;
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.frame.DataFrameException;
+import com.zavtech.morpheus.frame.DataFrameSource;
+import com.zavtech.morpheus.sink.BinarySink;
+import com.zavtech.morpheus.util.FileRegionInputStream;
+
+/**
+ * A DataFrameSource implementation that loads a DataFrame from a file in the Morpheus columnar binary format written by the BinarySink.
+ *
+ * The footer is read first to locate the blocks, so columns excluded by the column predicate are never read. Primitive
+ * and coded blocks are read in bulk into a ByteBuffer and copied straight into dense arrays without any per-value
+ * parsing or boxing, and compressed blocks are inflated through the same buffer. Int codes are translated to the
+ * codes of the target array through a table built once per block from the code table recorded in the footer.
+ *
+ * @param <R>   the row key type
+ * @param <C>   the column key type
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class BinarySource<R,C> extends DataFrameSource<R,C,BinarySourceOptions<R,C>> {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Constructor
+     */
+    public BinarySource() {
+        super();
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public DataFrame<R,C> read(Consumer<BinarySourceOptions<R,C>> configurator) throws DataFrameException {
+        final BinarySourceOptions<R,C> options = initOptions(new BinarySourceOptions<>(), configurator);
+        final Predicate<C> colPredicate = options.getColPredicate().orElse(colKey -> true);
+        try (FileChannel channel = FileChannel.open(options.getFile().toPath(), StandardOpenOption.READ)) {
+            final long length = channel.size();
+            final ByteBuffer header = ByteBuffer.allocate(8);
+            final ByteBuffer trailer = ByteBuffer.allocate(BinarySink.TRAILER_BYTES);
+            channel.read(header, 0L);
+            channel.read(trailer, length - BinarySink.TRAILER_BYTES);
+            header.flip();
+            trailer.flip();
+            final int magic = header.getInt();
+            final int version = header.getInt();
+            final long footerOffset = trailer.getLong();
+            if (magic != BinarySink.MAGIC || trailer.getInt() != BinarySink.MAGIC) {
+                throw new DataFrameException("The file is not a Morpheus binary DataFrame: " + options.getFile().getAbsolutePath());
+            } else if (version < 1 || version > BinarySink.VERSION) {
+                throw new DataFrameException("Unsupported Morpheus binary DataFrame version: " + version);
+            } else {
+                final List<Block> blocks = new ArrayList<>();
+                final int rowCount;
+                final Class<C> colKeyType;
+                try (ObjectInputStream footer = new ObjectInputStream(new FileRegionInputStream(channel, footerOffset, length - BinarySink.TRAILER_BYTES))) {
+                    rowCount = footer.readInt();
+                    footer.readObject();
+                    colKeyType = (Class<C>)footer.readObject();
+                    final int colCount = footer.readInt();
+                    for (int j=0; j<=colCount; ++j) {
+                        blocks.add(new Block(footer, version));
+                    }
+                }
+                final Array<R> rowKeys = (Array<R>)readBlock(channel, blocks.get(0), rowCount);
+                final List<Block> colBlocks = new ArrayList<>();
+                final List<Array<?>> colArrays = new ArrayList<>();
+                for (Block block : blocks.subList(1, blocks.size())) {
+                    if (colPredicate.test((C)block.key)) {
+                        colBlocks.add(block);
+                        colArrays.add(readBlock(channel, block, rowCount));
+                    }
+                }
+                return DataFrame.of(rowKeys, colKeyType, columns -> {
+                    for (int j=0; j<colBlocks.size(); ++j) {
+                        columns.add((C)colBlocks.get(j).key, colArrays.get(j));
+                    }
+                });
+            }
+        } catch (DataFrameException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new DataFrameException("Failed to read binary DataFrame from " + options.getFile().getAbsolutePath(), ex);
+        }
+    }
+
+
+    /**
+     * Returns a dense array loaded from the block specified
+     * @param channel   the file channel
+     * @param block     the block descriptor
+     * @param count     the number of values in block
+     * @param <T>       the element type
+     * @return          the newly created array
+     * @throws Exception    if the block fails to read
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Array<T> readBlock(FileChannel channel, Block block, int count) throws Exception {
+        final Class<T> type = (Class<T>)block.type;
+        final Array<T> array = Array.of(type, count);
+        try (BlockReader reader = new BlockReader(channel, block)) {
+            switch (block.encoding) {
+                case BinarySink.BOOLEANS:
+                    for (int i=0; i<count;) {
+                        final ByteBuffer buffer = reader.next(1);
+                        final int n = Math.min(count - i, buffer.remaining());
+                        for (int k=0; k<n; ++k) array.setBoolean(i++, buffer.get() != 0);
+                    }
+                    break;
+                case BinarySink.INTS:
+                    for (int i=0; i<count;) {
+                        final ByteBuffer buffer = reader.next(4);
+                        final int n = Math.min(count - i, buffer.remaining() >> 2);
+                        for (int k=0; k<n; ++k) array.setInt(i++, buffer.getInt());
+                    }
+                    break;
+                case BinarySink.LONGS:
+                    for (int i=0; i<count;) {
+                        final ByteBuffer buffer = reader.next(8);
+                        final int n = Math.min(count - i, buffer.remaining() >> 3);
+                        for (int k=0; k<n; ++k) array.setLong(i++, buffer.getLong());
+                    }
+                    break;
+                case BinarySink.DOUBLES:
+                    for (int i=0; i<count;) {
+                        final ByteBuffer buffer = reader.next(8);
+                        final int n = Math.min(count - i, buffer.remaining() >> 3);
+                        for (int k=0; k<n; ++k) array.setDouble(i++, buffer.getDouble());
+                    }
+                    break;
+                case BinarySink.INT_CODES:
+                    final IntCoding<T> intCoding = block.codeTable != null ? IntCoding.ofTable(type, block.codeTable()) : BinarySink.intCoding(type);
+                    final int[] recode = array instanceof WithIntCoding ? recode(block, intCoding, ((WithIntCoding<T>)array).getCoding()) : null;
+                    final int nullCode = array instanceof WithIntCoding ? ((WithIntCoding<T>)array).getCoding().getCode(null) : -1;
+                    for (int i=0; i<count;) {
+                        final ByteBuffer buffer = reader.next(4);
+                        final int n = Math.min(count - i, buffer.remaining() >> 2);
+                        for (int k=0; k<n; ++k) {
+                            final int code = buffer.getInt();
+                            if (recode == null) {
+                                array.setValue(i++, intCoding.getValue(code));
+                            } else {
+                                array.setInt(i++, code < 0 ? nullCode : recode[code]);
+                            }
+                        }
+                    }
+                    break;
+                case BinarySink.LONG_CODES:
+                    final LongCoding<T> longCoding = BinarySink.longCoding(type);
+                    final boolean coded = array instanceof WithLongCoding;
+                    for (int i=0; i<count;) {
+                        final ByteBuffer buffer = reader.next(8);
+                        final int n = Math.min(count - i, buffer.remaining() >> 3);
+                        for (int k=0; k<n; ++k) {
+                            final long code = buffer.getLong();
+                            if (coded) {
+                                array.setLong(i++, code);
+                            } else {
+                                array.setValue(i++, longCoding.getValue(code));
+                            }
+                        }
+                    }
+                    break;
+                case BinarySink.STRINGS:
+                    final DataInputStream strings = new DataInputStream(reader.stream());
+                    for (int i=0; i<count; ++i) {
+                        final int length = strings.readInt();
+                        if (length >= 0) {
+                            final byte[] bytes = new byte[length];
+                            strings.readFully(bytes);
+                            array.setValue(i, (T)new String(bytes, StandardCharsets.UTF_8));
+                        }
+                    }
+                    break;
+                case BinarySink.OBJECTS:
+                    final ObjectInputStream objects = new ObjectInputStream(reader.stream());
+                    for (int i=0; i<count; ++i) {
+                        array.setValue(i, (T)objects.readObject());
+                    }
+                    break;
+                default:
+                    throw new DataFrameException("Unsupported block encoding in binary DataFrame: " + block.encoding);
+            }
+            return array;
+        }
+    }
+
+
+    /**
+     * Returns a table that translates the codes in an int coded block to the codes of the target array coding
+     * @param block     the block descriptor
+     * @param coding    the coding for the codes in the block
+     * @param target    the coding of the target array
+     * @param <T>       the value type
+     * @return          the target codes indexed by block code, or null if the block has no code table
+     */
+    private <T> int[] recode(Block block, IntCoding<T> coding, IntCoding<T> target) {
+        if (block.codeTable == null) {
+            return null;
+        } else {
+            final int maxCode = block.codeTable.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1);
+            final int[] recode = new int[maxCode + 1];
+            for (int code=0; code<=maxCode; ++code) {
+                recode[code] = target.getCode(coding.getValue(code));
+            }
+            return recode;
+        }
+    }
+
+
+    /**
+     * A descriptor for a block of values read from the footer
+     */
+    private static class Block {
+
+        private Object key;
+        private Class<?> type;
+        private int encoding;
+        private boolean compressed;
+        private long offset;
+        private long length;
+        private Map<Integer,?> codeTable;
+
+        /**
+         * Constructor
+         * @param footer    the footer stream to read the descriptor from
+         * @param version   the file format version
+         * @throws Exception    if the descriptor fails to read
+         */
+        @SuppressWarnings("unchecked")
+        Block(ObjectInputStream footer, int version) throws Exception {
+            this.key = footer.readObject();
+            this.type = (Class<?>)footer.readObject();
+            this.encoding = footer.readInt();
+            this.compressed = footer.readBoolean();
+            this.offset = footer.readLong();
+            this.length = footer.readLong();
+            this.codeTable = version < 2 ? null : (Map<Integer,?>)footer.readObject();
+        }
+
+        /**
+         * Returns the values keyed by code recorded for an int coded block, which is null in version 1 files
+         * @param <T>   the value type
+         * @return      the values keyed by code
+         */
+        @SuppressWarnings("unchecked")
+        <T> Map<Integer,T> codeTable() {
+            return (Map<Integer,T>)codeTable;
+        }
+    }
+
+
+    /**
+     * A reader that supplies the content of a block in bulk via a ByteBuffer, inflating it if it was compressed
+     */
+    private static class BlockReader implements Closeable {
+
+        private long position;
+        private long end;
+        private ByteBuffer buffer;
+        private FileChannel channel;
+        private Inflater decompressor;
+        private InputStream inflater;
+
+        /**
+         * Constructor
+         * @param channel   the file channel
+         * @param block     the block descriptor
+         */
+        BlockReader(FileChannel channel, Block block) {
+            this.channel = channel;
+            this.position = block.offset;
+            this.end = block.offset + block.length;
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            this.buffer.flip();
+            if (block.compressed) {
+                this.decompressor = new Inflater();
+                this.inflater = new InflaterInputStream(new FileRegionInputStream(channel, position, end), decompressor, BUFFER_SIZE);
+            }
+        }
+
+        /**
+         * Returns a stream over the content of the block, for variable width encodings
+         * @return  the stream over block content
+         */
+        InputStream stream() {
+            return inflater != null ? inflater : new FileRegionInputStream(channel, position, end);
+        }
+
+        /**
+         * Returns the buffer after ensuring it has at least the number of bytes specified remaining
+         * @param bytes     the minimum number of bytes required
+         * @return          the buffer positioned at the next unread byte
+         * @throws IOException  if there is an I/O error
+         */
+        ByteBuffer next(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                this.buffer.compact();
+                while (buffer.position() < bytes) {
+                    if (read() < 0) {
+                        throw new DataFrameException("Unexpected end of block in binary DataFrame");
+                    }
+                }
+                this.buffer.flip();
+            }
+            return buffer;
+        }
+
+        /**
+         * Reads more content into the buffer
+         * @return  the number of bytes read, -1 if the block is exhausted
+         * @throws IOException  if there is an I/O error
+         */
+        private int read() throws IOException {
+            if (inflater != null) {
+                final int count = inflater.read(buffer.array(), buffer.position(), buffer.remaining());
+                if (count > 0) {
+                    this.buffer.position(buffer.position() + count);
+                }
+                return count;
+            } else if (position >= end) {
+                return -1;
+            } else {
+                this.buffer.limit((int)Math.min(buffer.capacity(), buffer.position() + (end - position)));
+                final int count = channel.read(buffer, position);
+                this.buffer.limit(buffer.capacity());
+                this.position += Math.max(0, count);
+                return count;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (inflater != null) {
+                    this.inflater.close();
+                }
+            } finally {
+                if (decompressor != null) {
+                    this.decompressor.end();
+                }
+            }
+        }
+    }
+
+}
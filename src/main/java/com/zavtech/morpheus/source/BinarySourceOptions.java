@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.source;
+
+import java.io.File;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import com.zavtech.morpheus.frame.DataFrameSource;
+import com.zavtech.morpheus.util.Asserts;
+
+/**
+ * The options to load a DataFrame from a file in the Morpheus columnar binary format via the BinarySource
+ *
+ * @param <R>   the row key type
+ * @param <C>   the column key type
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class BinarySourceOptions<R,C> implements DataFrameSource.Options<R,C> {
+
+    private File file;
+    private Predicate<C> colPredicate;
+
+    /**
+     * Constructor
+     */
+    public BinarySourceOptions() {
+        super();
+    }
+
+
+    @Override
+    public void validate() {
+        Asserts.notNull(getFile(), "The binary options file cannot be null");
+    }
+
+    /**
+     * Returns the file to read from
+     * @return  the input file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the column predicate for these options
+     * @return  the optional column predicate
+     */
+    public Optional<Predicate<C>> getColPredicate() {
+        return Optional.ofNullable(colPredicate);
+    }
+
+    /**
+     * Sets the file to read from
+     * @param file  the input file
+     */
+    public void setFile(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Sets the file to read from
+     * @param path  the input file path
+     */
+    public void setFile(String path) {
+        this.file = new File(path);
+    }
+
+    /**
+     * Sets the column predicate to load a subset of columns, in which case the other column blocks are never read
+     * @param colPredicate  the column predicate, null permitted
+     */
+    public void setColPredicate(Predicate<C> colPredicate) {
+        this.colPredicate = colPredicate;
+    }
+}
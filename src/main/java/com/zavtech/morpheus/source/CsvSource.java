@@ -16,13 +16,20 @@
 package com.zavtech.morpheus.source;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -41,11 +48,15 @@ import com.univocity.parsers.csv.CsvParser;
 import com.univocity.parsers.csv.CsvParserSettings;
 
 import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.array.coding.IntCoding;
 import com.zavtech.morpheus.frame.DataFrame;
 import com.zavtech.morpheus.frame.DataFrameContent;
 import com.zavtech.morpheus.frame.DataFrameException;
 import com.zavtech.morpheus.frame.DataFrameSource;
 import com.zavtech.morpheus.index.Index;
+import com.zavtech.morpheus.range.Range;
+import com.zavtech.morpheus.util.ComputeContext;
+import com.zavtech.morpheus.util.FileRegionInputStream;
 import com.zavtech.morpheus.util.Resource;
 import com.zavtech.morpheus.util.http.HttpClient;
 import com.zavtech.morpheus.util.text.Formats;
@@ -62,6 +73,7 @@ import com.zavtech.morpheus.util.text.parser.Parser;
  */
 public class CsvSource<R> extends DataFrameSource<R,String,CsvSourceOptions<R>> {
 
+    private static final int BUFFER_SIZE = 1 << 16;
 
     /**
      * Constructor
@@ -77,7 +89,7 @@ public class CsvSource<R> extends DataFrameSource<R,String,CsvSourceOptions<R>>
             final CsvSourceOptions<R> options = initOptions(new CsvSourceOptions<>(), configurator);
             final Resource resource = options.getResource();
             switch (resource.getType()) {
-                case FILE:          return parse(options, new FileInputStream(resource.asFile()));
+                case FILE:          return parse(options, resource.asFile());
                 case URL:           return parse(options, resource.asURL());
                 case INPUT_STREAM:  return parse(options, resource.asInputStream());
                 default:    throw new DataFrameException("Unsupported resource specified in CSVRequest: " + resource);
@@ -116,6 +128,25 @@ public class CsvSource<R> extends DataFrameSource<R,String,CsvSourceOptions<R>>
     }
 
 
+    /**
+     * Returns a DataFrame parsed from the file specified, in chunks if configured to do so
+     * @param options   the CSV options
+     * @param file      the file to parse
+     * @return          the DataFrame parsed from file
+     * @throws IOException      if there file read error
+     */
+    private DataFrame<R,String> parse(CsvSourceOptions<R> options, File file) throws IOException {
+        final int chunkSize = options.getChunkSize();
+        final Charset charset = options.getCharset().orElse(StandardCharsets.UTF_8);
+        final boolean asciiLineBreaks = "\n".getBytes(charset).length == 1;
+        if (chunkSize > 0 && asciiLineBreaks && file.length() > chunkSize) {
+            return parseChunks(options, file);
+        } else {
+            return parse(options, new FileInputStream(file));
+        }
+    }
+
+
     /**
      * Returns a DataFrame parsed from the stream specified stream
      * @param stream    the stream to parse
@@ -123,24 +154,137 @@ public class CsvSource<R> extends DataFrameSource<R,String,CsvSourceOptions<R>>
      * @throws IOException      if there stream read error
      */
     private DataFrame<R,String> parse(CsvSourceOptions<R> options, InputStream stream) throws IOException {
+        return handle(options, stream).getFrame();
+    }
+
+
+    /**
+     * Parses the stream specified and returns the handler that captured the content
+     * @param stream    the stream to parse
+     * @return          the handler which has parsed the stream
+     * @throws IOException      if there stream read error
+     */
+    private CsvRequestHandler handle(CsvSourceOptions<R> options, InputStream stream) throws IOException {
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, options.getCharset().orElse(StandardCharsets.UTF_8)))) {
             final CsvRequestHandler handler = new CsvRequestHandler(options);
-            final CsvParserSettings settings = new CsvParserSettings();
-            settings.getFormat().setDelimiter(options.getDelimiter());
+            final CsvParserSettings settings = createSettings(options);
             settings.setHeaderExtractionEnabled(options.isHeader());
-            settings.setLineSeparatorDetectionEnabled(true);
             settings.setProcessor(handler);
-            settings.setIgnoreTrailingWhitespaces(true);
-            settings.setIgnoreLeadingWhitespaces(true);
-            settings.setMaxColumns(options.getMaxColumns().orElse(10_000));
-            settings.setReadInputOnSeparateThread(false);
             final CsvParser parser = new CsvParser(settings);
             parser.parse(reader);
-            return handler.getFrame();
+            return handler;
+        }
+    }
+
+
+    /**
+     * Returns newly created parser settings based on the options provided
+     * @param options   the CSV options
+     * @return          the parser settings
+     */
+    private CsvParserSettings createSettings(CsvSourceOptions<R> options) {
+        final CsvParserSettings settings = new CsvParserSettings();
+        settings.getFormat().setDelimiter(options.getDelimiter());
+        settings.setLineSeparatorDetectionEnabled(true);
+        settings.setIgnoreTrailingWhitespaces(true);
+        settings.setIgnoreLeadingWhitespaces(true);
+        settings.setMaxColumns(options.getMaxColumns().orElse(10_000));
+        settings.setReadInputOnSeparateThread(false);
+        return settings;
+    }
+
+
+    /**
+     * Returns a DataFrame parsed from a file that is split into chunks aligned on line breaks, which are parsed in parallel
+     * The first read batch of rows is parsed up front to resolve the columns and their parsers, after which each remaining
+     * chunk is tokenised and parsed into column arrays on a thread of the current ComputeContext, with at most the worker
+     * count of chunks in flight, and the chunks are then stitched onto the frame in file order. Each chunk parses with its
+     * own copies of the column parsers, as parsers such as those for dates hold mutable state.
+     * @param options   the CSV options
+     * @param file      the file to parse
+     * @return          the DataFrame parsed from file
+     * @throws IOException      if there file read error
+     */
+    @SuppressWarnings("unchecked")
+    private DataFrame<R,String> parseChunks(CsvSourceOptions<R> options, File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long length = channel.size();
+            final int sampleLines = options.getReadBatchSize() + (options.isHeader() ? 1 : 0);
+            final long sampleEnd = skipLines(channel, 0L, sampleLines);
+            final CsvRequestHandler handler = handle(options, new FileRegionInputStream(channel, 0L, sampleEnd));
+            final DataFrame<R,String> frame = handler.getFrame();
+            if (sampleEnd >= length || handler.headers == null) {
+                return frame;
+            } else {
+                final int bytesPerRow = (int)Math.max(1L, sampleEnd / sampleLines);
+                final List<CsvChunk> chunks = new ArrayList<>();
+                for (long start = sampleEnd; start < length;) {
+                    final long end = skipLines(channel, Math.min(length, start + options.getChunkSize()) - 1L, 1);
+                    chunks.add(new CsvChunk(options, handler, channel, start, end, bytesPerRow));
+                    start = end;
+                }
+                final int workerCount = Math.min(options.getWorkerCount(), chunks.size());
+                ComputeContext.current().run(() -> IntStream.range(0, workerCount).parallel().forEach(worker -> {
+                    for (int i=worker; i<chunks.size(); i += workerCount) {
+                        chunks.get(i).run();
+                    }
+                }));
+                final int fromRowIndex = frame.rowCount();
+                final int rowCount = chunks.stream().mapToInt(chunk -> chunk.rowCount).sum();
+                if (handler.rowKeyParser == null) {
+                    final Range<Integer> rowKeys = Range.of(fromRowIndex, fromRowIndex + rowCount);
+                    frame.rows().addAll((Iterable<R>)rowKeys);
+                } else {
+                    for (CsvChunk chunk : chunks) {
+                        frame.rows().addAll(chunk.keys.copy(0, chunk.rowCount));
+                    }
+                }
+                final DataFrameContent<R,String> data = frame.data();
+                ComputeContext.current().run(() -> IntStream.range(0, frame.colCount()).parallel().forEach(j -> {
+                    int rowIndex = fromRowIndex;
+                    for (CsvChunk chunk : chunks) {
+                        final Array<Object> column = chunk.columns[j];
+                        switch (handler.parsers[j].getStyle()) {
+                            case BOOLEAN:   for (int i=0; i<chunk.rowCount; ++i) data.setBoolean(rowIndex + i, j, column.getBoolean(i));   break;
+                            case INTEGER:   for (int i=0; i<chunk.rowCount; ++i) data.setInt(rowIndex + i, j, column.getInt(i));           break;
+                            case LONG:      for (int i=0; i<chunk.rowCount; ++i) data.setLong(rowIndex + i, j, column.getLong(i));         break;
+                            case DOUBLE:    for (int i=0; i<chunk.rowCount; ++i) data.setDouble(rowIndex + i, j, column.getDouble(i));     break;
+                            default:        for (int i=0; i<chunk.rowCount; ++i) data.setValue(rowIndex + i, j, column.getValue(i));       break;
+                        }
+                        rowIndex += chunk.rowCount;
+                    }
+                }));
+                return frame;
+            }
         }
     }
 
 
+    /**
+     * Returns the file position immediately after the specified number of line breaks from the position provided
+     * @param channel   the file channel to scan
+     * @param position  the position to start scanning from
+     * @param count     the number of line breaks to skip
+     * @return          the position after the last line break skipped, or the file length if there are fewer line breaks
+     * @throws IOException  if there is a file read error
+     */
+    private static long skipLines(FileChannel channel, long position, int count) throws IOException {
+        int remaining = count;
+        final long length = channel.size();
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (position < length) {
+            buffer.clear();
+            final int read = Math.max(0, channel.read(buffer, position));
+            for (int i=0; i<read; ++i) {
+                if (buffer.get(i) == '\n' && --remaining <= 0) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return length;
+    }
+
 
     /**
      * A RowProcessor that receives callbacks and incrementally builds the DataFrame.
@@ -155,6 +299,7 @@ public class CsvSource<R> extends DataFrameSource<R,String,CsvSourceOptions<R>>
         private volatile boolean done;
         private DataBatch<R> batch;
         private Parser<?>[] parsers;
+        private IntCoding<?>[] codings;
         private CsvSourceOptions<R> options;
         private DataFrame<R,String> frame;
         private CountDownLatch countDownLatch;
@@ -311,6 +456,7 @@ public class CsvSource<R> extends DataFrameSource<R,String,CsvSourceOptions<R>>
             this.rowValues = new String[colCount];
             this.batch = new DataBatch<>(options, colCount);
             this.parsers = new Parser[colCount];
+            this.codings = new IntCoding[colCount];
         }
 
 
@@ -365,7 +511,14 @@ public class CsvSource<R> extends DataFrameSource<R,String,CsvSourceOptions<R>>
                         final String[] rawValues = batch.colData(i);
                         final Optional<Parser<?>> userParser = getParser(options.getFormats(), colName);
                         final Optional<Class<?>> colType = getColumnType(colName);
-                        if (colType.isPresent()) {
+                        final Optional<IntCoding<?>> coding = options.getColumnCoding(colName);
+                        if (coding.isPresent()) {
+                            final Class<?> type = coding.get().getType();
+                            final Parser<?> parser = userParser.orElse(formats.getParserOrFail(type, Object.class));
+                            this.parsers[i] = parser;
+                            this.codings[i] = coding.get();
+                            this.frame.cols().add(colName, Array.of(coding.get(), 0));
+                        } else if (colType.isPresent()) {
                             final Class<?> type = colType.get();
                             final Parser<?> parser = userParser.orElse(formats.getParserOrFail(type, Object.class));
                             this.parsers[i] = parser;
@@ -476,6 +629,120 @@ public class CsvSource<R> extends DataFrameSource<R,String,CsvSourceOptions<R>>
     }
 
 
+    /**
+     * A Runnable that tokenises and parses a byte range of a CSV file into column arrays using copies of the parsers resolved by the handler
+     */
+    private class CsvChunk implements Runnable {
+
+        private long start;
+        private long end;
+        private int rowCount;
+        private int capacity;
+        private int bytesPerRow;
+        private Array<R> keys;
+        private Array<Object>[] columns;
+        private FileChannel channel;
+        private CsvSourceOptions<R> options;
+        private CsvRequestHandler handler;
+
+        /**
+         * Constructor
+         * @param options       the CSV options
+         * @param handler       the handler that parsed the first batch of rows
+         * @param channel       the file channel to read from
+         * @param start         the start position of chunk, aligned on a line break
+         * @param end           the end position of chunk, aligned on a line break
+         * @param bytesPerRow   the estimated bytes per row, used to size the column arrays
+         */
+        CsvChunk(CsvSourceOptions<R> options, CsvRequestHandler handler, FileChannel channel, long start, long end, int bytesPerRow) {
+            this.options = options;
+            this.handler = handler;
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.bytesPerRow = bytesPerRow;
+        }
+
+
+        @Override
+        public void run() {
+            final Charset charset = options.getCharset().orElse(StandardCharsets.UTF_8);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileRegionInputStream(channel, start, end), charset))) {
+                final int[] colIndexes = handler.colIndexes;
+                final Parser<?>[] parsers = Arrays.stream(handler.parsers).map(Parser::copy).toArray(Parser<?>[]::new);
+                final Predicate<String[]> rowPredicate = handler.rowPredicate;
+                final Function<String[],R> rowKeyParser = handler.rowKeyParser;
+                final CsvParser parser = new CsvParser(createSettings(options));
+                this.initArrays((int)Math.min(Integer.MAX_VALUE - 8, Math.max(16L, (end - start) / bytesPerRow)));
+                parser.beginParsing(reader);
+                String[] row;
+                while ((row = parser.parseNext()) != null) {
+                    if (rowPredicate == null || rowPredicate.test(row)) {
+                        if (rowCount == capacity) {
+                            this.expandArrays(rowCount + (rowCount >> 1));
+                        }
+                        if (rowKeyParser != null) {
+                            this.keys.setValue(rowCount, rowKeyParser.apply(row));
+                        }
+                        for (int j=0; j<colIndexes.length; ++j) {
+                            final int colIndex = colIndexes[j];
+                            final String rawValue = row.length > colIndex ? row[colIndex] : null;
+                            final Parser<?> colParser = parsers[j];
+                            switch (colParser.getStyle()) {
+                                case BOOLEAN:   columns[j].setBoolean(rowCount, colParser.applyAsBoolean(rawValue));  break;
+                                case INTEGER:   columns[j].setInt(rowCount, colParser.applyAsInt(rawValue));          break;
+                                case LONG:      columns[j].setLong(rowCount, colParser.applyAsLong(rawValue));        break;
+                                case DOUBLE:    columns[j].setDouble(rowCount, colParser.applyAsDouble(rawValue));    break;
+                                default:        columns[j].setValue(rowCount, colParser.apply(rawValue));             break;
+                            }
+                        }
+                        this.rowCount++;
+                    }
+                }
+            } catch (DataFrameException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new DataFrameException("Failed to parse CSV chunk at byte offset " + start + ", row " + rowCount, ex);
+            }
+        }
+
+
+        /**
+         * Initializes the arrays for this chunk with the column types of the frame
+         * @param capacity  the initial capacity
+         */
+        @SuppressWarnings("unchecked")
+        private void initArrays(int capacity) {
+            final DataFrame<R,String> frame = handler.frame;
+            this.capacity = capacity;
+            this.columns = new Array[frame.colCount()];
+            for (int j=0; j<columns.length; ++j) {
+                final IntCoding<Object> coding = (IntCoding<Object>)handler.codings[j];
+                final Class<Object> type = (Class<Object>)frame.cols().type(frame.cols().key(j));
+                this.columns[j] = coding != null ? Array.of(coding, capacity) : Array.of(type, capacity);
+            }
+            if (handler.rowKeyParser != null) {
+                this.keys = Array.of(options.getRowAxisType(), capacity);
+            }
+        }
+
+
+        /**
+         * Expands the arrays for this chunk to the capacity specified
+         * @param capacity  the new capacity
+         */
+        private void expandArrays(int capacity) {
+            this.capacity = capacity;
+            for (Array<Object> column : columns) {
+                column.expand(capacity);
+            }
+            if (keys != null) {
+                this.keys.expand(capacity);
+            }
+        }
+    }
+
+
     /**
      * A class that represents a batch of raw CSV that needs to be parsed into type specific values
      * @param <X>       the row key type
@@ -29,8 +29,10 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import com.zavtech.morpheus.array.coding.IntCoding;
 import com.zavtech.morpheus.frame.DataFrameSource;
 import com.zavtech.morpheus.util.Asserts;
+import com.zavtech.morpheus.util.ComputeContext;
 import com.zavtech.morpheus.util.Predicates;
 import com.zavtech.morpheus.util.Resource;
 import com.zavtech.morpheus.util.functions.ObjectIntBiFunction;
@@ -60,8 +62,11 @@ public class CsvSourceOptions<R> implements DataFrameSource.Options<R,String> {
     private Predicate<String> colNamePredicate;
     private Predicate<Integer> colIndexPredicate;
     private Map<String,Class<?>> colTypeMap = new HashMap<>();
+    private Map<String,IntCoding<?>> colCodingMap = new HashMap<>();
     private ObjectIntBiFunction<String,String> columnNameMapping;
     private int maxColumns;
+    private int chunkSize;
+    private int workerCount;
 
     /**
      * Constructor
@@ -72,6 +77,7 @@ public class CsvSourceOptions<R> implements DataFrameSource.Options<R,String> {
         this.rowCapacity = 1000;
         this.readBatchSize = 1000;
         this.maxColumns = 10_000;
+        this.workerCount = ComputeContext.current().getParallelism();
         this.formats = new Formats();
         this.rowAxisType = (Class<R>)Integer.class;
         this.charset = StandardCharsets.UTF_8;
@@ -84,6 +90,8 @@ public class CsvSourceOptions<R> implements DataFrameSource.Options<R,String> {
         Asserts.notNull(getFormats(), "The CSV formats cannot be null");
         Asserts.notNull(getRowAxisType(), "The CSV row axis type cannot be null");
         Asserts.notNull(getCharset(), "The CSV charset cannot be null");
+        Asserts.check(getChunkSize() >= 0, "The CSV chunk size cannot be negative");
+        Asserts.check(getWorkerCount() > 0, "The CSV worker count must be > 0");
     }
 
     /**
@@ -142,6 +150,22 @@ public class CsvSourceOptions<R> implements DataFrameSource.Options<R,String> {
         return readBatchSize;
     }
 
+    /**
+     * Returns the size in bytes of the chunks a CSV file is split into for parallel parsing
+     * @return  the chunk size in bytes, zero if files are parsed as a single stream
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Returns the maximum number of chunks of a CSV file parsed concurrently on the threads of the current ComputeContext
+     * @return  the number of chunk workers
+     */
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
     /**
      * Returns the log batch size for printing progress to std out
      * @return  the log batch size for printing progress to std out
@@ -184,6 +208,25 @@ public class CsvSourceOptions<R> implements DataFrameSource.Options<R,String> {
         return Optional.ofNullable(colTypeMap.get(colName));
     }
 
+    /**
+     * Returns the optional coding for the column name, matching column name regular expressions if there is no exact match
+     * @param colName   the column name
+     * @return          the optional column coding
+     */
+    public Optional<IntCoding<?>> getColumnCoding(String colName) {
+        final IntCoding<?> coding = colCodingMap.get(colName);
+        if (coding != null) {
+            return Optional.of(coding);
+        } else {
+            for (Map.Entry<String,IntCoding<?>> entry : colCodingMap.entrySet()) {
+                if (colName.matches(entry.getKey())) {
+                    return Optional.of(entry.getValue());
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
     /**
      * Returns the optional column name predicate for this request
      * @return  the optional column name predicate
@@ -347,6 +390,24 @@ public class CsvSourceOptions<R> implements DataFrameSource.Options<R,String> {
         this.readBatchSize = readBatchSize;
     }
 
+    /**
+     * Sets the size in bytes of the chunks a CSV file is split into so that each can be parsed on a separate worker
+     * Chunks are aligned on line breaks, so this mode only applies to file resources with an ASCII compatible
+     * charset whose quoted values do not contain line breaks.
+     * @param chunkSize the chunk size in bytes, zero to parse files as a single stream
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Sets the maximum number of chunks of a CSV file parsed concurrently on the threads of the current ComputeContext
+     * @param workerCount   the number of chunk workers
+     */
+    public void setWorkerCount(int workerCount) {
+        this.workerCount = workerCount;
+    }
+
     /**
      * Sets the log batch size for reporting progress to std out
      * @param logBatchSize  the log batch size for reporting read progress
@@ -442,6 +503,17 @@ public class CsvSourceOptions<R> implements DataFrameSource.Options<R,String> {
         }
     }
 
+    /**
+     * Applies a coding for the column name specified, so values are stored as int codes, typically against a dictionary
+     * For example, IntCoding.ofString() loads a String column of repeated values as codes into a dictionary of
+     * distinct values. All columns matched by the expression share the coding instance provided.
+     * @param colNameRegex  the column name, which can be a regular expression
+     * @param coding        the coding for column values
+     */
+    public void setColumnCoding(String colNameRegex, IntCoding<?> coding) {
+        this.colCodingMap.put(colNameRegex, coding);
+    }
+
     /**
      * Applies a parser function for the column name and type specified
      * @param colNameRegex  the column name, which can be a regular expression
@@ -15,15 +15,28 @@
  */
 package com.zavtech.morpheus.source;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongFunction;
 
 import com.zavtech.morpheus.array.Array;
 import com.zavtech.morpheus.array.ArrayBuilder;
@@ -40,12 +53,17 @@ import com.zavtech.morpheus.util.sql.SQLType;
 /**
  * A DataFrameSource designed to handle read DataFrames from a SQL data store
  *
+ * Rows are read into preallocated primitive column chunks which are stitched together once the ResultSet is drained, or
+ * delivered to a batch handler as they fill. A query can also be split into ranges of a partition column, in which case
+ * the partitions are executed concurrently on separate connections from a DataSource.
+ *
  * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
  *
  * @author  Xavier Witdouck
  */
 public class DbSource<R> extends DataFrameSource<R,String,DbSourceOptions<R>> {
 
+    private static final int MAX_CHUNK_SIZE = 1 << 16;
 
     /**
      * Constructor
@@ -58,63 +76,225 @@ public class DbSource<R> extends DataFrameSource<R,String,DbSourceOptions<R>> {
     @Override
     public DataFrame<R, String> read(Consumer<DbSourceOptions<R>> configurator) throws DataFrameException {
         final DbSourceOptions<R> options = initOptions(new DbSourceOptions<>(), configurator);
+        try {
+            final Object[] args = options.getParameters().orElse(new Object[0]);
+            final SQL sql = SQL.of(options.getSql(), args);
+            final Consumer<DataFrame<R,String>> handler = options.getBatchHandler().orElse(null);
+            if (!options.getPartitionColumn().isPresent()) {
+                return createFrame(Arrays.asList(read(options, sql, handler)), handler != null);
+            } else {
+                final List<SQL> partitions = getPartitions(options, args);
+                if (partitions.size() == 1) {
+                    return createFrame(Arrays.asList(read(options, partitions.get(0), handler)), handler != null);
+                } else {
+                    final Object lock = new Object();
+                    final Consumer<DataFrame<R,String>> serialHandler = handler == null ? null : batch -> {
+                        synchronized (lock) {
+                            handler.accept(batch);
+                        }
+                    };
+                    final List<Callable<DbReader>> tasks = new ArrayList<>(partitions.size());
+                    partitions.forEach(partition -> tasks.add(() -> read(options, partition, serialHandler)));
+                    return createFrame(execute(tasks), handler != null);
+                }
+            }
+        } catch (DataFrameException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new DataFrameException("Failed to create DataFrame from database request: " + options, ex);
+        }
+    }
+
+
+    /**
+     * Executes the SQL on a new connection and reads the results
+     * @param options   the request options
+     * @param sql       the SQL to execute
+     * @param handler   the optional batch handler, null to accumulate all rows
+     * @return          the reader with results
+     * @throws SQLException if there is a database access error
+     */
+    private DbReader read(DbSourceOptions<R> options, SQL sql, Consumer<DataFrame<R,String>> handler) throws SQLException {
         try (Connection conn = options.getConnection()) {
             conn.setAutoCommit(options.isAutoCommit());
             conn.setReadOnly(options.isReadOnly());
             final int fetchSize = options.getFetchSize().orElse(1000);
-            final SQL sql = SQL.of(options.getSql(), options.getParameters().orElse(new Object[0]));
-            return sql.executeQuery(conn, fetchSize, rs -> read(rs, options));
-        } catch (Exception ex) {
-            throw new DataFrameException("Failed to create DataFrame from database request: " + options, ex);
+            return sql.executeQuery(conn, fetchSize, rs -> new DbReader(options, handler).read(rs));
         }
     }
 
 
     /**
-     * Reads all data from the sql ResultSet into a Morpheus DataFrame
-     * @param resultSet     the result set to extract data from
-     * @param request       the request descriptor
-     * @return              the newly created DataFrame
-     * @throws DataFrameException if data frame construction from result set fails
+     * Executes the partition reads concurrently, each on its own thread
+     * @param tasks     the partition read tasks
+     * @return          the readers with results, in partition order
      */
-    @SuppressWarnings("unchecked")
-    private DataFrame<R,String> read(ResultSet resultSet, DbSourceOptions<R> request) throws DataFrameException {
+    private List<DbReader> execute(List<Callable<DbReader>> tasks) {
+        final ExecutorService executor = Executors.newFixedThreadPool(tasks.size(), runnable -> {
+            final Thread thread = new Thread(runnable, "DataFrameDbPartitionThread");
+            thread.setDaemon(true);
+            return thread;
+        });
         try {
-            final int rowCapacity = request.getRowCapacity();
-            final SQLPlatform platform = getPlatform(resultSet);
-            final ResultSetMetaData metaData = resultSet.getMetaData();
-            final List<ColumnInfo> columnList = getColumnInfo(metaData, platform, request);
-            final Function<ResultSet,R> rowKeyFunction = request.getRowKeyFunction();
-            if (!resultSet.next()) {
-                final Index<R> rowKeys = Index.empty();
-                return createFrame(rowKeys, columnList);
+            final List<DbReader> readers = new ArrayList<>(tasks.size());
+            for (Future<DbReader> future : executor.invokeAll(tasks)) {
+                readers.add(future.get());
+            }
+            return readers;
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof DataFrameException) {
+                throw (DataFrameException)ex.getCause();
             } else {
-                R rowKey = rowKeyFunction.apply(resultSet);
-                final Class<R> rowKeyType = (Class<R>) rowKey.getClass();
-                final ArrayBuilder<R> rowKeyBuilder = ArrayBuilder.of(rowCapacity, rowKeyType);
-                while (true) {
-                    rowKey = rowKeyFunction.apply(resultSet);
-                    rowKeyBuilder.add(rowKey);
-                    for (ColumnInfo colInfo : columnList) {
-                        colInfo.apply(resultSet);
-                    }
-                    if (!resultSet.next()) {
-                        break;
-                    }
-                }
-                final Array<R> rowKeys = rowKeyBuilder.toArray();
-                return createFrame(rowKeys, columnList);
+                throw new DataFrameException("Failed to read database partition", ex.getCause());
             }
-        } catch (DataFrameException ex) {
-            throw ex;
-        } catch (Throwable t) {
-            throw new DataFrameException("Failed to initialize DataFrame from ResultSet: " + t.getMessage(), t);
+        } catch (InterruptedException ex) {
+            throw new DataFrameException("Interrupted while reading database partitions", ex);
         } finally {
-            close(resultSet);
+            executor.shutdown();
+        }
+    }
+
+
+    /**
+     * Returns the partitioned queries, splitting the range of the partition column into even intervals
+     * The first partition also selects rows with a null partition value, and the first and last partitions are open
+     * ended so that no rows are lost to rounding of the interval bounds.
+     * @param options   the request options
+     * @param args      the SQL arguments
+     * @return          the list of partition queries
+     * @throws SQLException if there is a database access error
+     */
+    private List<SQL> getPartitions(DbSourceOptions<R> options, Object[] args) throws SQLException {
+        final String column = options.getPartitionColumn().get();
+        final String inner = options.getSql();
+        final SQL boundsSql = SQL.of("select min(" + column + "), max(" + column + ") from (" + inner + ") p", args);
+        final Object[] bounds;
+        try (Connection conn = options.getConnection()) {
+            bounds = boundsSql.executeQuery(conn, 1, rs -> {
+                try {
+                    return rs.next() ? new Object[] {rs.getObject(1), rs.getObject(2)} : new Object[2];
+                } catch (SQLException ex) {
+                    throw new DataFrameException("Failed to read bounds for partition column " + column, ex);
+                }
+            });
+        }
+        final List<Object> points = getSplitPoints(bounds[0], bounds[1], options.getPartitionCount());
+        final List<SQL> partitions = new ArrayList<>(points.size() + 1);
+        if (points.isEmpty()) {
+            partitions.add(SQL.of(inner, args));
+        } else {
+            final String select = "select * from (" + inner + ") p where ";
+            partitions.add(SQL.of(select + column + " is null or " + column + " < ?", append(args, points.get(0))));
+            for (int i=1; i<points.size(); ++i) {
+                final String where = column + " >= ? and " + column + " < ?";
+                partitions.add(SQL.of(select + where, append(args, points.get(i-1), points.get(i))));
+            }
+            partitions.add(SQL.of(select + column + " >= ?", append(args, points.get(points.size()-1))));
+        }
+        return partitions;
+    }
+
+
+    /**
+     * Returns the interior points that split the range between the bounds into at most count intervals
+     * @param lower     the lower bound of the partition column
+     * @param upper     the upper bound of the partition column
+     * @param count     the number of partitions
+     * @return          the strictly ascending interior points, empty if the range cannot be split
+     */
+    private List<Object> getSplitPoints(Object lower, Object upper, int count) {
+        final List<Object> points = new ArrayList<>(Math.max(0, count - 1));
+        if (lower == null || upper == null || count < 2) {
+            return points;
+        } else if (isIntegral(lower) && isIntegral(upper)) {
+            return getSplitPoints(((Number)lower).longValue(), ((Number)upper).longValue(), count, Long::valueOf);
+        } else if (lower instanceof Number && upper instanceof Number) {
+            final double start = ((Number)lower).doubleValue();
+            final double end = ((Number)upper).doubleValue();
+            for (int i=1; i<count; ++i) {
+                final double point = start + (end - start) * i / count;
+                if (point > start && point < end && (points.isEmpty() || point > (Double)points.get(points.size()-1))) {
+                    points.add(point);
+                }
+            }
+            return points;
+        } else if (lower instanceof java.sql.Date && upper instanceof java.sql.Date) {
+            final long start = ((java.sql.Date)lower).toLocalDate().toEpochDay();
+            final long end = ((java.sql.Date)upper).toLocalDate().toEpochDay();
+            return getSplitPoints(start, end, count, day -> java.sql.Date.valueOf(LocalDate.ofEpochDay(day)));
+        } else if (lower instanceof java.util.Date && upper instanceof java.util.Date) {
+            final long start = ((java.util.Date)lower).getTime();
+            final long end = ((java.util.Date)upper).getTime();
+            return getSplitPoints(start, end, count, Timestamp::new);
+        } else if (lower instanceof LocalDate && upper instanceof LocalDate) {
+            final long start = ((LocalDate)lower).toEpochDay();
+            final long end = ((LocalDate)upper).toEpochDay();
+            return getSplitPoints(start, end, count, LocalDate::ofEpochDay);
+        } else if (lower instanceof LocalDateTime && upper instanceof LocalDateTime) {
+            final long start = ((LocalDateTime)lower).toEpochSecond(ZoneOffset.UTC);
+            final long end = ((LocalDateTime)upper).toEpochSecond(ZoneOffset.UTC);
+            return getSplitPoints(start, end, count, seconds -> LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC));
+        } else {
+            throw new DataFrameException("Unsupported partition column type, must be numeric or a date: " + lower.getClass());
         }
     }
 
 
+    /**
+     * Returns the interior points that split the range between the bounds into at most count intervals
+     * @param start     the lower bound code
+     * @param end       the upper bound code
+     * @param count     the number of partitions
+     * @param decoder   the function to convert a code into a value that can be bound to a statement
+     * @return          the strictly ascending interior points
+     */
+    private List<Object> getSplitPoints(long start, long end, int count, LongFunction<Object> decoder) {
+        final List<Object> points = new ArrayList<>(count - 1);
+        final long span = end - start;
+        long previous = start;
+        for (int i=1; i<count && span > 0; ++i) {
+            final long point = start + (span / count) * i + (span % count) * i / count;
+            if (point > previous) {
+                points.add(decoder.apply(point));
+                previous = point;
+            }
+        }
+        return points;
+    }
+
+
+    /**
+     * Returns true if the value is a whole number type
+     * @param value the value to check
+     * @return      true if value is integral
+     */
+    private boolean isIntegral(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return true;
+        } else if (value instanceof BigInteger) {
+            return ((BigInteger)value).bitLength() < 64;
+        } else if (value instanceof BigDecimal) {
+            final BigDecimal decimal = (BigDecimal)value;
+            return decimal.scale() <= 0 || decimal.stripTrailingZeros().scale() <= 0;
+        } else {
+            return false;
+        }
+    }
+
+
+    /**
+     * Returns a copy of the SQL arguments with additional arguments appended
+     * @param args      the SQL arguments
+     * @param values    the values to append
+     * @return          the combined arguments
+     */
+    private Object[] append(Object[] args, Object... values) {
+        final Object[] result = Arrays.copyOf(args, args.length + values.length);
+        System.arraycopy(values, 0, result, args.length, values.length);
+        return result;
+    }
+
+
     /**
      * Returns the database platform type from the ResultSet
      * @param resultSet the result set
@@ -132,19 +312,60 @@ public class DbSource<R> extends DataFrameSource<R,String,DbSourceOptions<R>> {
 
 
     /**
-     * Returns a newly created DataFrame from the arguments specified
-     * @param rowKeys       the row keys
-     * @param columnList    the column list
-     * @return              the newly created DataFrame
+     * Returns a newly created DataFrame by stitching together the column chunks of the readers, in order
+     * @param readers   the readers with results
+     * @param empty     true to return a frame with the columns but no rows, which is the case in batch mode
+     * @return          the newly created DataFrame
+     */
+    @SuppressWarnings("unchecked")
+    private DataFrame<R,String> createFrame(List<DbReader> readers, boolean empty) {
+        final List<ColumnInfo> columnList = readers.get(0).columns;
+        final int rowCount = empty ? 0 : readers.stream().mapToInt(reader -> reader.rowCount).sum();
+        if (rowCount == 0) {
+            return DataFrame.of(Index.<R>empty(), String.class, columns -> {
+                for (ColumnInfo colInfo : columnList) {
+                    columns.add(colInfo.name, Array.of((Class<Object>)colInfo.type, 0));
+                }
+            });
+        } else {
+            final List<Array<R>> keyChunks = new ArrayList<>();
+            readers.forEach(reader -> keyChunks.addAll(reader.keyChunks));
+            final Array<R> rowKeys = concat(keyChunks, rowCount);
+            return DataFrame.of(rowKeys, String.class, columns -> {
+                for (int j=0; j<columnList.size(); ++j) {
+                    final List<Array<Object>> chunks = new ArrayList<>();
+                    for (DbReader reader : readers) {
+                        chunks.addAll(reader.columns.get(j).chunks);
+                    }
+                    columns.add(columnList.get(j).name, concat(chunks, rowCount));
+                }
+            });
+        }
+    }
+
+
+    /**
+     * Returns an array that contains the values of the chunks in order
+     * @param chunks    the chunks to concatenate
+     * @param length    the total length of the chunks
+     * @param <T>       the element type
+     * @return          the concatenated array
      */
-    private DataFrame<R,String> createFrame(Iterable<R> rowKeys, List<ColumnInfo> columnList) {
-        return DataFrame.of(rowKeys, String.class, columns -> {
-            for (ColumnInfo colInfo : columnList) {
-                final String colName = colInfo.name;
-                final Array<?> values = colInfo.array.toArray();
-                columns.add(colName, values);
+    @SuppressWarnings("unchecked")
+    private <T> Array<T> concat(List<Array<T>> chunks, int length) {
+        if (chunks.size() == 1) {
+            return chunks.get(0);
+        } else {
+            final Class<T> type = chunks.get(0).type();
+            final boolean uniform = chunks.stream().allMatch(chunk -> chunk.type() == type);
+            final Array<T> result = Array.of(uniform ? type : (Class<T>)Object.class, length);
+            int index = 0;
+            for (Array<T> chunk : chunks) {
+                result.update(index, chunk, 0, chunk.length());
+                index += chunk.length();
             }
-        });
+            return result;
+        }
     }
 
 
@@ -157,7 +378,6 @@ public class DbSource<R> extends DataFrameSource<R,String,DbSourceOptions<R>> {
      * @throws SQLException if there is a database access error
      */
     private List<ColumnInfo> getColumnInfo(ResultSetMetaData metaData, SQLPlatform platform, DbSourceOptions<R> request) throws SQLException {
-        final int rowCapacity = request.getRowCapacity();
         final int columnCount = metaData.getColumnCount();
         final List<ColumnInfo> columnInfoList = new ArrayList<>(columnCount);
         final SQLType.TypeResolver typeResolver = SQLType.getTypeResolver(platform);
@@ -169,7 +389,7 @@ public class DbSource<R> extends DataFrameSource<R,String,DbSourceOptions<R>> {
                 final String typeName = metaData.getColumnTypeName(colIndex);
                 final SQLType sqlType = typeResolver.getType(typeCode, typeName);
                 final SQLExtractor extractor = request.getExtractors().getOrDefault(colName, SQLExtractor.with(sqlType.typeClass(), platform));
-                columnInfoList.add(new ColumnInfo(i, colIndex, colName, rowCapacity, extractor));
+                columnInfoList.add(new ColumnInfo(i, colIndex, colName, extractor));
             }
         }
         return columnInfoList;
@@ -192,6 +412,109 @@ public class DbSource<R> extends DataFrameSource<R,String,DbSourceOptions<R>> {
 
 
 
+    /**
+     * A class that drains a ResultSet into fixed size chunks, which are either retained or passed to a batch handler
+     * The first chunk is sized by the row capacity of the request and each subsequent chunk doubles up to a limit, so
+     * that small queries stay small while large queries fill large chunks with no per row growth checks.
+     */
+    private class DbReader {
+
+        private int rowCount;
+        private int chunkRows;
+        private int chunkSize;
+        private int maxChunkSize;
+        private ArrayBuilder<R> keys;
+        private List<ColumnInfo> columns;
+        private List<Array<R>> keyChunks;
+        private DbSourceOptions<R> options;
+        private Consumer<DataFrame<R,String>> handler;
+
+        /**
+         * Constructor
+         * @param options   the request options
+         * @param handler   the optional batch handler, null to retain all chunks
+         */
+        DbReader(DbSourceOptions<R> options, Consumer<DataFrame<R,String>> handler) {
+            this.options = options;
+            this.handler = handler;
+            this.keyChunks = new ArrayList<>();
+            this.chunkSize = handler != null ? options.getBatchSize() : Math.max(1, options.getRowCapacity());
+            this.maxChunkSize = handler != null ? chunkSize : Math.max(chunkSize, MAX_CHUNK_SIZE);
+        }
+
+        /**
+         * Reads all rows from the ResultSet
+         * @param resultSet the result set to read
+         * @return          this reader
+         * @throws DataFrameException  if the read fails
+         */
+        DbReader read(ResultSet resultSet) throws DataFrameException {
+            try {
+                final SQLPlatform platform = getPlatform(resultSet);
+                final ResultSetMetaData metaData = resultSet.getMetaData();
+                final Function<ResultSet,R> rowKeyFunction = options.getRowKeyFunction();
+                this.columns = getColumnInfo(metaData, platform, options);
+                while (resultSet.next()) {
+                    if (chunkRows == 0) {
+                        this.allocate();
+                    }
+                    this.keys.add(rowKeyFunction.apply(resultSet));
+                    for (ColumnInfo colInfo : columns) {
+                        colInfo.apply(resultSet, chunkRows);
+                    }
+                    this.rowCount++;
+                    if (++chunkRows == chunkSize) {
+                        this.flush();
+                    }
+                }
+                if (chunkRows > 0) {
+                    this.flush();
+                }
+                return this;
+            } catch (DataFrameException ex) {
+                throw ex;
+            } catch (Throwable t) {
+                throw new DataFrameException("Failed to initialize DataFrame from ResultSet: " + t.getMessage(), t);
+            } finally {
+                close(resultSet);
+            }
+        }
+
+        /**
+         * Allocates the next chunk for the row keys and each column
+         */
+        private void allocate() {
+            this.keys = ArrayBuilder.of(chunkSize);
+            for (ColumnInfo colInfo : columns) {
+                colInfo.allocate(chunkSize);
+            }
+        }
+
+        /**
+         * Completes the current chunk, passing it to the batch handler if there is one, or otherwise retaining it
+         */
+        private void flush() {
+            final int length = chunkRows;
+            final Array<R> rowKeys = keys.toArray();
+            if (handler != null) {
+                handler.accept(DataFrame.of(rowKeys, String.class, columns -> {
+                    for (ColumnInfo colInfo : this.columns) {
+                        columns.add(colInfo.name, colInfo.complete(length));
+                    }
+                }));
+            } else {
+                this.keyChunks.add(rowKeys);
+                for (ColumnInfo colInfo : columns) {
+                    colInfo.chunks.add(colInfo.complete(length));
+                }
+                this.chunkSize = (int)Math.min(maxChunkSize, chunkSize * 2L);
+            }
+            this.chunkRows = 0;
+        }
+    }
+
+
+
     /**
      * A class used to capture the meta-data for a column
      */
@@ -203,7 +526,8 @@ public class DbSource<R> extends DataFrameSource<R,String,DbSourceOptions<R>> {
         Class<?> type;
         ArrayType typeCode;
         SQLExtractor extractor;
-        ArrayBuilder<Object> array;
+        Array<Object> chunk;
+        List<Array<Object>> chunks;
 
 
         /**
@@ -211,31 +535,49 @@ public class DbSource<R> extends DataFrameSource<R,String,DbSourceOptions<R>> {
          * @param ordinal   the DataFrame column ordinal
          * @param index     the JDBC column index
          * @param name      the JDBC column name
-         * @param capacity  the initial capacity for column
+         * @param extractor the extractor for column values
          */
-        @SuppressWarnings("unchecked")
-        ColumnInfo(int ordinal, int index, String name, int capacity, SQLExtractor extractor) {
+        ColumnInfo(int ordinal, int index, String name, SQLExtractor extractor) {
             this.index = index;
             this.ordinal = ordinal;
             this.name = name;
             this.type = extractor.getDataType();
             this.typeCode = ArrayType.of(type);
-            this.array = (ArrayBuilder<Object>)ArrayBuilder.of(capacity, type);
             this.extractor = extractor;
+            this.chunks = new ArrayList<>();
+        }
+
+        /**
+         * Allocates a new chunk for this column
+         * @param length    the chunk length
+         */
+        @SuppressWarnings("unchecked")
+        final void allocate(int length) {
+            this.chunk = Array.of((Class<Object>)type, length);
+        }
+
+        /**
+         * Returns the current chunk, trimmed to the length specified
+         * @param length    the number of rows in chunk
+         * @return          the completed chunk
+         */
+        final Array<Object> complete(int length) {
+            return length < chunk.length() ? chunk.copy(0, length) : chunk;
         }
 
         /**
          * Applies the ResultSet to this column for current row
          * @param rs    the ResultSet reference
+         * @param row   the row index in the current chunk
          */
-        final void apply(ResultSet rs) {
+        final void apply(ResultSet rs, int row) {
             try {
                 switch (typeCode) {
-                    case BOOLEAN:   array.addBoolean(extractor.getBoolean(rs, index));  break;
-                    case INTEGER:   array.addInt(extractor.getInt(rs, index));          break;
-                    case LONG:      array.addLong(extractor.getLong(rs, index));        break;
-                    case DOUBLE:    array.addDouble(extractor.getDouble(rs, index));    break;
-                    default:        array.add(extractor.getValue(rs, index));           break;
+                    case BOOLEAN:   chunk.setBoolean(row, extractor.getBoolean(rs, index));  break;
+                    case INTEGER:   chunk.setInt(row, extractor.getInt(rs, index));          break;
+                    case LONG:      chunk.setLong(row, extractor.getLong(rs, index));        break;
+                    case DOUBLE:    chunk.setDouble(row, extractor.getDouble(rs, index));    break;
+                    default:        chunk.setValue(row, extractor.getValue(rs, index));      break;
                 }
             } catch (Exception ex) {
                 throw new RuntimeException("Failed to extract data for column " + name, ex);
@@ -27,9 +27,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import javax.sql.DataSource;
 
+import com.zavtech.morpheus.frame.DataFrame;
 import com.zavtech.morpheus.frame.DataFrameException;
 import com.zavtech.morpheus.frame.DataFrameSource;
 import com.zavtech.morpheus.util.sql.SQLExtractor;
@@ -48,13 +50,18 @@ public class DbSourceOptions<R> implements DataFrameSource.Options<R,String> {
     private String sql;
     private int rowCapacity;
     private int fetchSize;
+    private int batchSize;
+    private int partitionCount;
+    private String partitionColumn;
     private Connection connection;
+    private DataSource dataSource;
     private Object[] parameters;
     private boolean autoCommit = true;
     private boolean readOnly = false;
     private Set<String> excludeColumnSet;
     private Function<ResultSet,R> rowKeyFunction;
     private Map<String,SQLExtractor> extractorMap;
+    private Consumer<DataFrame<R,String>> batchHandler;
 
     /**
      * Constructor
@@ -76,7 +83,10 @@ public class DbSourceOptions<R> implements DataFrameSource.Options<R,String> {
     @Override
     public void validate() {
         Objects.requireNonNull(sql, "The SQL statement cannot be null");
-        Objects.requireNonNull(connection, "The JDBC connection cannot be null");
+        Objects.requireNonNull(connection != null ? connection : dataSource, "The JDBC connection cannot be null");
+        if (partitionColumn != null && dataSource == null) {
+            throw new DataFrameException("A partitioned query requires a DataSource so each partition can use its own connection");
+        }
     }
 
     /**
@@ -114,17 +124,14 @@ public class DbSourceOptions<R> implements DataFrameSource.Options<R,String> {
 
     /**
      * Sets the JDBC connection for this request
+     * Connections are only taken from the DataSource when the query is executed, one per partition for partitioned queries
      * @param dataSource    the DataSource the grab a connection from
      * @return              this request
      */
     public DbSourceOptions<R> withConnection(DataSource dataSource) {
         Objects.requireNonNull(dataSource, "The SQL data source cannot be null");
-        try {
-            this.connection = dataSource.getConnection();
-            return this;
-        } catch (SQLException ex) {
-            throw new RuntimeException("Failed to access a DB connection from DataSource", ex);
-        }
+        this.dataSource = dataSource;
+        return this;
     }
 
     /**
@@ -206,6 +213,43 @@ public class DbSourceOptions<R> implements DataFrameSource.Options<R,String> {
         return this;
     }
 
+    /**
+     * Splits the query into ranges of the partition column which are executed concurrently, each on its own connection
+     * The bounds of the column are first queried so that the range can be divided evenly, rows with a null partition
+     * value are included in the first partition. The column must be numeric or a date / timestamp, a DataSource is
+     * required and the row key function must be thread safe. Rows are returned in partition order.
+     * @param column    the partition column, as it should appear in the SQL expression
+     * @param count     the number of partitions
+     * @return          these options
+     */
+    public DbSourceOptions<R> withPartitions(String column, int count) {
+        Objects.requireNonNull(column, "The partition column cannot be null");
+        if (count < 1) {
+            throw new DataFrameException("The partition count must be > 0, not " + count);
+        }
+        this.partitionColumn = column;
+        this.partitionCount = count;
+        return this;
+    }
+
+    /**
+     * Sets a handler to receive the query results in DataFrame batches, rather than as one DataFrame
+     * When a batch handler is set the DataFrame returned by the read has the columns of the query but no rows.
+     * Batches from a partitioned query are delivered one at a time, but batches from different partitions may interleave.
+     * @param batchSize the number of rows per batch, the last batch of each partition may have fewer
+     * @param handler   the handler to receive each batch
+     * @return          these options
+     */
+    public DbSourceOptions<R> withBatchHandler(int batchSize, Consumer<DataFrame<R,String>> handler) {
+        Objects.requireNonNull(handler, "The batch handler cannot be null");
+        if (batchSize < 1) {
+            throw new DataFrameException("The batch size must be > 0, not " + batchSize);
+        }
+        this.batchSize = batchSize;
+        this.batchHandler = handler;
+        return this;
+    }
+
     /**
      * Sets the extractor to use for the column name
      * @param colName   the JDBC column name
@@ -240,7 +284,43 @@ public class DbSourceOptions<R> implements DataFrameSource.Options<R,String> {
      * @return  the connection for this request
      */
     Connection getConnection() {
-        return connection;
+        try {
+            return connection != null ? connection : dataSource.getConnection();
+        } catch (SQLException ex) {
+            throw new DataFrameException("Failed to access a DB connection from DataSource", ex);
+        }
+    }
+
+    /**
+     * Returns the optional partition column for this request
+     * @return  the optional partition column
+     */
+    Optional<String> getPartitionColumn() {
+        return Optional.ofNullable(partitionColumn);
+    }
+
+    /**
+     * Returns the number of partitions for a partitioned query
+     * @return  the number of partitions
+     */
+    int getPartitionCount() {
+        return partitionCount;
+    }
+
+    /**
+     * Returns the optional handler to receive results in batches
+     * @return  the optional batch handler
+     */
+    Optional<Consumer<DataFrame<R,String>>> getBatchHandler() {
+        return Optional.ofNullable(batchHandler);
+    }
+
+    /**
+     * Returns the number of rows per batch for the batch handler
+     * @return  the number of rows per batch
+     */
+    int getBatchSize() {
+        return batchSize;
     }
 
     /**
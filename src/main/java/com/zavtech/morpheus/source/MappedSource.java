@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.source;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.array.ArrayType;
+import com.zavtech.morpheus.array.mapped.MappedArrayConstructor;
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.frame.DataFrameException;
+import com.zavtech.morpheus.frame.DataFrameSource;
+import com.zavtech.morpheus.sink.MappedSink;
+
+/**
+ * A DataFrameSource implementation that reopens a DataFrame from a directory of memory mapped files written by the MappedSink.
+ *
+ * The row keys and columns are mapped directly onto the existing files without copying or re-initialising them, so
+ * opening is proportional to the number of columns plus the cost of indexing the row keys. Values updated in place
+ * on the resulting frame are written through to the files, while structural changes such as adding rows or columns
+ * are only persisted by writing the frame out again. Files of values stored as codes, such as zone ids, are decoded
+ * with the code tables recorded in the header, so they read correctly in a JVM whose zone or currency tables differ.
+ *
+ * @param <R>   the row key type
+ * @param <C>   the column key type
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class MappedSource<R,C> extends DataFrameSource<R,C,MappedSourceOptions<R,C>> {
+
+    private static final MappedArrayConstructor constructor = new MappedArrayConstructor();
+
+    /**
+     * Constructor
+     */
+    public MappedSource() {
+        super();
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public DataFrame<R,C> read(Consumer<MappedSourceOptions<R,C>> configurator) throws DataFrameException {
+        final MappedSourceOptions<R,C> options = initOptions(new MappedSourceOptions<>(), configurator);
+        final File directory = options.getDirectory();
+        final File header = new File(directory, MappedSink.HEADER_FILE);
+        if (!header.exists()) {
+            throw new DataFrameException("No memory mapped DataFrame header exists at: " + header.getAbsolutePath());
+        } else {
+            try (ObjectInputStream is = new ObjectInputStream(new FileInputStream(header))) {
+                final int version = is.readInt();
+                if (version < 1 || version > MappedSink.VERSION) {
+                    throw new DataFrameException("Unsupported memory mapped DataFrame version " + version + " in " + directory.getAbsolutePath());
+                }
+                final int rowCount = is.readInt();
+                final Class<R> rowKeyType = (Class<R>)is.readObject();
+                final boolean rowKeysMapped = is.readBoolean();
+                final Iterable<R> rowKeys = rowKeysMapped ? open(rowKeyType, rowCount, directory, MappedSink.ROW_KEYS_FILE, codeTable(is, version)) : (List<R>)is.readObject();
+                final Class<C> colKeyType = (Class<C>)is.readObject();
+                final int colCount = is.readInt();
+                final List<C> colKeys = new ArrayList<>(colCount);
+                final List<Array<?>> arrays = new ArrayList<>(colCount);
+                for (int j=0; j<colCount; ++j) {
+                    final C colKey = (C)is.readObject();
+                    final Class<?> dataType = (Class<?>)is.readObject();
+                    final Map<Integer,Object> codeTable = codeTable(is, version);
+                    colKeys.add(colKey);
+                    arrays.add(open(dataType, rowCount, directory, MappedSink.columnFile(j), codeTable));
+                }
+                return DataFrame.of(rowKeys, colKeyType, columns -> {
+                    for (int j=0; j<colCount; ++j) {
+                        columns.add(colKeys.get(j), arrays.get(j));
+                    }
+                });
+            } catch (DataFrameException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new DataFrameException("Failed to read memory mapped DataFrame from " + directory.getAbsolutePath(), ex);
+            }
+        }
+    }
+
+
+    /**
+     * Reads the code table recorded for a file in the header, which is absent in version 1 headers
+     * @param is        the header input stream
+     * @param version   the header version
+     * @return          the code table, or null if the file codes do not depend on the JVM
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Integer,Object> codeTable(ObjectInputStream is, int version) throws Exception {
+        return version < 2 ? null : (Map<Integer,Object>)is.readObject();
+    }
+
+
+    /**
+     * Returns a memory mapped array over an existing file in the directory specified
+     * @param type      the array element type
+     * @param length    the array length
+     * @param directory the directory containing the file
+     * @param name      the file name
+     * @param codeTable the code table recorded for the file, which may be null
+     * @param <T>       the element type
+     * @return          the memory mapped array
+     */
+    private <T> Array<T> open(Class<T> type, int length, File directory, String name, Map<Integer,Object> codeTable) {
+        final String path = new File(directory, name).getAbsolutePath();
+        return constructor.open(type, length, ArrayType.defaultValue(type), path, codeTable);
+    }
+
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.source;
+
+import java.io.File;
+
+import com.zavtech.morpheus.frame.DataFrameSource;
+import com.zavtech.morpheus.util.Asserts;
+
+/**
+ * The options to reopen a DataFrame from a directory of memory mapped files previously written by the MappedSink
+ *
+ * @param <R>   the row key type
+ * @param <C>   the column key type
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class MappedSourceOptions<R,C> implements DataFrameSource.Options<R,C> {
+
+    private File directory;
+
+    /**
+     * Constructor
+     */
+    public MappedSourceOptions() {
+        super();
+    }
+
+
+    @Override
+    public void validate() {
+        Asserts.notNull(getDirectory(), "The memory mapped DataFrame directory cannot be null");
+    }
+
+    /**
+     * Returns the directory that contains the memory mapped files
+     * @return  the input directory
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Sets the directory that contains the memory mapped files
+     * @param directory the input directory
+     */
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Sets the directory that contains the memory mapped files
+     * @param path  the input directory path
+     */
+    public void setDirectory(String path) {
+        this.directory = new File(path);
+    }
+}
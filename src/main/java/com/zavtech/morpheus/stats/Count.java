@@ -22,7 +22,7 @@ package com.zavtech.morpheus.stats;
  *
  * @author  Xavier Witdouck
  */
-public class Count implements Statistic1 {
+public class Count implements WindowStatistic, MergeableStatistic {
 
     private long n;
 
@@ -53,6 +53,18 @@ public class Count implements Statistic1 {
         return !Double.isNaN(value) ? ++n : n;
     }
 
+    @Override
+    public long remove(double value) {
+        return !Double.isNaN(value) ? --n : n;
+    }
+
+    @Override
+    public MergeableStatistic merge(Statistic1 other) {
+        final Count that = MergeableStatistic.cast(this, other, Count.class);
+        this.n += that.n;
+        return this;
+    }
+
     @Override
     public Statistic1 copy() {
         try {
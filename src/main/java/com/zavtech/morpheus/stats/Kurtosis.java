@@ -22,9 +22,10 @@ package com.zavtech.morpheus.stats;
  *
  * @author  Xavier Witdouck
  */
-public class Kurtosis implements Statistic1 {
+public class Kurtosis implements WindowStatistic, MergeableStatistic {
 
     private long n;
+    private long nanCount;
     private double m1;
     private double m2;
     private double m3;
@@ -44,7 +45,7 @@ public class Kurtosis implements Statistic1 {
 
     @Override
     public double getValue() {
-        if (n < 3) {
+        if (n < 3 || nanCount > 0) {
             return Double.NaN;
         } else {
             final double variance = m2 / (n - 1d);
@@ -65,16 +66,72 @@ public class Kurtosis implements Statistic1 {
 
     @Override
     public long add(double value) {
-        final double prevM2 = m2;
-        final double prevM3 = m3;
-        final double dev = value - m1;
-        final double nDev = dev / ++n;
-        final double nDevSq = nDev * nDev;
-        this.m1 += nDev;
-        this.m2 += (n - 1d) * dev * nDev;
-        this.m3 = m3 - 3d * nDev * prevM2 + (n - 1d) * (n - 2d) * nDevSq * dev;
-        this.m4 = m4 - 4d * nDev * prevM3 + 6d * nDevSq * prevM2 + ((n * n) - 3d * (n -1d)) * (nDevSq * nDevSq * (n - 1d) * n);
-        return n;
+        if (!Double.isFinite(value)) {
+            this.nanCount++;
+            return ++n;
+        } else {
+            final double k = ++n - nanCount;
+            final double prevM2 = m2;
+            final double prevM3 = m3;
+            final double dev = value - m1;
+            final double nDev = dev / k;
+            final double nDevSq = nDev * nDev;
+            this.m1 += nDev;
+            this.m2 += (k - 1d) * dev * nDev;
+            this.m3 = m3 - 3d * nDev * prevM2 + (k - 1d) * (k - 2d) * nDevSq * dev;
+            this.m4 = m4 - 4d * nDev * prevM3 + 6d * nDevSq * prevM2 + ((k * k) - 3d * (k -1d)) * (nDevSq * nDevSq * (k - 1d) * k);
+            return n;
+        }
+    }
+
+    @Override
+    public long remove(double value) {
+        if (!Double.isFinite(value)) {
+            this.nanCount--;
+            return --n;
+        } else {
+            final double k = n-- - nanCount;
+            if (k <= 1d) {
+                this.m1 = 0d;
+                this.m2 = 0d;
+                this.m3 = 0d;
+                this.m4 = 0d;
+            } else {
+                final double prevM1 = m1 - (value - m1) / (k - 1d);
+                final double dev = value - prevM1;
+                final double nDev = dev / k;
+                final double nDevSq = nDev * nDev;
+                final double prevM2 = m2 - dev * (value - m1);
+                final double prevM3 = m3 + 3d * nDev * prevM2 - (k - 1d) * (k - 2d) * nDevSq * dev;
+                this.m4 = m4 + 4d * nDev * prevM3 - 6d * nDevSq * prevM2 - ((k * k) - 3d * (k -1d)) * (nDevSq * nDevSq * (k - 1d) * k);
+                this.m3 = prevM3;
+                this.m2 = prevM2;
+                this.m1 = prevM1;
+            }
+            return n;
+        }
+    }
+
+    @Override
+    public MergeableStatistic merge(Statistic1 other) {
+        final Kurtosis that = MergeableStatistic.cast(this, other, Kurtosis.class);
+        final double n1 = n - nanCount;
+        final double n2 = that.n - that.nanCount;
+        if (n2 > 0d) {
+            final double count = n1 + n2;
+            final double delta = that.m1 - m1;
+            final double deltaN = delta / count;
+            final double deltaNSq = deltaN * deltaN;
+            final double prevM2 = m2;
+            final double prevM3 = m3;
+            this.m4 += that.m4 + deltaNSq * deltaN * delta * n1 * n2 * (n1 * n1 - n1 * n2 + n2 * n2) + 6d * deltaNSq * (n1 * n1 * that.m2 + n2 * n2 * prevM2) + 4d * deltaN * (n1 * that.m3 - n2 * prevM3);
+            this.m3 += that.m3 + deltaNSq * delta * n1 * n2 * (n1 - n2) + 3d * deltaN * (n1 * that.m2 - n2 * prevM2);
+            this.m2 += that.m2 + delta * deltaN * n1 * n2;
+            this.m1 += deltaN * n2;
+        }
+        this.n += that.n;
+        this.nanCount += that.nanCount;
+        return this;
     }
 
     @Override
@@ -89,6 +146,7 @@ public class Kurtosis implements Statistic1 {
     @Override()
     public Statistic1 reset() {
         this.n = 0L;
+        this.nanCount = 0L;
         this.m1 = 0d;
         this.m2 = 0d;
         this.m3 = 0d;
@@ -22,7 +22,7 @@ package com.zavtech.morpheus.stats;
  *
  * @author  Xavier Witdouck
  */
-public class Max implements Statistic1 {
+public class Max implements MergeableStatistic {
 
     private long n;
     private double max = Double.MIN_VALUE;
@@ -56,6 +56,14 @@ public class Max implements Statistic1 {
         return n;
     }
 
+    @Override
+    public MergeableStatistic merge(Statistic1 other) {
+        final Max that = MergeableStatistic.cast(this, other, Max.class);
+        this.n += that.n;
+        this.max = that.max > max ? that.max : max;
+        return this;
+    }
+
     @Override
     public Statistic1 copy() {
         try {
@@ -22,10 +22,11 @@ package com.zavtech.morpheus.stats;
  *
  * @author  Xavier Witdouck
  */
-public class Mean implements Statistic1 {
+public class Mean implements WindowStatistic, MergeableStatistic {
 
     private long n;
     private double m1;
+    private NonFinite nonFinite = new NonFinite();
 
     /**
      * Constructor
@@ -36,12 +37,12 @@ public class Mean implements Statistic1 {
 
     @Override
     public long getN() {
-        return n;
+        return n + nonFinite.count();
     }
 
     @Override
     public double getValue() {
-        return m1;
+        return nonFinite.sum(m1);
     }
 
     @Override
@@ -51,16 +52,42 @@ public class Mean implements Statistic1 {
 
     @Override
     public long add(double value) {
-        if (!Double.isNaN(value)) {
+        if (!Double.isNaN(value) && !nonFinite.add(value)) {
             this.m1 += (value - m1) / ++n;
         }
-        return n;
+        return getN();
+    }
+
+    @Override
+    public long remove(double value) {
+        if (!Double.isNaN(value) && !nonFinite.remove(value)) {
+            if (--n == 0) {
+                this.m1 = 0d;
+            } else {
+                this.m1 -= (value - m1) / n;
+            }
+        }
+        return getN();
+    }
+
+    @Override
+    public MergeableStatistic merge(Statistic1 other) {
+        final Mean that = MergeableStatistic.cast(this, other, Mean.class);
+        if (that.n > 0) {
+            final double count = n + that.n;
+            this.m1 += (that.m1 - m1) * (that.n / count);
+            this.n += that.n;
+        }
+        this.nonFinite.merge(that.nonFinite);
+        return this;
     }
 
     @Override
     public Statistic1 copy() {
         try {
-            return (Statistic1)super.clone();
+            final Mean clone = (Mean)super.clone();
+            clone.nonFinite = nonFinite.copy();
+            return clone;
         } catch (CloneNotSupportedException ex) {
             throw new RuntimeException("Failed to clone statistic", ex);
         }
@@ -70,6 +97,7 @@ public class Mean implements Statistic1 {
     public Statistic1 reset() {
         this.n = 0L;
         this.m1 = 0d;
+        this.nonFinite.reset();
         return this;
     }
 
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.stats;
+
+import java.util.Optional;
+
+import com.zavtech.morpheus.util.ComputeContext;
+
+/**
+ * An extension of Statistic1 for statistics whose partial results can be merged, which allows a sample to be split and reduced in parallel
+ *
+ * Merging is order sensitive only in the sense that the other statistic is assumed to summarise observations that follow those already in this statistic.
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public interface MergeableStatistic extends Statistic1 {
+
+    /**
+     * Merges the sample summarised by another statistic of the same type into this statistic
+     * @param other     the statistic to merge, which must be of the same class as this statistic
+     * @return          this statistic
+     */
+    MergeableStatistic merge(Statistic1 other);
+
+
+    /**
+     * Returns a mergeable version of the statistic specified, if one exists
+     * @param statistic     the statistic to find a mergeable version of
+     * @return              the optional mergeable statistic, empty if partial results cannot be merged
+     */
+    static Optional<MergeableStatistic> of(Statistic1 statistic) {
+        if (statistic instanceof MergeableStatistic) {
+            return Optional.of((MergeableStatistic)statistic);
+        } else {
+            return Optional.empty();
+        }
+    }
+
+
+    /**
+     * Computes a statistic over a sample by splitting it into partitions reduced on the current ComputeContext
+     * The statistic is reset, and on return holds the merged result for the entire sample. NaN values are ignored.
+     * @param stat      the statistic to compute
+     * @param sample    the sample of values
+     * @param offset    the offset in sample
+     * @param length    the length from offset
+     * @return          the stat value
+     */
+    static double reduce(MergeableStatistic stat, Sample sample, int offset, int length) {
+        final int threshold = ComputeContext.current().getSplitThreshold(length, StatisticReduction.MIN_SPLIT_LENGTH);
+        stat.reset();
+        if (length <= threshold) {
+            StatisticReduction.accumulate(stat, sample, offset, length);
+        } else {
+            final StatisticReduction task = new StatisticReduction(stat, sample, offset, length, threshold);
+            stat.merge(ComputeContext.current().invoke(task));
+        }
+        return stat.getValue();
+    }
+
+
+    /**
+     * Checks that another statistic can be merged into the target, and returns it cast to the target type
+     * @param target    the statistic being merged into
+     * @param other     the statistic to merge
+     * @param type      the class of the target statistic
+     * @param <T>       the statistic type
+     * @return          the other statistic cast to the target type
+     */
+    static <T extends Statistic1> T cast(Statistic1 target, Statistic1 other, Class<T> type) {
+        if (type.isInstance(other)) {
+            return type.cast(other);
+        } else {
+            throw new StatException("Cannot merge " + other.getClass().getSimpleName() + " into " + target.getClass().getSimpleName());
+        }
+    }
+
+}
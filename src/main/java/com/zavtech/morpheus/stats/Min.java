@@ -22,7 +22,7 @@ package com.zavtech.morpheus.stats;
  *
  * @author  Xavier Witdouck
  */
-public class Min implements Statistic1 {
+public class Min implements MergeableStatistic {
 
     private long n;
     private double min = Double.MAX_VALUE;
@@ -56,6 +56,14 @@ public class Min implements Statistic1 {
         return n;
     }
 
+    @Override
+    public MergeableStatistic merge(Statistic1 other) {
+        final Min that = MergeableStatistic.cast(this, other, Min.class);
+        this.n += that.n;
+        this.min = that.min < min ? that.min : min;
+        return this;
+    }
+
     @Override
     public Statistic1 copy() {
         try {
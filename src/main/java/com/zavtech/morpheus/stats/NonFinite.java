@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.stats;
+
+/**
+ * A counter of the infinite and NaN terms in a sample, which window statistics keep out of their running sums
+ *
+ * Subtracting an infinite term from a running sum yields NaN rather than restoring the prior sum, so a statistic
+ * that removes values from a window instead counts such terms here, and resolves its result from these counts
+ * whenever any are present. The result is then the same as recomputing the window from scratch.
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+final class NonFinite {
+
+    private long nanCount;
+    private long posInfCount;
+    private long negInfCount;
+
+    /**
+     * Counts a term if it is not finite
+     * @param term  the term to add
+     * @return      true if the term is not finite and was counted, false if it belongs in the running sum
+     */
+    boolean add(double term) {
+        if (Double.isNaN(term)) {
+            this.nanCount++;
+            return true;
+        } else if (term == Double.POSITIVE_INFINITY) {
+            this.posInfCount++;
+            return true;
+        } else if (term == Double.NEGATIVE_INFINITY) {
+            this.negInfCount++;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Discounts a term if it is not finite
+     * @param term  the term to remove, which must have been added previously
+     * @return      true if the term is not finite and was discounted, false if it belongs in the running sum
+     */
+    boolean remove(double term) {
+        if (Double.isNaN(term)) {
+            this.nanCount--;
+            return true;
+        } else if (term == Double.POSITIVE_INFINITY) {
+            this.posInfCount--;
+            return true;
+        } else if (term == Double.NEGATIVE_INFINITY) {
+            this.negInfCount--;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of non-finite terms counted
+     * @return  the number of non-finite terms
+     */
+    long count() {
+        return nanCount + posInfCount + negInfCount;
+    }
+
+    /**
+     * Returns the sum of the counted terms and a finite sum of the remaining terms
+     * @param finiteSum the sum of the finite terms
+     * @return          the sum of all terms, which is NaN, an infinity, or finiteSum if no terms were counted
+     */
+    double sum(double finiteSum) {
+        if (nanCount > 0 || (posInfCount > 0 && negInfCount > 0)) {
+            return Double.NaN;
+        } else if (posInfCount > 0) {
+            return Double.POSITIVE_INFINITY;
+        } else if (negInfCount > 0) {
+            return Double.NEGATIVE_INFINITY;
+        } else {
+            return finiteSum;
+        }
+    }
+
+    /**
+     * Adds the counts of another counter to this counter
+     * @param other the other counter
+     */
+    void merge(NonFinite other) {
+        this.nanCount += other.nanCount;
+        this.posInfCount += other.posInfCount;
+        this.negInfCount += other.negInfCount;
+    }
+
+    /**
+     * Returns a copy of this counter
+     * @return  the copy of this counter
+     */
+    NonFinite copy() {
+        final NonFinite copy = new NonFinite();
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Resets all counts to zero
+     */
+    void reset() {
+        this.nanCount = 0L;
+        this.posInfCount = 0L;
+        this.negInfCount = 0L;
+    }
+}
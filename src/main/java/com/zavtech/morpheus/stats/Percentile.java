@@ -23,11 +23,15 @@ import org.apache.commons.math3.stat.ranking.NaNStrategy;
 /**
  * A Statistic implementation that supports incremental calculation of a sample percentile value
  *
+ * The statistic retains every non-NaN value it is given, so results are exact and identical to the commons-math
+ * R_7 estimate over the same data, regardless of how a parallel reduction splits and merges the input. Merging
+ * appends the other buffer, so a reduction holds all values once in total rather than a bounded summary.
+ *
  * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
  *
  * @author  Xavier Witdouck
  */
-public class Percentile implements Statistic1 {
+public class Percentile implements MergeableStatistic {
 
     private int n;
     private double nth;
@@ -43,6 +47,14 @@ public class Percentile implements Statistic1 {
     }
 
 
+    /**
+     * Returns the percentile requested for this statistic
+     * @return  the requested percentile, in the range 0 to 1
+     */
+    public double getNth() {
+        return nth;
+    }
+
     @Override
     public long getN() {
         return n;
@@ -78,6 +90,19 @@ public class Percentile implements Statistic1 {
         return n;
     }
 
+    @Override
+    public MergeableStatistic merge(Statistic1 other) {
+        final Percentile that = MergeableStatistic.cast(this, other, Percentile.class);
+        if (that.n > 0) {
+            if (n + that.n > values.length) {
+                this.values = Arrays.copyOf(values, Math.max(n + that.n, values.length + (values.length >> 1)));
+            }
+            System.arraycopy(that.values, 0, values, n, that.n);
+            this.n += that.n;
+        }
+        return this;
+    }
+
     @Override
     public Statistic1 copy() {
         try {
@@ -92,8 +117,6 @@ public class Percentile implements Statistic1 {
     @Override
     public Statistic1 reset() {
         this.n = 0;
-        this.values = new double[values.length];
-        Arrays.fill(values, Double.NaN);
         return this;
     }
 
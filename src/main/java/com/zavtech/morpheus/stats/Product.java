@@ -22,7 +22,7 @@ package com.zavtech.morpheus.stats;
  *
  * @author  Xavier Witdouck
  */
-public class Product implements Statistic1 {
+public class Product implements MergeableStatistic {
 
     private long n;
     private double product;
@@ -55,6 +55,16 @@ public class Product implements Statistic1 {
         return n++;
     }
 
+    @Override
+    public MergeableStatistic merge(Statistic1 other) {
+        final Product that = MergeableStatistic.cast(this, other, Product.class);
+        if (that.n > 0) {
+            this.product = n == 0 ? that.product : product * that.product;
+            this.n += that.n;
+        }
+        return this;
+    }
+
     @Override
     public Statistic1 copy() {
         try {
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.stats;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A RecursiveTask that splits a sample into partitions, computes a partial statistic for each and merges the results
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class StatisticReduction extends RecursiveTask<MergeableStatistic> {
+
+    static final int MIN_SPLIT_LENGTH = 100000;
+
+    private int offset;
+    private int length;
+    private int threshold;
+    private Sample sample;
+    private MergeableStatistic template;
+
+    /**
+     * Constructor
+     * @param template      the statistic copied to compute each partition
+     * @param sample        the sample of values
+     * @param offset        the offset in sample
+     * @param length        the length from offset
+     * @param threshold     the length below which a partition is not split further
+     */
+    StatisticReduction(MergeableStatistic template, Sample sample, int offset, int length, int threshold) {
+        this.template = template;
+        this.sample = sample;
+        this.offset = offset;
+        this.length = length;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Adds the non-NaN values in the range specified to the statistic
+     * @param stat      the statistic to add values to
+     * @param sample    the sample of values
+     * @param offset    the offset in sample
+     * @param length    the length from offset
+     */
+    static void accumulate(Statistic1 stat, Sample sample, int offset, int length) {
+        for (int i=0; i<length; ++i) {
+            final double value = sample.getDouble(offset + i);
+            if (!Double.isNaN(value)) {
+                stat.add(value);
+            }
+        }
+    }
+
+    @Override
+    protected MergeableStatistic compute() {
+        if (length <= threshold) {
+            final MergeableStatistic stat = (MergeableStatistic)template.copy().reset();
+            accumulate(stat, sample, offset, length);
+            return stat;
+        } else {
+            final int splitLength = length / 2;
+            final StatisticReduction left = new StatisticReduction(template, sample, offset, splitLength, threshold);
+            final StatisticReduction right = new StatisticReduction(template, sample, offset + splitLength, length - splitLength, threshold);
+            left.fork();
+            final MergeableStatistic rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.stats;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A class that computes any combination of univariate statistics over a sample in a single pass.
+ *
+ * <p>Unlike a <code>StatsCollector</code>, which feeds every observation to one <code>Statistic1</code> per
+ * type, this class shares accumulators between related statistics. The central moments behind the mean,
+ * variance, standard deviation, standard error, skew and kurtosis are updated once per observation, and
+ * the order statistics (median and percentile) are resolved from a single sorted copy of the sample, which
+ * is only retained if one of the requested statistics needs it. NaN values are ignored.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class StatsSummary {
+
+    private static final Set<StatType> SAMPLED = EnumSet.of(StatType.MEDIAN, StatType.PERCENTILE, StatType.MAD);
+
+    private int n;
+    private double min;
+    private double max;
+    private double sum;
+    private double sumLogs;
+    private double sumSquares;
+    private double product;
+    private double m1;
+    private double m2;
+    private double m3;
+    private double m4;
+    private boolean logs;
+    private double[] sample;
+    private double[] sorted;
+    private Statistic1 autoCorrel;
+    private Set<StatType> types;
+
+    /**
+     * Constructor
+     * @param types     the stat types to compute
+     */
+    private StatsSummary(Set<StatType> types) {
+        this.types = types;
+        this.logs = types.contains(StatType.SUM_LOGS) || types.contains(StatType.GEO_MEAN);
+        this.sample = types.stream().anyMatch(SAMPLED::contains) ? new double[1000] : null;
+        this.autoCorrel = types.contains(StatType.AUTO_CORREL) ? new AutoCorrelation(1) : null;
+        this.reset();
+    }
+
+    /**
+     * Returns a newly created summary for the stat types specified
+     * @param types the stat types to compute
+     * @return      the newly created summary
+     */
+    public static StatsSummary of(StatType... types) {
+        final Set<StatType> typeSet = EnumSet.noneOf(StatType.class);
+        typeSet.addAll(Arrays.asList(types));
+        return new StatsSummary(typeSet);
+    }
+
+    /**
+     * Returns the number of non-NaN observations added to this summary
+     * @return  the sample size
+     */
+    public long getN() {
+        return n;
+    }
+
+    /**
+     * Adds a value to this summary, ignoring NaN values
+     * @param value     the observation to add
+     * @return          the sample size after adding value
+     */
+    public long add(double value) {
+        if (!Double.isNaN(value)) {
+            final double k = ++n;
+            final double prevM2 = m2;
+            final double prevM3 = m3;
+            final double dev = value - m1;
+            final double nDev = dev / k;
+            final double nDevSq = nDev * nDev;
+            this.m1 += nDev;
+            this.m2 += (k - 1d) * dev * nDev;
+            this.m3 = m3 - 3d * nDev * prevM2 + (k - 1d) * (k - 2d) * nDevSq * dev;
+            this.m4 = m4 - 4d * nDev * prevM3 + 6d * nDevSq * prevM2 + ((k * k) - 3d * (k -1d)) * (nDevSq * nDevSq * (k - 1d) * k);
+            this.min = n == 1 || value < min ? value : min;
+            this.max = n == 1 || value > max ? value : max;
+            this.sum += value;
+            this.sumLogs += logs ? Math.log(value) : 0d;
+            this.sumSquares += value * value;
+            this.product = n == 1 ? value : product * value;
+            if (sample != null) {
+                if (n > sample.length) {
+                    this.sample = Arrays.copyOf(sample, sample.length + (sample.length >> 1));
+                }
+                this.sample[n-1] = value;
+                this.sorted = null;
+            }
+            if (autoCorrel != null) {
+                this.autoCorrel.add(value);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Resets this summary so it can be used to compute a new sample
+     * @return  this summary
+     */
+    public StatsSummary reset() {
+        this.n = 0;
+        this.min = Double.NaN;
+        this.max = Double.NaN;
+        this.sum = 0d;
+        this.sumLogs = 0d;
+        this.sumSquares = 0d;
+        this.product = 0d;
+        this.m1 = 0d;
+        this.m2 = 0d;
+        this.m3 = 0d;
+        this.m4 = 0d;
+        this.sorted = null;
+        if (autoCorrel != null) {
+            this.autoCorrel.reset();
+        }
+        return this;
+    }
+
+    /**
+     * Returns the value of the stat type specified
+     * @param type  the stat type, which must be one of the types this summary was created with
+     * @return      the value for the stat type
+     */
+    public double getValue(StatType type) {
+        if (!types.contains(type)) {
+            throw new IllegalArgumentException("No statistic exists for " + type + " in this summary");
+        }
+        switch (type) {
+            case COUNT:         return n;
+            case MIN:           return min;
+            case MAX:           return max;
+            case SUM:           return sum;
+            case SUM_LOGS:      return sumLogs;
+            case SUM_SQUARES:   return sumSquares;
+            case PRODUCT:       return product;
+            case GEO_MEAN:      return Math.exp(sumLogs / n);
+            case MEAN:          return n == 0 ? Double.NaN : m1;
+            case VARIANCE:      return variance();
+            case STD_DEV:       return Math.sqrt(variance());
+            case SEM:           return n == 0 ? Double.NaN : Math.sqrt(variance()) / Math.sqrt(n);
+            case SKEWNESS:      return skew();
+            case KURTOSIS:      return kurtosis();
+            case MEDIAN:        return percentile(0.5d);
+            case PERCENTILE:    return percentile(0.5d);
+            case MAD:           return mad();
+            case AUTO_CORREL:   return autoCorrel.getValue();
+            default:    throw new StatException("Unsupported stat type: " + type.name());
+        }
+    }
+
+    /**
+     * Returns the sample variance given the current moments
+     * @return  the sample variance
+     */
+    private double variance() {
+        if (n == 0) {
+            return Double.NaN;
+        } else if (n == 1) {
+            return 0d;
+        } else {
+            return m2 / (n - 1d);
+        }
+    }
+
+    /**
+     * Returns the sample skew given the current moments
+     * @return  the sample skew
+     */
+    private double skew() {
+        if (n < 3) {
+            return Double.NaN;
+        } else {
+            final double variance = m2 / (n - 1d);
+            if (variance < 10E-20) {
+                return 0d;
+            } else {
+                return (n * m3) / ((n - 1d) * (n -2d) * Math.sqrt(variance) * variance);
+            }
+        }
+    }
+
+    /**
+     * Returns the sample kurtosis given the current moments
+     * @return  the sample kurtosis
+     */
+    private double kurtosis() {
+        if (n < 3) {
+            return Double.NaN;
+        } else {
+            final double variance = m2 / (n - 1d);
+            if (n <= 3 || variance < 10E-20) {
+                return 0d;
+            } else {
+                final double numerator = (n * (n + 1d) * m4 - 3d * m2 * m2 * (n - 1d));
+                final double denominator = ((n - 1d) * (n - 2d) * (n - 3d) * variance * variance);
+                return numerator / denominator;
+            }
+        }
+    }
+
+    /**
+     * Returns the mean absolute deviation from the mean of the retained sample
+     * @return  the mean absolute deviation
+     */
+    private double mad() {
+        if (n == 0) {
+            return Double.NaN;
+        } else if (n == 1) {
+            return 0d;
+        } else {
+            double result = 0d;
+            for (int i=0; i<n; ++i) {
+                final double dev = Math.abs(sample[i] - m1);
+                result += (dev - result) / (i+1);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Returns the nth percentile using the R-7 estimation method, sorting the retained sample at most once
+     * @param nth   the percentile in the range 0 to 1
+     * @return      the percentile estimate
+     */
+    private double percentile(double nth) {
+        if (n == 0) {
+            return Double.NaN;
+        } else if (n == 1) {
+            return sample[0];
+        } else {
+            if (sorted == null) {
+                this.sorted = Arrays.copyOf(sample, n);
+                Arrays.sort(sorted);
+            }
+            final double pos = nth * (n - 1) + 1d;
+            if (pos < 1d) {
+                return sorted[0];
+            } else if (pos >= n) {
+                return sorted[n-1];
+            } else {
+                final int index = (int)Math.floor(pos);
+                final double lower = sorted[index-1];
+                final double upper = sorted[index];
+                return lower + (pos - index) * (upper - lower);
+            }
+        }
+    }
+}
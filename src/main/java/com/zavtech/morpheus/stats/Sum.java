@@ -22,10 +22,11 @@ package com.zavtech.morpheus.stats;
  *
  * @author  Xavier Witdouck
  */
-public class Sum implements Statistic1 {
+public class Sum implements WindowStatistic, MergeableStatistic {
 
     private long n;
     private double sum;
+    private NonFinite nonFinite = new NonFinite();
 
     /**
      * Constructor
@@ -41,7 +42,7 @@ public class Sum implements Statistic1 {
 
     @Override
     public double getValue() {
-        return sum;
+        return nonFinite.sum(sum);
     }
 
     @Override
@@ -52,16 +53,40 @@ public class Sum implements Statistic1 {
     @Override
     public long add(double value) {
         if (!Double.isNaN(value)) {
-            this.sum += value;
+            if (!nonFinite.add(value)) {
+                this.sum += value;
+            }
             this.n++;
         }
         return n;
     }
 
+    @Override
+    public long remove(double value) {
+        if (!Double.isNaN(value)) {
+            if (!nonFinite.remove(value)) {
+                this.sum -= value;
+            }
+            this.n--;
+        }
+        return n;
+    }
+
+    @Override
+    public MergeableStatistic merge(Statistic1 other) {
+        final Sum that = MergeableStatistic.cast(this, other, Sum.class);
+        this.n += that.n;
+        this.sum += that.sum;
+        this.nonFinite.merge(that.nonFinite);
+        return this;
+    }
+
     @Override
     public Statistic1 copy() {
         try {
-            return (Statistic1)super.clone();
+            final Sum clone = (Sum)super.clone();
+            clone.nonFinite = nonFinite.copy();
+            return clone;
         } catch (CloneNotSupportedException ex) {
             throw new RuntimeException("Failed to clone statistic", ex);
         }
@@ -71,6 +96,7 @@ public class Sum implements Statistic1 {
     public Statistic1 reset() {
         this.n = 0L;
         this.sum = 0d;
+        this.nonFinite.reset();
         return this;
     }
 }
@@ -22,10 +22,11 @@ package com.zavtech.morpheus.stats;
  *
  * @author  Xavier Witdouck
  */
-public class SumLogs implements Statistic1 {
+public class SumLogs implements WindowStatistic, MergeableStatistic {
 
     private long n;
     private double sumLogs;
+    private NonFinite nonFinite = new NonFinite();
 
     /**
      * Constructor
@@ -41,7 +42,7 @@ public class SumLogs implements Statistic1 {
 
     @Override
     public double getValue() {
-        return sumLogs;
+        return nonFinite.sum(sumLogs);
     }
 
     @Override
@@ -52,16 +53,42 @@ public class SumLogs implements Statistic1 {
     @Override
     public long add(double value) {
         if (!Double.isNaN(value)) {
-            this.sumLogs += Math.log(value);
+            final double term = Math.log(value);
+            if (!nonFinite.add(term)) {
+                this.sumLogs += term;
+            }
             this.n++;
         }
         return n;
     }
 
+    @Override
+    public long remove(double value) {
+        if (!Double.isNaN(value)) {
+            final double term = Math.log(value);
+            if (!nonFinite.remove(term)) {
+                this.sumLogs -= term;
+            }
+            this.n--;
+        }
+        return n;
+    }
+
+    @Override
+    public MergeableStatistic merge(Statistic1 other) {
+        final SumLogs that = MergeableStatistic.cast(this, other, SumLogs.class);
+        this.n += that.n;
+        this.sumLogs += that.sumLogs;
+        this.nonFinite.merge(that.nonFinite);
+        return this;
+    }
+
     @Override
     public Statistic1 copy() {
         try {
-            return (Statistic1)super.clone();
+            final SumLogs clone = (SumLogs)super.clone();
+            clone.nonFinite = nonFinite.copy();
+            return clone;
         } catch (CloneNotSupportedException ex) {
             throw new RuntimeException("Failed to clone statistic", ex);
         }
@@ -71,6 +98,7 @@ public class SumLogs implements Statistic1 {
     public Statistic1 reset() {
         this.n = 0L;
         this.sumLogs = 0d;
+        this.nonFinite.reset();
         return this;
     }
 }
@@ -22,10 +22,11 @@ package com.zavtech.morpheus.stats;
  *
  * @author  Xavier Witdouck
  */
-public class SumSquares implements Statistic1 {
+public class SumSquares implements WindowStatistic, MergeableStatistic {
 
     private long n;
     private double sumSquares;
+    private NonFinite nonFinite = new NonFinite();
 
     /**
      * Constructor
@@ -41,7 +42,7 @@ public class SumSquares implements Statistic1 {
 
     @Override
     public double getValue() {
-        return sumSquares;
+        return nonFinite.sum(sumSquares);
     }
 
     @Override
@@ -52,16 +53,42 @@ public class SumSquares implements Statistic1 {
     @Override
     public long add(double value) {
         if (!Double.isNaN(value)) {
-            this.sumSquares += (value * value);
+            final double term = (value * value);
+            if (!nonFinite.add(term)) {
+                this.sumSquares += term;
+            }
             this.n++;
         }
         return n;
     }
 
+    @Override
+    public long remove(double value) {
+        if (!Double.isNaN(value)) {
+            final double term = (value * value);
+            if (!nonFinite.remove(term)) {
+                this.sumSquares -= term;
+            }
+            this.n--;
+        }
+        return n;
+    }
+
+    @Override
+    public MergeableStatistic merge(Statistic1 other) {
+        final SumSquares that = MergeableStatistic.cast(this, other, SumSquares.class);
+        this.n += that.n;
+        this.sumSquares += that.sumSquares;
+        this.nonFinite.merge(that.nonFinite);
+        return this;
+    }
+
     @Override
     public Statistic1 copy() {
         try {
-            return (Statistic1)super.clone();
+            final SumSquares clone = (SumSquares)super.clone();
+            clone.nonFinite = nonFinite.copy();
+            return clone;
         } catch (CloneNotSupportedException ex) {
             throw new RuntimeException("Failed to clone statistic", ex);
         }
@@ -71,6 +98,7 @@ public class SumSquares implements Statistic1 {
     public Statistic1 reset() {
         this.n = 0L;
         this.sumSquares = 0d;
+        this.nonFinite.reset();
         return this;
     }
 }
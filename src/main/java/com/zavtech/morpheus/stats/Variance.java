@@ -22,11 +22,12 @@ package com.zavtech.morpheus.stats;
  *
  * @author  Xavier Witdouck
  */
-public class Variance implements Statistic1 {
+public class Variance implements WindowStatistic, MergeableStatistic {
 
     private long n;
     private double m1;
     private double m2;
+    private NonFinite nonFinite = new NonFinite();
     private boolean biasCorrected;
 
     /**
@@ -39,12 +40,12 @@ public class Variance implements Statistic1 {
 
     @Override
     public long getN() {
-        return n;
+        return n + nonFinite.count();
     }
 
     @Override
     public double getValue() {
-        if (n == 0) {
+        if (n == 0 || nonFinite.count() > 0) {
             return Double.NaN;
         } else if (n == 1) {
             return 0d;
@@ -64,19 +65,52 @@ public class Variance implements Statistic1 {
 
     @Override
     public long add(double value) {
-        if (!Double.isNaN(value)) {
+        if (!Double.isNaN(value) && !nonFinite.add(value)) {
             final double dev = value - m1;
             final double nDev = dev / ++n;
             this.m1 += (value - m1) / n;
             this.m2 += (n - 1d) * dev * nDev;
         }
-        return n;
+        return getN();
+    }
+
+    @Override
+    public long remove(double value) {
+        if (!Double.isNaN(value) && !nonFinite.remove(value)) {
+            if (--n == 0) {
+                this.m1 = 0d;
+                this.m2 = 0d;
+            } else {
+                final double prevM1 = m1;
+                this.m1 -= (value - m1) / n;
+                this.m2 -= (value - m1) * (value - prevM1);
+            }
+        }
+        return getN();
+    }
+
+    @Override
+    public MergeableStatistic merge(Statistic1 other) {
+        final Variance that = MergeableStatistic.cast(this, other, Variance.class);
+        if (that.n > 0) {
+            final double n1 = n;
+            final double n2 = that.n;
+            final double count = n1 + n2;
+            final double delta = that.m1 - m1;
+            this.m1 += delta * (n2 / count);
+            this.m2 += that.m2 + delta * delta * (n1 * n2 / count);
+            this.n += that.n;
+        }
+        this.nonFinite.merge(that.nonFinite);
+        return this;
     }
 
     @Override
     public Statistic1 copy() {
         try {
-            return (Statistic1)super.clone();
+            final Variance clone = (Variance)super.clone();
+            clone.nonFinite = nonFinite.copy();
+            return clone;
         } catch (CloneNotSupportedException ex) {
             throw new RuntimeException("Failed to clone statistic", ex);
         }
@@ -87,6 +121,7 @@ public class Variance implements Statistic1 {
         this.n = 0L;
         this.m1 = 0d;
         this.m2 = 0d;
+        this.nonFinite.reset();
         return this;
     }
 
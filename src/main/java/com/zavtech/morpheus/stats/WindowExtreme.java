@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.stats;
+
+/**
+ * A base class for window min / max statistics which maintains a monotonic deque of candidate values
+ *
+ * The head of the deque is always the extreme value of the current window, and values that can never
+ * become the extreme are discarded on add, so both add and remove are O(1) amortised.
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+abstract class WindowExtreme implements WindowStatistic {
+
+    private long n;
+    private int head;
+    private int size;
+    private boolean min;
+    private double[] deque;
+
+    /**
+     * Constructor
+     * @param min   true to track the minimum, false to track the maximum
+     */
+    WindowExtreme(boolean min) {
+        this.min = min;
+        this.deque = new double[16];
+    }
+
+    @Override
+    public long getN() {
+        return n;
+    }
+
+    @Override
+    public double getValue() {
+        return size == 0 ? Double.NaN : deque[head];
+    }
+
+    @Override
+    public long add(double value) {
+        this.n++;
+        if (!Double.isNaN(value)) {
+            while (size > 0) {
+                final double last = deque[(head + size - 1) % deque.length];
+                if (min ? last > value : last < value) {
+                    this.size--;
+                } else {
+                    break;
+                }
+            }
+            if (size == deque.length) {
+                final double[] newDeque = new double[deque.length << 1];
+                for (int i=0; i<size; ++i) {
+                    newDeque[i] = deque[(head + i) % deque.length];
+                }
+                this.deque = newDeque;
+                this.head = 0;
+            }
+            this.deque[(head + size) % deque.length] = value;
+            this.size++;
+        }
+        return n;
+    }
+
+    @Override
+    public long remove(double value) {
+        if (n > 0) {
+            this.n--;
+            if (size > 0 && deque[head] == value) {
+                this.head = (head + 1) % deque.length;
+                this.size--;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public Statistic1 copy() {
+        try {
+            final WindowExtreme clone = (WindowExtreme)super.clone();
+            clone.deque = deque.clone();
+            return clone;
+        } catch (CloneNotSupportedException ex) {
+            throw new RuntimeException("Failed to clone statistic", ex);
+        }
+    }
+
+    @Override
+    public Statistic1 reset() {
+        this.n = 0L;
+        this.head = 0;
+        this.size = 0;
+        return this;
+    }
+}
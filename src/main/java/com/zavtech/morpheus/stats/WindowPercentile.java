@@ -0,0 +1,291 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.stats;
+
+import java.util.Arrays;
+
+/**
+ * A WindowStatistic implementation that supports incremental calculation of a sample percentile over a sliding or expanding window
+ *
+ * Values are held in an order statistic tree (a treap with subtree sizes) stored in primitive arrays, so add, remove
+ * and rank selection are all O(log n) and no objects are allocated per step. The result is interpolated in the same
+ * way as the R_7 estimation type used by Percentile, so the two implementations agree.
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class WindowPercentile implements WindowStatistic {
+
+    private static final int NIL = 0;
+
+    private int n;
+    private int root;
+    private int free;
+    private int next;
+    private int seed;
+    private double nth;
+    private double[] values;
+    private int[] left;
+    private int[] right;
+    private int[] sizes;
+    private int[] priorities;
+
+    /**
+     * Constructor
+     * @param nth   the requested percentile
+     */
+    public WindowPercentile(double nth) {
+        this.nth = nth;
+        this.seed = 0x2545F491;
+        this.values = new double[64];
+        this.left = new int[64];
+        this.right = new int[64];
+        this.sizes = new int[64];
+        this.priorities = new int[64];
+        this.reset();
+    }
+
+    @Override
+    public long getN() {
+        return n;
+    }
+
+    @Override
+    public double getValue() {
+        if (n == 0) {
+            return Double.NaN;
+        } else if (n == 1) {
+            return values[root];
+        } else {
+            final double pos = nth == 0d ? 0d : nth == 1d ? n : 1d + (n - 1d) * nth;
+            final double fpos = Math.floor(pos);
+            final int intPos = (int)fpos;
+            final double dif = pos - fpos;
+            if (pos < 1d) {
+                return select(0);
+            } else if (pos >= n) {
+                return select(n - 1);
+            } else {
+                final double lower = select(intPos - 1);
+                final double upper = select(intPos);
+                return lower + dif * (upper - lower);
+            }
+        }
+    }
+
+    @Override
+    public StatType getType() {
+        return StatType.PERCENTILE;
+    }
+
+    @Override
+    public long add(double value) {
+        if (!Double.isNaN(value)) {
+            final int node = allocate(value);
+            this.root = insert(root, node);
+            this.n++;
+        }
+        return n;
+    }
+
+    @Override
+    public long remove(double value) {
+        if (!Double.isNaN(value)) {
+            final int size = sizes[root];
+            this.root = delete(root, value);
+            if (sizes[root] < size) {
+                this.n--;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public Statistic1 copy() {
+        try {
+            final WindowPercentile clone = (WindowPercentile)super.clone();
+            clone.values = values.clone();
+            clone.left = left.clone();
+            clone.right = right.clone();
+            clone.sizes = sizes.clone();
+            clone.priorities = priorities.clone();
+            return clone;
+        } catch (CloneNotSupportedException ex) {
+            throw new RuntimeException("Failed to clone statistic", ex);
+        }
+    }
+
+    @Override
+    public Statistic1 reset() {
+        this.n = 0;
+        this.root = NIL;
+        this.free = NIL;
+        this.next = 1;
+        this.sizes[NIL] = 0;
+        return this;
+    }
+
+    /**
+     * Returns the value with the rank specified in the sorted sample
+     * @param rank  the zero based rank
+     * @return      the value at rank
+     */
+    private double select(int rank) {
+        int node = root;
+        while (node != NIL) {
+            final int leftSize = sizes[left[node]];
+            if (rank < leftSize) {
+                node = left[node];
+            } else if (rank == leftSize) {
+                return values[node];
+            } else {
+                rank -= leftSize + 1;
+                node = right[node];
+            }
+        }
+        throw new StatException("Rank out of bounds for percentile sample of size " + n);
+    }
+
+    /**
+     * Returns a node for the value, recycling removed nodes and growing storage only when exhausted
+     * @param value     the value for node
+     * @return          the node index
+     */
+    private int allocate(double value) {
+        final int node;
+        if (free != NIL) {
+            node = free;
+            this.free = left[free];
+        } else {
+            if (next == values.length) {
+                final int capacity = values.length + (values.length >> 1);
+                this.values = Arrays.copyOf(values, capacity);
+                this.left = Arrays.copyOf(left, capacity);
+                this.right = Arrays.copyOf(right, capacity);
+                this.sizes = Arrays.copyOf(sizes, capacity);
+                this.priorities = Arrays.copyOf(priorities, capacity);
+            }
+            node = next++;
+        }
+        this.seed ^= seed << 13;
+        this.seed ^= seed >>> 17;
+        this.seed ^= seed << 5;
+        this.values[node] = value;
+        this.left[node] = NIL;
+        this.right[node] = NIL;
+        this.sizes[node] = 1;
+        this.priorities[node] = seed;
+        return node;
+    }
+
+    /**
+     * Inserts a node into the subtree at the root specified
+     * @param subtree   the subtree root
+     * @param node      the node to insert
+     * @return          the new subtree root
+     */
+    private int insert(int subtree, int node) {
+        if (subtree == NIL) {
+            return node;
+        } else if (values[node] < values[subtree]) {
+            this.left[subtree] = insert(left[subtree], node);
+            this.sizes[subtree]++;
+            return priorities[left[subtree]] > priorities[subtree] ? rotateRight(subtree) : subtree;
+        } else {
+            this.right[subtree] = insert(right[subtree], node);
+            this.sizes[subtree]++;
+            return priorities[right[subtree]] > priorities[subtree] ? rotateLeft(subtree) : subtree;
+        }
+    }
+
+    /**
+     * Deletes one node with the value specified from the subtree, if one exists
+     * @param subtree   the subtree root
+     * @param value     the value to delete
+     * @return          the new subtree root
+     */
+    private int delete(int subtree, double value) {
+        if (subtree == NIL) {
+            return NIL;
+        } else if (value < values[subtree]) {
+            this.left[subtree] = delete(left[subtree], value);
+        } else if (value > values[subtree]) {
+            this.right[subtree] = delete(right[subtree], value);
+        } else {
+            return deleteRoot(subtree);
+        }
+        this.sizes[subtree] = 1 + sizes[left[subtree]] + sizes[right[subtree]];
+        return subtree;
+    }
+
+    /**
+     * Deletes the root of the subtree by rotating it down until it becomes a leaf
+     * @param subtree   the subtree root to delete
+     * @return          the new subtree root
+     */
+    private int deleteRoot(int subtree) {
+        if (left[subtree] == NIL) {
+            final int result = right[subtree];
+            this.left[subtree] = free;
+            this.free = subtree;
+            return result;
+        } else if (right[subtree] == NIL) {
+            final int result = left[subtree];
+            this.left[subtree] = free;
+            this.free = subtree;
+            return result;
+        } else if (priorities[left[subtree]] > priorities[right[subtree]]) {
+            final int result = rotateRight(subtree);
+            this.right[result] = deleteRoot(subtree);
+            this.sizes[result] = 1 + sizes[left[result]] + sizes[right[result]];
+            return result;
+        } else {
+            final int result = rotateLeft(subtree);
+            this.left[result] = deleteRoot(subtree);
+            this.sizes[result] = 1 + sizes[left[result]] + sizes[right[result]];
+            return result;
+        }
+    }
+
+    /**
+     * Rotates the subtree right, promoting its left child
+     * @param subtree   the subtree root
+     * @return          the new subtree root
+     */
+    private int rotateRight(int subtree) {
+        final int result = left[subtree];
+        this.left[subtree] = right[result];
+        this.right[result] = subtree;
+        this.sizes[subtree] = 1 + sizes[left[subtree]] + sizes[right[subtree]];
+        this.sizes[result] = 1 + sizes[left[result]] + sizes[right[result]];
+        return result;
+    }
+
+    /**
+     * Rotates the subtree left, promoting its right child
+     * @param subtree   the subtree root
+     * @return          the new subtree root
+     */
+    private int rotateLeft(int subtree) {
+        final int result = right[subtree];
+        this.right[subtree] = left[result];
+        this.left[result] = subtree;
+        this.sizes[subtree] = 1 + sizes[left[subtree]] + sizes[right[subtree]];
+        this.sizes[result] = 1 + sizes[left[result]] + sizes[right[result]];
+        return result;
+    }
+}
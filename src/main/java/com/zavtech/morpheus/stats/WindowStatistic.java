@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.stats;
+
+import java.util.Optional;
+
+/**
+ * An extension of Statistic1 for statistics that can also remove values, which allows a sliding window to be maintained in O(1) per step
+ *
+ * Values must be removed in the same order in which they were added, which is always the case for a rolling window.
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public interface WindowStatistic extends Statistic1 {
+
+    /**
+     * Removes the oldest value from the sample for this statistic
+     * @param value     the value to remove, which must be the oldest value added
+     * @return          the sample size after removing value
+     */
+    long remove(double value);
+
+
+    /**
+     * Returns a window capable version of the statistic specified, if one exists
+     * @param statistic     the statistic to find a window capable version of
+     * @return              the optional window statistic, empty if statistic cannot be reversed
+     */
+    static Optional<WindowStatistic> of(Statistic1 statistic) {
+        if (statistic instanceof WindowStatistic) {
+            return Optional.of((WindowStatistic)statistic.copy().reset());
+        } else {
+            switch (statistic.getType()) {
+                case MIN:           return Optional.of(new WindowMin());
+                case MAX:           return Optional.of(new WindowMax());
+                case MEDIAN:        return Optional.of(new WindowMedian());
+                case PERCENTILE:    return percentile(statistic);
+                default:            return Optional.empty();
+            }
+        }
+    }
+
+
+    /**
+     * Returns a window percentile for the statistic, which must expose the requested percentile
+     * @param statistic     the percentile statistic
+     * @return              the optional window percentile
+     */
+    static Optional<WindowStatistic> percentile(Statistic1 statistic) {
+        if (statistic instanceof Percentile) {
+            final double nth = ((Percentile)statistic).getNth();
+            return Optional.of(new WindowPercentile(nth));
+        } else {
+            return Optional.empty();
+        }
+    }
+
+}
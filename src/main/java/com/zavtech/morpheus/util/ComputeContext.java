@@ -0,0 +1,501 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A class that defines the thread pool, parallelism and split heuristics used by parallel operations in the Morpheus library.
+ *
+ * <h3>Overview</h3>
+ * <p>
+ * All parallel operations on Arrays, Ranges, Indexes and DataFrames submit their fork &amp; join tasks to the
+ * context returned by <code>ComputeContext.current()</code>, which defaults to one backed by the JVM common pool.
+ * A context with a dedicated pool can be used to bound and isolate the parallelism of a unit of work, so that
+ * one large parallel operation does not starve unrelated work sharing the same JVM:
+ * <pre>
+ *      final ComputeContext context = ComputeContext.of(4);
+ *      final DataFrame&lt;String,String&gt; result = ComputeContext.whileUsing(context, () -&gt; {
+ *          return frame.rows().parallel().sort(true, "A").rows().parallel().select(row -&gt; row.getDouble("B") &gt; 0d);
+ *      });
+ *      System.out.println("Tasks submitted: " + context.getSubmittedCount());
+ * </pre>
+ * The context applies to the current thread for the scope of the call, and to nested parallel operations that run
+ * on the worker threads of its pool. Tasks submitted through a context run with that context applied to the worker
+ * that executes them, and a worker running a task stolen from another worker resolves the context that is currently
+ * executing work in its pool. If several contexts sharing one pool are executing work at the same time, such as
+ * copies created by <code>withMinSplitLength()</code>, stolen tasks resolve to the context that owns the pool.
+ * </p>
+ * <p>
+ * Work that blocks on I/O, namely the JDBC partitions and writers of the database source and sink, and the timer of
+ * the DataFrame change feed, runs on dedicated threads rather than in a context, as blocking fork &amp; join workers
+ * would starve the compute work sharing their pool.
+ * </p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class ComputeContext {
+
+    private static final AtomicInteger poolCount = new AtomicInteger();
+    private static final ThreadLocal<ComputeContext> currentContext = new ThreadLocal<>();
+    private static final ReferenceQueue<ForkJoinPool> staleKeys = new ReferenceQueue<>();
+    private static final Map<PoolKey,PoolContexts> poolMap = new ConcurrentHashMap<>();
+    private static final ComputeContext defaultContext = new ComputeContext(ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors(), 1, false);
+
+    private ForkJoinPool pool;
+    private int parallelism;
+    private int minSplitLength;
+    private boolean owned;
+    private PoolContexts contexts;
+    private LongAdder submitted = new LongAdder();
+    private LongAdder completed = new LongAdder();
+    private LongAdder failed = new LongAdder();
+
+    /**
+     * Constructor
+     * @param pool              the pool to submit tasks to
+     * @param parallelism       the number of tasks to split work into
+     * @param minSplitLength    the length below which work is never split
+     * @param owned             true if the pool is owned by this context
+     */
+    private ComputeContext(ForkJoinPool pool, int parallelism, int minSplitLength, boolean owned) {
+        this.pool = pool;
+        this.parallelism = parallelism;
+        this.minSplitLength = minSplitLength;
+        this.owned = owned;
+        this.contexts = register(pool);
+    }
+
+
+    /**
+     * Returns the contexts associated with the pool specified, registering the pool if it is not already registered
+     * @param pool  the pool
+     * @return      the contexts for pool
+     */
+    private static PoolContexts register(ForkJoinPool pool) {
+        Reference<? extends ForkJoinPool> stale;
+        while ((stale = staleKeys.poll()) != null) {
+            poolMap.remove(stale);
+        }
+        return poolMap.computeIfAbsent(new PoolKey(pool, staleKeys), key -> new PoolContexts());
+    }
+
+
+    /**
+     * Returns the default context, which submits to the JVM common pool
+     * @return  the default context
+     */
+    public static ComputeContext getDefault() {
+        return defaultContext;
+    }
+
+
+    /**
+     * Returns the context that applies to the current thread
+     * @return  the context for the current thread
+     */
+    public static ComputeContext current() {
+        final ComputeContext context = currentContext.get();
+        if (context != null) {
+            return context;
+        } else {
+            final Thread thread = Thread.currentThread();
+            if (thread instanceof ForkJoinWorkerThread) {
+                final PoolContexts contexts = poolMap.get(new PoolKey(((ForkJoinWorkerThread)thread).getPool(), null));
+                final ComputeContext poolContext = contexts != null ? contexts.resolve() : null;
+                return poolContext != null ? poolContext : defaultContext;
+            } else {
+                return defaultContext;
+            }
+        }
+    }
+
+
+    /**
+     * Returns a new context backed by a dedicated pool of daemon threads with the parallelism specified
+     * @param parallelism   the max number of threads for the pool
+     * @return              the newly created context, which should be shutdown when no longer required
+     */
+    public static ComputeContext of(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism of a compute context must be > 0, not " + parallelism);
+        } else {
+            final int poolId = poolCount.incrementAndGet();
+            final AtomicInteger threadCount = new AtomicInteger();
+            final ForkJoinPool pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("DataFrameComputeThread-" + poolId + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+            final ComputeContext context = new ComputeContext(pool, parallelism, 1, true);
+            context.contexts.setOwner(context);
+            return context;
+        }
+    }
+
+
+    /**
+     * Returns a new context that submits to the pool specified, which is not shutdown by the context
+     * @param pool  the pool to submit tasks to
+     * @return      the newly created context
+     */
+    public static ComputeContext of(ForkJoinPool pool) {
+        final ComputeContext context = new ComputeContext(pool, pool.getParallelism(), 1, false);
+        if (pool != ForkJoinPool.commonPool()) {
+            context.contexts.setOwner(context);
+        }
+        return context;
+    }
+
+
+    /**
+     * Runs the runnable with the context specified applied to the current thread
+     * @param context   the context to apply
+     * @param runnable  the runnable to run
+     */
+    public static void whileUsing(ComputeContext context, Runnable runnable) {
+        final ComputeContext initial = currentContext.get();
+        currentContext.set(context);
+        try {
+            runnable.run();
+        } finally {
+            currentContext.set(initial);
+        }
+    }
+
+
+    /**
+     * Returns the result of the callable with the context specified applied to the current thread
+     * @param context   the context to apply
+     * @param callable  the callable to call
+     * @param <T>       the result type
+     * @return          the result of callable
+     */
+    public static <T> T whileUsing(ComputeContext context, Callable<T> callable) {
+        final ComputeContext initial = currentContext.get();
+        currentContext.set(context);
+        try {
+            return callable.call();
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new RuntimeException(ex.getMessage(), ex);
+        } finally {
+            currentContext.set(initial);
+        }
+    }
+
+
+    /**
+     * Returns a copy of this context sharing the same pool, with a different minimum split length
+     * @param minSplitLength    the length below which work is never split
+     * @return                  the new context, with its own task counters
+     */
+    public ComputeContext withMinSplitLength(int minSplitLength) {
+        if (minSplitLength < 1) {
+            throw new IllegalArgumentException("The min split length of a compute context must be > 0, not " + minSplitLength);
+        } else {
+            return new ComputeContext(pool, parallelism, minSplitLength, false);
+        }
+    }
+
+
+    /**
+     * Returns the pool that tasks are submitted to
+     * @return  the pool for this context
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+
+    /**
+     * Returns the number of tasks that parallel work is split into
+     * @return  the parallelism for this context
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+
+    /**
+     * Returns the length below which a task over elements should not be split further
+     * @param length        the total number of elements to process
+     * @param minLength     the smallest partition worth a task of its own, which reflects the cost per element
+     * @return              the split threshold, which spreads the elements evenly over the parallelism of this context
+     */
+    public int getSplitThreshold(int length, int minLength) {
+        return Math.max(Math.max(minLength, minSplitLength), length / parallelism);
+    }
+
+
+    /**
+     * Returns the number of tasks submitted to this context
+     * @return  the number of tasks submitted
+     */
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+
+    /**
+     * Returns the number of tasks that completed normally in this context
+     * @return  the number of tasks completed
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+
+    /**
+     * Returns the number of tasks that completed with an exception in this context
+     * @return  the number of tasks failed
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+
+    /**
+     * Returns the number of tasks currently running in this context
+     * @return  the number of tasks in progress
+     */
+    public long getActiveCount() {
+        return submitted.sum() - completed.sum() - failed.sum();
+    }
+
+
+    /**
+     * Executes the task in the pool of this context and returns its result
+     * @param task  the task to execute
+     * @param <T>   the result type
+     * @return      the result of task
+     */
+    public <T> T invoke(ForkJoinTask<T> task) {
+        this.submitted.increment();
+        final Thread thread = Thread.currentThread();
+        final boolean inPool = thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread)thread).getPool() == pool;
+        final boolean enter = !inPool || (currentContext.get() != this && !contexts.isExecuting(this));
+        if (enter) {
+            this.contexts.enter(this);
+        }
+        try {
+            final T result = inPool ? whileUsing(this, task::invoke) : pool.invoke(new ContextTask<>(this, task));
+            this.completed.increment();
+            return result;
+        } catch (RuntimeException | Error ex) {
+            this.failed.increment();
+            throw ex;
+        } finally {
+            if (enter) {
+                this.contexts.exit(this);
+            }
+        }
+    }
+
+
+    /**
+     * Runs the runnable in the pool of this context, so that any parallel streams it uses execute in the same pool.
+     * Parallel streams already use the common pool, so a context over the common pool runs it on the calling thread.
+     * @param runnable  the runnable to run
+     */
+    public void run(Runnable runnable) {
+        final boolean worker = Thread.currentThread() instanceof ForkJoinWorkerThread;
+        if (worker || pool != ForkJoinPool.commonPool()) {
+            this.invoke(ForkJoinTask.adapt(runnable));
+        } else {
+            this.submitted.increment();
+            this.contexts.enter(this);
+            try {
+                whileUsing(this, runnable);
+                this.completed.increment();
+            } catch (RuntimeException | Error ex) {
+                this.failed.increment();
+                throw ex;
+            } finally {
+                this.contexts.exit(this);
+            }
+        }
+    }
+
+
+    /**
+     * Shuts down the pool of this context if it was created by this context
+     */
+    public void shutdown() {
+        if (owned) {
+            poolMap.remove(new PoolKey(pool, null));
+            this.pool.shutdown();
+        }
+    }
+
+
+    @Override
+    public String toString() {
+        return "ComputeContext{parallelism=" + parallelism + ", submitted=" + getSubmittedCount() + ", active=" + getActiveCount() + "}";
+    }
+
+
+    /**
+     * A task that executes another task with a context applied to the worker thread that runs it
+     * @param <T>   the result type
+     */
+    private static class ContextTask<T> extends RecursiveTask<T> {
+
+        private ComputeContext context;
+        private ForkJoinTask<T> task;
+
+        /**
+         * Constructor
+         * @param context   the context to apply
+         * @param task      the task to execute
+         */
+        ContextTask(ComputeContext context, ForkJoinTask<T> task) {
+            this.context = context;
+            this.task = task;
+        }
+
+        @Override
+        protected T compute() {
+            return whileUsing(context, task::invoke);
+        }
+    }
+
+
+    /**
+     * A weak reference to a pool used as a key in the pool map, which compares pools by identity
+     */
+    private static class PoolKey extends WeakReference<ForkJoinPool> {
+
+        private int hashCode;
+
+        /**
+         * Constructor
+         * @param pool  the pool
+         * @param queue the queue to enqueue this key on once the pool is collected, null for a lookup key
+         */
+        PoolKey(ForkJoinPool pool, ReferenceQueue<ForkJoinPool> queue) {
+            super(pool, queue);
+            this.hashCode = System.identityHashCode(pool);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other == this) {
+                return true;
+            } else if (other instanceof PoolKey) {
+                final ForkJoinPool pool = get();
+                return pool != null && pool == ((PoolKey)other).get();
+            } else {
+                return false;
+            }
+        }
+    }
+
+
+    /**
+     * The contexts associated with a pool, which resolves the context for tasks stolen by its worker threads
+     *
+     * The map key only weakly references the pool, and the owner is weakly referenced, so an entry never keeps its pool
+     * or context alive. Contexts executing work are only held for the duration of that work. A context enters when work
+     * is submitted from outside the pool, or from a worker running under another context, so nested work in the same
+     * context does not synchronize, and resolving a context is a volatile read.
+     */
+    private static class PoolContexts {
+
+        private volatile WeakReference<ComputeContext> owner = new WeakReference<>(null);
+        private volatile ComputeContext resolved;
+        private Map<ComputeContext,Integer> executing = new HashMap<>(4);
+
+        /**
+         * Sets the owner context for the pool if there is none yet
+         * @param context   the owner context
+         */
+        synchronized void setOwner(ComputeContext context) {
+            if (owner.get() == null) {
+                this.owner = new WeakReference<>(context);
+                this.update();
+            }
+        }
+
+        /**
+         * Records that a context has started executing work in the pool
+         * @param context   the context
+         */
+        synchronized void enter(ComputeContext context) {
+            this.executing.merge(context, 1, Integer::sum);
+            this.update();
+        }
+
+        /**
+         * Records that a context has finished executing work in the pool
+         * @param context   the context
+         */
+        synchronized void exit(ComputeContext context) {
+            this.executing.computeIfPresent(context, (key, count) -> count > 1 ? count - 1 : null);
+            this.update();
+        }
+
+        /**
+         * Updates the resolved context after the executing contexts or owner have changed
+         */
+        private void update() {
+            if (executing.size() == 1) {
+                this.resolved = executing.keySet().iterator().next();
+            } else {
+                this.resolved = null;
+            }
+        }
+
+        /**
+         * Returns true if the context specified is the only context executing work in the pool
+         * @param context   the context
+         * @return          true if context is executing work in the pool
+         */
+        boolean isExecuting(ComputeContext context) {
+            return resolved == context;
+        }
+
+        /**
+         * Returns the context for a worker thread of the pool that is not running within a context
+         * @return  the only context executing work in the pool, otherwise the owner, which may be null
+         */
+        ComputeContext resolve() {
+            final ComputeContext context = resolved;
+            return context != null ? context : owner.get();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An InputStream that reads a byte range of a file channel using positional reads, so many streams can share the same channel
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class FileRegionInputStream extends InputStream {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private long position;
+    private long end;
+    private ByteBuffer buffer;
+    private FileChannel channel;
+
+    /**
+     * Constructor
+     * @param channel   the file channel to read from, which is not closed by this stream
+     * @param start     the start position, inclusive
+     * @param end       the end position, exclusive
+     */
+    public FileRegionInputStream(FileChannel channel, long start, long end) {
+        this.channel = channel;
+        this.position = start;
+        this.end = end;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.buffer.flip();
+    }
+
+
+    @Override
+    public int read() throws IOException {
+        return fill() ? buffer.get() & 0xFF : -1;
+    }
+
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        } else if (!fill()) {
+            return -1;
+        } else {
+            final int count = Math.min(length, buffer.remaining());
+            this.buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+
+
+    @Override
+    public int available() throws IOException {
+        return buffer.remaining();
+    }
+
+
+    /**
+     * Fills the buffer from the channel if it has been consumed
+     * @return  true if the buffer has remaining bytes, false if the end of the range was reached
+     * @throws IOException  if there is a file read error
+     */
+    private boolean fill() throws IOException {
+        if (buffer.hasRemaining()) {
+            return true;
+        } else if (position >= end) {
+            return false;
+        } else {
+            this.buffer.clear();
+            this.buffer.limit((int)Math.min(buffer.capacity(), end - position));
+            final int count = channel.read(buffer, position);
+            this.buffer.flip();
+            this.position += Math.max(0, count);
+            return buffer.hasRemaining();
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.zavtech.morpheus.util;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
 
 /**
@@ -60,12 +61,16 @@ public class Mapper {
         final int size = list.size();
         final List<O> result = createList(list);
         IntStream.range(0, size).forEach(i -> result.add(null));
-        final IntStream indexes = parallel ? IntStream.range(0, size).parallel() : IntStream.range(0, size);
-        indexes.forEach(index -> {
+        final IntConsumer mapper = index -> {
             final I source = list.get(index);
             final O target = listMapper.apply(index, source);
             result.set(index, target);
-        });
+        };
+        if (parallel) {
+            ComputeContext.current().run(() -> IntStream.range(0, size).parallel().forEach(mapper));
+        } else {
+            IntStream.range(0, size).forEach(mapper);
+        }
         return result;
     }
 
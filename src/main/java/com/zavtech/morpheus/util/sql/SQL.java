@@ -82,6 +82,7 @@ public class SQL implements java.io.Serializable {
                 }
             } else {
                 try (Statement stmt = conn.createStatement();) {
+                    stmt.setFetchSize(fetchSize > 0 ? fetchSize : 1000);
                     final ResultSet resultSet = stmt.executeQuery(expression);
                     return handler.apply(resultSet);
                 }
@@ -0,0 +1,297 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.util.text.parser;
+
+/**
+ * A utility class that parses primitive values directly from a range of characters, without regular expressions or intermediate objects
+ *
+ * <p>Each method handles only the plain and most common form of its type, and reports anything else with a sentinel
+ * value rather than an exception, so callers can fall back to a strict parser for input that is malformed or unusual.
+ * The methods accept any CharSequence, so they apply equally to a String or to a CharBuffer that wraps a char[] buffer.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public final class FastParse {
+
+    private static final long DAYS_0000_TO_1970 = 719528L;
+    private static final double[] powersOfTen = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Private constructor
+     */
+    private FastParse() {
+        super();
+    }
+
+
+    /**
+     * Returns the int value of an optionally signed decimal integer in the range specified
+     * @param text  the text to parse
+     * @param from  the start index, inclusive
+     * @param to    the end index, exclusive
+     * @return      the int value, or Integer.MIN_VALUE if the text is not a plain int, or is Integer.MIN_VALUE itself
+     */
+    public static int parseInt(CharSequence text, int from, int to) {
+        final long value = to - from > 11 ? Long.MIN_VALUE : parseLong(text, from, to);
+        return value > Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (int)value : Integer.MIN_VALUE;
+    }
+
+
+    /**
+     * Returns the long value of an optionally signed decimal integer of up to 18 digits in the range specified
+     * @param text  the text to parse
+     * @param from  the start index, inclusive
+     * @param to    the end index, exclusive
+     * @return      the long value, or Long.MIN_VALUE if the text is not a plain long of up to 18 digits
+     */
+    public static long parseLong(CharSequence text, int from, int to) {
+        if (from >= to) {
+            return Long.MIN_VALUE;
+        } else {
+            final char first = text.charAt(from);
+            final boolean negative = first == '-';
+            final int start = negative || first == '+' ? from + 1 : from;
+            if (start == to || to - start > 18) {
+                return Long.MIN_VALUE;
+            } else {
+                long value = 0L;
+                for (int i=start; i<to; ++i) {
+                    final int digit = text.charAt(i) - '0';
+                    if (digit < 0 || digit > 9) {
+                        return Long.MIN_VALUE;
+                    } else {
+                        value = value * 10 + digit;
+                    }
+                }
+                return negative ? -value : value;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the double value of a plain decimal number in the range specified, such as -123.456
+     * Only numbers with at most 15 significant digits and 22 decimal places are parsed here, in which case the
+     * result is exact after a single division, and therefore identical to that of Double.parseDouble().
+     * @param text  the text to parse
+     * @param from  the start index, inclusive
+     * @param to    the end index, exclusive
+     * @return      the double value, or NaN if the text is not a plain decimal number within the limits above
+     */
+    public static double parseDouble(CharSequence text, int from, int to) {
+        if (from >= to) {
+            return Double.NaN;
+        } else {
+            final boolean negative = text.charAt(from) == '-';
+            long mantissa = 0L;
+            int digits = 0;
+            int scale = 0;
+            boolean point = false;
+            boolean empty = true;
+            for (int i = negative ? from + 1 : from; i<to; ++i) {
+                final char c = text.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    mantissa = mantissa * 10 + (c - '0');
+                    digits += mantissa != 0 ? 1 : 0;
+                    scale += point ? 1 : 0;
+                    empty = false;
+                    if (digits > 15 || scale > 22) {
+                        return Double.NaN;
+                    }
+                } else if (c == '.' && !point) {
+                    point = true;
+                } else {
+                    return Double.NaN;
+                }
+            }
+            if (empty) {
+                return Double.NaN;
+            } else {
+                final double value = scale == 0 ? (double)mantissa : (double)mantissa / powersOfTen[scale];
+                return negative ? -value : value;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the boolean value of the text in the range specified, which must be true, yes, on, y, false, no, off or n
+     * @param text  the text to parse
+     * @param from  the start index, inclusive
+     * @param to    the end index, exclusive
+     * @return      1 for true, 0 for false, or -1 if the text is not a recognized boolean
+     */
+    public static int parseBoolean(CharSequence text, int from, int to) {
+        switch (to - from) {
+            case 1:     return matches(text, from, "y") ? 1 : matches(text, from, "n") ? 0 : -1;
+            case 2:     return matches(text, from, "on") ? 1 : matches(text, from, "no") ? 0 : -1;
+            case 3:     return matches(text, from, "yes") ? 1 : matches(text, from, "off") ? 0 : -1;
+            case 4:     return matches(text, from, "true") ? 1 : -1;
+            case 5:     return matches(text, from, "false") ? 0 : -1;
+            default:    return -1;
+        }
+    }
+
+
+    /**
+     * Returns the epoch day of an ISO local date in the form yyyy-MM-dd in the range specified
+     * @param text  the text to parse
+     * @param from  the start index, inclusive
+     * @param to    the end index, exclusive
+     * @return      the epoch day, or Long.MIN_VALUE if the text is not a valid date in the form yyyy-MM-dd
+     */
+    public static long parseIsoDate(CharSequence text, int from, int to) {
+        if (to - from != 10 || text.charAt(from + 4) != '-' || text.charAt(from + 7) != '-') {
+            return Long.MIN_VALUE;
+        } else {
+            final int year = digits(text, from, from + 4);
+            final int month = digits(text, from + 5, from + 7);
+            final int day = digits(text, from + 8, from + 10);
+            final boolean leap = (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+            if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(month, leap)) {
+                return Long.MIN_VALUE;
+            } else {
+                long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+                total += (367 * month - 362) / 12;
+                total += day - 1;
+                if (month > 2) {
+                    total -= leap ? 1 : 2;
+                }
+                return total - DAYS_0000_TO_1970;
+            }
+        }
+    }
+
+
+    /**
+     * Returns true if the text in the range is an optionally signed integer with between 1 and max digits
+     * @param text      the text to check
+     * @param from      the start index, inclusive
+     * @param to        the end index, exclusive
+     * @param max       the max number of digits
+     * @return          true if the text is an integer within the digit limit
+     */
+    static boolean isInteger(CharSequence text, int from, int to, int max) {
+        final int start = from < to && isSign(text.charAt(from)) ? from + 1 : from;
+        return start < to && to - start <= max && isDigits(text, start, to);
+    }
+
+
+    /**
+     * Returns true if the text in the range matches the pattern [-+]?[0-9]+\.?[0-9]*([Ee][+-]?[0-9]+)?
+     * @param text      the text to check
+     * @param from      the start index, inclusive
+     * @param to        the end index, exclusive
+     * @return          true if the text is a decimal number
+     */
+    static boolean isDecimal(CharSequence text, int from, int to) {
+        int i = from < to && isSign(text.charAt(from)) ? from + 1 : from;
+        final int start = i;
+        while (i < to && isDigit(text.charAt(i))) i++;
+        if (i == start) {
+            return false;
+        } else {
+            if (i < to && text.charAt(i) == '.') i++;
+            while (i < to && isDigit(text.charAt(i))) i++;
+            if (i < to && (text.charAt(i) == 'E' || text.charAt(i) == 'e')) {
+                i = i + 1 < to && isSign(text.charAt(i + 1)) ? i + 2 : i + 1;
+                return i < to && isDigits(text, i, to);
+            } else {
+                return i == to;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the value of the unsigned digits in the range, or -1 if any char is not a digit
+     */
+    private static int digits(CharSequence text, int from, int to) {
+        int value = 0;
+        for (int i=from; i<to; ++i) {
+            final int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            } else {
+                value = value * 10 + digit;
+            }
+        }
+        return value;
+    }
+
+
+    /**
+     * Returns true if all chars in the range are digits
+     */
+    private static boolean isDigits(CharSequence text, int from, int to) {
+        for (int i=from; i<to; ++i) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Returns true if the char is an ascii digit
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+
+    /**
+     * Returns true if the char is a plus or minus sign
+     */
+    private static boolean isSign(char c) {
+        return c == '-' || c == '+';
+    }
+
+
+    /**
+     * Returns true if the text starting at the offset matches all chars of the value
+     */
+    private static boolean matches(CharSequence text, int from, String value) {
+        for (int i=0; i<value.length(); ++i) {
+            if (text.charAt(from + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Returns the number of days in the month for a leap or non leap year
+     */
+    private static int lengthOfMonth(int month, boolean leap) {
+        switch (month) {
+            case 2:     return leap ? 29 : 28;
+            case 4:     return 30;
+            case 6:     return 30;
+            case 9:     return 30;
+            case 11:    return 30;
+            default:    return 31;
+        }
+    }
+
+}
@@ -101,6 +101,16 @@ public abstract class Parser<T> extends Function1<String,T> {
         return this;
     }
 
+    /**
+     * Returns a copy of this Parser that can be used on another thread
+     * Parsers that hold mutable state, such as a DecimalFormat, Calendar or Matcher, return a copy with private
+     * state, while stateless parsers, including those that wrap a user function, return themselves.
+     * @return  a Parser that does not share mutable state with this Parser
+     */
+    public Parser<T> copy() {
+        return this;
+    }
+
     /**
      * Returns true if this parser can process the value specified
      * @param value     the value to check if can be parsed by this parser
@@ -258,7 +268,7 @@ public abstract class Parser<T> extends Function1<String,T> {
      * @return  newly created Parser
      */
     public static Parser<Double> ofDouble() {
-        return new ParserOfDouble(defaultNullCheck, Double::parseDouble);
+        return new ParserOfDouble(defaultNullCheck, Double::parseDouble, true);
     }
 
     /**
@@ -275,7 +285,12 @@ public abstract class Parser<T> extends Function1<String,T> {
             } catch (Exception ex) {
                 throw new FormatException("Failed to parse value into double: " + value, ex);
             }
-        });
+        }, isPlain(decimalFormat)) {
+            @Override
+            public Parser<Double> copy() {
+                return ofDouble(pattern, multiplier).withNullChecker(getNullChecker());
+            }
+        };
     }
 
     /**
@@ -427,4 +442,21 @@ public abstract class Parser<T> extends Function1<String,T> {
         return decimalFormat;
     }
 
+    /**
+     * Returns true if the decimal format parses plain decimal numbers such as -123.45 exactly as Double.parseDouble() would
+     * @param format    the decimal format
+     * @return          true if plain decimal numbers can bypass the format
+     */
+    private static boolean isPlain(DecimalFormat format) {
+        return format.getMultiplier() == 1
+            && !format.isParseBigDecimal()
+            && !format.isParseIntegerOnly()
+            && format.getPositivePrefix().isEmpty()
+            && format.getPositiveSuffix().isEmpty()
+            && format.getNegativePrefix().equals("-")
+            && format.getNegativeSuffix().isEmpty()
+            && format.getDecimalFormatSymbols().getDecimalSeparator() == '.'
+            && format.getDecimalFormatSymbols().getMinusSign() == '-';
+    }
+
 }
@@ -15,9 +15,6 @@
  */
 package com.zavtech.morpheus.util.text.parser;
 
-import java.util.Set;
-
-import com.zavtech.morpheus.util.Collect;
 import com.zavtech.morpheus.util.functions.FunctionStyle;
 import com.zavtech.morpheus.util.functions.ToBooleanFunction;
 import com.zavtech.morpheus.util.text.FormatException;
@@ -31,9 +28,6 @@ import com.zavtech.morpheus.util.text.FormatException;
  */
 class ParserOfBoolean extends Parser<Boolean> {
 
-    private static final Set<String> trueSet = Collect.asSet("true", "yes", "on", "y");
-    private static final Set<String> falseSet = Collect.asSet("false", "no", "off", "n");
-
     /**
      * Constructor
      * @param nullChecker   the null checker function
@@ -44,7 +38,7 @@ class ParserOfBoolean extends Parser<Boolean> {
 
     @Override
     public final boolean isSupported(String value) {
-        return !getNullChecker().applyAsBoolean(value) && (trueSet.contains(value) || falseSet.contains(value));
+        return !getNullChecker().applyAsBoolean(value) && FastParse.parseBoolean(value, 0, value.length()) >= 0;
     }
 
     @Override
@@ -55,7 +49,7 @@ class ParserOfBoolean extends Parser<Boolean> {
     @Override
     public final boolean applyAsBoolean(String value) {
         try {
-            return !getNullChecker().applyAsBoolean(value) && trueSet.contains(value);
+            return !getNullChecker().applyAsBoolean(value) && FastParse.parseBoolean(value, 0, value.length()) == 1;
         } catch (Exception ex) {
             throw new FormatException("Failed to parse value into Boolean: " + value, ex);
         }
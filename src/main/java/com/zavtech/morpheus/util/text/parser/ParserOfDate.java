@@ -65,6 +65,12 @@ class ParserOfDate<T extends java.util.Date> extends Parser<T> {
         return this;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Parser<T> copy() {
+        return new ParserOfDate<>((Class<T>)dateClass, getNullChecker());
+    }
+
     @Override
     public final boolean isSupported(String value) {
         if (!getNullChecker().applyAsBoolean(value)) {
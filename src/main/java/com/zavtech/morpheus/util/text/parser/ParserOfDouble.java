@@ -36,6 +36,7 @@ class ParserOfDouble extends Parser<Double> {
 
     private static final Set<Pattern> patternSet = new HashSet<>();
 
+    private boolean fast;
     private Function<String,Number> handler;
 
     /**
@@ -50,10 +51,12 @@ class ParserOfDouble extends Parser<Double> {
      * Constructor
      * @param nullChecker   the null checker function
      * @param handler       the handler for this parser, which may be null in order to use pattern matching
+     * @param fast          true if plain decimal values can be parsed by FastParse, as they would be parsed the same way by handler
      */
-    ParserOfDouble(ToBooleanFunction<String> nullChecker, Function<String,Number> handler) {
+    ParserOfDouble(ToBooleanFunction<String> nullChecker, Function<String,Number> handler, boolean fast) {
         super(FunctionStyle.DOUBLE, Double.class, nullChecker);
         this.handler = handler;
+        this.fast = fast;
     }
 
     @Override
@@ -63,15 +66,7 @@ class ParserOfDouble extends Parser<Double> {
 
     @Override
     public final boolean isSupported(String value) {
-        if (!getNullChecker().applyAsBoolean(value)) {
-            for (Pattern pattern : patternSet) {
-                final Matcher matcher = pattern.matcher(value);
-                if (matcher.reset(value).matches()) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return !getNullChecker().applyAsBoolean(value) && (FastParse.isDecimal(value, 0, value.length()) || value.equals("NaN"));
     }
 
     @Override
@@ -80,6 +75,10 @@ class ParserOfDouble extends Parser<Double> {
             if (getNullChecker().applyAsBoolean(value) || value.equalsIgnoreCase("NaN")) {
                 return Double.NaN;
             } else {
+                final double result = fast ? FastParse.parseDouble(value, 0, value.length()) : Double.NaN;
+                if (!Double.isNaN(result)) {
+                    return result;
+                }
                 if (handler != null) {
                     final Number number = handler.apply(value);
                     return number instanceof Double ? ((Double)number) : number.doubleValue();
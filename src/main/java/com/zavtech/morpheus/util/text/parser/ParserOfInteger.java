@@ -47,7 +47,7 @@ class ParserOfInteger extends Parser<Integer> {
 
     @Override
     public final boolean isSupported(String value) {
-        return !getNullChecker().applyAsBoolean(value) && pattern.matcher(value).matches();
+        return !getNullChecker().applyAsBoolean(value) && FastParse.isInteger(value, 0, value.length(), 10);
     }
 
     @Override
@@ -55,10 +55,15 @@ class ParserOfInteger extends Parser<Integer> {
         try {
             if (getNullChecker().applyAsBoolean(value)) {
                 return 0;
-            } else if (pattern.matcher(value).matches()) {
-                return Integer.parseInt(value);
             } else {
-                throw new IllegalArgumentException("Cannot parse value into an int: " + value + " pattern: " + pattern.pattern());
+                final int result = FastParse.parseInt(value, 0, value.length());
+                if (result != Integer.MIN_VALUE) {
+                    return result;
+                } else if (pattern.matcher(value).matches()) {
+                    return Integer.parseInt(value);
+                } else {
+                    throw new IllegalArgumentException("Cannot parse value into an int: " + value + " pattern: " + pattern.pattern());
+                }
             }
         } catch (Exception ex) {
             throw new FormatException("Failed to parse value into Integer: " + value, ex);
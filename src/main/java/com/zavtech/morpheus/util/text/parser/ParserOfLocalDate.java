@@ -37,6 +37,7 @@ import com.zavtech.morpheus.util.text.FormatException;
 class ParserOfLocalDate extends Parser<LocalDate> {
 
     private static final Map<Pattern,DateTimeFormatter> patternMap = new LinkedHashMap<>();
+    private static final DateTimeFormatter isoFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     private Supplier<DateTimeFormatter> format;
 
@@ -44,7 +45,7 @@ class ParserOfLocalDate extends Parser<LocalDate> {
      * Static initializer
      */
     static {
-        patternMap.put(Pattern.compile("\\d{4}-\\d{2}-\\d{2}"), DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        patternMap.put(Pattern.compile("\\d{4}-\\d{2}-\\d{2}"), isoFormat);
         patternMap.put(Pattern.compile("\\d{2}-\\p{Alpha}{3}]-\\d{4}"), DateTimeFormatter.ofPattern("dd-MMM-yyyy"));
     }
 
@@ -79,6 +80,9 @@ class ParserOfLocalDate extends Parser<LocalDate> {
     @Override
     public final boolean isSupported(String value) {
         if (!getNullChecker().applyAsBoolean(value)) {
+            if (FastParse.parseIsoDate(value, 0, value.length()) != Long.MIN_VALUE) {
+                return true;
+            }
             for (Map.Entry<Pattern,DateTimeFormatter> entry : patternMap.entrySet()) {
                 final Matcher matcher = entry.getKey().matcher(value);
                 if (matcher.reset(value).matches()) {
@@ -97,6 +101,12 @@ class ParserOfLocalDate extends Parser<LocalDate> {
                 return null;
             } else {
                 final DateTimeFormatter formatter = format.get();
+                if (formatter == null || formatter == isoFormat || formatter == DateTimeFormatter.ISO_LOCAL_DATE) {
+                    final long epochDay = FastParse.parseIsoDate(value, 0, value.length());
+                    if (epochDay != Long.MIN_VALUE) {
+                        return LocalDate.ofEpochDay(epochDay);
+                    }
+                }
                 if (formatter != null) {
                     return LocalDate.parse(value, formatter);
                 } else {
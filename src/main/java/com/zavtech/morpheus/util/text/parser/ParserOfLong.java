@@ -42,7 +42,7 @@ class ParserOfLong extends Parser<Long> {
 
     @Override
     public final boolean isSupported(String value) {
-        return !getNullChecker().applyAsBoolean(value) && pattern.matcher(value).matches();
+        return !getNullChecker().applyAsBoolean(value) && FastParse.isInteger(value, 0, value.length(), 20);
     }
 
     @Override
@@ -55,10 +55,15 @@ class ParserOfLong extends Parser<Long> {
         try {
             if (getNullChecker().applyAsBoolean(value)) {
                 return 0L;
-            } else if (pattern.matcher(value).matches()) {
-                return Long.parseLong(value);
             } else {
-                throw new IllegalArgumentException("Cannot parse value into an long: " + value + " pattern: " + pattern.pattern());
+                final long result = FastParse.parseLong(value, 0, value.length());
+                if (result != Long.MIN_VALUE) {
+                    return result;
+                } else if (pattern.matcher(value).matches()) {
+                    return Long.parseLong(value);
+                } else {
+                    throw new IllegalArgumentException("Cannot parse value into an long: " + value + " pattern: " + pattern.pattern());
+                }
             }
         } catch (Exception ex) {
             throw new FormatException("Failed to parse value into Long: " + value, ex);
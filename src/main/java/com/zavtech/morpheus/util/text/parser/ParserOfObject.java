@@ -42,7 +42,7 @@ class ParserOfObject extends Parser<Object> {
         this.parserList.add(new ParserOfBoolean(nullChecker));
         this.parserList.add(new ParserOfInteger(nullChecker));
         this.parserList.add(new ParserOfLong(nullChecker));
-        this.parserList.add(new ParserOfDouble(nullChecker, null));
+        this.parserList.add(new ParserOfDouble(nullChecker, null, true));
         this.parserList.add(new ParserOfLocalDate(nullChecker, () -> null));
         this.parserList.add(new ParserOfLocalTime(nullChecker, () -> null));
         this.parserList.add(new ParserOfLocalDateTime(nullChecker, () -> null));
@@ -65,6 +65,14 @@ class ParserOfObject extends Parser<Object> {
         return this;
     }
 
+    @Override
+    public Parser<Object> copy() {
+        final ParserOfObject copy = new ParserOfObject(getNullChecker());
+        copy.parserList.clear();
+        this.parserList.forEach(parser -> copy.parserList.add(parser.copy()));
+        return copy;
+    }
+
     @Override
     public final Object apply(String value) {
         try {
@@ -82,6 +82,62 @@ public abstract class Printer<T> extends Function2<T,String> {
         return this;
     }
 
+    /**
+     * Returns a copy of this Printer that can be used on another thread
+     * Printers that hold a mutable format, such as a DecimalFormat or DateFormat, return a copy with a private
+     * format, while stateless printers, including those that wrap a user function, return themselves.
+     * @return  a Printer that does not share mutable state with this Printer
+     */
+    public Printer<T> copy() {
+        return this;
+    }
+
+    /**
+     * Appends the text for the value to the builder provided
+     * @param input     the value to print
+     * @param builder   the builder to append to
+     */
+    public void append(boolean input, StringBuilder builder) {
+        builder.append(apply(input));
+    }
+
+    /**
+     * Appends the text for the value to the builder provided
+     * @param input     the value to print
+     * @param builder   the builder to append to
+     */
+    public void append(int input, StringBuilder builder) {
+        builder.append(apply(input));
+    }
+
+    /**
+     * Appends the text for the value to the builder provided
+     * @param input     the value to print
+     * @param builder   the builder to append to
+     */
+    public void append(long input, StringBuilder builder) {
+        builder.append(apply(input));
+    }
+
+    /**
+     * Appends the text for the value to the builder provided
+     * @param input     the value to print
+     * @param builder   the builder to append to
+     */
+    public void append(double input, StringBuilder builder) {
+        builder.append(apply(input));
+    }
+
+    /**
+     * Appends the text for the value to the builder provided
+     * Subclasses override these methods to write directly into the builder rather than creating a String per value
+     * @param input     the value to print
+     * @param builder   the builder to append to
+     */
+    public void append(T input, StringBuilder builder) {
+        builder.append(apply(input));
+    }
+
     /**
      * Creates an BOOLEAN Printer that wraps the function provided
      * @param function  the function to wrap
@@ -51,4 +51,15 @@ class PrinterOfDate extends Printer<Date> {
             return dateFormat != null ? dateFormat.format(date) : date.toString();
         }
     }
+
+    @Override
+    public Printer<Date> copy() {
+        final DateFormat dateFormat = format.get();
+        if (dateFormat == null) {
+            return this;
+        } else {
+            final DateFormat clone = (DateFormat)dateFormat.clone();
+            return new PrinterOfDate(getNullValue(), () -> clone);
+        }
+    }
 }
@@ -90,4 +90,28 @@ class PrinterOfObject extends Printer<Object> {
             return printer != null ? printer.apply(input) : input.toString();
         }
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public final void append(Object input, StringBuilder builder) {
+        if (input == null) {
+            final String nullString = getNullValue().get();
+            builder.append(nullString != null ? nullString : "null");
+        } else {
+            final Class<?> type = input.getClass();
+            final Printer<Object> printer = (Printer<Object>)printerMap.get(type);
+            if (printer != null) {
+                printer.append(input, builder);
+            } else {
+                builder.append(input);
+            }
+        }
+    }
+
+    @Override
+    public Printer<Object> copy() {
+        final PrinterOfObject copy = new PrinterOfObject(getNullValue());
+        this.printerMap.forEach((type, printer) -> copy.printerMap.put(type, printer.copy()));
+        return copy;
+    }
 }
@@ -16,6 +16,7 @@
 package com.zavtech.morpheus.util.text.printer;
 
 import java.text.DecimalFormat;
+import java.text.FieldPosition;
 import java.util.function.Supplier;
 
 import com.zavtech.morpheus.util.functions.FunctionStyle;
@@ -32,6 +33,8 @@ import com.zavtech.morpheus.util.functions.FunctionStyle;
 class PrinterOfPrimitive<T> extends Printer<T> {
 
     private Supplier<DecimalFormat> decimalFormat;
+    private StringBuffer buffer;
+    private FieldPosition position;
 
     /**
      * Constructor
@@ -75,4 +78,50 @@ class PrinterOfPrimitive<T> extends Printer<T> {
             return format != null ? format.format(input) : String.valueOf(input);
         }
     }
+
+    @Override
+    public final void append(boolean input, StringBuilder builder) {
+        builder.append(input);
+    }
+
+    @Override
+    public final void append(int input, StringBuilder builder) {
+        builder.append(input);
+    }
+
+    @Override
+    public final void append(long input, StringBuilder builder) {
+        builder.append(input);
+    }
+
+    @Override
+    public final void append(double input, StringBuilder builder) {
+        if (Double.isNaN(input)) {
+            builder.append("NaN");
+        } else {
+            final DecimalFormat format = decimalFormat.get();
+            if (format == null) {
+                builder.append(input);
+            } else {
+                if (buffer == null) {
+                    this.buffer = new StringBuffer(32);
+                    this.position = new FieldPosition(0);
+                }
+                this.buffer.setLength(0);
+                format.format(input, buffer, position);
+                builder.append(buffer);
+            }
+        }
+    }
+
+    @Override
+    public Printer<T> copy() {
+        final DecimalFormat format = decimalFormat != null ? decimalFormat.get() : null;
+        if (format == null) {
+            return this;
+        } else {
+            final DecimalFormat clone = (DecimalFormat)format.clone();
+            return new PrinterOfPrimitive<T>(getStyle(), () -> clone).withNullValue(getNullValue());
+        }
+    }
 }
@@ -45,4 +45,14 @@ class PrinterOfString extends Printer<String> {
             return nullString != null ? nullString : "null";
         }
     }
+
+    @Override
+    public final void append(String input, StringBuilder builder) {
+        if (input != null) {
+            builder.append(input);
+        } else {
+            final String nullString = getNullValue().get();
+            builder.append(nullString != null ? nullString : "null");
+        }
+    }
 }
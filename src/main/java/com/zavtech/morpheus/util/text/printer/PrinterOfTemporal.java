@@ -53,4 +53,18 @@ class PrinterOfTemporal<T extends TemporalAccessor> extends Printer<T> {
             return formatter != null ? formatter.format(value) : value.toString();
         }
     }
+
+    @Override
+    public final void append(T value, StringBuilder builder) {
+        if (value == null) {
+            builder.append(getNullValue().get());
+        } else {
+            final DateTimeFormatter formatter = format.get();
+            if (formatter != null) {
+                formatter.formatTo(value, builder);
+            } else {
+                builder.append(value);
+            }
+        }
+    }
 }
@@ -195,4 +195,32 @@ public class ArrayFuncTests {
     }
 
 
+    @Test()
+    public void testPrimitiveKernels() {
+        for (ArrayStyle style : new ArrayStyle[] { ArrayStyle.DENSE, ArrayStyle.SPARSE }) {
+            for (boolean parallel : new boolean[] { false, true }) {
+                final int length = 100000;
+                final Array<Integer> ints = Array.of(Integer.class, length, 0, style).applyInts(v -> v.index());
+                final Array<Long> longs = Array.of(Long.class, length, 0L, style).applyLongs(v -> v.index() * 3L);
+                final Array<Double> doubles = Array.of(Double.class, length, Double.NaN, style).applyDoubles(v -> v.index() * 0.5d);
+                (parallel ? ints.parallel() : ints).applyAsInts(v -> v * 2).applyAsInts(ints.copy(), (a, b) -> a + b);
+                (parallel ? longs.parallel() : longs).applyAsLongs(v -> v + 1L).applyAsLongs(ints, (a, b) -> a - b);
+                (parallel ? doubles.parallel() : doubles).applyAsDoubles(v -> v * 2d).applyAsDoubles(longs, (a, b) -> a * b);
+                (parallel ? doubles.parallel() : doubles).applyAsDoubles(10, 20, v -> -1d);
+                for (int i=0; i<length; ++i) {
+                    Assert.assertEquals(ints.getInt(i), i * 4, "Int value matches at " + i);
+                    Assert.assertEquals(longs.getLong(i), i * 3L + 1L - i * 4L, "Long value matches at " + i);
+                    Assert.assertEquals(doubles.getDouble(i), i >= 10 && i < 20 ? -1d : (double)i * (i * 3L + 1L - i * 4L), "Double value matches at " + i);
+                }
+            }
+        }
+    }
+
+
+    @Test(expectedExceptions = ArrayException.class)
+    public void testPrimitiveKernelOperandTooShort() {
+        Array.of(Double.class, 100).applyAsDoubles(Array.of(Double.class, 50), (a, b) -> a + b);
+    }
+
+
 }
@@ -16,10 +16,12 @@
 package com.zavtech.morpheus.array;
 
 
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Random;
 
+import com.zavtech.morpheus.array.mapped.MappedArrayConstructor;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -98,4 +100,42 @@ public class ArrayMappedTests {
             System.out.println(v1);
         }
     }
+
+
+    @Test()
+    public void testSegmented() {
+        final int segmentBytes = MappedArrayConstructor.getSegmentBytes();
+        final int maxSegments = MappedArrayConstructor.getMaxSegments();
+        try {
+            final int length = 10000;
+            final Random random = new Random(1);
+            MappedArrayConstructor.setSegmentBytes(4096);
+            MappedArrayConstructor.setMaxSegments(2);
+            final Array<Double> doubles = Array.of(Double.class, length).applyDoubles(v -> random.nextDouble());
+            final Array<Long> longs = Array.of(Long.class, length).applyLongs(v -> random.nextLong());
+            final Array<Integer> ints = Array.of(Integer.class, length).applyInts(v -> random.nextInt());
+            final Array<LocalDate> dates = Array.of(LocalDate.class, length).applyValues(v -> LocalDate.of(2000, 1, 1).plusDays(v.index()));
+            final Array<Double> mappedDoubles = Array.map(Double.class, length, Double.NaN).applyDoubles(v -> doubles.getDouble(v.index()));
+            final Array<Long> mappedLongs = Array.map(Long.class, length, 0L).applyLongs(v -> longs.getLong(v.index()));
+            final Array<Integer> mappedInts = Array.map(Integer.class, length, 0).applyInts(v -> ints.getInt(v.index()));
+            final Array<LocalDate> mappedDates = Array.map(LocalDate.class, length, null).applyValues(v -> dates.getValue(v.index()));
+            for (int i=length-1; i>=0; --i) {
+                Assert.assertEquals(mappedDoubles.getDouble(i), doubles.getDouble(i), "Doubles match at index " + i);
+                Assert.assertEquals(mappedLongs.getLong(i), longs.getLong(i), "Longs match at index " + i);
+                Assert.assertEquals(mappedInts.getInt(i), ints.getInt(i), "Ints match at index " + i);
+                Assert.assertEquals(mappedDates.getValue(i), dates.getValue(i), "Dates match at index " + i);
+            }
+            final Array<Double> sorted = mappedDoubles.copy().sort(true);
+            for (int i=1; i<length; ++i) {
+                Assert.assertTrue(sorted.getDouble(i-1) <= sorted.getDouble(i), "Sorted at index " + i);
+            }
+            mappedDoubles.expand(length * 2);
+            Assert.assertEquals(mappedDoubles.length(), length * 2);
+            Assert.assertEquals(mappedDoubles.getDouble(length - 1), doubles.getDouble(length - 1));
+            Assert.assertTrue(Double.isNaN(mappedDoubles.getDouble(length * 2 - 1)));
+        } finally {
+            MappedArrayConstructor.setSegmentBytes(segmentBytes);
+            MappedArrayConstructor.setMaxSegments(maxSegments);
+        }
+    }
 }
@@ -25,6 +25,7 @@ import java.util.Currency;
 import java.util.Date;
 import java.util.Random;
 
+import com.zavtech.morpheus.array.coding.IntCoding;
 import com.zavtech.morpheus.range.Range;
 import com.zavtech.morpheus.util.Comparators;
 
@@ -67,6 +68,43 @@ public class ArraySortTests {
     }
 
 
+    @DataProvider(name = "loadFactors")
+    public Object[][] loadFactors() {
+        return new Object[][] { {1f}, {0.5f} };
+    }
+
+
+    @Test(dataProvider = "loadFactors", description = "Tests sorting of a dictionary encoded array whose codes are not in value order")
+    public void testSortDictionaryEncoded(float loadFactor) {
+        final Random random = new Random(7);
+        final IntCoding.OfString coding = IntCoding.ofString();
+        final Array<String> array = Array.of(coding, size, loadFactor);
+        final Array<String> expected = Array.of(String.class, size);
+        Assert.assertEquals(array.style(), loadFactor < 1f ? ArrayStyle.SPARSE : ArrayStyle.DENSE);
+        for (int i=0; i<size; ++i) {
+            final String value = i % 97 == 0 ? null : "Value-" + random.nextInt(500);
+            array.setValue(i, value);
+            expected.setValue(i, value);
+        }
+        Assert.assertFalse(coding.isSorted(), "Dictionary codes are not in value order");
+        for (boolean ascending : new boolean[] {true, false}) {
+            array.sort(ascending);
+            expected.sort(ascending);
+            for (int i=0; i<size; ++i) {
+                Assert.assertEquals(array.getValue(i), expected.getValue(i), "Values match at " + i);
+            }
+        }
+        final Array<String> filtered = array.filter(v -> v.getValue() != null && v.getValue().endsWith("7"));
+        Assert.assertEquals(filtered.style(), array.style(), "Filtered array has the same style");
+        Assert.assertTrue(filtered.length() > 0, "Filtered array has matches");
+        for (int i=0; i<filtered.length(); ++i) {
+            Assert.assertTrue(filtered.getValue(i).endsWith("7"), "Filtered value matches at " + i);
+            Assert.assertTrue(i == 0 || filtered.compare(i-1, i) >= 0, "Filtered values remain in descending order at " + i);
+        }
+        Assert.assertTrue(IntCoding.ofString(expected).isSorted(), "Seeded dictionary is sorted");
+    }
+
+
     @Test(dataProvider = "types", description = "Tests sorting of all elements in the array")
     public <T> void testSortDescending(Class<T> type, ArrayStyle style) {
         final Array<T> array = random(type, size, style);
@@ -18,6 +18,8 @@ package com.zavtech.morpheus.array;
 import java.util.Random;
 import java.util.function.Supplier;
 
+import com.zavtech.morpheus.util.ComputeContext;
+
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -275,6 +277,35 @@ public class ArrayStatsTests {
     }
 
 
-
+    @Test()
+    public void testParallelReduction() {
+        final Random random = new Random(12345);
+        final double[] values = random.doubles(1000000, 0.5d, 1.5d).toArray();
+        for (int i=0; i<values.length; i += 97) values[i] = Double.NaN;
+        final Array<Double> sequential = Array.of(values).sequential();
+        final Array<Double> parallel = Array.of(values).parallel();
+        final ComputeContext context = ComputeContext.of(4);
+        try {
+            ComputeContext.whileUsing(context, () -> {
+                Assert.assertEquals(parallel.stats().count().doubleValue(), sequential.stats().count().doubleValue());
+                Assert.assertEquals(parallel.stats().min().doubleValue(), sequential.stats().min().doubleValue());
+                Assert.assertEquals(parallel.stats().max().doubleValue(), sequential.stats().max().doubleValue());
+                Assert.assertEquals(parallel.stats().sum().doubleValue(), sequential.stats().sum().doubleValue(), 0.000001);
+                Assert.assertEquals(parallel.stats().sumLogs().doubleValue(), sequential.stats().sumLogs().doubleValue(), 0.000001);
+                Assert.assertEquals(parallel.stats().sumSquares().doubleValue(), sequential.stats().sumSquares().doubleValue(), 0.000001);
+                Assert.assertEquals(parallel.stats().geoMean().doubleValue(), sequential.stats().geoMean().doubleValue(), 0.0000001);
+                Assert.assertEquals(parallel.stats().mean().doubleValue(), sequential.stats().mean().doubleValue(), 0.0000001);
+                Assert.assertEquals(parallel.stats().variance().doubleValue(), sequential.stats().variance().doubleValue(), 0.0000001);
+                Assert.assertEquals(parallel.stats().stdDev().doubleValue(), sequential.stats().stdDev().doubleValue(), 0.0000001);
+                Assert.assertEquals(parallel.stats().sem().doubleValue(), sequential.stats().sem().doubleValue(), 0.0000001);
+                Assert.assertEquals(parallel.stats().skew().doubleValue(), sequential.stats().skew().doubleValue(), 0.0000001);
+                Assert.assertEquals(parallel.stats().kurtosis().doubleValue(), sequential.stats().kurtosis().doubleValue(), 0.0000001);
+                Assert.assertEquals(parallel.stats().median().doubleValue(), sequential.stats().median().doubleValue());
+                Assert.assertEquals(parallel.stats().percentile(0.8).doubleValue(), sequential.stats().percentile(0.8).doubleValue());
+            });
+        } finally {
+            context.shutdown();
+        }
+    }
 
 }
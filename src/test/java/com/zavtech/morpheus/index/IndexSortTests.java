@@ -174,6 +174,26 @@ public class IndexSortTests {
     }
 
 
+    @Test(dataProvider = "arrays")
+    public <T extends Comparable> void testReorder(Array<T> array) {
+        final Index<T> index = Index.of(array.copy());
+        final int[] ordinals = shuffle(Range.of(0, index.size()).toArray()).stream().ints().toArray();
+        index.reorder(ordinals);
+        for (int i = 0; i < index.size(); ++i) {
+            final T key = array.getValue(ordinals[i]);
+            Assert.assertEquals(index.getKey(i), key, "The key at ordinal matches permutation");
+            Assert.assertEquals(index.getOrdinalForKey(key), i, "The ordinal for key matches permutation");
+            Assert.assertEquals(index.getIndexForKey(key), ordinals[i], "The index for key is unchanged");
+        }
+        try {
+            index.reorder(new int[index.size()]);
+            Assert.fail("A duplicate ordinal should not be accepted as a permutation");
+        } catch (IndexException ex) {
+            Assert.assertEquals(index.getKey(0), array.getValue(ordinals[0]), "The index is unchanged");
+        }
+    }
+
+
     @Test(dataProvider = "style")
     public void testIndexPerformance(boolean parallel) {
         final LocalDateTime start = LocalDateTime.now();
@@ -0,0 +1,172 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.index;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.range.Range;
+
+public class IndexSortedTests {
+
+    private static final LocalDate start = LocalDate.of(2010, 1, 4);
+
+    /**
+     * Returns a sorted index of weekdays starting from the start date
+     * @param count the number of weekdays
+     * @return      the sorted index
+     */
+    private Index<LocalDate> weekdays(int count) {
+        final Index<LocalDate> index = Index.ofSorted(LocalDate.class, 10);
+        for (LocalDate date = start; index.size() < count; date = date.plusDays(1)) {
+            if (date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                Assert.assertTrue(index.add(date));
+            }
+        }
+        return index;
+    }
+
+
+    @Test()
+    public void testLookups() {
+        final Index<LocalDate> index = weekdays(1000);
+        Assert.assertTrue(index.isSorted());
+        Assert.assertEquals(index.size(), 1000);
+        for (int i=0; i<index.size(); ++i) {
+            final LocalDate date = index.getKey(i);
+            Assert.assertTrue(index.contains(date));
+            Assert.assertEquals(index.getIndexForKey(date), i);
+            Assert.assertEquals(index.getOrdinalForKey(date), i);
+        }
+        Assert.assertFalse(index.contains(LocalDate.of(2010, 1, 9)));
+        Assert.assertFalse(index.contains(start.minusDays(1)));
+        Assert.assertFalse(index.add(start), "Existing key is ignored");
+    }
+
+
+    @Test()
+    public void testAsofLookups() {
+        final Index<LocalDate> index = weekdays(100);
+        final LocalDate friday = LocalDate.of(2010, 1, 8);
+        final LocalDate saturday = LocalDate.of(2010, 1, 9);
+        final LocalDate monday = LocalDate.of(2010, 1, 11);
+        Assert.assertEquals(index.floorKey(saturday), Optional.of(friday));
+        Assert.assertEquals(index.floorKey(monday), Optional.of(monday));
+        Assert.assertEquals(index.ceilingKey(saturday), Optional.of(monday));
+        Assert.assertEquals(index.ceilingKey(friday), Optional.of(friday));
+        Assert.assertEquals(index.previousKey(monday), Optional.of(friday));
+        Assert.assertEquals(index.nextKey(friday), Optional.of(monday));
+        Assert.assertEquals(index.floorKey(start.minusDays(1)), Optional.empty());
+        Assert.assertEquals(index.previousKey(start), Optional.empty());
+        Assert.assertEquals(index.ceilingKey(index.last().get().plusDays(1)), Optional.empty());
+        Assert.assertEquals(index.floorKey(index.last().get().plusDays(10)), index.last());
+    }
+
+
+    @Test()
+    public void testBetween() {
+        final Index<LocalDate> index = weekdays(500);
+        final LocalDate from = LocalDate.of(2010, 3, 6);
+        final LocalDate to = LocalDate.of(2010, 6, 30);
+        final Index<LocalDate> range = index.between(from, to);
+        final Index<LocalDate> expected = index.filter(d -> !d.isBefore(from) && !d.isAfter(to));
+        Assert.assertTrue(range.isSorted());
+        Assert.assertTrue(range.isFilter());
+        Assert.assertEquals(range.size(), expected.size());
+        Assert.assertEquals(range.first(), Optional.of(LocalDate.of(2010, 3, 8)));
+        Assert.assertEquals(range.last(), Optional.of(to));
+        for (int i=0; i<range.size(); ++i) {
+            final LocalDate date = range.getKey(i);
+            Assert.assertEquals(date, expected.getKey(i));
+            Assert.assertEquals(range.getIndexForKey(date), index.getIndexForKey(date));
+            Assert.assertEquals(range.getOrdinalForKey(date), i);
+        }
+        Assert.assertEquals(range.between(LocalDate.of(2010, 4, 1), LocalDate.of(2010, 4, 30)).size(), 22);
+        Assert.assertEquals(index.between(to, from).size(), 0);
+        Assert.assertEquals(Index.of(index.toArray()).between(from, to).toArray(), range.toArray());
+    }
+
+
+    @Test(expectedExceptions = IndexException.class)
+    public void testAppendOutOfOrder() {
+        final Index<LocalDate> index = weekdays(10);
+        index.add(start.minusDays(1));
+    }
+
+
+    @Test(expectedExceptions = IndexException.class)
+    public void testCreateOutOfOrder() {
+        Index.ofSorted(Array.of(3L, 1L, 2L));
+    }
+
+
+    @Test(expectedExceptions = IndexException.class)
+    public void testUnsupportedType() {
+        Index.ofSorted(Array.of("A", "B", "C"));
+    }
+
+
+    @Test()
+    public void testUnorderedFilterAndSort() {
+        final Index<LocalDateTime> index = Index.ofSorted(Range.of(0, 100).map(i -> LocalDateTime.of(2015, 1, 1, 0, 0).plusMinutes(i)));
+        final LocalDateTime key = index.getKey(40);
+        final Index<LocalDateTime> filter = index.filter(Array.of(index.getKey(50), key, index.getKey(10)));
+        Assert.assertFalse(filter.isSorted());
+        Assert.assertEquals(filter.getOrdinalForKey(key), 1);
+        Assert.assertEquals(filter.getIndexForKey(key), 40);
+        index.sort(false, (i, j) -> index.getKey(j).compareTo(index.getKey(i)));
+        Assert.assertFalse(index.isSorted());
+        Assert.assertEquals(index.getOrdinalForKey(key), 59);
+        Assert.assertEquals(index.getIndexForKey(key), 40);
+        index.sort(false, (i, j) -> index.getKey(i).compareTo(index.getKey(j)));
+        Assert.assertTrue(index.isSorted());
+        Assert.assertEquals(index.getOrdinalForKey(key), 40);
+        final Index<LocalDateTime> copy = index.copy();
+        Assert.assertTrue(copy.isSorted());
+        Assert.assertEquals(copy.getIndexForKey(key), 40);
+    }
+
+
+    @Test()
+    public void testFrameRange() {
+        final Index<LocalDate> rows = weekdays(300);
+        final DataFrame<LocalDate,String> frame = DataFrame.ofDoubles(rows, Array.of("A", "B"), v -> v.rowOrdinal() + v.colOrdinal() * 1000);
+        final LocalDate from = LocalDate.of(2010, 2, 1);
+        final LocalDate to = LocalDate.of(2010, 2, 28);
+        final DataFrame<LocalDate,String> view = frame.rows().between(from, to);
+        Assert.assertEquals(view.rowCount(), 20);
+        Assert.assertEquals(view.rows().firstKey(), Optional.of(from));
+        Assert.assertEquals(view.rows().lastKey(), Optional.of(LocalDate.of(2010, 2, 26)));
+        Assert.assertEquals(view.data().getDouble(0, "A"), frame.data().getDouble(from, "A"));
+        view.data().setDouble(0, "B", -1d);
+        Assert.assertEquals(frame.data().getDouble(from, "B"), -1d, "View shares data with frame");
+        Assert.assertEquals(frame.rows().floorKey(LocalDate.of(2010, 2, 28)), Optional.of(LocalDate.of(2010, 2, 26)));
+        Assert.assertEquals(view.rows().ceilingKey(LocalDate.of(2010, 2, 27)), Optional.empty());
+        final DataFrame<LocalDate,String> copy = view.copy();
+        Assert.assertEquals(copy.rowCount(), 20);
+        Assert.assertEquals(copy.rows().between(LocalDate.of(2010, 2, 6), LocalDate.of(2010, 2, 12)).rowCount(), 5);
+        frame.rows().add(LocalDate.of(2011, 12, 31));
+        Assert.assertEquals(frame.rowCount(), 301);
+        Assert.assertEquals(frame.rows().lastKey(), Optional.of(LocalDate.of(2011, 12, 31)));
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.io;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.TimeZone;
+import java.util.stream.Collectors;
+
+import com.zavtech.morpheus.TestSuite;
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.frame.DataFrameAsserts;
+import com.zavtech.morpheus.range.Range;
+import com.zavtech.morpheus.reference.TestDataFrames;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for writing DataFrames to the Morpheus columnar binary format and reading them back
+ *
+ * @author  Xavier Witdouck
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ */
+public class BinaryTests {
+
+    @DataProvider(name="types")
+    public Object[][] types() {
+        return new Object[][] {
+            {String.class},
+            {Integer.class},
+            {Long.class},
+            {LocalDate.class},
+            {LocalTime.class},
+            {LocalDateTime.class},
+            {ZonedDateTime.class}
+        };
+    }
+
+
+    @Test(dataProvider="types")
+    public <T> void testWriteFollowedByRead(Class<T> rowType) throws Exception {
+        final File file = TestSuite.getOutputFile("BinaryTests", "DataFrame-" + rowType.getSimpleName() + ".bin");
+        final DataFrame<T,String> frame = TestDataFrames.createMixedRandomFrame(rowType, 1000);
+        frame.cols().add("StringColumn", String.class).applyValues(v -> v.rowOrdinal() % 7 == 0 ? null : "Value-" + v.rowOrdinal());
+        frame.write().binary(options -> options.setFile(file));
+        final DataFrame<T,String> result = DataFrame.read().binary(file);
+        DataFrameAsserts.assertEqualsByIndex(frame, result);
+    }
+
+
+    @Test(dataProvider="types")
+    public <T> void testCompressedWriteFollowedByRead(Class<T> rowType) throws Exception {
+        final File file = TestSuite.getOutputFile("BinaryTests", "DataFrame-" + rowType.getSimpleName() + "-Compressed.bin");
+        final DataFrame<T,String> frame = TestDataFrames.createMixedRandomFrame(rowType, 50000);
+        frame.write().binary(options -> {
+            options.setFile(file);
+            options.setCompression(true);
+        });
+        final DataFrame<T,String> result = DataFrame.read().binary(file);
+        DataFrameAsserts.assertEqualsByIndex(frame, result);
+    }
+
+
+    @Test()
+    public void testColumnSubset() throws Exception {
+        final File file = TestSuite.getOutputFile("BinaryTests", "DataFrame-Subset.bin");
+        final DataFrame<LocalDate,String> frame = TestDataFrames.createMixedRandomFrame(LocalDate.class, 500);
+        frame.write().binary(options -> {
+            options.setFile(file);
+            options.setCompression(colKey -> colKey.startsWith("Double"));
+        });
+        final DataFrame<LocalDate,String> result = DataFrame.read().binary(options -> {
+            options.setFile(file);
+            options.setColPredicate(colKey -> colKey.equals("DoubleColumn") || colKey.equals("EnumColumn"));
+        });
+        Assert.assertEquals(result.cols().keys().collect(Collectors.toList()), Arrays.asList("DoubleColumn", "EnumColumn"));
+        DataFrameAsserts.assertEqualsByIndex(frame.cols().select("DoubleColumn", "EnumColumn"), result);
+    }
+
+
+    @Test()
+    public void testIntCodedColumns() throws Exception {
+        final File file = TestSuite.getOutputFile("BinaryTests", "DataFrame-IntCoded.bin");
+        final ZoneId[] zones = { ZoneId.of("Europe/London"), ZoneId.of("Asia/Tokyo"), ZoneId.of("America/New_York"), null };
+        final Currency[] currencies = { Currency.getInstance("GBP"), Currency.getInstance("JPY"), null };
+        final DataFrame<Integer,String> frame = DataFrame.of(Range.of(0, 1000), String.class, columns -> {
+            columns.add("ZoneIds", ZoneId.class, v -> zones[v.rowOrdinal() % zones.length]);
+            columns.add("TimeZones", TimeZone.class, v -> TimeZone.getTimeZone(zones[v.rowOrdinal() % 3]));
+            columns.add("Currencies", Currency.class, v -> currencies[v.rowOrdinal() % currencies.length]);
+        });
+        frame.write().binary(options -> {
+            options.setFile(file);
+            options.setCompression(colKey -> colKey.equals("Currencies"));
+        });
+        final DataFrame<Integer,String> result = DataFrame.read().binary(file);
+        DataFrameAsserts.assertEqualsByIndex(frame, result);
+        Assert.assertEquals(result.data().getValue(1, "ZoneIds"), ZoneId.of("Asia/Tokyo"));
+        Assert.assertNull(result.data().getValue(3, "ZoneIds"));
+        Assert.assertEquals(result.data().getValue(4, "Currencies"), Currency.getInstance("JPY"));
+    }
+
+
+    @Test()
+    public void testQuotes() throws Exception {
+        final File file = TestSuite.getOutputFile("BinaryTests", "DataFrame-Quotes.bin");
+        final DataFrame<LocalDate,String> frame = TestDataFrames.getQuotes("blk");
+        frame.write().binary(options -> options.setFile(file));
+        final DataFrame<LocalDate,String> result = DataFrame.read().binary(file);
+        DataFrameAsserts.assertEqualsByIndex(frame, result);
+    }
+
+}
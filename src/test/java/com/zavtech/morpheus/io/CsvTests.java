@@ -15,19 +15,28 @@
  */
 package com.zavtech.morpheus.io;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.Month;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
+import com.zavtech.morpheus.array.coding.IntCoding;
 import com.zavtech.morpheus.frame.DataFrameException;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -348,6 +357,60 @@ public class CsvTests {
     }
 
 
+    @Test(dataProvider = "parallel")
+    public void testBlockedWriteMatchesCellPrinters(boolean parallel) throws Exception {
+        final Formats formats = new Formats();
+        final DataFrame<LocalDate,String> frame = TestDataFrames.createMixedRandomFrame(LocalDate.class, 2503);
+        final DataFrame<LocalDate,String> target = parallel ? frame.parallel() : frame.sequential();
+        final Printer<LocalDate> rowKeyPrinter = formats.getPrinterOrFail(LocalDate.class);
+        final StringBuilder expected = new StringBuilder("DataFrame");
+        frame.cols().keys().forEach(key -> expected.append(",").append(key));
+        expected.append("\n");
+        final List<Printer<Object>> printers = frame.cols().stream().map(c -> formats.<Object>getPrinterOrFail(c.key(), c.typeInfo())).collect(Collectors.toList());
+        for (int i = 0; i < frame.rowCount(); ++i) {
+            expected.append(rowKeyPrinter.apply(frame.rows().key(i)));
+            for (int j = 0; j < frame.colCount(); ++j) {
+                expected.append(",").append(printers.get(j).apply(frame.data().getValue(i, j)));
+            }
+            expected.append("\n");
+        }
+        for (int blockSize : new int[] {1, 7, 100, 10000}) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            target.write().csv(options -> {
+                options.setOutputStream(bytes);
+                options.setRowBlockSize(blockSize);
+            });
+            assertEquals(new String(bytes.toByteArray(), StandardCharsets.UTF_8), expected.toString(), "Output matches for block size " + blockSize);
+        }
+    }
+
+
+    @Test(dataProvider = "parallel")
+    public void testWriteGzipFollowedByRead(boolean parallel) throws Exception {
+        final File file = new File(tmpDir, "aapl.csv.gz");
+        final DataFrame<LocalDate,String> frame1 = DataFrame.read().csv(options -> {
+            options.setResource("/csv/aapl.csv");
+            options.setExcludeColumns("Date");
+            options.setRowKeyParser(LocalDate.class, values -> LocalDate.parse(values[0]));
+            options.getFormats().setParser("Volume", Long.class);
+        });
+        (parallel ? frame1.parallel() : frame1.sequential()).write().csv(options -> {
+            options.setFile(file);
+            options.setGzip(true);
+            options.setRowBlockSize(64);
+        });
+        try (InputStream is = new GZIPInputStream(new FileInputStream(file))) {
+            final DataFrame<LocalDate,String> frame2 = DataFrame.read().csv(options -> {
+                options.setInputStream(is);
+                options.setExcludeColumns("DataFrame");
+                options.getFormats().setParser("Volume", Long.class);
+                options.setRowKeyParser(LocalDate.class, values -> LocalDate.parse(values[0]));
+            });
+            DataFrameAsserts.assertEqualsByIndex(frame1, frame2);
+        }
+    }
+
+
     @Test(dataProvider = "parallel")
     public void testCustomParsers(boolean parallel) throws Exception {
         final DataFrame<LocalDate,String> frame = DataFrame.read().csv(options -> {
@@ -562,6 +625,102 @@ public class CsvTests {
             }
         }
     }
-}
 
 
+    @DataProvider(name="chunked")
+    public Object[][] chunked() {
+        return new Object[][] {
+            { 16384, 1 },
+            { 4096, 4 },
+            { 65536, 8 },
+        };
+    }
+
+
+    @Test(dataProvider = "chunked")
+    public void testChunkedRead(int chunkSize, int workerCount) throws Exception {
+        final File file = new File(getClass().getResource("/csv/aapl.csv").toURI());
+        final DataFrame<Integer,String> expected = DataFrame.read().csv(options -> options.setFile(file));
+        final DataFrame<Integer,String> actual = DataFrame.read().csv(options -> {
+            options.setFile(file);
+            options.setChunkSize(chunkSize);
+            options.setWorkerCount(workerCount);
+        });
+        DataFrameAsserts.assertEqualsByIndex(actual, expected);
+    }
+
+
+    @Test(dataProvider = "chunked")
+    public void testChunkedReadWithStatefulParser(int chunkSize, int workerCount) throws Exception {
+        final File file = new File(getClass().getResource("/csv/aapl.csv").toURI());
+        final DataFrame<Integer,String> expected = DataFrame.read().csv(options -> options.setFile(file));
+        final DataFrame<Integer,String> actual = DataFrame.read().csv(options -> {
+            options.setFile(file);
+            options.setChunkSize(chunkSize);
+            options.setWorkerCount(workerCount);
+            options.getFormats().setParser("Date", Parser.ofDate());
+        });
+        assertEquals(actual.rowCount(), expected.rowCount());
+        assertEquals(actual.cols().type("Date"), Date.class);
+        for (int i=0; i<expected.rowCount(); ++i) {
+            final Date date = actual.data().getValue(i, "Date");
+            final LocalDate localDate = date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+            assertEquals(localDate, expected.data().<LocalDate>getValue(i, "Date"), "Dates match at row " + i);
+        }
+    }
+
+
+    @Test(dataProvider = "parallel")
+    public void testChunkedReadWithRowKeysAndPredicate(boolean parallel) throws Exception {
+        final File file = new File(getClass().getResource("/csv/aapl.csv").toURI());
+        final DataFrame<LocalDate,String> frame = DataFrame.read().csv(options -> {
+            options.setFile(file);
+            options.setParallel(parallel);
+            options.setChunkSize(8192);
+            options.setReadBatchSize(50);
+            options.setExcludeColumns("Date");
+            options.setRowKeyParser(LocalDate.class, values -> LocalDate.parse(values[0]));
+            options.setRowPredicate(values -> values[0].startsWith("2012"));
+            options.getFormats().copyParser(Long.class, "Volume");
+        });
+        assertEquals(frame.rowCount(), 250);
+        assertEquals(frame.cols().type("Volume"), Long.class);
+        assertEquals(frame.rows().key(0), LocalDate.of(2012, 1, 3));
+        assertEquals(frame.rows().key(249), LocalDate.of(2012, 12, 31));
+        assertEquals(frame.data().getDouble(LocalDate.of(2012, 1, 3), "Open"), 409.39996, 0.00001);
+        assertEquals(frame.data().getLong(LocalDate.of(2012, 12, 31), "Volume"), 164873100L);
+        assertEquals(frame.data().getDouble(LocalDate.of(2012, 12, 31), "Adj Close"), 72.34723, 0.00001);
+    }
+
+
+    @Test(dataProvider = "parallel")
+    public void testDictionaryEncodedColumns(boolean parallel) throws Exception {
+        final File file = new File(getClass().getResource("/csv/uk-population.csv").toURI());
+        final IntCoding.OfString boroughs = IntCoding.ofString();
+        final DataFrame<Integer,String> expected = DataFrame.read().csv(options -> options.setFile(file));
+        final DataFrame<Integer,String> actual = DataFrame.read().csv(options -> {
+            options.setFile(file);
+            options.setParallel(parallel);
+            options.setReadBatchSize(100);
+            options.setColumnCoding("Borough", boroughs);
+            options.setColumnCoding("Code", IntCoding.ofString());
+            if (parallel) {
+                options.setChunkSize(4096);
+                options.setWorkerCount(4);
+            }
+        });
+        DataFrameAsserts.assertEqualsByIndex(actual, expected);
+        assertEquals(actual.cols().type("Borough"), String.class);
+        assertEquals(boroughs.size(), expected.col("Borough").distinct().length());
+        actual.rows().forEach(row -> {
+            final String borough = row.getValue("Borough");
+            assertEquals(row.getInt("Borough"), boroughs.getCode(borough));
+        });
+        final DataFrame<Integer,String> sorted = actual.rows().sort(true, "Borough");
+        for (int i=1; i<sorted.rowCount(); ++i) {
+            final String previous = sorted.data().getValue(i - 1, "Borough");
+            final String current = sorted.data().getValue(i, "Borough");
+            assertTrue(previous.compareTo(current) <= 0, "Boroughs are sorted at row " + i);
+        }
+    }
+}
@@ -22,8 +22,10 @@ import java.sql.Statement;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.sql.DataSource;
@@ -37,6 +39,8 @@ import org.testng.annotations.Test;
 
 import com.zavtech.morpheus.frame.DataFrame;
 import com.zavtech.morpheus.range.Range;
+import com.zavtech.morpheus.sink.DbSinkMetrics;
+import com.zavtech.morpheus.sink.DbSinkOptions;
 import com.zavtech.morpheus.util.functions.Function1;
 
 /**
@@ -226,6 +230,51 @@ public class DbTests {
 
 
 
+    @Test(dataProvider="readDatabases")
+    public void testPartitionedRead(String dbName) {
+        final DataFrame<Integer,String> expected = DataFrame.read().db(options -> {
+            options.withConnection(dataSourceMap.get(dbName));
+            options.withSql("select * from \"ProcessLog\"");
+        });
+        final String keyColumn = expected.cols().key(0);
+        for (int partitions : new int[] {1, 3, 8}) {
+            final DataFrame<Integer,String> actual = DataFrame.read().db(options -> {
+                options.withConnection(dataSourceMap.get(dbName));
+                options.withSql("select * from \"ProcessLog\"");
+                options.withPartitions("\"" + keyColumn + "\"", partitions);
+                options.withRowCapacity(4);
+            });
+            Assert.assertEquals(actual.rowCount(), expected.rowCount(), "Row count for " + partitions + " partitions");
+            Assert.assertEquals(actual.colCount(), expected.colCount());
+            expected.rows().keys().forEach(rowKey -> {
+                expected.cols().keys().forEach(colKey -> {
+                    final Object expect = expected.data().getValue(rowKey, colKey);
+                    final Object value = actual.data().getValue(rowKey, colKey);
+                    Assert.assertEquals(value, expect, "Value matches for " + rowKey + ", " + colKey);
+                });
+            });
+        }
+    }
+
+
+    @Test(dataProvider="readDatabases")
+    public void testBatchRead(String dbName) {
+        final List<DataFrame<String,String>> batches = new ArrayList<>();
+        final DataFrame<String,String> frame = DataFrame.read().db(options -> {
+            options.withConnection(dataSourceMap.get(dbName));
+            options.withSql("select \"Ticker\", \"Issuer\", \"AUM\", \"P/E\" from \"ETF\"");
+            options.withBatchHandler(100, batches::add);
+        });
+        Assert.assertEquals(frame.rowCount(), 0);
+        Assert.assertEquals(frame.colCount(), 4);
+        Assert.assertEquals(frame.col("P/E").typeInfo(), Double.class);
+        Assert.assertEquals(batches.size(), 17);
+        Assert.assertEquals(batches.stream().mapToInt(DataFrame::rowCount).sum(), 1685);
+        batches.subList(0, 16).forEach(batch -> Assert.assertEquals(batch.rowCount(), 100));
+        Assert.assertTrue(batches.stream().anyMatch(batch -> batch.rows().contains("SPY")));
+    }
+
+
     @Test(dataProvider = "writeDatabases")
     public void testEtfWrite(String dbName) {
         final DataSource source = dataSourceMap.get(dbName);
@@ -297,6 +346,59 @@ public class DbTests {
     }
 
 
+    @Test(dataProvider = "writeDatabases")
+    public void testBulkWriteFollowedByRead(String dbName) throws Exception {
+        final DataSource source = dataSourceMap.get(dbName);
+        final Range<Integer> rowKeys = Range.of(0, 2503);
+        final DataFrame<Integer,String> frame1 = DataFrame.of(rowKeys, String.class, columns -> {
+            columns.add("Column-1", rowKeys.map(i -> i));
+            columns.add("Column-2", rowKeys.map(i -> i * 10L));
+            columns.add("Column-3", rowKeys.map(i -> i % 7 == 0 ? Double.NaN : i * 0.5d));
+            columns.add("Column-4", rowKeys.map(i -> "Value-" + i));
+            columns.add("Column-5", rowKeys.map(i -> i % 2 == 0));
+        });
+        rowKeys.filter(i -> i % 5 == 0).forEach(i -> frame1.data().setValue(i, "Column-4", null));
+
+        for (DbSinkOptions.InsertMode insertMode : DbSinkOptions.InsertMode.values()) {
+            final String tableName = "BulkTable" + insertMode.name();
+            try (Connection conn = source.getConnection(); Statement stmt = conn.createStatement()) {
+                stmt.execute("drop table if exists \"" + tableName + "\"");
+            }
+            final List<DbSinkMetrics> metrics = new ArrayList<>();
+            frame1.write().db(options -> {
+                options.setConnection(source);
+                options.setTableName(tableName);
+                options.setRowKeyMapping("RecordId", Integer.class, Function1.toInt(v -> v));
+                options.setBatchSize(200);
+                options.setInsertMode(insertMode);
+                options.setPipelined(true);
+                options.setCommitBatchCount(3);
+                options.setWriterCount(dbName.contains("sqlite") ? 1 : 3);
+                options.setMetricsListener(metrics::add);
+            });
+
+            Assert.assertEquals(metrics.size(), 1);
+            Assert.assertEquals(metrics.get(0).getRowCount(), frame1.rowCount());
+            Assert.assertTrue(metrics.get(0).getCommitCount() > 0);
+
+            final AtomicInteger counter = new AtomicInteger();
+            final DataFrame<Integer,String> frame2 = DataFrame.read().db(options -> {
+                options.withConnection(source);
+                options.withSql("select * from \"" + tableName + "\"");
+                options.withRowKeyFunction(rs -> counter.getAndIncrement());
+            });
+
+            Assert.assertEquals(frame2.rowCount(), frame1.rowCount());
+            frame2.rows().forEach(row -> {
+                final int key = row.<Number>getValue("RecordId").intValue();
+                Assert.assertEquals(row.getLong("Column-2"), frame1.data().getLong(key, "Column-2"));
+                Assert.assertEquals(row.getDouble("Column-3"), frame1.data().getDouble(key, "Column-3"), 0.0000001d);
+                Assert.assertEquals(row.<String>getValue("Column-4"), frame1.data().<String>getValue(key, "Column-4"));
+            });
+        }
+    }
+
+
     private DataFrame<Integer,String> createRandomFrame(int rowCount) {
         final Range<Integer> rowKeys = Range.of(0, rowCount);
         return DataFrame.of(rowKeys, String.class, columns -> {
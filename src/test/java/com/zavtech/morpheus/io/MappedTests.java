@@ -0,0 +1,172 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.io;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.zavtech.morpheus.TestSuite;
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.array.mapped.MappedArrayConstructor;
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.frame.DataFrameAsserts;
+import com.zavtech.morpheus.frame.DataFrameException;
+import com.zavtech.morpheus.range.Range;
+import com.zavtech.morpheus.reference.TestDataFrames;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for writing DataFrames to memory mapped files and reopening them
+ *
+ * @author  Xavier Witdouck
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ */
+public class MappedTests {
+
+    @DataProvider(name="types")
+    public Object[][] types() {
+        return new Object[][] {
+            {String.class},
+            {Integer.class},
+            {Long.class},
+            {LocalDate.class},
+            {LocalTime.class},
+            {LocalDateTime.class},
+            {ZonedDateTime.class}
+        };
+    }
+
+
+    @Test(dataProvider="types")
+    public <T> void testWriteFollowedByRead(Class<T> rowType) throws Exception {
+        final File dir = TestSuite.getOutputFile("MappedTests", "DataFrame-" + rowType.getSimpleName());
+        final DataFrame<T,String> frame = TestDataFrames.createMixedRandomFrame(rowType, 1000);
+        frame.write().mapped(options -> options.setDirectory(dir));
+        final DataFrame<T,String> result = DataFrame.read().mapped(dir);
+        DataFrameAsserts.assertEqualsByIndex(frame, result);
+    }
+
+
+    @Test()
+    public void testUpdatesWriteThrough() throws Exception {
+        final File dir = TestSuite.getOutputFile("MappedTests", "DataFrame-WriteThrough");
+        final DataFrame<LocalDate,String> frame = TestDataFrames.createMixedRandomFrame(LocalDate.class, 500);
+        frame.write().mapped(options -> options.setDirectory(dir));
+        final DataFrame<LocalDate,String> result1 = DataFrame.read().mapped(dir);
+        result1.data().setDouble(10, "DoubleColumn", 123.45d);
+        result1.data().setInt(20, "IntegerColumn", 678);
+        final DataFrame<LocalDate,String> result2 = DataFrame.read().mapped(dir);
+        Assert.assertEquals(result2.data().getDouble(10, "DoubleColumn"), 123.45d);
+        Assert.assertEquals(result2.data().getInt(20, "IntegerColumn"), 678);
+        DataFrameAsserts.assertEqualsByIndex(result1, result2);
+    }
+
+
+    @Test()
+    public void testRewriteWhileOpen() throws Exception {
+        final File dir = TestSuite.getOutputFile("MappedTests", "DataFrame-Rewrite");
+        final DataFrame<Integer,String> frame1 = TestDataFrames.createMixedRandomFrame(Integer.class, 200);
+        frame1.write().mapped(options -> options.setDirectory(dir));
+        final DataFrame<Integer,String> result1 = DataFrame.read().mapped(dir);
+        final DataFrame<Integer,String> frame2 = TestDataFrames.createMixedRandomFrame(Integer.class, 300);
+        frame2.write().mapped(options -> options.setDirectory(dir));
+        final DataFrame<Integer,String> result2 = DataFrame.read().mapped(dir);
+        DataFrameAsserts.assertEqualsByIndex(frame1, result1);
+        DataFrameAsserts.assertEqualsByIndex(frame2, result2);
+    }
+
+
+    @Test()
+    public void testRewriteWithFewerColumns() throws Exception {
+        final File dir = TestSuite.getOutputFile("MappedTests", "DataFrame-FewerColumns");
+        final DataFrame<Integer,String> frame1 = DataFrame.ofDoubles(Range.of(0, 100), Array.of("A", "B", "C"), v -> Math.random());
+        frame1.write().mapped(options -> options.setDirectory(dir));
+        Assert.assertTrue(new File(dir, "column-2.dat").exists());
+        final DataFrame<Integer,String> frame2 = DataFrame.ofDoubles(Range.of(0, 100), Array.of("A"), v -> Math.random());
+        frame2.write().mapped(options -> options.setDirectory(dir));
+        Assert.assertTrue(new File(dir, "column-0.dat").exists());
+        Assert.assertFalse(new File(dir, "column-1.dat").exists(), "Stale column file was deleted");
+        Assert.assertFalse(new File(dir, "column-2.dat").exists(), "Stale column file was deleted");
+        DataFrameAsserts.assertEqualsByIndex(frame2, DataFrame.read().mapped(dir));
+    }
+
+
+    @Test()
+    public void testZonesDecodedWithCodeTable() throws Exception {
+        final ZoneId london = ZoneId.of("Europe/London");
+        final ZoneId tokyo = ZoneId.of("Asia/Tokyo");
+        final ZonedDateTime time = ZonedDateTime.of(2017, 3, 1, 10, 30, 0, 0, london);
+        final MappedArrayConstructor constructor = new MappedArrayConstructor();
+        final String path1 = TestSuite.getOutputFile("MappedTests", "ZonedDateTimes.dat").getAbsolutePath();
+        final String path2 = TestSuite.getOutputFile("MappedTests", "ZoneIds.dat").getAbsolutePath();
+        final Array<ZonedDateTime> times = constructor.apply(ZonedDateTime.class, 2, null, path1);
+        final Array<ZoneId> zones = constructor.apply(ZoneId.class, 2, null, path2);
+        times.setValue(0, time);
+        times.setValue(1, time.withZoneSameInstant(tokyo));
+        zones.setValue(0, london);
+        zones.setValue(1, tokyo);
+        final Map<Integer,Object> timesTable = MappedArrayConstructor.getCodeTable(times);
+        final Map<Integer,Object> zonesTable = MappedArrayConstructor.getCodeTable(zones);
+        Assert.assertEquals(timesTable.size(), 2);
+        Assert.assertEquals(zonesTable.size(), 2);
+        final Array<ZonedDateTime> reopened1 = constructor.open(ZonedDateTime.class, 2, null, path1, timesTable);
+        final Array<ZoneId> reopened2 = constructor.open(ZoneId.class, 2, null, path2, zonesTable);
+        Assert.assertEquals(reopened1.getValue(0), time);
+        Assert.assertEquals(reopened1.getValue(1), time.withZoneSameInstant(tokyo));
+        Assert.assertEquals(reopened2.getValue(0), london);
+        Assert.assertEquals(reopened2.getValue(1), tokyo);
+        final Array<ZonedDateTime> swapped1 = constructor.open(ZonedDateTime.class, 2, null, path1, swap(timesTable));
+        final Array<ZoneId> swapped2 = constructor.open(ZoneId.class, 2, null, path2, swap(zonesTable));
+        Assert.assertEquals(swapped1.getValue(0), time.withZoneSameInstant(tokyo), "Zone decoded from table, not JVM");
+        Assert.assertEquals(swapped1.getValue(1), time, "Zone decoded from table, not JVM");
+        Assert.assertEquals(swapped2.getValue(0), tokyo, "Zone decoded from table, not JVM");
+        Assert.assertEquals(swapped2.getValue(1), london, "Zone decoded from table, not JVM");
+    }
+
+
+    /**
+     * Returns a copy of a two entry code table with the values of the codes swapped, as if written by a different JVM
+     * @param table the two entry code table
+     * @return      the table with values swapped
+     */
+    private Map<Integer,Object> swap(Map<Integer,Object> table) {
+        final Integer[] codes = table.keySet().toArray(new Integer[0]);
+        final Map<Integer,Object> result = new HashMap<>();
+        result.put(codes[0], table.get(codes[1]));
+        result.put(codes[1], table.get(codes[0]));
+        return result;
+    }
+
+
+    @Test(expectedExceptions = { DataFrameException.class })
+    public void testUnmappableColumn() throws Exception {
+        final File dir = TestSuite.getOutputFile("MappedTests", "DataFrame-Strings");
+        final DataFrame<Integer,String> frame = TestDataFrames.createMixedRandomFrame(Integer.class, 10);
+        frame.cols().add("StringColumn", String.class).applyValues(v -> "Value" + v.rowOrdinal());
+        frame.write().mapped(options -> options.setDirectory(dir));
+    }
+
+}
@@ -24,6 +24,7 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
 
+import com.zavtech.morpheus.util.ComputeContext;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -43,6 +44,22 @@ public class RangeSplitTests {
         return new Object[][] { { true }, { false } };
     }
 
+    @Test()
+    public void testSplitWithParallelismAboveLength() {
+        final ComputeContext context = ComputeContext.of(64);
+        try {
+            ComputeContext.whileUsing(context, () -> {
+                final List<Range<Integer>> segments = Range.of(0, 10).split(1);
+                Assert.assertEquals(segments.stream().mapToLong(Range::estimateSize).sum(), 10L, "Segments cover the range");
+                Assert.assertEquals(Range.of(0, 0).split(1).size(), 1, "An empty range is not split");
+                Assert.assertEquals(Range.of(0, 10).toArray(true).length(), 10, "Parallel array assembly succeeds");
+            });
+        } finally {
+            context.shutdown();
+        }
+    }
+
+
     @Test(dataProvider = "directions")
     public void testSplitInts(boolean ascending) {
         final int start = 50000;
@@ -173,6 +173,19 @@ public class AlgebraTests {
     }
 
 
+    @Test(dataProvider = "styles")
+    public void testPrimitiveKernelsOnFilteredFrame(DataFrameAlgebra.Lib lib, boolean parallel) {
+        DataFrameAlgebra.LIBRARY.set(lib);
+        final DataFrame<Integer,Integer> frame = random(10000, 20, parallel, double.class);
+        final DataFrame<Integer,Integer> original = frame.copy();
+        final DataFrame<Integer,Integer> subset = frame.rows().select(row -> row.ordinal() % 2 == 0);
+        subset.applyAsDoubles(v -> v * 2d);
+        assertEquals(frame, v -> original.data().getDouble(v.rowOrdinal(), v.colOrdinal()) * (v.rowOrdinal() % 2 == 0 ? 2d : 1d));
+        frame.applyAsDoubles(original, (a, b) -> a - b);
+        assertEquals(frame, v -> v.rowOrdinal() % 2 == 0 ? original.data().getDouble(v.rowOrdinal(), v.colOrdinal()) : 0d);
+    }
+
+
     @Test(dataProvider = "styles")
     public void testMinusScalar(DataFrameAlgebra.Lib lib, boolean parallel) {
         DataFrameAlgebra.LIBRARY.set(lib);
@@ -310,6 +323,18 @@ public class AlgebraTests {
         });
     }
 
+    @Test(dataProvider = "styles")
+    public void testDotProductSpanningTiles(DataFrameAlgebra.Lib lib, boolean parallel) {
+        DataFrameAlgebra.LIBRARY.set(lib);
+        final DataFrame<Integer,Integer> left = random(131, 300, parallel, double.class);
+        final DataFrame<Integer,Integer> right = random(600, 300, parallel, long.class).applyLongs(v -> v.getLong() % 1000).transpose();
+        final DataFrame<Integer,Integer> result = left.dot(right);
+        assertEquals(result, toMatrix(left).multiply(toMatrix(right)));
+        final DataFrame<Integer,Integer> subset = left.rows().select(row -> row.ordinal() % 3 == 0).cols().select(col -> col.ordinal() < 257);
+        final DataFrame<Integer,Integer> ints = random(257, 70, parallel, int.class).applyInts(v -> v.getInt() % 100);
+        assertEquals(subset.dot(ints), toMatrix(subset).multiply(toMatrix(ints)));
+    }
+
     /*
     @Test(dataProvider = "styles")
     public void testDeterminant(DataFrameAlgebra.Lib lib, boolean parallel) {
@@ -106,5 +106,24 @@ public class CorrelationTests {
     }
 
 
+    @Test(dataProvider = "style")
+    public void testPairwiseCorrelationOfColumns(boolean parallel) throws IOException {
+        final DataFrame<Integer,String> source = loadSourceData();
+        final DataFrameColumns<Integer,String> columns = parallel ? source.cols().parallel() : source.cols().sequential();
+        DataFrameAsserts.assertEqualsByIndex(loadExpectedColumnCorr(), columns.stats().correlation(true));
+        source.cols().forEach(column -> {
+            for (int i = column.ordinal(); i < source.rowCount(); i += 5 + column.ordinal()) {
+                source.data().setDouble(i, column.ordinal(), Double.NaN);
+            }
+        });
+        final DataFrame<String,String> corrActual = columns.stats().correlation(true);
+        source.cols().keys().forEach(key1 -> source.cols().keys().forEach(key2 -> {
+            final DataFrame<Integer,String> complete = source.rows().select(row -> !Double.isNaN(row.getDouble(key1)) && !Double.isNaN(row.getDouble(key2)));
+            final double expected = complete.cols().stats().correlation(key1, key2);
+            final double actual = corrActual.data().getDouble(key1, key2);
+            Assert.assertEquals(actual, expected, 0.0000001, "Pairwise correlation match for " + key1 + ", " + key2);
+        }));
+    }
+
 
 }
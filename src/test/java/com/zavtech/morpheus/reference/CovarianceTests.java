@@ -107,4 +107,64 @@ public class CovarianceTests {
     }
 
 
+    @Test(dataProvider = "style")
+    public void testPairwiseCovarianceOfColumns(boolean parallel) throws IOException {
+        final DataFrame<Integer,String> source = loadSourceData();
+        final DataFrameColumns<Integer,String> columns = parallel ? source.cols().parallel() : source.cols().sequential();
+        DataFrameAsserts.assertEqualsByIndex(loadExpectedColumnCov(), columns.stats().covariance(true));
+        source.cols().forEach(column -> {
+            for (int i = column.ordinal(); i < source.rowCount(); i += 7 + column.ordinal()) {
+                source.data().setDouble(i, column.ordinal(), Double.NaN);
+            }
+        });
+        final DataFrame<String,String> covActual = columns.stats().covariance(true);
+        source.cols().keys().forEach(key1 -> source.cols().keys().forEach(key2 -> {
+            final DataFrame<Integer,String> complete = source.rows().select(row -> !Double.isNaN(row.getDouble(key1)) && !Double.isNaN(row.getDouble(key2)));
+            final double expected = complete.cols().stats().covariance(key1, key2);
+            final double actual = covActual.data().getDouble(key1, key2);
+            Assert.assertEquals(actual, expected, 0.0000001, "Pairwise covariance match for " + key1 + ", " + key2);
+        }));
+        final DataFrame<String,String> covComplete = columns.stats().covariance(false);
+        covComplete.forEachValue(v -> Assert.assertTrue(Double.isNaN(v.getDouble()), "NaN values propagate without pairwise"));
+    }
+
+
+    @Test(dataProvider = "style")
+    public void testEwmCovarianceOfColumns(boolean parallel) throws IOException {
+        final DataFrame<Integer,String> source = loadSourceData();
+        final DataFrameColumns<Integer,String> columns = parallel ? source.cols().parallel() : source.cols().sequential();
+        final int halfLife = 20;
+        final double decay = Math.exp(Math.log(0.5d) / halfLife);
+        final int rowCount = source.rowCount();
+        final DataFrame<String,String> covActual = columns.stats().ewmcov(halfLife, false);
+        source.cols().keys().forEach(key1 -> source.cols().keys().forEach(key2 -> {
+            double sumW = 0d, sumW2 = 0d, mean1 = 0d, mean2 = 0d;
+            for (int i = 0; i < rowCount; ++i) {
+                final double weight = Math.pow(decay, rowCount - 1 - i);
+                sumW += weight;
+                sumW2 += weight * weight;
+                mean1 += weight * source.data().getDouble(i, key1);
+                mean2 += weight * source.data().getDouble(i, key2);
+            }
+            mean1 /= sumW;
+            mean2 /= sumW;
+            double sxy = 0d;
+            for (int i = 0; i < rowCount; ++i) {
+                final double weight = Math.pow(decay, rowCount - 1 - i);
+                sxy += weight * (source.data().getDouble(i, key1) - mean1) * (source.data().getDouble(i, key2) - mean2);
+            }
+            final double expected = sxy / (sumW - sumW2 / sumW);
+            final double actual = covActual.data().getDouble(key1, key2);
+            Assert.assertEquals(actual, expected, 0.0000001, "EWM covariance match for " + key1 + ", " + key2);
+        }));
+        final DataFrame<String,String> corrActual = columns.stats().ewmcorr(halfLife, false);
+        source.cols().keys().forEach(key1 -> source.cols().keys().forEach(key2 -> {
+            final double cov = covActual.data().getDouble(key1, key2);
+            final double std1 = Math.sqrt(covActual.data().getDouble(key1, key1));
+            final double std2 = Math.sqrt(covActual.data().getDouble(key2, key2));
+            Assert.assertEquals(corrActual.data().getDouble(key1, key2), cov / (std1 * std2), 0.0000001, "EWM correlation match for " + key1 + ", " + key2);
+        }));
+    }
+
+
 }
@@ -15,12 +15,24 @@
  */
 package com.zavtech.morpheus.reference;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+import com.zavtech.morpheus.frame.DataFrame;
 import com.zavtech.morpheus.frame.DataFrameEvent;
 import com.zavtech.morpheus.frame.DataFrameListener;
+import com.zavtech.morpheus.range.Range;
+import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
 
 /**
  * A unit test to assess the matrix notification functionality
@@ -29,7 +41,7 @@ import org.testng.annotations.BeforeMethod;
  */
 public class EventTests implements DataFrameListener {
 
-    private List<DataFrameEvent> eventList = new ArrayList<DataFrameEvent>();
+    private List<DataFrameEvent> eventList = new CopyOnWriteArrayList<>();
 
 
     /** @inheritDoc */
@@ -44,4 +56,106 @@ public class EventTests implements DataFrameListener {
     }
 
 
+    @Test()
+    public void testChangeFeedCoalescesUpdates() throws Exception {
+        final DataFrame<Integer,String> frame = DataFrame.ofDoubles(Range.of(0, 1000), Range.of(0, 10).map(i -> "C" + i));
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            frame.events().addDataFrameListener(this);
+            frame.events().startChangeFeed(20, TimeUnit.MILLISECONDS, executor);
+            frame.rows().sort(false);
+            frame.data().setDouble(5, "C1", 1d);
+            frame.data().setDouble(5, "C1", 2d);
+            frame.data().setDouble(900, 3, 3d);
+            frame.cursor().atRowKey(42).atColKey("C7").setDouble(4d);
+            frame.row(77).setDouble("C1", 5d);
+            final Set<Integer> rowKeys = new HashSet<>();
+            final Set<String> colKeys = new HashSet<>();
+            final long deadline = System.currentTimeMillis() + 5000;
+            while ((rowKeys.size() < 4 || colKeys.size() < 3) && System.currentTimeMillis() < deadline) {
+                eventList.forEach(event -> {
+                    rowKeys.addAll(((DataFrameEvent<Integer,String>)event).rowKeys().toList());
+                    colKeys.addAll(((DataFrameEvent<Integer,String>)event).colKeys().toList());
+                });
+                Thread.sleep(5);
+            }
+            Assert.assertEquals(rowKeys, new HashSet<>(Arrays.asList(5, 42, 77, 900)), "Every updated row is published");
+            Assert.assertEquals(colKeys, new HashSet<>(Arrays.asList("C1", "C3", "C7")), "Every updated column is published");
+            Assert.assertTrue(eventList.size() <= 5, "Updates are coalesced: " + eventList.size());
+            for (DataFrameEvent event : eventList) {
+                final List<Integer> eventRows = ((DataFrameEvent<Integer,String>)event).rowKeys().toList();
+                final List<String> eventCols = ((DataFrameEvent<Integer,String>)event).colKeys().toList();
+                Assert.assertEquals(event.type(), DataFrameEvent.Type.UPDATE, "Change feed publishes update events");
+                Assert.assertEquals(event.frame(), frame, "The event references the frame");
+                Assert.assertTrue(eventRows.stream().allMatch(rowKeys::contains), "Only updated rows are published");
+                Assert.assertTrue(eventCols.stream().allMatch(colKeys::contains), "Only updated columns are published");
+                Assert.assertEquals(eventRows, eventRows.stream().sorted(Comparator.reverseOrder()).collect(Collectors.toList()), "Row keys are in frame order");
+                Assert.assertEquals(eventCols, eventCols.stream().sorted().collect(Collectors.toList()), "Column keys are in frame order");
+            }
+            Thread.sleep(100);
+            final int eventCount = eventList.size();
+            Thread.sleep(100);
+            Assert.assertEquals(eventList.size(), eventCount, "No further events without further updates");
+            frame.events().stopChangeFeed();
+            frame.data().setDouble(1, 1, 1d);
+            Thread.sleep(100);
+            Assert.assertEquals(eventList.size(), eventCount, "No events after the feed is stopped");
+        } finally {
+            frame.events().stopChangeFeed();
+            executor.shutdown();
+        }
+    }
+
+
+    @Test()
+    public void testChangeFeedBackpressure() throws Exception {
+        final DataFrame<Integer,String> frame = DataFrame.ofDoubles(Range.of(0, 1000), Range.of(0, 10).map(i -> "C" + i));
+        final List<DataFrameEvent> events = new CopyOnWriteArrayList<>();
+        final DataFrameListener listener = event -> {
+            try {
+                events.add(event);
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            frame.events().addDataFrameListener(listener);
+            frame.events().startChangeFeed(1, TimeUnit.MILLISECONDS, executor);
+            final long start = System.currentTimeMillis();
+            for (int i=0; i<frame.rowCount(); ++i) {
+                frame.data().setDouble(i, i % 10, i);
+                if (i % 10 == 0) Thread.sleep(1);
+            }
+            final long elapsed = System.currentTimeMillis() - start;
+            final Set<Integer> rowKeys = new HashSet<>();
+            final long deadline = System.currentTimeMillis() + 5000;
+            while (rowKeys.size() < frame.rowCount() && System.currentTimeMillis() < deadline) {
+                events.forEach(event -> rowKeys.addAll(((DataFrameEvent<Integer,String>)event).rowKeys().toList()));
+                Thread.sleep(10);
+            }
+            Assert.assertEquals(rowKeys.size(), frame.rowCount(), "Every updated row is eventually published");
+            Assert.assertTrue(events.size() <= elapsed / 50 + 2, "Events are coalesced while the listener is busy: " + events.size());
+        } finally {
+            frame.events().stopChangeFeed();
+            executor.shutdown();
+        }
+    }
+
+
+    /**
+     * Waits for the first event to arrive in the list
+     * @param events    the list of events
+     * @return          the first event
+     */
+    private DataFrameEvent awaitEvent(List<DataFrameEvent> events) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (events.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        Assert.assertFalse(events.isEmpty(), "An event was published");
+        return events.get(0);
+    }
+
 }
@@ -99,4 +99,43 @@ public class ExportTests {
         }
     }
 
+
+    @Test()
+    public void testDoubleArrays() {
+        final DataFrame<String,String> frame = TestDataFrames.random(double.class, 100, 50);
+        final DataFrame<String,String> filter = frame.rows().select(row -> row.ordinal() % 2 == 0).cols().select(col -> col.ordinal() % 3 == 0);
+        final DataFrame<String,String> ints = TestDataFrames.random(int.class, 80, 20);
+        assertDoubleArrays(frame);
+        assertDoubleArrays(filter);
+        assertDoubleArrays(frame.transpose());
+        assertDoubleArrays(filter.transpose());
+        assertDoubleArrays(ints);
+        assertDoubleArrays(ints.transpose());
+    }
+
+
+    /**
+     * Asserts that the double arrays exported from the frame match the frame contents
+     * @param frame     the frame to export
+     */
+    private void assertDoubleArrays(DataFrame<?,?> frame) {
+        final int rowCount = frame.rowCount();
+        final int colCount = frame.colCount();
+        final double[] columnMajor = frame.export().toColumnMajor();
+        final double[] rowMajor = frame.export().toRowMajor();
+        final double[][] rowArrays = frame.export().toRowArrays();
+        Assert.assertEquals(columnMajor.length, rowCount * colCount, "Column major length matches");
+        Assert.assertEquals(rowMajor.length, rowCount * colCount, "Row major length matches");
+        Assert.assertEquals(rowArrays.length, rowCount, "Row array count matches");
+        for (int i=0; i<rowCount; ++i) {
+            Assert.assertEquals(rowArrays[i].length, colCount, "Row array length matches");
+            for (int j = 0; j<colCount; ++j) {
+                final double expected = frame.data().getDouble(i, j);
+                Assert.assertEquals(columnMajor[j * rowCount + i], expected, "Column major values match at " + i + "," + j);
+                Assert.assertEquals(rowMajor[i * colCount + j], expected, "Row major values match at " + i + "," + j);
+                Assert.assertEquals(rowArrays[i][j], expected, "Row array values match at " + i + "," + j);
+            }
+        }
+    }
+
 }
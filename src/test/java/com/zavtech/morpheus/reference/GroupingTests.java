@@ -15,6 +15,8 @@
  */
 package com.zavtech.morpheus.reference;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -28,7 +30,9 @@ import com.zavtech.morpheus.frame.DataFrameAsserts;
 import com.zavtech.morpheus.frame.DataFrameColumn;
 import com.zavtech.morpheus.frame.DataFrameGrouping;
 import com.zavtech.morpheus.frame.DataFrameRow;
+import com.zavtech.morpheus.frame.DataFrameRows;
 import com.zavtech.morpheus.index.Index;
+import com.zavtech.morpheus.stats.Stats;
 import com.zavtech.morpheus.util.Tuple;
 
 /**
@@ -162,6 +166,86 @@ public class GroupingTests {
     }
 
 
+    @Test(dataProvider = "parallel")
+    public void testGroupRowsInOrderOfFirstAppearance(boolean parallel) throws Exception {
+        final DataFrame<String,String> source = frame().rows().select(row -> row.ordinal() % 2 == 0);
+        final DataFrameGrouping.Rows<String,String> grouping = parallel ? source.rows().parallel().groupBy("Issuer", "Niche") : source.rows().sequential().groupBy("Issuer", "Niche");
+        final List<Tuple> expected0 = source.rows().stream().map(row -> Tuple.of(row.<Object>getValue("Issuer"))).distinct().collect(Collectors.toList());
+        final List<Tuple> expected1 = source.rows().stream().map(row -> Tuple.of(row.<Object>getValue("Issuer"), row.<Object>getValue("Niche"))).distinct().collect(Collectors.toList());
+        Assert.assertEquals(grouping.getGroupKeys(0).collect(Collectors.toList()), expected0, "Level 0 groups in order of first appearance");
+        Assert.assertEquals(grouping.getGroupKeys(1).collect(Collectors.toList()), expected1, "Level 1 groups in order of first appearance");
+        Assert.assertEquals(grouping.stats(0).sum().rows().keys().collect(Collectors.toList()), expected0, "Level 0 stats in order of first appearance");
+        Assert.assertEquals(grouping.stats(1).sum().rows().keys().collect(Collectors.toList()), expected1, "Level 1 stats in order of first appearance");
+        grouping.getGroupKeys(1).forEach(groupKey -> {
+            final DataFrame<String,String> group = grouping.getGroup(groupKey);
+            final List<String> expectedRows = source.rows().stream()
+                .filter(row -> Tuple.of(row.<Object>getValue("Issuer"), row.<Object>getValue("Niche")).equals(groupKey))
+                .map(DataFrameRow::key)
+                .collect(Collectors.toList());
+            Assert.assertEquals(group.rows().keys().collect(Collectors.toList()), expectedRows, "Group rows for " + groupKey);
+        });
+    }
+
+
+    @Test(dataProvider = "parallel")
+    public void testAggregateRows(boolean parallel) throws Exception {
+        final DataFrame<String,String> source = frame();
+        final DataFrame<String,String> filter = source.rows().select(row -> row.ordinal() % 3 != 0);
+        final DataFrame<LocalDate,String> mixed = TestDataFrames.createMixedRandomFrame(LocalDate.class, 5000);
+        assertAggregates(source, parallel, "Issuer", "Niche");
+        assertAggregates(filter, parallel, "Issuer", "Niche");
+        assertAggregates(mixed, parallel, "EnumColumn", "BooleanColumn");
+        assertAggregates(mixed, parallel, "LocalDateColumn");
+    }
+
+
+    /**
+     * Asserts that single pass aggregation matches stats computed over each group frame
+     * @param source    the source frame to aggregate
+     * @param parallel  true for parallel aggregation
+     * @param colKeys   the column keys to group by
+     */
+    private <R> void assertAggregates(DataFrame<R,String> source, boolean parallel, String... colKeys) {
+        final DataFrameRows<R,String> rows = parallel ? source.rows().parallel() : source.rows();
+        final Stats<DataFrame<Tuple,String>> actual = rows.aggregate(colKeys);
+        final Stats<DataFrame<Tuple,String>> expected = rows.groupBy(row -> {
+            final Object[] values = new Object[colKeys.length];
+            for (int i=0; i<colKeys.length; ++i) values[i] = row.getValue(colKeys[i]);
+            return Tuple.of(values);
+        }).stats(colKeys.length - 1);
+        final DataFrame<Tuple,String> counts = actual.count();
+        Assert.assertEquals(counts.rowCount(), source.rows().groupBy(colKeys).getGroupCount(colKeys.length - 1));
+        Assert.assertEquals(counts.colCount(), source.cols().filter(DataFrameColumn::isNumeric).count());
+        assertEqualsByKey(counts, expected.count());
+        assertEqualsByKey(actual.sum(), expected.sum());
+        assertEqualsByKey(actual.mean(), expected.mean());
+        assertEqualsByKey(actual.min(), expected.min());
+        assertEqualsByKey(actual.max(), expected.max());
+        assertEqualsByKey(actual.stdDev(), expected.stdDev());
+        assertEqualsByKey(actual.median(), expected.median());
+        assertEqualsByKey(source.rows().groupBy(colKeys).stats(0).sum(), source.rows().aggregate(colKeys[0]).sum());
+    }
+
+
+    /**
+     * Asserts two frames of grouped stats have the same keys and values, ignoring row order
+     * @param actual    the actual frame
+     * @param expected  the expected frame
+     */
+    private void assertEqualsByKey(DataFrame<Tuple,String> actual, DataFrame<Tuple,String> expected) {
+        Assert.assertEquals(actual.rowCount(), expected.rowCount(), "The group counts match");
+        Assert.assertEquals(actual.colCount(), expected.colCount(), "The column counts match");
+        expected.rows().forEach(row -> {
+            Assert.assertTrue(actual.rows().contains(row.key()), "Group exists for " + row.key());
+            expected.cols().keys().forEach(colKey -> {
+                final double v1 = actual.data().getDouble(row.key(), colKey);
+                final double v2 = row.getDouble(colKey);
+                assertEquals(v1, v2, Math.abs(v2) * 1e-10, "The values match for " + row.key() + ", " + colKey);
+            });
+        });
+    }
+
+
     @Test()
     public void testTranspose() {
         final DataFrame<String,String> source = frame();
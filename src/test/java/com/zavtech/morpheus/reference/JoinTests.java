@@ -0,0 +1,266 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.reference;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.zavtech.morpheus.TestSuite;
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.array.coding.IntCoding;
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.frame.DataFrameException;
+import com.zavtech.morpheus.frame.DataFrameJoin;
+import com.zavtech.morpheus.range.Range;
+
+/**
+ * Unit tests for joining DataFrames on row keys and column values
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class JoinTests {
+
+
+    @DataProvider(name="types")
+    public Object[][] types() {
+        return new Object[][] {
+            {DataFrameJoin.Type.INNER, false},
+            {DataFrameJoin.Type.INNER, true},
+            {DataFrameJoin.Type.LEFT, false},
+            {DataFrameJoin.Type.LEFT, true},
+            {DataFrameJoin.Type.OUTER, false},
+            {DataFrameJoin.Type.OUTER, true},
+        };
+    }
+
+
+    /**
+     * Returns a frame with an Integer key column, a String column correlated with the key, and a random Double column
+     * @param rowCount  the row count
+     * @param keyCount  the number of distinct keys to draw from
+     * @param nameKey   the key for the String column
+     * @param valueKey  the key for the Double column
+     * @param seed      the random seed
+     * @return          the newly created frame
+     */
+    private DataFrame<Integer,String> frame(int rowCount, int keyCount, String nameKey, String valueKey, long seed) {
+        final Random random = new Random(seed);
+        final Array<Integer> keys = Array.of(Integer.class, rowCount).applyInts(v -> random.nextInt(keyCount));
+        final Array<String> names = Array.of(String.class, rowCount).applyValues(v -> "N" + (keys.getInt(v.index()) % 10 + random.nextInt(2)));
+        final Array<Double> values = Array.of(Double.class, rowCount).applyDoubles(v -> random.nextDouble());
+        return DataFrame.of(Range.of(0, rowCount), String.class, columns -> {
+            columns.add("Key", keys);
+            columns.add(nameKey, names);
+            columns.add(valueKey, values);
+        });
+    }
+
+
+    /**
+     * Returns the expected pairs of left and right row ordinals for a join, with -1 for a missing row
+     * @param left      the left frame
+     * @param right     the right frame
+     * @param type      the join type
+     * @param colKeys   the join column keys
+     * @return          the expected pairs of row ordinals in join order
+     */
+    private List<int[]> expected(DataFrame<?,String> left, DataFrame<?,String> right, DataFrameJoin.Type type, String... colKeys) {
+        final List<int[]> pairs = new ArrayList<>();
+        for (int i=0; i<left.rowCount(); ++i) {
+            final List<Object> key = key(left, i, colKeys);
+            final List<Integer> matches = IntStream.range(0, right.rowCount()).filter(j -> key.equals(key(right, j, colKeys))).boxed().collect(Collectors.toList());
+            for (int j : matches) {
+                pairs.add(new int[] {i, j});
+            }
+            if (matches.isEmpty() && type != DataFrameJoin.Type.INNER) {
+                pairs.add(new int[] {i, -1});
+            }
+        }
+        if (type == DataFrameJoin.Type.OUTER) {
+            for (int j=0; j<right.rowCount(); ++j) {
+                final List<Object> key = key(right, j, colKeys);
+                if (IntStream.range(0, left.rowCount()).noneMatch(i -> key.equals(key(left, i, colKeys)))) {
+                    pairs.add(new int[] {-1, j});
+                }
+            }
+        }
+        return pairs;
+    }
+
+
+    /**
+     * Returns the values in the columns specified for a row, using the row key if no columns are specified
+     */
+    private List<Object> key(DataFrame<?,String> frame, int rowOrdinal, String... colKeys) {
+        if (colKeys.length == 0) {
+            return Collections.singletonList(frame.rows().key(rowOrdinal));
+        } else {
+            return Arrays.stream(colKeys).map(c -> frame.data().getValue(rowOrdinal, c)).collect(Collectors.toList());
+        }
+    }
+
+
+    /**
+     * Asserts that the joined frame contains the values of the left and right frames for the expected pairs
+     */
+    private void assertJoin(DataFrame<?,String> joined, DataFrame<?,String> left, DataFrame<?,String> right, List<int[]> pairs, String... colKeys) {
+        Assert.assertEquals(joined.rowCount(), pairs.size(), "Row count");
+        Assert.assertEquals(joined.colCount(), left.colCount() + right.colCount() - colKeys.length, "Column count");
+        final List<String> rightColKeys = right.cols().keys().filter(c -> !Arrays.asList(colKeys).contains(c)).collect(Collectors.toList());
+        for (int i=0; i<pairs.size(); ++i) {
+            final int leftOrdinal = pairs.get(i)[0];
+            final int rightOrdinal = pairs.get(i)[1];
+            for (String colKey : colKeys) {
+                final Object expected = leftOrdinal >= 0 ? left.data().getValue(leftOrdinal, colKey) : right.data().getValue(rightOrdinal, colKey);
+                Assert.assertEquals(joined.data().getValue(i, colKey), expected, "Join key at " + i);
+            }
+            for (String colKey : left.cols().keys().filter(c -> !Arrays.asList(colKeys).contains(c)).collect(Collectors.toList())) {
+                final Object value = joined.data().getValue(i, colKey);
+                if (leftOrdinal >= 0) {
+                    Assert.assertEquals(value, left.data().getValue(leftOrdinal, colKey), "Left value at " + i + ", " + colKey);
+                } else if (left.cols().type(colKey) == Double.class) {
+                    Assert.assertTrue(Double.isNaN((Double)value), "Missing left value is NaN at " + i);
+                }
+            }
+            for (String colKey : rightColKeys) {
+                final Object value = joined.data().getValue(i, colKey);
+                if (rightOrdinal >= 0) {
+                    Assert.assertEquals(value, right.data().getValue(rightOrdinal, colKey), "Right value at " + i + ", " + colKey);
+                } else if (right.cols().type(colKey) == Double.class) {
+                    Assert.assertTrue(Double.isNaN((Double)value), "Missing right value is NaN at " + i);
+                }
+            }
+        }
+    }
+
+
+    @Test(dataProvider = "types")
+    public void testJoinOnColumn(DataFrameJoin.Type type, boolean parallel) {
+        final DataFrame<Integer,String> left = frame(400, 120, "Name", "Left", 1L);
+        final DataFrame<Integer,String> right = frame(300, 150, "Tag", "Right", 2L);
+        final DataFrame<Integer,String> joined = (parallel ? left.parallel() : left.sequential()).join().onColumns(right, type, "Key");
+        final List<int[]> pairs = expected(left, right, type, "Key");
+        Assert.assertTrue(pairs.stream().anyMatch(p -> p[0] >= 0 && p[1] >= 0), "Some rows match");
+        Assert.assertTrue(type == DataFrameJoin.Type.INNER || pairs.stream().anyMatch(p -> p[1] < 0), "Some rows unmatched");
+        Assert.assertEquals(joined.rows().keyArray(), Range.of(0, pairs.size()).toArray());
+        this.assertJoin(joined, left, right, pairs, "Key");
+    }
+
+
+    @Test(dataProvider = "types")
+    public void testJoinOnColumns(DataFrameJoin.Type type, boolean parallel) {
+        final DataFrame<Integer,String> left = frame(400, 60, "Name", "Left", 3L);
+        final DataFrame<Integer,String> right = frame(300, 80, "Name", "Right", 4L);
+        final DataFrame<Integer,String> joined = (parallel ? left.parallel() : left.sequential()).join().onColumns(right, type, "Key", "Name");
+        final List<int[]> pairs = expected(left, right, type, "Key", "Name");
+        this.assertJoin(joined, left, right, pairs, "Key", "Name");
+    }
+
+
+    @Test(dataProvider = "types")
+    public void testJoinOnColumnOfRowStore(DataFrameJoin.Type type, boolean parallel) {
+        final DataFrame<Integer,String> left = frame(200, 50, "Name", "Left", 5L).transpose().transpose();
+        final DataFrame<Integer,String> right = frame(100, 50, "Tag", "Right", 6L).rows().select(row -> row.ordinal() % 3 != 0);
+        final DataFrame<Integer,String> joined = (parallel ? left.parallel() : left.sequential()).join().onColumns(right, type, "Key");
+        this.assertJoin(joined, left, right, expected(left, right, type, "Key"), "Key");
+    }
+
+
+    @Test(dataProvider = "types")
+    public void testJoinOnSortedRowKeys(DataFrameJoin.Type type, boolean parallel) {
+        final DataFrame<Integer,String> left = DataFrame.ofDoubles(Range.of(0, 1000, 2), Array.of("A", "B"), v -> Math.random());
+        final DataFrame<Integer,String> right = DataFrame.ofDoubles(Range.of(0, 1500, 3), Array.of("C"), v -> Math.random());
+        final DataFrame<Integer,String> joined = (parallel ? left.parallel() : left.sequential()).join().onRowKeys(right, type);
+        final List<int[]> pairs = expected(left, right, type);
+        pairs.sort((p1, p2) -> Integer.compare(p1[0] >= 0 ? left.rows().key(p1[0]) : right.rows().key(p1[1]), p2[0] >= 0 ? left.rows().key(p2[0]) : right.rows().key(p2[1])));
+        this.assertJoin(joined, left, right, pairs);
+        for (int i=1; i<joined.rowCount(); ++i) {
+            Assert.assertTrue(joined.rows().key(i - 1) < joined.rows().key(i), "Row keys are sorted");
+        }
+    }
+
+
+    @Test(dataProvider = "types")
+    public void testJoinOnUnsortedRowKeys(DataFrameJoin.Type type, boolean parallel) {
+        final DataFrame<String,String> left = DataFrame.ofDoubles(Array.of("X", "B", "Q", "A", "M"), Array.of("A", "B"), v -> Math.random());
+        final DataFrame<String,String> right = DataFrame.ofDoubles(Array.of("Z", "A", "X", "C"), Array.of("C", "D"), v -> Math.random());
+        final DataFrame<String,String> joined = (parallel ? left.parallel() : left.sequential()).join().onRowKeys(right, type);
+        final List<int[]> pairs = expected(left, right, type);
+        this.assertJoin(joined, left, right, pairs);
+        for (int i=0; i<pairs.size(); ++i) {
+            final int[] pair = pairs.get(i);
+            Assert.assertEquals(joined.rows().key(i), pair[0] >= 0 ? left.rows().key(pair[0]) : right.rows().key(pair[1]));
+        }
+    }
+
+
+    @Test(dataProvider = "types")
+    public void testJoinOnCodedColumnWithDifferentCodings(DataFrameJoin.Type type, boolean parallel) {
+        final IntCoding<Currency> coding = IntCoding.ofCurrency();
+        final Currency usd = Currency.getInstance("USD");
+        final Currency eur = Currency.getInstance("EUR");
+        final int nextCode = Math.max(coding.getCode(usd), coding.getCode(eur)) + 1;
+        final Currency collides = coding.getValue(nextCode);
+        final Currency added = Currency.getAvailableCurrencies().stream()
+            .filter(c -> c != usd && c != eur && c != collides)
+            .findFirst().orElseThrow(() -> new IllegalStateException("No spare currency"));
+        final File dir = TestSuite.getOutputFile("JoinTests", "CodedColumn-" + type + "-" + parallel);
+        final DataFrame<Integer,String> written = DataFrame.of(Range.of(0, 6), String.class, columns -> {
+            columns.add("Key", Array.of(usd, eur, usd, eur, usd, eur));
+            columns.add("Right", Array.of(1d, 2d, 3d, 4d, 5d, 6d));
+        });
+        written.write().mapped(options -> options.setDirectory(dir));
+        final DataFrame<Integer,String> right = DataFrame.read().mapped(dir);
+        right.data().setValue(4, "Key", added);
+        right.data().setValue(5, "Key", added);
+        final DataFrame<Integer,String> left = DataFrame.of(Range.of(0, 4), String.class, columns -> {
+            columns.add("Key", Array.of(usd, collides, added, eur));
+            columns.add("Left", Array.of(10d, 20d, 30d, 40d));
+        });
+        final DataFrame<Integer,String> joined = (parallel ? left.parallel() : left.sequential()).join().onColumns(right, type, "Key");
+        this.assertJoin(joined, left, right, expected(left, right, type, "Key"), "Key");
+    }
+
+
+    @Test(expectedExceptions = DataFrameException.class)
+    public void testColumnCollision() {
+        final DataFrame<Integer,String> left = frame(100, 20, "Name", "Left", 7L);
+        final DataFrame<Integer,String> right = frame(100, 20, "Name", "Right", 8L);
+        left.join().onColumns(right, DataFrameJoin.Type.INNER, "Key");
+    }
+
+
+    @Test(expectedExceptions = DataFrameException.class)
+    public void testColumnTypeMismatch() {
+        final DataFrame<Integer,String> left = frame(100, 20, "Name", "Left", 7L);
+        final DataFrame<Integer,String> right = frame(100, 20, "Name", "Right", 8L).cols().replaceKey("Name", "Tag").cols().replaceKey("Key", "Other").cols().replaceKey("Tag", "Key");
+        left.join().onColumns(right, DataFrameJoin.Type.INNER, "Key");
+    }
+
+}
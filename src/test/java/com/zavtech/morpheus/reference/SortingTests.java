@@ -509,6 +509,99 @@ public class SortingTests {
     }
 
 
+    @Test(dataProvider = "order")
+    public void testRadixSortMatchesStableComparatorSort(boolean ascending, boolean parallel) {
+        final int rowCount = 200000;
+        final Random random = new Random(7);
+        final LocalDate start = LocalDate.of(2000, 1, 1);
+        final DataFrame<Integer,String> frame = DataFrame.of(Range.of(0, rowCount), String.class, columns -> {
+            columns.add("Ints", Array.of(Integer.class, rowCount).applyInts(v -> random.nextInt(50) - 25));
+            columns.add("Longs", Array.of(Long.class, rowCount).applyLongs(v -> random.nextLong()));
+            columns.add("Doubles", Array.of(Double.class, rowCount).applyDoubles(v -> v.index() % 97 == 0 ? Double.NaN : v.index() % 89 == 0 ? -0d : random.nextGaussian()));
+            columns.add("Dates", Array.of(LocalDate.class, rowCount).applyValues(v -> start.plusDays(random.nextInt(1000))));
+        });
+        final List<List<String>> sorts = Arrays.asList(
+            Collections.singletonList("Longs"),
+            Collections.singletonList("Doubles"),
+            Arrays.asList("Ints", "Dates"),
+            Arrays.asList("Ints", "Doubles"),
+            Arrays.asList("Dates", "Longs", "Ints")
+        );
+        final int multiplier = ascending ? 1 : -1;
+        for (List<String> colKeys : sorts) {
+            final Comparator<Integer> expectedOrder = (row1, row2) -> {
+                for (String colKey : colKeys) {
+                    final int result = comparator.compare(frame.data().getValue(row1, colKey), frame.data().getValue(row2, colKey));
+                    if (result != 0) {
+                        return multiplier * result;
+                    }
+                }
+                return Integer.compare(row1, row2);
+            };
+            final List<Integer> expected = frame.rows().keys().sorted(expectedOrder).collect(Collectors.toList());
+            final DataFrame<Integer,String> rowSorted = (parallel ? frame.copy().parallel() : frame.copy().sequential()).rows().sort(ascending, colKeys);
+            Assert.assertEquals(rowSorted.rows().keys().collect(Collectors.toList()), expected, "Row order matches for " + colKeys);
+            final DataFrame<String,Integer> colSorted = (parallel ? frame.copy().transpose().parallel() : frame.copy().transpose().sequential()).cols().sort(ascending, colKeys);
+            Assert.assertEquals(colSorted.cols().keys().collect(Collectors.toList()), expected, "Column order matches for " + colKeys);
+        }
+        final DataFrame<Integer,String> filter = frame.rows().select(row -> row.key() % 3 == 0);
+        final List<Integer> expected = filter.rows().keys().sorted((row1, row2) -> {
+            final int result = Long.compare(filter.data().getLong(row1, "Longs"), filter.data().getLong(row2, "Longs"));
+            return result != 0 ? multiplier * result : Integer.compare(row1, row2);
+        }).collect(Collectors.toList());
+        final DataFrame<Integer,String> filterSorted = (parallel ? filter.parallel() : filter.sequential()).rows().sort(ascending, "Longs");
+        Assert.assertEquals(filterSorted.rows().keys().collect(Collectors.toList()), expected, "Filtered row order matches");
+        for (int i=0; i<filterSorted.rowCount(); ++i) {
+            final int rowKey = filterSorted.rows().key(i);
+            Assert.assertEquals(filterSorted.data().getLong(i, "Longs"), frame.data().getLong(rowKey, "Longs"), "Values follow row keys after sort");
+        }
+    }
+
+
+    @Test(dataProvider = "order")
+    public void testTopMatchesSortHead(boolean ascending, boolean parallel) {
+        final int rowCount = 100000;
+        final Random random = new Random(11);
+        final DataFrame<Integer,String> frame = DataFrame.of(Range.of(0, rowCount), String.class, columns -> {
+            columns.add("Exposure", Array.of(Double.class, rowCount).applyDoubles(v -> Math.rint(random.nextGaussian() * 100d)));
+            columns.add("Name", Array.of(String.class, rowCount).applyValues(v -> "N" + random.nextInt(500)));
+        });
+        final DataFrame<Integer,String> source = parallel ? frame.parallel() : frame.sequential();
+        final List<List<String>> sorts = Arrays.asList(
+            Collections.singletonList("Exposure"),
+            Arrays.asList("Name", "Exposure")
+        );
+        for (int count : new int[] { 0, 1, 100, 5000, rowCount + 10 }) {
+            for (List<String> colKeys : sorts) {
+                final DataFrame<Integer,String> top = source.rows().top(count, ascending, colKeys);
+                final List<Integer> expected = frame.rows().keys().sorted((row1, row2) -> {
+                    for (String colKey : colKeys) {
+                        final int result = comparator.compare(frame.data().getValue(row1, colKey), frame.data().getValue(row2, colKey));
+                        if (result != 0) {
+                            return ascending ? result : -result;
+                        }
+                    }
+                    return Integer.compare(row1, row2);
+                }).limit(count).collect(Collectors.toList());
+                Assert.assertEquals(top.rowCount(), Math.min(count, rowCount), "Row count matches for " + colKeys);
+                Assert.assertEquals(top.rows().keyArray().toList(), expected, "Rows match for " + colKeys);
+                Assert.assertEquals(top.colCount(), frame.colCount(), "Column count matches");
+            }
+            final DataFrame<Integer,String> topByComparator = source.rows().top(count, (row1, row2) -> {
+                return Double.compare(row1.getDouble("Exposure"), row2.getDouble("Exposure")) * (ascending ? 1 : -1);
+            });
+            final DataFrame<Integer,String> expected = frame.copy().rows().sort(ascending, "Exposure").head(count);
+            Assert.assertEquals(topByComparator.rows().keyArray().toList(), expected.rows().keyArray().toList(), "Rows match for comparator");
+            final DataFrame<String,Integer> transpose = parallel ? frame.transpose().parallel() : frame.transpose().sequential();
+            final DataFrame<String,Integer> topCols = transpose.cols().top(count, ascending, "Exposure");
+            Assert.assertEquals(topCols.cols().keyArray().toList(), expected.rows().keyArray().toList(), "Columns match for transpose");
+        }
+        for (int i=0; i<rowCount; ++i) {
+            Assert.assertEquals(frame.rows().key(i).intValue(), i, "The source frame order is unchanged");
+        }
+    }
+
+
     @Test(dataProvider = "order")
     public void testIntegerRowSortByKeys(boolean ascending, boolean parallel) {
         final Random random = new Random();
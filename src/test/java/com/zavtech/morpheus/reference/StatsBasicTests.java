@@ -412,4 +412,31 @@ public class StatsBasicTests {
         }
     }
 
+
+    @Test(dataProvider = "style")
+    public void describe(boolean parallel) throws Exception {
+        final DataFrame<Integer,String> source = loadSourceData();
+        final StatType[] stats = {
+            StatType.COUNT, StatType.MIN, StatType.MAX, StatType.SUM, StatType.MEAN, StatType.MEDIAN, StatType.MAD,
+            StatType.SEM, StatType.STD_DEV, StatType.VARIANCE, StatType.SKEWNESS, StatType.KURTOSIS, StatType.SUM_SQUARES
+        };
+        final DataFrame<Integer,StatType> rowStats = parallel ? source.rows().parallel().describe(stats) : source.rows().sequential().describe(stats);
+        final DataFrame<String,StatType> colStats = parallel ? source.cols().parallel().describe(stats) : source.cols().sequential().describe(stats);
+        Assert.assertEquals(rowStats.rowCount(), source.rowCount());
+        Assert.assertEquals(colStats.rowCount(), source.colCount());
+        Assert.assertEquals(rowStats.colCount(), stats.length);
+        source.rows().forEach(row -> {
+            for (StatType stat : stats) {
+                final double expected = stat.apply(row.stats());
+                Assert.assertEquals(rowStats.data().getDouble(row.key(), stat), expected, 0.00000001, "Row " + row.key() + " " + stat);
+            }
+        });
+        source.cols().forEach(column -> {
+            for (StatType stat : stats) {
+                final double expected = stat.apply(column.stats());
+                Assert.assertEquals(colStats.data().getDouble(column.key(), stat), expected, 0.00000001, "Column " + column.key() + " " + stat);
+            }
+        });
+    }
+
 }
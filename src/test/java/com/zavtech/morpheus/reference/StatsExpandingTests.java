@@ -19,8 +19,12 @@ import java.io.IOException;
 
 import com.zavtech.morpheus.frame.DataFrame;
 import com.zavtech.morpheus.frame.DataFrameAsserts;
+import com.zavtech.morpheus.frame.DataFrameColumns;
+import com.zavtech.morpheus.frame.DataFrameRows;
+import com.zavtech.morpheus.stats.Percentile;
 import com.zavtech.morpheus.stats.StatType;
 import com.zavtech.morpheus.index.Index;
+import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
@@ -291,4 +295,47 @@ public class StatsExpandingTests {
         }
     }
 
+
+    @Test(dataProvider = "style")
+    public void expandingPercentileWithNaNs(boolean parallel) throws Exception {
+        final int minPeriods = 5;
+        final DataFrame<Integer,String> source = loadSourceData().copy();
+        source.applyDoubles(v -> (v.rowOrdinal() * 3 + v.colOrdinal()) % 7 == 0 ? Double.NaN : v.getDouble());
+        final DataFrameRows<Integer,String> rows = parallel ? source.rows().parallel() : source.rows().sequential();
+        final DataFrameColumns<Integer,String> cols = parallel ? source.cols().parallel() : source.cols().sequential();
+        assertExpandingPercentile(source, rows.stats().expanding(minPeriods).median(), 0.5d, minPeriods, true);
+        assertExpandingPercentile(source, cols.stats().expanding(minPeriods).median(), 0.5d, minPeriods, false);
+        assertExpandingPercentile(source, rows.stats().expanding(minPeriods).percentile(0.8), 0.8d, minPeriods, true);
+        assertExpandingPercentile(source, cols.stats().expanding(minPeriods).percentile(0.8), 0.8d, minPeriods, false);
+    }
+
+
+    /**
+     * Asserts that an expanding percentile matches the baseline Percentile statistic fed the same values in order
+     * @param source        the source frame
+     * @param result        the expanding percentile result
+     * @param nth           the percentile, in the range 0 to 1
+     * @param minPeriods    the minimum number of non-NaN values for a result
+     * @param byRow         true if the window expands along each row, false if it expands down each column
+     */
+    private void assertExpandingPercentile(DataFrame<Integer,String> source, DataFrame<Integer,String> result, double nth, int minPeriods, boolean byRow) {
+        final int outerCount = byRow ? source.rowCount() : source.colCount();
+        final int innerCount = byRow ? source.colCount() : source.rowCount();
+        for (int i=0; i<outerCount; ++i) {
+            final Percentile expected = new Percentile(nth);
+            for (int j=0; j<innerCount; ++j) {
+                final int rowOrdinal = byRow ? i : j;
+                final int colOrdinal = byRow ? j : i;
+                expected.add(source.data().getDouble(rowOrdinal, colOrdinal));
+                final double actual = result.data().getDouble(rowOrdinal, colOrdinal);
+                final String coordinates = "(" + rowOrdinal + ", " + colOrdinal + ")";
+                if (expected.getN() < minPeriods) {
+                    Assert.assertTrue(Double.isNaN(actual), "Expected NaN below min periods at " + coordinates);
+                } else {
+                    Assert.assertEquals(actual, expected.getValue(), 0.0000001d, "Percentile " + nth + " at " + coordinates);
+                }
+            }
+        }
+    }
+
 }
@@ -16,11 +16,33 @@
 package com.zavtech.morpheus.reference;
 
 import java.io.IOException;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import com.zavtech.morpheus.array.Array;
 import com.zavtech.morpheus.frame.DataFrame;
 import com.zavtech.morpheus.frame.DataFrameAsserts;
+import com.zavtech.morpheus.range.Range;
+import com.zavtech.morpheus.stats.Count;
+import com.zavtech.morpheus.stats.GeoMean;
+import com.zavtech.morpheus.stats.Kurtosis;
+import com.zavtech.morpheus.stats.Max;
+import com.zavtech.morpheus.stats.Mean;
+import com.zavtech.morpheus.stats.Median;
+import com.zavtech.morpheus.stats.Min;
+import com.zavtech.morpheus.stats.Percentile;
+import com.zavtech.morpheus.stats.Skew;
 import com.zavtech.morpheus.stats.StatType;
+import com.zavtech.morpheus.stats.Statistic1;
+import com.zavtech.morpheus.stats.Stats;
+import com.zavtech.morpheus.stats.StdDev;
+import com.zavtech.morpheus.stats.Sum;
+import com.zavtech.morpheus.stats.SumLogs;
+import com.zavtech.morpheus.stats.SumSquares;
+import com.zavtech.morpheus.stats.Variance;
 import com.zavtech.morpheus.index.Index;
+import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
@@ -292,4 +314,97 @@ public class StatsRollingTests {
         }
     }
 
+
+
+    @DataProvider(name="window")
+    public Object[][] window() {
+        return new Object[][] {
+            { new Count(), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::count },
+            { new Min(), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::min },
+            { new Max(), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::max },
+            { new Sum(), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::sum },
+            { new Mean(), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::mean },
+            { new SumSquares(), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::sumSquares },
+            { new Variance(true), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::variance },
+            { new StdDev(true), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::stdDev },
+            { new Skew(), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::skew },
+            { new Kurtosis(), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::kurtosis },
+            { new Median(), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::median },
+            { new Percentile(0.8), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)s -> s.percentile(0.8) },
+        };
+    }
+
+
+    @Test(dataProvider = "window")
+    public void rollingWindowMatchesRecompute(Statistic1 stat, Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>> function) {
+        final int windowSize = 7;
+        final Random random = new Random(7);
+        final Supplier<Double> values = () -> random.nextDouble() < 0.05d ? Double.NaN : 10d + random.nextDouble() * 100d;
+        final DataFrame<Integer,String> source = DataFrame.ofDoubles(Range.of(0, 500), Array.of("A", "B", "C", "D"), v -> values.get());
+        final DataFrame<Integer,String> expected = source.copy().applyDoubles(v -> {
+            final int rowIndex = v.rowOrdinal();
+            if (rowIndex < windowSize - 1) {
+                return Double.NaN;
+            } else {
+                stat.reset();
+                for (int i = rowIndex - windowSize + 1; i <= rowIndex; ++i) {
+                    stat.add(source.data().getDouble(i, v.colOrdinal()));
+                }
+                return stat.getValue();
+            }
+        });
+        final DataFrame<?,?> sequential = function.apply(source.cols().sequential().stats().rolling(windowSize));
+        final DataFrame<?,?> parallel = function.apply(source.cols().parallel().stats().rolling(windowSize));
+        final DataFrame<?,?> transposed = function.apply(source.transpose().rows().stats().rolling(windowSize));
+        DataFrameAsserts.assertEqualsByIndex(expected, sequential);
+        DataFrameAsserts.assertEqualsByIndex(expected, parallel);
+        DataFrameAsserts.assertEqualsByIndex(expected.transpose(), transposed);
+    }
+
+
+    @DataProvider(name="nonFinite")
+    public Object[][] nonFinite() {
+        return new Object[][] {
+            { new Sum(), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::sum },
+            { new Mean(), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::mean },
+            { new SumSquares(), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::sumSquares },
+            { new SumLogs(), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::sumLogs },
+            { new GeoMean(), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::geoMean },
+            { new Variance(true), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::variance },
+            { new StdDev(true), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::stdDev },
+            { new Skew(), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::skew },
+            { new Kurtosis(), (Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>>)Stats::kurtosis },
+        };
+    }
+
+
+    @Test(dataProvider = "nonFinite")
+    public void rollingWindowWithNonFiniteValues(Statistic1 stat, Function<Stats<? extends DataFrame<?,?>>,DataFrame<?,?>> function) {
+        final int windowSize = 5;
+        final Random random = new Random(11);
+        final double[] special = { Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0d, -5d, Double.NaN };
+        final Supplier<Double> values = () -> random.nextDouble() < 0.1d ? special[random.nextInt(special.length)] : 1d + random.nextDouble() * 10d;
+        final DataFrame<Integer,String> source = DataFrame.ofDoubles(Range.of(0, 400), Array.of("A", "B", "C"), v -> values.get());
+        final DataFrame<?,?> sequential = function.apply(source.cols().sequential().stats().rolling(windowSize));
+        final DataFrame<?,?> parallel = function.apply(source.cols().parallel().stats().rolling(windowSize));
+        for (int j=0; j<source.colCount(); ++j) {
+            for (int i=windowSize-1; i<source.rowCount(); ++i) {
+                stat.reset();
+                for (int k=i-windowSize+1; k<=i; ++k) {
+                    stat.add(source.data().getDouble(k, j));
+                }
+                final double expected = stat.getValue();
+                final double delta = Double.isFinite(expected) ? Math.max(1e-8, Math.abs(expected) * 1e-8) : 0d;
+                final String message = "Window value matches recompute at (" + i + "," + j + ") for " + stat.getType();
+                if (Double.isNaN(expected)) {
+                    Assert.assertTrue(Double.isNaN(sequential.data().getDouble(i, j)), message);
+                    Assert.assertTrue(Double.isNaN(parallel.data().getDouble(i, j)), message);
+                } else {
+                    Assert.assertEquals(sequential.data().getDouble(i, j), expected, delta, message);
+                    Assert.assertEquals(parallel.data().getDouble(i, j), expected, delta, message);
+                }
+            }
+        }
+    }
+
 }
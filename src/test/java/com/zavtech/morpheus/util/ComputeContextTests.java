@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.util;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.zavtech.morpheus.array.Array;
+import com.zavtech.morpheus.frame.DataFrame;
+import com.zavtech.morpheus.range.Range;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the ComputeContext used by parallel operations
+ *
+ * <p>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class ComputeContextTests {
+
+
+    @Test()
+    public void testDefaultContext() {
+        final ComputeContext context = ComputeContext.current();
+        Assert.assertSame(context, ComputeContext.getDefault(), "The default context applies when none is in scope");
+        Assert.assertEquals(context.getParallelism(), Runtime.getRuntime().availableProcessors());
+        Assert.assertEquals(context.getSplitThreshold(1000, 1), 1000 / context.getParallelism());
+        Assert.assertEquals(context.getSplitThreshold(10, 5000), 5000);
+        Assert.assertEquals(context.withMinSplitLength(100).getSplitThreshold(10, 1), 100);
+    }
+
+
+    @Test()
+    public void testDedicatedContext() {
+        final ComputeContext context = ComputeContext.of(2);
+        try {
+            final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+            final Set<ComputeContext> contexts = ConcurrentHashMap.newKeySet();
+            final DataFrame<Integer,String> frame = DataFrame.ofDoubles(Range.of(0, 100000), Array.of("A", "B", "C"));
+            ComputeContext.whileUsing(context, () -> {
+                Assert.assertSame(ComputeContext.current(), context, "The context is in scope");
+                frame.parallel().applyDoubles(v -> {
+                    threadNames.add(Thread.currentThread().getName());
+                    contexts.add(ComputeContext.current());
+                    return v.rowOrdinal() + v.colOrdinal();
+                });
+                frame.rows().parallel().sort(false, "A");
+            });
+            Assert.assertSame(ComputeContext.current(), ComputeContext.getDefault(), "The context is no longer in scope");
+            Assert.assertTrue(threadNames.stream().allMatch(name -> name.startsWith("DataFrameComputeThread")), "Work ran in dedicated pool: " + threadNames);
+            Assert.assertEquals(contexts.size(), 1, "Nested work sees one context");
+            Assert.assertSame(contexts.iterator().next(), context, "Nested work sees the dedicated context");
+            Assert.assertTrue(context.getSubmittedCount() > 0, "Tasks were submitted to the context");
+            Assert.assertEquals(context.getCompletedCount(), context.getSubmittedCount());
+            Assert.assertEquals(context.getFailedCount(), 0L);
+            Assert.assertEquals(context.getActiveCount(), 0L);
+            Assert.assertEquals(frame.rows().firstKey().orElse(null), Integer.valueOf(99999));
+        } finally {
+            context.shutdown();
+        }
+    }
+
+
+    @Test()
+    public void testDerivedContextOnWorkers() {
+        final ComputeContext context = ComputeContext.of(4);
+        try {
+            final ComputeContext derived = context.withMinSplitLength(1000);
+            final Set<ComputeContext> contexts = ConcurrentHashMap.newKeySet();
+            final DataFrame<Integer,String> frame = DataFrame.ofDoubles(Range.of(0, 100000), Array.of("A", "B", "C"));
+            ComputeContext.whileUsing(derived, () -> {
+                frame.parallel().applyDoubles(v -> {
+                    contexts.add(ComputeContext.current());
+                    return v.rowOrdinal() + v.colOrdinal();
+                });
+                frame.rows().filter(row -> row.ordinal() % 10000 == 0).parallel().forEach(row -> {
+                    final ComputeContext nested = ComputeContext.current();
+                    contexts.add(nested);
+                    Assert.assertEquals(nested.getSplitThreshold(2000, 1), 1000, "The min split length applies to nested work");
+                    Array.of(Double.class, 5000).parallel().applyDoubles(v -> {
+                        contexts.add(ComputeContext.current());
+                        return v.index();
+                    });
+                });
+            });
+            Assert.assertEquals(contexts.size(), 1, "Nested work sees one context: " + contexts);
+            Assert.assertSame(contexts.iterator().next(), derived, "Nested work sees the derived context");
+            Assert.assertTrue(derived.getSubmittedCount() > 2, "Nested tasks were counted by the derived context");
+            Assert.assertEquals(derived.getCompletedCount(), derived.getSubmittedCount());
+            Assert.assertEquals(derived.getActiveCount(), 0L);
+            Assert.assertEquals(context.getSubmittedCount(), 0L, "No tasks were counted by the base context");
+        } finally {
+            context.shutdown();
+        }
+    }
+
+
+    @Test()
+    public void testFailedTaskCount() {
+        final ComputeContext context = ComputeContext.of(2);
+        try {
+            final Array<Double> array = Array.of(Double.class, 100000).parallel();
+            ComputeContext.whileUsing(context, () -> {
+                array.applyDoubles(v -> {
+                    if (v.index() == 5000) throw new IllegalStateException("Failed");
+                    return v.index();
+                });
+            });
+            Assert.fail("An exception should have been raised");
+        } catch (RuntimeException ex) {
+            Assert.assertEquals(context.getFailedCount(), 1L, "The failed task is counted");
+            Assert.assertEquals(context.getActiveCount(), 0L);
+        } finally {
+            context.shutdown();
+        }
+    }
+
+}
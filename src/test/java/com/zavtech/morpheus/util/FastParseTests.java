@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2014-2017 Xavier Witdouck
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zavtech.morpheus.util;
+
+import java.nio.CharBuffer;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+import com.zavtech.morpheus.util.text.FormatException;
+import com.zavtech.morpheus.util.text.Formats;
+import com.zavtech.morpheus.util.text.parser.FastParse;
+
+/**
+ * Unit tests for the FastParse class and the parsers that use it
+ *
+ * @author  Xavier Witdouck
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ */
+public class FastParseTests {
+
+    @Test()
+    public void testIntegers() {
+        final Random random = new Random(1);
+        for (int i=0; i<100000; ++i) {
+            final int value = random.nextInt() >> random.nextInt(32);
+            final String text = String.valueOf(value);
+            assertEquals(FastParse.parseInt(text, 0, text.length()), value);
+            assertEquals(FastParse.parseLong(text, 0, text.length()), value);
+        }
+        assertEquals(FastParse.parseInt("+42", 0, 3), 42);
+        assertEquals(FastParse.parseInt("x-42x", 1, 4), -42);
+        assertEquals(FastParse.parseInt("2147483647", 0, 10), Integer.MAX_VALUE);
+        assertEquals(FastParse.parseInt("2147483648", 0, 10), Integer.MIN_VALUE);
+        assertEquals(FastParse.parseInt("12a", 0, 3), Integer.MIN_VALUE);
+        assertEquals(FastParse.parseInt("-", 0, 1), Integer.MIN_VALUE);
+        assertEquals(FastParse.parseInt("", 0, 0), Integer.MIN_VALUE);
+        assertEquals(FastParse.parseLong("123456789012345678", 0, 18), 123456789012345678L);
+        assertEquals(FastParse.parseLong("1234567890123456789", 0, 19), Long.MIN_VALUE);
+        assertEquals(FastParse.parseLong("1.5", 0, 3), Long.MIN_VALUE);
+    }
+
+    @Test()
+    public void testDoubles() {
+        int parsed = 0;
+        final Random random = new Random(2);
+        for (int i=0; i<100000; ++i) {
+            final double value = (random.nextDouble() - 0.5d) * Math.pow(10, random.nextInt(8));
+            final String text = String.format(Locale.US, "%." + random.nextInt(8) + "f", value);
+            final double result = FastParse.parseDouble(text, 0, text.length());
+            if (!Double.isNaN(result)) {
+                assertEquals(Double.doubleToLongBits(result), Double.doubleToLongBits(Double.parseDouble(text)), text);
+                parsed++;
+            } else {
+                assertTrue(text.replaceAll("[-.]", "").replaceAll("^0+", "").length() > 15, text);
+            }
+        }
+        assertTrue(parsed > 90000, "Most values take the fast path");
+        final String[] plain = {"0", "-0", "0.1", ".5", "5.", "-123.456", "0.000000000000000000001", "999999999999999", "3.14159265358979"};
+        for (String text : plain) {
+            assertEquals(FastParse.parseDouble(text, 0, text.length()), Double.parseDouble(text), text);
+        }
+        final String[] other = {"", "-", ".", "+1", "1e5", "1.2.3", "NaN", "12a", "1234567890123456", "1.00000000000000000000001"};
+        for (String text : other) {
+            assertTrue(Double.isNaN(FastParse.parseDouble(text, 0, text.length())), text);
+        }
+    }
+
+    @Test()
+    public void testBooleans() {
+        assertEquals(FastParse.parseBoolean("true", 0, 4), 1);
+        assertEquals(FastParse.parseBoolean("yes", 0, 3), 1);
+        assertEquals(FastParse.parseBoolean("on", 0, 2), 1);
+        assertEquals(FastParse.parseBoolean("y", 0, 1), 1);
+        assertEquals(FastParse.parseBoolean("false", 0, 5), 0);
+        assertEquals(FastParse.parseBoolean("no", 0, 2), 0);
+        assertEquals(FastParse.parseBoolean("off", 0, 3), 0);
+        assertEquals(FastParse.parseBoolean("n", 0, 1), 0);
+        assertEquals(FastParse.parseBoolean("TRUE", 0, 4), -1);
+        assertEquals(FastParse.parseBoolean("maybe", 0, 5), -1);
+    }
+
+    @Test()
+    public void testIsoDates() {
+        for (LocalDate date = LocalDate.of(1895, 1, 1); date.getYear() < 2105; date = date.plusDays(1)) {
+            final String text = date.toString();
+            assertEquals(FastParse.parseIsoDate(text, 0, text.length()), date.toEpochDay(), text);
+        }
+        assertEquals(FastParse.parseIsoDate("2016-02-30", 0, 10), Long.MIN_VALUE);
+        assertEquals(FastParse.parseIsoDate("2015-02-29", 0, 10), Long.MIN_VALUE);
+        assertEquals(FastParse.parseIsoDate("2015-13-01", 0, 10), Long.MIN_VALUE);
+        assertEquals(FastParse.parseIsoDate("2015/01/01", 0, 10), Long.MIN_VALUE);
+        assertEquals(FastParse.parseIsoDate("20150101", 0, 8), Long.MIN_VALUE);
+    }
+
+    @Test()
+    public void testCharBuffer() {
+        final char[] buffer = "15,2014-05-22,-2.5,yes".toCharArray();
+        final CharBuffer chars = CharBuffer.wrap(buffer);
+        assertEquals(FastParse.parseInt(chars, 0, 2), 15);
+        assertEquals(FastParse.parseIsoDate(chars, 3, 13), LocalDate.of(2014, 5, 22).toEpochDay());
+        assertEquals(FastParse.parseDouble(chars, 14, 18), -2.5d);
+        assertEquals(FastParse.parseBoolean(chars, 19, 22), 1);
+    }
+
+    @Test()
+    public void testParsersWithFallback() {
+        final Formats formats = new Formats();
+        assertEquals(formats.getParserOrFail(Integer.class).apply("-2147483648"), Integer.MIN_VALUE);
+        assertEquals(formats.getParserOrFail(Long.class).apply("9223372036854775807"), Long.MAX_VALUE);
+        assertEquals(formats.getParserOrFail(Double.class).apply("1234.5"), 1234.5d);
+        assertEquals(formats.getParserOrFail(Double.class).apply("-0.0001"), -0.0001d);
+        assertEquals(formats.getParserOrFail(Double.class).apply("NaN"), Double.NaN);
+        assertEquals(formats.getParserOrFail(Boolean.class).apply("yes"), Boolean.TRUE);
+        assertEquals(formats.getParserOrFail(Boolean.class).apply("nope"), Boolean.FALSE);
+        assertEquals(formats.getParserOrFail(LocalDate.class).apply("2016-02-29"), LocalDate.of(2016, 2, 29));
+        assertTrue(formats.getParserOrFail(Integer.class).isSupported("+15"));
+        assertFalse(formats.getParserOrFail(Integer.class).isSupported("15.5"));
+        assertTrue(formats.getParserOrFail(Double.class).isSupported("1.5E10"));
+        assertFalse(formats.getParserOrFail(Double.class).isSupported("1.5E"));
+        assertFalse(formats.getParserOrFail(Boolean.class).isSupported("nope"));
+    }
+
+    @Test(expectedExceptions = FormatException.class)
+    public void testMalformedInteger() {
+        new Formats().getParserOrFail(Integer.class).apply("12x");
+    }
+
+    @Test(expectedExceptions = FormatException.class)
+    public void testMalformedDate() {
+        new Formats().getParserOrFail(LocalDate.class).apply("2015-02-29");
+    }
+}